@@ -11,8 +11,6 @@ repositories {
 dependencies {
     implementation("org.jetbrains:annotations:24.0.0")
 
-    implementation("org.apache.commons:commons-text:1.14.0")
-
     implementation("io.github.classgraph:classgraph:4.8.181")
     implementation("org.ow2.asm:asm:9.5")
 
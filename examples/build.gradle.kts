@@ -1,6 +1,9 @@
 import org.gradle.nativeplatform.platform.internal.DefaultNativePlatform
 
-plugins { java }
+plugins {
+    java
+    id("com.github.Avdiji.jnibridge") // <- included build (see settings.gradle.kts)
+}
 repositories { mavenCentral() }
 
 dependencies {
@@ -37,20 +40,136 @@ var presets = listOf(
     "linux-release",
     "linux-debug"
 )
+// Tracks the compile time and binary size of the generated JNI-code (clean build of the preset)
+fun registerCMakeBenchmarkTask(presetName: String) {
+    tasks.register("benchmark-${presetName}") {
+        group = "jniCMake"
+        description = "Measures the compile time and binary size of the JNI-code (preset $presetName)."
+
+        dependsOn("generateJNICode")
+
+        val projectDir = project.projectDir
+        val buildDir = project.layout.buildDirectory.dir(presetName).get().asFile
+        val outputDirs = listOf(buildDir, project.layout.buildDirectory.dir("jni").get().asFile)
+        val sourcesFile = project.layout.buildDirectory.file("jni/jnibridge_sources.cmake").get().asFile
+        val report = project.layout.buildDirectory.file("reports/jnibridge/native-benchmark-${presetName}.properties").get().asFile
+
+        doLast {
+            fun run(vararg command: String) {
+                val exitCode = ProcessBuilder(*command).directory(projectDir).inheritIO().start().waitFor()
+                if (exitCode != 0) throw GradleException("'${command.joinToString(" ")}' failed with exit code $exitCode")
+            }
+
+            run("cmake", "--preset", presetName)
+            val start = System.nanoTime()
+            run("cmake", "--build", buildDir.absolutePath, "--target", "JNIBridgeExamples", "--clean-first")
+            val compileMillis = (System.nanoTime() - start) / 1_000_000
+
+            val binaryPattern = Regex("(lib)?JNIBridgeExamples\\.(dll|so|dylib)")
+            val binary = outputDirs.asSequence()
+                .flatMap { dir -> dir.walkTopDown().filter { it.isFile && binaryPattern.matches(it.name) } }
+                .maxByOrNull { it.lastModified() }
+                ?: throw GradleException("Unable to find the JNIBridgeExamples library in $outputDirs")
+            val translationUnits = sourcesFile.readLines().count { it.trim().matches(Regex("\"[^\"]+\\.cpp\"")) }
+
+            report.parentFile.mkdirs()
+            report.writeText(
+                "preset=$presetName\n" +
+                "compileMillis=$compileMillis\n" +
+                "binaryBytes=${binary.length()}\n" +
+                "translationUnits=$translationUnits\n"
+            )
+            logger.lifecycle("JNIBridge benchmark ($presetName): $translationUnits translation units, ${compileMillis}ms, ${binary.length()} bytes (${binary.name})")
+        }
+    }
+}
+
 presets.forEach { preset ->
     registerCMakeBuildTask(preset)
+    registerCMakeBenchmarkTask(preset)
 }
 // *********************************************************
 // ************************* CMAKE *************************
 // *********************************************************
 
-tasks.register<JavaExec>("generateJNICode") {
+// The JNI code is generated by the cacheable generateJni task of the JNIBridge plugin (into build/jni)
+jnibridge {
+    classPatterns.add("com.jnibridge.examples.mappings.*")
+
+    // e.g. -Pjnibridge.generator.profile=checked (see GenerationProfile)
+    project.findProperty("jnibridge.generator.profile")?.let { profile ->
+        generationProperties.put("jnibridge.generator.profile", profile.toString())
+    }
+}
+
+tasks.register("generateJNICode") {
+    group = "jni_generation"
+    description = "Generates the JNI code (via the generateJni task of the JNIBridge plugin)."
+
+    dependsOn("generateJni")
+}
+
+tasks.register<JavaExec>("watchJNICode") {
     group = "jni_generation"
+    description = "Keeps a generator daemon running, regenerating the JNI code of changed classes (run 'classes' in a second terminal)."
 
-    mainClass.set("com.jnibridge.examples.mappings.MapJNI")
+    mainClass.set("com.jnibridge.examples.mappings.WatchJNI")
 
     classpath = sourceSets.main.get().runtimeClasspath
     workingDir = project.file("${project.projectDir}")
 }
 
+// Generates the JNI code in two separate JVMs and fails if both output trees are not byte-identical. Two generations within
+// the same JVM share its class loading and hashing state (identity hash codes are even identical between plain JVM runs),
+// so the second JVM hashes identities differently and generates with another parallelism.
+val reproducibleDir = project.layout.buildDirectory.dir("jni-reproducible")
+
+fun registerReproducibleRun(run: String, parallelism: Int, vararg extraJvmArgs: String) =
+    tasks.register<JavaExec>("generateJNICodeReproducible-$run") {
+        group = "jni_generation"
+        description = "Generates the JNI code into build/jni-reproducible/$run (see verifyJNICodeReproducible)."
+
+        mainClass.set("com.jnibridge.examples.mappings.MapJNI")
+
+        classpath = sourceSets.main.get().runtimeClasspath
+        workingDir = project.file("${project.projectDir}")
+
+        val outputDir = reproducibleDir.get().dir(run).asFile
+        args(outputDir.absolutePath)
+        jvmArgs(*extraJvmArgs)
+        systemProperty("jnibridge.generator.strictTemplates", "true")
+        systemProperty("jnibridge.generator.parallelism", parallelism.toString())
+
+        outputs.upToDateWhen { false }
+        doFirst { project.delete(outputDir) }
+    }
+
+val reproducibleRuns = listOf(
+    registerReproducibleRun("a", maxOf(2, Runtime.getRuntime().availableProcessors())),
+    registerReproducibleRun("b", 1, "-XX:+UnlockExperimentalVMOptions", "-XX:hashCode=3")
+)
+
+tasks.register("verifyJNICodeReproducible") {
+    group = "jni_generation"
+    description = "Generates the JNI code in two separate JVMs (with strict templates) and fails if both outputs are not byte-identical."
+
+    dependsOn(reproducibleRuns)
+
+    val firstDir = reproducibleDir.get().dir("a").asFile
+    val secondDir = reproducibleDir.get().dir("b").asFile
 
+    doLast {
+        fun filesOf(dir: File) = dir.walkTopDown().filter { it.isFile }.associateBy { it.relativeTo(dir).invariantSeparatorsPath }
+
+        val first = filesOf(firstDir)
+        val second = filesOf(secondDir)
+        val differingFiles = (first.keys + second.keys).toSortedSet().filter { path ->
+            val firstFile = first[path]
+            val secondFile = second[path]
+            firstFile == null || secondFile == null || !firstFile.readBytes().contentEquals(secondFile.readBytes())
+        }
+
+        if (differingFiles.isNotEmpty()) throw GradleException("JNI generation is not reproducible across JVMs, differing files: $differingFiles")
+        logger.lifecycle("JNIBridge: ${first.size} generated files are byte-identical across two JVMs")
+    }
+}
@@ -29,6 +29,10 @@ namespace jnibridge::examples {
                 return *this;
             }
 
+            BaseClass* getThisPtr() {
+                return this;
+            }
+
             static void printString(const std::shared_ptr<BaseClass> &other) {
                 std::cout << other->getString() << std::endl;
             }
@@ -0,0 +1,23 @@
+#pragma once
+
+#include <vector>
+
+namespace jnibridge::examples {
+
+    class SequenceElement {
+    public:
+        explicit SequenceElement(int value) : _value(value) { }
+
+        int getValue() const { return _value; }
+
+    private:
+        int _value;
+    };
+
+    inline std::vector<SequenceElement> createSequence(int count) {
+        std::vector<SequenceElement> result;
+        result.reserve(count);
+        for (int i = 0; i < count; ++i) { result.emplace_back(i); }
+        return result;
+    }
+}
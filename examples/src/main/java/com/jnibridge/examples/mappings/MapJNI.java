@@ -7,15 +7,13 @@ import java.nio.file.Paths;
 public class MapJNI {
     public static void main(String[] args) {
 
-        Path outputDir = Paths.get("build/jni");
+        // the output directory may be passed as first argument (e.g. by verifyJNICodeReproducible)
+        Path outputDir = Paths.get(args.length > 0 ? args[0] : "build/jni");
 
         // This is the class or package pattern, do not use in Path
         String[] packagePattern = {"com.jnibridge.examples.mappings.*"};
-        String[] includes = {
-                "../../../../../../../native/oop/PolymorphicStructure.cpp",
-                "../../../../../../../native/oop/Diamond.cpp",
-                "../../../../../../../native/simple/SimpleStatics.cpp"
-        };
+        // Native includes are declared per class (see BridgeClass#includes), only shared includes belong here
+        String[] includes = {};
 
 
         // Pass both correctly:
@@ -0,0 +1,28 @@
+package com.jnibridge.examples.mappings;
+
+import com.jnibridge.JNIBridge;
+import com.jnibridge.JNIBridgeDaemon;
+import com.jnibridge.generator.GenerationOptions;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+
+public class WatchJNI {
+    public static void main(String[] args) throws InterruptedException {
+
+        Path outputDir = Paths.get("build/jni");
+
+        // The class-file directory of the compiled examples (regenerates after every 'gradle classes')
+        Path classDir = Paths.get("build/classes/java/main");
+
+        String[] packagePattern = {"com.jnibridge.examples.mappings.*"};
+        String[] includes = {};
+
+        try (JNIBridgeDaemon ignored = JNIBridge.watchJNIInterface(outputDir, packagePattern, includes, new HashMap<>(),
+                Collections.singletonList(classDir), GenerationOptions.fromSystemProperties())) {
+            Thread.currentThread().join(); // <- until the process is stopped
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.jnibridge.annotations.lifecycle.Allocate;
 import com.jnibridge.examples.mappings.oop.BaseClass;
 import com.jnibridge.nativeaccess.IPointer;
 
-@BridgeClass
+@BridgeClass(includes = "native/oop/Diamond.cpp")
 public interface Animal extends IPointer {
     void eat();
 }
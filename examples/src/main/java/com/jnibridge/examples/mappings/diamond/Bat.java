@@ -6,7 +6,7 @@ import com.jnibridge.annotations.lifecycle.Deallocate;
 
 import java.io.Closeable;
 
-@BridgeClass
+@BridgeClass(includes = "native/oop/Diamond.cpp")
 public class Bat implements Mammal, Bird, Closeable {
 
     // --------------- DEFAULT POINTER SETUP ---------------
@@ -2,6 +2,6 @@ package com.jnibridge.examples.mappings.diamond;
 
 import com.jnibridge.annotations.BridgeClass;
 
-@BridgeClass
+@BridgeClass(includes = "native/oop/Diamond.cpp")
 public interface Bird extends Animal{
 }
@@ -4,7 +4,7 @@ import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.lifecycle.Allocate;
 import com.jnibridge.annotations.lifecycle.Deallocate;
 
-@BridgeClass(namespace = "jnibridge::examples")
+@BridgeClass(namespace = "jnibridge::examples", includes = "native/oop/PolymorphicStructure.cpp")
 public class A extends BaseClass {
 
     public A() { allocA(); }
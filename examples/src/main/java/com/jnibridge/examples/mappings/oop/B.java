@@ -3,7 +3,7 @@ package com.jnibridge.examples.mappings.oop;
 import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.lifecycle.*;
 
-@BridgeClass(namespace = "jnibridge::examples")
+@BridgeClass(namespace = "jnibridge::examples", includes = "native/oop/PolymorphicStructure.cpp")
 public class B extends A {
     public B() { allocB(); }
 
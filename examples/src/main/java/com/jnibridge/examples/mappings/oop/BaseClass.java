@@ -3,12 +3,14 @@ package com.jnibridge.examples.mappings.oop;
 import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.lifecycle.Allocate;
 import com.jnibridge.annotations.lifecycle.Deallocate;
+import com.jnibridge.annotations.lifecycle.Into;
+import com.jnibridge.annotations.lifecycle.Ptr;
 import com.jnibridge.annotations.lifecycle.Ref;
 import com.jnibridge.annotations.lifecycle.Shared;
 import com.jnibridge.annotations.modifiers.Const;
 import com.jnibridge.nativeaccess.Pointer;
 
-@BridgeClass(namespace = "jnibridge::examples", customJniCodePaths = "someJNICode.mapping")
+@BridgeClass(namespace = "jnibridge::examples", includes = "native/oop/PolymorphicStructure.cpp", customJniCodePaths = "someJNICode.mapping", identityCache = true)
 public class BaseClass extends Pointer {
 
     public BaseClass() {  allocBase(); }
@@ -27,6 +29,12 @@ public class BaseClass extends Pointer {
     @Const
     public native BaseClass getThisRef();
 
+    @Ptr
+    public native BaseClass getThisPtr();
+
+    @Ptr
+    public native BaseClass getThisPtr(@Into BaseClass target);
+
     public static native void printString(@Shared BaseClass other);
 
     public native Color getColor();
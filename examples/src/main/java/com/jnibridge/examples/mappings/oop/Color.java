@@ -2,7 +2,7 @@ package com.jnibridge.examples.mappings.oop;
 
 import com.jnibridge.annotations.BridgeClass;
 
-@BridgeClass(isEnum = true, namespace = "jnibridge::examples")
+@BridgeClass(isEnum = true, namespace = "jnibridge::examples", includes = "native/oop/PolymorphicStructure.cpp")
 public enum Color {
 
     Red(0),
@@ -0,0 +1,21 @@
+package com.jnibridge.examples.mappings.sequence;
+
+import com.jnibridge.annotations.BridgeClass;
+import com.jnibridge.annotations.lifecycle.Deallocate;
+import com.jnibridge.annotations.mapping.MethodNamespace;
+import com.jnibridge.annotations.mapping.UseMapping;
+import com.jnibridge.nativeaccess.Pointer;
+
+@BridgeClass(namespace = "jnibridge::examples", includes = "native/sequence/LargeSequences.cpp")
+public class SequenceElement extends Pointer {
+
+    @Override
+    @Deallocate
+    public native void destructNativeHandle();
+
+    public native int getValue();
+
+    @MethodNamespace("jnibridge::examples") // <- a free function, not a static member of SequenceElement
+    @UseMapping(SequenceElementVectorMapper.class)
+    public static native SequenceElement[] createSequence(final int count);
+}
@@ -0,0 +1,20 @@
+package com.jnibridge.examples.mappings.sequence;
+
+import com.jnibridge.annotations.mapping.Mapping;
+import com.jnibridge.mapper.TypeMapper;
+
+/**
+ * Mapper for <code>std::vector&lt;jnibridge::examples::SequenceElement&gt;</code> (returned as {@code SequenceElement[]}).
+ */
+@Mapping(
+        cType = "std::vector<jnibridge::examples::SequenceElement>",
+        jniType = "jobjectArray",
+        templates = @Mapping.MappingTemplate(
+                cTemplateArgumentTypes = {"jnibridge::examples::SequenceElement"},
+                jTemplateArgumentTypes = {SequenceElement.class},
+                inPath = "com/jnibridge/mappings/standard/sequence/ipointer/IPointerSequence.in.mapping",
+                outPath = "com/jnibridge/mappings/standard/sequence/ipointer/IPointerSequence.out.mapping"
+        )
+)
+public class SequenceElementVectorMapper implements TypeMapper {
+}
@@ -5,7 +5,7 @@ import com.jnibridge.annotations.mapping.MethodName;
 import com.jnibridge.annotations.mapping.UseMapping;
 import com.jnibridge.mapper.standard.string.StringViewMapper;
 
-@BridgeClass(namespace = "jnibridge::examples")
+@BridgeClass(namespace = "jnibridge::examples", includes = "native/simple/SimpleStatics.cpp")
 public class SimpleStaticMappings {
 
     @MethodName("voidFunction")
@@ -36,7 +36,7 @@ public class SimpleStaticMappings {
     public static native String getStringView(final String value);
 
     // Inner class to be mapped
-    @BridgeClass(namespace = "jnibridge::examples")
+    @BridgeClass(namespace = "jnibridge::examples", includes = "native/simple/SimpleStatics.cpp")
     public static class InnerClass {
 
         public static native String getFunnyString(final String value);
@@ -0,0 +1,47 @@
+package com.jnibridge.example.generator;
+
+import com.jnibridge.generator.output.GeneratedFileWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class GeneratedFileWriterTest {
+
+    @TempDir
+    Path outPath;
+
+    @Test
+    public void testWrittenFilesHaveDefaultPermissions() throws IOException {
+        assumeTrue(Files.getFileAttributeView(outPath, PosixFileAttributeView.class) != null);
+
+        // a file created the usual way (honoring the umask) as reference
+        Path reference = Files.write(outPath.resolve("reference.txt"), new byte[0]);
+        Set<PosixFilePermission> expected = Files.getPosixFilePermissions(reference);
+
+        GeneratedFileWriter writer = new GeneratedFileWriter(outPath, true);
+        Path generated = outPath.resolve("native/Generated.jni.cpp");
+        writer.write(generated, "// generated");
+        writer.finish();
+
+        assertEquals(expected, Files.getPosixFilePermissions(generated));
+        assertEquals(expected, Files.getPosixFilePermissions(outPath.resolve(GeneratedFileWriter.MANIFEST_FILENAME)));
+
+        // rewritten files are replaced by new temp-files
+        writer = new GeneratedFileWriter(outPath, true);
+        writer.write(generated, "// regenerated");
+        writer.finish();
+
+        assertEquals("// regenerated", new String(Files.readAllBytes(generated), StandardCharsets.UTF_8));
+        assertEquals(expected, Files.getPosixFilePermissions(generated));
+    }
+}
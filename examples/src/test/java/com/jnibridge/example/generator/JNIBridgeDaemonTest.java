@@ -0,0 +1,123 @@
+package com.jnibridge.example.generator;
+
+import com.jnibridge.JNIBridge;
+import com.jnibridge.JNIBridgeDaemon;
+import com.jnibridge.examples.mappings.oop.A;
+import com.jnibridge.examples.mappings.oop.B;
+import com.jnibridge.examples.mappings.oop.BaseClass;
+import com.jnibridge.examples.mappings.oop.Color;
+import com.jnibridge.examples.mappings.simple.SimpleStaticMappings;
+import com.jnibridge.generator.GenerationOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.SortedSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JNIBridgeDaemonTest {
+
+    private static final String PACKAGE_PATH = "com/jnibridge/examples/mappings";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path tempDir;
+
+    private Path classDir;
+    private JNIBridgeDaemon daemon;
+
+    @BeforeEach
+    public void startDaemon() throws IOException, URISyntaxException {
+        // the daemon watches a copy of the compiled examples, so their class files can be touched
+        Path compiledClasses = Paths.get(A.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        classDir = tempDir.resolve("classes");
+        copyTree(compiledClasses.resolve(PACKAGE_PATH), classDir.resolve(PACKAGE_PATH));
+
+        daemon = JNIBridge.watchJNIInterface(tempDir.resolve("jni"), new String[]{"com.jnibridge.examples.mappings.*"}, new String[0],
+                new HashMap<>(), Collections.singletonList(classDir), GenerationOptions.builder().build());
+        assertEquals(1, daemon.getGenerations());
+        assertTrue(daemon.getRegeneratedClasses().contains(SimpleStaticMappings.class.getName()));
+    }
+
+    @AfterEach
+    public void closeDaemon() {
+        if (daemon != null) { daemon.close(); }
+    }
+
+    @Test
+    public void testReferencingClassesAreAffected() throws IOException, InterruptedException {
+        SortedSet<String> regenerated = touchAndAwait(Color.class);
+
+        // BaseClass (and its subclasses inheriting its methods) returns a Color
+        assertTrue(regenerated.contains(Color.class.getName()), regenerated.toString());
+        assertTrue(regenerated.contains(BaseClass.class.getName()), regenerated.toString());
+        assertFalse(regenerated.contains(SimpleStaticMappings.class.getName()), regenerated.toString());
+    }
+
+    @Test
+    public void testHierarchyIsAffected() throws IOException, InterruptedException {
+        SortedSet<String> regenerated = touchAndAwait(A.class);
+
+        assertTrue(regenerated.contains(A.class.getName()), regenerated.toString());
+        assertTrue(regenerated.contains(B.class.getName()), regenerated.toString());
+        assertTrue(regenerated.contains(BaseClass.class.getName()), regenerated.toString());
+        assertFalse(regenerated.contains(Color.class.getName()), regenerated.toString());
+        assertFalse(regenerated.contains(SimpleStaticMappings.class.getName()), regenerated.toString());
+    }
+
+    @Test
+    public void testSingleClassChangeRegeneratesInMilliseconds() throws IOException, InterruptedException {
+        // the first incremental run warms up the JIT
+        touchAndAwait(SimpleStaticMappings.class);
+
+        long slowest = 0;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Collections.singleton(SimpleStaticMappings.class.getName()), touchAndAwait(SimpleStaticMappings.class));
+            slowest = Math.max(slowest, daemon.getLastRunMillis());
+        }
+        assertTrue(slowest < 500, String.format("incremental run took %d ms", slowest));
+    }
+
+    /**
+     * Rewrites the class file of a class, and waits for the daemon to regenerate.
+     *
+     * @return The classes, the daemon has regenerated.
+     */
+    private SortedSet<String> touchAndAwait(Class<?> clazz) throws IOException, InterruptedException {
+        int generations = daemon.getGenerations();
+
+        Path classFile = classDir.resolve(clazz.getName().replace('.', '/') + ".class");
+        Files.write(classFile, Files.readAllBytes(classFile));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (daemon.getGenerations() == generations) {
+            assertTrue(System.currentTimeMillis() < deadline, "the daemon has not regenerated in time");
+            Thread.sleep(20);
+        }
+        return daemon.getRegeneratedClasses();
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Path copy = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.jnibridge.example.generator;
+
+import com.jnibridge.generator.processor.JniBridgeProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiles sample sources in-process with the {@link JniBridgeProcessor}, verifying the JNI code it generates.
+ */
+public class JniBridgeProcessorTest {
+
+    private static final String SAMPLE = String.join("\n",
+            "package sample;",
+            "",
+            "import com.jnibridge.annotations.BridgeClass;",
+            "",
+            "@BridgeClass(namespace = \"sample\")",
+            "public class Sample {",
+            "    public static native int answer(int question);",
+            "    public static native Node root();",
+            "}");
+
+    private static final String NODE = String.join("\n",
+            "package sample;",
+            "",
+            "import com.jnibridge.annotations.BridgeClass;",
+            "import com.jnibridge.annotations.lifecycle.Deallocate;",
+            "import com.jnibridge.annotations.lifecycle.Ptr;",
+            "import com.jnibridge.nativeaccess.Pointer;",
+            "",
+            "@BridgeClass(namespace = \"sample\")",
+            "public class Node extends Pointer {",
+            "    @Override",
+            "    @Deallocate",
+            "    public native void destructNativeHandle();",
+            "",
+            "    @Ptr",
+            "    public native Node getNext();",
+            "",
+            "    public static class Visitor { }",
+            "}");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBridgedClassesAreGenerated() throws IOException {
+        final Path outputDir = tempDir.resolve("jni");
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(compile(diagnostics, Collections.singletonList("-A" + JniBridgeProcessor.OUTPUT_DIR_OPTION + "=" + outputDir),
+                source("sample.Sample", SAMPLE), source("sample.Node", NODE)), diagnostics.getDiagnostics().toString());
+
+        final String sample = read(outputDir.resolve("sample/Sample.jni.cpp"));
+        assertTrue(sample.contains("Java_sample_Sample_answer"), sample);
+        assertTrue(sample.contains("Java_sample_Sample_root"), sample);
+
+        final String node = read(outputDir.resolve("sample/Node.jni.cpp"));
+        assertTrue(node.contains("Java_sample_Node_getNext"), node);
+    }
+
+    @Test
+    public void testNothingIsGeneratedWithoutOutputDir() throws IOException {
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(compile(diagnostics, Collections.emptyList(), source("sample.Sample", SAMPLE), source("sample.Node", NODE)),
+                diagnostics.getDiagnostics().toString());
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(Collections.singletonList("classes"), files.map(file -> file.getFileName().toString()).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testBridgedAnnotationIsRejected() throws IOException {
+        final String annotation = String.join("\n",
+                "package sample;",
+                "",
+                "@com.jnibridge.annotations.BridgeClass(namespace = \"sample\")",
+                "public @interface Bridged { }");
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile(diagnostics, Collections.singletonList("-A" + JniBridgeProcessor.OUTPUT_DIR_OPTION + "=" + tempDir.resolve("jni")),
+                source("sample.Bridged", annotation)));
+
+        final List<String> errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+        assertEquals(Collections.singletonList("@BridgeClass is only supported on classes, interfaces and enums."), errors);
+        assertFalse(Files.exists(tempDir.resolve("jni")));
+    }
+
+    @Test
+    public void testIsRegisteredAsAggregatingProcessor() throws IOException {
+        final URL registration = JniBridgeProcessor.class.getClassLoader().getResource("META-INF/gradle/incremental.annotation.processors");
+        assertNotNull(registration);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(registration.openStream(), StandardCharsets.UTF_8))) {
+            assertEquals(Collections.singletonList(JniBridgeProcessor.class.getName() + ",aggregating"),
+                    reader.lines().map(String::trim).filter(line -> !line.isEmpty()).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Compiles the sources (against the classpath of the test) with the {@link JniBridgeProcessor}.
+     *
+     * @return True if the compilation has succeeded.
+     */
+    private boolean compile(final DiagnosticCollector<JavaFileObject> diagnostics, final List<String> processorOptions, final JavaFileObject... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "the tests must run on a JDK");
+
+        // the JNIBridge classes (annotations, templates) are on the classpath of the test, which might be a launcher's only
+        final String classpath = System.getProperty("java.class.path") + File.pathSeparator + getLocation(JniBridgeProcessor.class);
+
+        final Path classesDir = Files.createDirectories(tempDir.resolve("classes"));
+        final List<String> options = new ArrayList<>(Arrays.asList("-classpath", classpath, "-d", classesDir.toString()));
+        options.addAll(processorOptions);
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, Arrays.asList(sources));
+            task.setProcessors(Collections.singletonList(new JniBridgeProcessor()));
+            return task.call();
+        }
+    }
+
+    private static String getLocation(final Class<?> type) {
+        try {
+            return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JavaFileObject source(final String className, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) { return content; }
+        };
+    }
+
+    private static String read(final Path file) throws IOException {
+        assertTrue(Files.isRegularFile(file), file + " has not been generated");
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,176 @@
+package com.jnibridge.example.generator;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationOptions;
+import com.jnibridge.generator.analysis.JniCost;
+import com.jnibridge.generator.analysis.JniCostAnalyzer;
+import com.jnibridge.generator.analysis.JniOperation;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeExceptionComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeHandleComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeRuntimeComposer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JniCostAnalyzerTest {
+
+    // a runtime with free helpers, a class hierarchy and a class constructed per function
+    private static final String RUNTIME = String.join("\n",
+            "namespace rt {",
+            "    inline jclass lookupClass(JNIEnv *env) { return env->FindClass(\"com/example/Type\"); }",
+            "",
+            "    inline void recurse(JNIEnv *env, int depth) {",
+            "        env->NewGlobalRef(nullptr);",
+            "        if (depth > 0) { recurse(env, depth - 1); }",
+            "    }",
+            "",
+            "    class Cache {",
+            "    public:",
+            "        jobject lookup(JNIEnv *env) { return resolve(env); }",
+            "    private:",
+            "        jobject resolve(JNIEnv *env) { return env->CallObjectMethod(nullptr, nullptr); }",
+            "    };",
+            "",
+            "    inline Cache& cache() {",
+            "        static Cache instance;",
+            "        return instance;",
+            "    }",
+            "",
+            "    class BaseHandle {",
+            "    public:",
+            "        jlong id(JNIEnv *env) const { return env->CallLongMethod(nullptr, nullptr); }",
+            "    };",
+            "",
+            "    template<class T>",
+            "    class Handle : public BaseHandle {",
+            "    public:",
+            "        explicit Handle(T* instance) : _instance(instance) { }",
+            "        T* get() const { return _instance; }",
+            "    private:",
+            "        T* _instance;",
+            "    };",
+            "",
+            "    class Chunks {",
+            "    public:",
+            "        Chunks(JNIEnv *env, int elements) : env(env), _elements{elements} { env->GetMethodID(nullptr, \"size\", \"()I\"); }",
+            "        bool next() { return env->NewLocalRef(nullptr) != nullptr; }",
+            "    private:",
+            "        JNIEnv *env;",
+            "        int _elements;",
+            "    };",
+            "}");
+
+    private final JniCostAnalyzer analyzer = new JniCostAnalyzer(new GenerationCache(GenerationOptions.builder().build()), Collections.singletonList(RUNTIME));
+
+    @Test
+    public void testLoopsCountPerElement() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "jclass type = env->FindClass(\"com/example/Type\");",
+                "for (int i = 0; i < count; i++) {",
+                "    env->GetMethodID(type, \"get\", \"()I\");",
+                "}",
+                "while (count--) env->NewStringUTF(\"element\");",
+                "do { env->CallVoidMethod(nullptr, nullptr); } while (false);"));
+
+        assertEquals(1, cost.getPerCall(JniOperation.FIND_CLASS));
+        assertEquals(1, cost.getPerElement(JniOperation.ID_LOOKUP));
+        assertEquals(1, cost.getPerElement(JniOperation.LOCAL_REF));
+        assertEquals(1, cost.getPerElement(JniOperation.UPCALL));
+        assertTrue(cost.getFindings().contains("idLookup per element"), cost.getFindings().toString());
+        assertTrue(cost.getFindings().contains("upcall per element"), cost.getFindings().toString());
+    }
+
+    @Test
+    public void testCatchBlocksAreIgnored() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "try {",
+                "    env->FindClass(\"com/example/Type\");",
+                "} catch (const std::exception &e) {",
+                "    env->FindClass(\"java/lang/RuntimeException\");",
+                "    rt::lookupClass(env);",
+                "}"));
+
+        assertEquals(1, cost.getTotal(JniOperation.FIND_CLASS));
+    }
+
+    @Test
+    public void testStaticInitializationsAreIgnored() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "static jclass type = static_cast<jclass>(env->NewGlobalRef(rt::lookupClass(env)));",
+                "static jmethodID method = env->GetStaticMethodID(type, \"get\", \"()I\");",
+                "env->CallStaticIntMethod(type, method);"));
+
+        assertEquals(0, cost.getTotal(JniOperation.FIND_CLASS));
+        assertEquals(0, cost.getTotal(JniOperation.GLOBAL_REF));
+        assertEquals(0, cost.getTotal(JniOperation.ID_LOOKUP));
+        assertEquals(1, cost.getPerCall(JniOperation.UPCALL));
+    }
+
+    @Test
+    public void testHelpersAreFollowed() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "rt::recurse(env, 3);",
+                "for (jsize i = 0; i < length; i++) {",
+                "    rt::lookupClass(env);",
+                "}"));
+
+        // the recursion is counted once
+        assertEquals(1, cost.getPerCall(JniOperation.GLOBAL_REF));
+        assertEquals(1, cost.getPerElement(JniOperation.FIND_CLASS));
+        assertTrue(cost.getFindings().contains("findClass per element (via lookupClass)"), cost.getFindings().toString());
+    }
+
+    @Test
+    public void testMembersAreFollowed() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "jobject cached = rt::cache().lookup(env);",
+                "auto handle = new rt::Handle<Type>(instance);",
+                "jlong id = handle->id(env);",
+                "rt::Chunks chunks(env, count);",
+                "for (int i = 0; i < count; i++) {",
+                "    if (!chunks.next()) { break; }",
+                "}"));
+
+        assertEquals(2, cost.getPerCall(JniOperation.UPCALL)); // <- Cache::resolve (via Cache::lookup), BaseHandle::id
+        assertEquals(1, cost.getPerCall(JniOperation.HEAP_ALLOCATION));
+        assertEquals(1, cost.getPerCall(JniOperation.ID_LOOKUP)); // <- the constructor of Chunks
+        assertEquals(1, cost.getPerElement(JniOperation.LOCAL_REF)); // <- Chunks::next
+        assertEquals(Collections.emptyList(), cost.getUnanalyzed());
+    }
+
+    @Test
+    public void testUnresolvedReceiversAreUnanalyzed() {
+        JniCost cost = analyzer.analyze(String.join("\n",
+                "std::vector<jobject> values;",
+                "values.push_back(unknownCache.lookup(env));",
+                "jsize size = static_cast<jsize>(values.size());"));
+
+        assertEquals(0, cost.getTotal(JniOperation.UPCALL));
+        assertEquals(Collections.singletonList("Cache::lookup"), cost.getUnanalyzed());
+    }
+
+    @Test
+    public void testRuntimeMembersAreResolved() {
+        GenerationCache cache = new GenerationCache(GenerationOptions.builder().build());
+        JniCostAnalyzer runtimeAnalyzer = new JniCostAnalyzer(cache, Arrays.asList(
+                new JniBridgeHandleComposer(cache, Collections.emptyList()).compose(),
+                new JniBridgeExceptionComposer(cache).compose(),
+                new JniBridgeRuntimeComposer(cache).compose()));
+
+        JniCost cost = runtimeAnalyzer.analyze(String.join("\n",
+                "std::vector<Type*> values = source();",
+                "auto resultHandle = new jnibridge::internal::Handle<Type>(nativeResult, false);",
+                "jnibridge::internal::BaseHandle *resultBaseHandle = resultHandle;",
+                "result = jnibridge::internal::identityCache().store(env, resultHandle->get(), result, resultBaseHandle);",
+                "jnibridge::runtime::LocalRefChunks chunks(env, values.size(), 1);",
+                "for (std::size_t i = 0; i < values.size(); i++) { chunks.next(); }"));
+
+        // IdentityCache::store creates a WeakReference (NewObject) and a global reference to it
+        assertTrue(cost.getPerCall(JniOperation.UPCALL) > 0);
+        assertTrue(cost.getPerCall(JniOperation.GLOBAL_REF) > 0);
+        assertEquals(Collections.emptyList(), cost.getUnanalyzed());
+    }
+}
@@ -7,7 +7,17 @@ import com.jnibridge.examples.mappings.oop.Color;
 import com.jnibridge.exception.JniBridgeException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class BaseClassTest {
@@ -36,6 +46,89 @@ public class BaseClassTest {
         assertThrows(JniBridgeException.class, thisRef::getString);
     }
 
+    @Test
+    public void testGetThisRefPreservesIdentity() {
+        try (BaseClass baseClass = new BaseClass()) {
+            BaseClass thisRef = baseClass.getThisRef();
+            assertSame(thisRef, baseClass.getThisRef());
+
+            thisRef.close();
+            BaseClass newThisRef = baseClass.getThisRef();
+            assertNotSame(thisRef, newThisRef);
+            assertSame(newThisRef, baseClass.getThisRef());
+        }
+    }
+
+    @Test
+    public void testConcurrentGetThisPtrPreservesIdentity() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (B b = new B()) {
+            for (int round = 0; round < 32; round++) {
+                List<Callable<BaseClass>> calls = Collections.nCopies(4, b::getThisPtr);
+                List<Future<BaseClass>> results = executor.invokeAll(calls);
+
+                // threads losing the race to register their wrapper receive the winner's
+                BaseClass winner = results.get(0).get();
+                for (Future<BaseClass> result : results) { assertSame(winner, result.get()); }
+                assertEquals("B-String", winner.getString());
+                winner.close();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOwnerDeallocationEvictsBorrowedWrappers() {
+        B b = new B();
+        BaseClass borrowed = b.getThisPtr(); // <- a BaseClass* to an owned B
+        assertSame(borrowed, b.getThisPtr());
+        b.close();
+
+        // the freed native address is likely to be reused by the next allocations
+        for (int i = 0; i < 16; i++) {
+            try (A a = new A()) {
+                BaseClass thisPtr = a.getThisPtr();
+                assertNotSame(borrowed, thisPtr);
+                assertFalse(thisPtr instanceof B);
+                assertEquals("A-String", thisPtr.getString());
+                thisPtr.close();
+            }
+        }
+    }
+
+    @Test
+    public void testGetThisPtrInto() {
+        try (BaseClass baseClass = new BaseClass(); B b = new B()) {
+            BaseClass cursor = baseClass.getThisPtr();
+            long cursorHandle = cursor.getNativeHandle();
+
+            assertSame(cursor, b.getThisPtr(cursor));
+            assertEquals(cursorHandle, cursor.getNativeHandle());
+            assertEquals("B-String", cursor.getString());
+
+            assertSame(cursor, baseClass.getThisPtr(cursor));
+            assertEquals("BaseClass-String", cursor.getString());
+
+            assertThrows(JniBridgeException.class, () -> b.getThisPtr(baseClass)); // <- owning wrappers cannot be rebound
+            cursor.close();
+        }
+    }
+
+    @Test
+    public void testGetThisPtrIntoRejectsSubclassWrapper() {
+        try (BaseClass baseClass = new BaseClass(); B b = new B()) {
+            BaseClass bCursor = b.getThisPtr(); // <- a B wrapper borrowing b
+            long bCursorHandle = bCursor.getNativeHandle();
+
+            // a BaseClass instance must not be accessed through the methods of B
+            assertThrows(JniBridgeException.class, () -> baseClass.getThisPtr(bCursor));
+            assertEquals(bCursorHandle, bCursor.getNativeHandle());
+            assertEquals("B-String", bCursor.getString());
+            bCursor.close();
+        }
+    }
+
     @Test
     public void testPrintFromOther() {
         B b = new B();
@@ -0,0 +1,82 @@
+package com.jnibridge.example.mappings.sequence;
+
+import com.jnibridge.examples.mappings.sequence.SequenceElement;
+import com.jnibridge.nativeaccess.diagnostics.JniCallStatistics;
+import com.jnibridge.nativeaccess.diagnostics.JniDiagnostics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SequenceElementTest {
+
+    static {
+        String dllPath = System.getProperty("user.dir") + "/build/jni/JNIBridgeExamples.dll";
+        System.load(dllPath);
+    }
+
+    @Test
+    public void testChunkBoundaries() {
+        // around the default JNIBRIDGE_LOCAL_FRAME_CHUNK (256)
+        for (int count : new int[]{0, 1, 255, 256, 257, 513}) {
+            assertSequence(SequenceElement.createSequence(count), count);
+        }
+    }
+
+    @Test
+    public void testMillionsOfElements() {
+        final int count = 3_000_000;
+        assertSequence(SequenceElement.createSequence(count), count);
+    }
+
+    @Test
+    public void testLocalReferencesAreBounded() {
+        assumeTrue(JniDiagnostics.isEnabled(), "requires the diagnostics profile");
+
+        final int count = 3_000_000;
+        final SequenceElement[] sequence = SequenceElement.createSequence(count);
+
+        // the local references must not grow with the number of elements
+        final JniCallStatistics lastCall = JniDiagnostics.getLastCall();
+        assertNotNull(lastCall);
+        assertEquals(SequenceElement.class.getName() + ".createSequence", lastCall.getFunction(), lastCall.toString());
+        assertTrue(lastCall.getLocalRefHighWater() < 16, lastCall.toString());
+        assertEquals(1, lastCall.getCount("FindClass"), lastCall.toString());
+
+        assertSequence(sequence, count);
+    }
+
+    @Test
+    public void testRepeatedLargeSequences() {
+        for (int i = 0; i < 5; i++) {
+            assertSequence(SequenceElement.createSequence(500_000), 500_000);
+        }
+    }
+
+    @Test
+    public void testDeallocationIsCounted() {
+        assumeTrue(JniDiagnostics.isEnabled(), "requires the diagnostics profile");
+
+        final SequenceElement[] sequence = SequenceElement.createSequence(1);
+        sequence[0].close();
+
+        // the deallocation is attributed its JNI calls like any other generated function
+        final JniCallStatistics lastCall = JniDiagnostics.getLastCall();
+        assertNotNull(lastCall);
+        assertEquals(SequenceElement.class.getName() + ".destructNativeHandle", lastCall.getFunction(), lastCall.toString());
+        assertEquals(1, lastCall.getCount("CallVoidMethodV"), lastCall.toString()); // <- setNativeHandle(-1)
+
+        final JniCallStatistics statistics = JniDiagnostics.getStatistics(SequenceElement.class.getName() + ".destructNativeHandle");
+        assertNotNull(statistics);
+        assertTrue(statistics.getCount("CallVoidMethodV") >= 1, statistics.toString());
+    }
+
+    private static void assertSequence(final SequenceElement[] sequence, final int count) {
+        assertEquals(count, sequence.length);
+        for (int i = 0; i < sequence.length; i++) {
+            assertNotNull(sequence[i]);
+            if (i % 997 == 0 || i == sequence.length - 1) { assertEquals(i, sequence[i].getValue()); }
+            sequence[i].close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.jnibridge.example.nativeaccess;
+
+import com.jnibridge.examples.mappings.oop.BaseClass;
+import com.jnibridge.nativeaccess.memory.JniBridgeMemory;
+import com.jnibridge.nativeaccess.memory.JniBridgeMemoryMXBean;
+import com.jnibridge.nativeaccess.memory.NativeMemoryUsage;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JniBridgeMemoryTest {
+
+    static {
+        String dllPath = System.getProperty("user.dir") + "/build/jni/JNIBridgeExamples.dll";
+        System.load(dllPath);
+    }
+
+    @Test
+    public void testLiveHandles() {
+        JniBridgeMemoryMXBean memory = JniBridgeMemory.getInstance();
+        assertTrue(memory.isAccountingEnabled());
+
+        long liveHandlesBefore = memory.getUsage(BaseClass.class.getName()).getLiveHandles();
+
+        BaseClass baseClass = new BaseClass();
+        NativeMemoryUsage usage = memory.getUsage(BaseClass.class.getName());
+        assertEquals(liveHandlesBefore + 1, usage.getLiveHandles());
+        assertTrue(usage.getLiveBytes() > 0);
+
+        baseClass.close();
+        assertEquals(liveHandlesBefore, memory.getUsage(BaseClass.class.getName()).getLiveHandles());
+    }
+
+    @Test
+    public void testBorrowedHandlesHoldNoBytes() {
+        JniBridgeMemoryMXBean memory = JniBridgeMemory.getInstance();
+
+        try (BaseClass baseClass = new BaseClass()) {
+            long liveBytesBefore = memory.getUsage(BaseClass.class.getName()).getLiveBytes();
+            long liveHandlesBefore = memory.getUsage(BaseClass.class.getName()).getLiveHandles();
+
+            BaseClass thisRef = baseClass.getThisRef();
+            assertEquals(liveHandlesBefore + 1, memory.getUsage(BaseClass.class.getName()).getLiveHandles());
+            assertEquals(liveBytesBefore, memory.getUsage(BaseClass.class.getName()).getLiveBytes());
+            thisRef.close();
+        }
+    }
+
+    @Test
+    public void testUnknownClass() {
+        assertNull(JniBridgeMemory.getInstance().getUsage(String.class.getName()));
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        JniBridgeMemory.register();
+        JniBridgeMemory.register(); // <- registering twice must not fail
+
+        ObjectName name = new ObjectName(JniBridgeMemory.OBJECT_NAME);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        assertNotNull(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Usages"));
+
+        JniBridgeMemory.unregister();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jnibridge.example.nativeaccess;
+
+import com.jnibridge.examples.mappings.oop.BaseClass;
+import com.jnibridge.nativeaccess.leak.LeakDetector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeakDetectorTest {
+
+    static {
+        String dllPath = System.getProperty("user.dir") + "/build/jni/JNIBridgeExamples.dll";
+        System.load(dllPath);
+    }
+
+    @Test
+    public void testClosedObjectIsNotReported() throws InterruptedException {
+        LeakDetector.setMode(LeakDetector.Mode.PARANOID);
+        try {
+            long leaksBefore = LeakDetector.getLeakCount();
+
+            new BaseClass().close();
+            collectGarbage();
+
+            assertEquals(leaksBefore, LeakDetector.getLeakCount());
+        } finally {
+            LeakDetector.setMode(LeakDetector.Mode.OFF);
+        }
+    }
+
+    @Test
+    public void testUnclosedObjectIsReported() throws InterruptedException {
+        List<String> reports = new ArrayList<>();
+        LeakDetector.setReporter(reports::add);
+        LeakDetector.setMode(LeakDetector.Mode.PARANOID);
+        try {
+            long leaksBefore = LeakDetector.getLeakCount();
+
+            new BaseClass();
+            for (int i = 0; i < 10 && LeakDetector.getLeakCount() == leaksBefore; ++i) { collectGarbage(); }
+
+            assertTrue(LeakDetector.getLeakCount() > leaksBefore);
+            assertTrue(reports.get(0).contains(BaseClass.class.getName()));
+            assertTrue(reports.get(0).contains(LeakDetectorTest.class.getName()));
+        } finally {
+            LeakDetector.setMode(LeakDetector.Mode.OFF);
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private static void collectGarbage() throws InterruptedException {
+        System.gc();
+        System.runFinalization();
+        Thread.sleep(10);
+        LeakDetector.reportLeaks();
+    }
+}
@@ -0,0 +1,86 @@
+package com.jnibridge.example.nativeaccess;
+
+import com.jnibridge.examples.mappings.oop.BaseClass;
+import com.jnibridge.nativeaccess.memory.NativeMemoryAccountant;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NativeMemoryAccountantTest {
+
+    static {
+        String dllPath = System.getProperty("user.dir") + "/build/jni/JNIBridgeExamples.dll";
+        System.load(dllPath);
+    }
+
+    @Test
+    public void testReserveAndRelease() {
+        try {
+            NativeMemoryAccountant.setSoftLimit(Long.MAX_VALUE / 2);
+            long reservedBefore = NativeMemoryAccountant.getReservedBytes();
+
+            BaseClass baseClass = new BaseClass();
+            assertTrue(NativeMemoryAccountant.getReservedBytes() > reservedBefore);
+
+            baseClass.close();
+            assertEquals(reservedBefore, NativeMemoryAccountant.getReservedBytes());
+        } finally {
+            NativeMemoryAccountant.setSoftLimit(NativeMemoryAccountant.NO_LIMIT);
+        }
+    }
+
+    @Test
+    public void testNothingIsReservedWithoutSoftLimit() {
+        long reservedBefore = NativeMemoryAccountant.getReservedBytes();
+
+        // no soft limit -> allocations are not reported to the accountant
+        try (BaseClass ignored = new BaseClass()) {
+            assertEquals(reservedBefore, NativeMemoryAccountant.getReservedBytes());
+        }
+        assertEquals(reservedBefore, NativeMemoryAccountant.getReservedBytes());
+    }
+
+    @Test
+    public void testSoftLimitExceeded() {
+        long maxWaitBefore = NativeMemoryAccountant.getMaxWaitMillis();
+        try {
+            NativeMemoryAccountant.setMaxWaitMillis(5);
+            NativeMemoryAccountant.setSoftLimit(1);
+
+            long exceededBefore = NativeMemoryAccountant.getLimitExceededCount();
+            try (BaseClass ignored = new BaseClass()) {
+                assertEquals(exceededBefore + 1, NativeMemoryAccountant.getLimitExceededCount());
+            }
+        } finally {
+            NativeMemoryAccountant.setSoftLimit(NativeMemoryAccountant.NO_LIMIT);
+            NativeMemoryAccountant.setMaxWaitMillis(maxWaitBefore);
+        }
+    }
+
+    @Test
+    public void testConcurrentReservationsAboveSoftLimit() throws InterruptedException {
+        long maxWaitBefore = NativeMemoryAccountant.getMaxWaitMillis();
+        try {
+            NativeMemoryAccountant.setMaxWaitMillis(50);
+            NativeMemoryAccountant.setSoftLimit(1);
+
+            // nothing can be reclaimed -> the reservations must neither be serialized nor held back for maxWaitMillis each
+            long start = System.nanoTime();
+            Thread[] threads = new Thread[8];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    for (int j = 0; j < 100; j++) { NativeMemoryAccountant.reserve(1024); }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) { thread.join(); }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+            assertTrue(elapsedMillis < 10_000, "elapsed: " + elapsedMillis + " ms");
+        } finally {
+            NativeMemoryAccountant.release(8 * 100 * 1024);
+            NativeMemoryAccountant.setSoftLimit(NativeMemoryAccountant.NO_LIMIT);
+            NativeMemoryAccountant.setMaxWaitMillis(maxWaitBefore);
+        }
+    }
+}
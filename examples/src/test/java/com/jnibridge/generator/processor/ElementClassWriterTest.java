@@ -0,0 +1,276 @@
+package com.jnibridge.generator.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.*;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the class files written by the {@link ElementClassWriter} with the ones javac writes for the same sources:
+ * both must declare the same types, members, modifiers and annotations (everything the generator reads).
+ */
+public class ElementClassWriterTest {
+
+    private static final String MARKER = String.join("\n",
+            "package shapes;",
+            "",
+            "import java.lang.annotation.*;",
+            "",
+            "@Retention(RetentionPolicy.RUNTIME)",
+            "@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})",
+            "public @interface Marker {",
+            "    String value() default \"marker\";",
+            "    int[] numbers() default {1, 2};",
+            "    Class<?> type() default Object.class;",
+            "    Color color() default Color.RED;",
+            "    Retention retention() default @Retention(RetentionPolicy.CLASS);",
+            "}");
+
+    private static final String CLASS_MARKER = String.join("\n",
+            "package shapes;",
+            "",
+            "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.CLASS)",
+            "public @interface ClassMarker { }");
+
+    private static final String COLOR = String.join("\n",
+            "package shapes;",
+            "",
+            "public enum Color {",
+            "    RED(0xff0000), BLUE(0x0000ff);",
+            "",
+            "    private final int rgb;",
+            "",
+            "    Color(int rgb) { this.rgb = rgb; }",
+            "",
+            "    public int getRgb() { return rgb; }",
+            "}");
+
+    private static final String SHAPE = String.join("\n",
+            "package shapes;",
+            "",
+            "public interface Shape<T extends Number> {",
+            "    T area();",
+            "    default String name() { return \"shape\"; }",
+            "    static Shape<Integer> unit() { return null; }",
+            "}");
+
+    private static final String POLYGON = String.join("\n",
+            "package shapes;",
+            "",
+            "import java.io.IOException;",
+            "import java.util.List;",
+            "",
+            "@Marker(value = \"polygon\", numbers = {3, 4}, type = String[].class, color = Color.BLUE)",
+            "@ClassMarker",
+            "@SuppressWarnings(\"unused\")",
+            "public abstract class Polygon implements Shape<Integer>, Comparable<Polygon> {",
+            "    @Marker protected final int corners = 3;",
+            "    private static volatile long count;",
+            "    transient List<String> names;",
+            "",
+            "    public native int[] corners(String[][] names, List<? extends Number> values) throws IOException;",
+            "",
+            "    @Marker(\"sized\")",
+            "    public synchronized void resize(@Marker(numbers = {}) double factor, long... steps) { }",
+            "",
+            "    protected abstract <N extends Comparable<N>> N largest(N first, Shape<?> shape);",
+            "",
+            "    static float ratio() { return 1f; }",
+            "",
+            "    @Override",
+            "    public Integer area() { return corners; }",
+            "",
+            "    @Override",
+            "    public int compareTo(Polygon other) { return 0; }",
+            "",
+            "    public static class Edge { }",
+            "    protected interface Visitor { void visit(Polygon polygon); }",
+            "    private enum Kind { CONVEX, CONCAVE }",
+            "    public final class Corner {",
+            "        public class Angle { }",
+            "    }",
+            "}");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testClassFilesDeclareTheCompiledShapes() throws Exception {
+        final Path classesDir = Files.createDirectories(tempDir.resolve("classes"));
+        final WritingProcessor processor = new WritingProcessor();
+        compile(classesDir, processor,
+                source("shapes.Marker", MARKER), source("shapes.ClassMarker", CLASS_MARKER), source("shapes.Color", COLOR),
+                source("shapes.Shape", SHAPE), source("shapes.Polygon", POLYGON));
+
+        assertEquals(new TreeSet<>(Arrays.asList("shapes.ClassMarker", "shapes.Color", "shapes.Marker", "shapes.Polygon", "shapes.Polygon$Corner",
+                "shapes.Polygon$Corner$Angle", "shapes.Polygon$Edge", "shapes.Polygon$Kind", "shapes.Polygon$Visitor", "shapes.Shape")),
+                processor.classFiles.keySet());
+
+        try (URLClassLoader compiledLoader = new URLClassLoader(new URL[]{classesDir.toUri().toURL()}, getClass().getClassLoader())) {
+            final ClassLoader writtenLoader = new ClassFileLoader(processor.classFiles, getClass().getClassLoader());
+            for (final String className : processor.classFiles.keySet()) {
+                assertEquals(describe(Class.forName(className, false, compiledLoader)), describe(Class.forName(className, false, writtenLoader)), className);
+            }
+        }
+    }
+
+    @Test
+    public void testMethodBodiesThrow() throws Exception {
+        final WritingProcessor processor = new WritingProcessor();
+        compile(Files.createDirectories(tempDir.resolve("classes")), processor, source("shapes.Color", COLOR));
+
+        // the enum constants exist (annotation values are read through them), but no code of the compilation runs
+        final Class<?> color = Class.forName("shapes.Color", false, new ClassFileLoader(processor.classFiles, getClass().getClassLoader()));
+        final Object[] constants = (Object[]) color.getMethod("values").invoke(null);
+        assertEquals("[RED, BLUE]", Arrays.toString(constants));
+        assertSame(constants[1], color.getMethod("valueOf", String.class).invoke(null, "BLUE"));
+
+        final Method getRgb = color.getMethod("getRgb");
+        final Throwable thrown = assertThrows(InvocationTargetException.class, () -> getRgb.invoke(constants[0])).getCause();
+        assertTrue(thrown instanceof UnsupportedOperationException, String.valueOf(thrown));
+    }
+
+    /**
+     * @return Everything the generator reads of a class (via reflection), as a comparable string.
+     */
+    private static String describe(final Class<?> type) {
+        final StringBuilder result = new StringBuilder();
+        result.append(Modifier.toString(type.getModifiers())).append(type.isInterface() ? " interface " : " class ").append(type.getName()).append('\n');
+        result.append("  kind: enum=").append(type.isEnum()).append(", annotation=").append(type.isAnnotation()).append('\n');
+        result.append("  simpleName: ").append(type.getSimpleName()).append('\n');
+        result.append("  declaringClass: ").append(type.getDeclaringClass() == null ? null : type.getDeclaringClass().getName()).append('\n');
+        result.append("  superclass: ").append(type.getSuperclass() == null ? null : type.getSuperclass().getName()).append('\n');
+        result.append("  interfaces: ").append(Arrays.stream(type.getInterfaces()).map(Class::getName).collect(Collectors.toList())).append('\n');
+        result.append("  declaredClasses: ").append(Arrays.stream(type.getDeclaredClasses()).map(Class::getName).sorted().collect(Collectors.toList())).append('\n');
+        result.append("  annotations: ").append(describe(type.getDeclaredAnnotations())).append('\n');
+
+        Arrays.stream(type.getDeclaredFields())
+                .filter(field -> !field.isSynthetic())
+                .map(ElementClassWriterTest::describe)
+                .sorted()
+                .forEach(field -> result.append("  field ").append(field).append('\n'));
+        Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isBridge())
+                .map(ElementClassWriterTest::describe)
+                .sorted()
+                .forEach(method -> result.append("  method ").append(method).append('\n'));
+        return result.toString();
+    }
+
+    private static String describe(final Field field) {
+        return String.format("%s %s %s%s", Modifier.toString(field.getModifiers()), field.getType().getName(), field.getName(),
+                describe(field.getDeclaredAnnotations()));
+    }
+
+    private static String describe(final Method method) {
+        final StringBuilder result = new StringBuilder();
+        result.append(Modifier.toString(method.getModifiers())).append(method.isVarArgs() ? " varargs " : " ")
+                .append(method.getReturnType().getName()).append(' ').append(method.getName()).append('(');
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            result.append(i == 0 ? "" : ", ").append(parameterTypes[i].getName()).append(describe(method.getParameterAnnotations()[i]));
+        }
+        result.append(") throws ").append(Arrays.stream(method.getExceptionTypes()).map(Class::getName).collect(Collectors.toList()));
+        result.append(describe(method.getDeclaredAnnotations()));
+        if (method.getDefaultValue() != null) { result.append(" default ").append(Arrays.deepToString(new Object[]{method.getDefaultValue()})); }
+        return result.toString();
+    }
+
+    private static String describe(final Annotation[] annotations) {
+        return Arrays.stream(annotations).map(Annotation::toString).sorted().collect(Collectors.joining(" ", " ", ""));
+    }
+
+    private static void compile(final Path classesDir, final AbstractProcessor processor, final JavaFileObject... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler, "the tests must run on a JDK");
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final List<String> options = Arrays.asList("-d", classesDir.toString(), "-Xlint:-options");
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null, Arrays.asList(sources));
+            task.setProcessors(Collections.singletonList(processor));
+            assertTrue(task.call(), diagnostics.getDiagnostics().toString());
+        }
+    }
+
+    private static JavaFileObject source(final String className, final String content) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(final boolean ignoreEncodingErrors) { return content; }
+        };
+    }
+
+    /**
+     * Writes the class files of all types of the compilation in the final round (like the {@link JniBridgeProcessor}).
+     */
+    @SupportedAnnotationTypes("*")
+    private static class WritingProcessor extends AbstractProcessor {
+
+        private final Set<String> rootTypes = new TreeSet<>();
+        private final SortedMap<String, byte[]> classFiles = new TreeMap<>();
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() { return SourceVersion.latestSupported(); }
+
+        @Override
+        public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+            if (!roundEnv.processingOver()) {
+                ElementFilter.typesIn(roundEnv.getRootElements()).forEach(type -> rootTypes.add(type.getQualifiedName().toString()));
+                return false;
+            }
+
+            final ElementClassWriter writer = new ElementClassWriter(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+            final Deque<TypeElement> pending = rootTypes.stream()
+                    .map(processingEnv.getElementUtils()::getTypeElement)
+                    .collect(Collectors.toCollection(ArrayDeque::new));
+            while (!pending.isEmpty()) {
+                final TypeElement type = pending.pop();
+                classFiles.put(writer.getBinaryName(type), writer.write(type));
+                ElementFilter.typesIn(type.getEnclosedElements()).forEach(pending::push);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Defines classes from class files in memory.
+     */
+    private static class ClassFileLoader extends ClassLoader {
+
+        private final Map<String, byte[]> classFiles;
+
+        private ClassFileLoader(final Map<String, byte[]> classFiles, final ClassLoader parent) {
+            super(parent);
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            final byte[] classFile = classFiles.get(name);
+            if (classFile == null) { throw new ClassNotFoundException(name); }
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+plugins {
+    `java-gradle-plugin`
+    `maven-publish`
+}
+
+repositories {
+    mavenCentral()
+}
+
+// The plugin build is included by the JNIBridge build (see ../settings.gradle.kts), so it cannot depend on it. The plugin
+// is compiled against the generator sources instead, the generator itself is resolved from the consumer's classpath at
+// execution time (see GenerateJniAction).
+val generator: SourceSet by sourceSets.creating {
+    java.srcDir("../src/main/java")
+    resources.srcDir("../src/main/resources")
+}
+
+dependencies {
+    "generatorImplementation"("org.jetbrains:annotations:24.0.0")
+    "generatorImplementation"("io.github.classgraph:classgraph:4.8.181")
+    "generatorImplementation"("org.ow2.asm:asm:9.5")
+    "generatorCompileOnly"("org.projectlombok:lombok:1.18.42")
+    "generatorAnnotationProcessor"("org.projectlombok:lombok:1.18.42")
+
+    compileOnly(generator.output)
+    compileOnly("org.jetbrains:annotations:24.0.0")
+
+    testImplementation(gradleTestKit())
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.10.2")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.2")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:1.10.2")
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.release.set(8)
+    options.encoding = "UTF-8"
+}
+
+// the functional tests apply the plugin to generated projects, which depend on the generator (see GenerateJniTaskTest)
+tasks.test {
+    useJUnitPlatform()
+
+    val generatorClasspath = generator.runtimeClasspath
+    inputs.files(generatorClasspath).withNormalizer(ClasspathNormalizer::class)
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf("-Djnibridge.test.generatorClasspath=${generatorClasspath.asPath}")
+    })
+}
+
+if (project.group.toString().isBlank()) {
+    group = "com.github.Avdiji"
+}
+if (project.version.toString() == "unspecified") {
+    version = "0.0.0-SNAPSHOT"
+}
+
+gradlePlugin {
+    plugins {
+        create("jnibridge") {
+            id = "com.github.Avdiji.jnibridge"
+            implementationClass = "com.jnibridge.gradle.JniBridgePlugin"
+            displayName = "JNIBridge"
+            description = "Generates the JNI code of @BridgeClass annotated classes in a cacheable task."
+        }
+    }
+}
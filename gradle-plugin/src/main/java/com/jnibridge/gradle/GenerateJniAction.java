@@ -0,0 +1,120 @@
+package com.jnibridge.gradle;
+
+import com.jnibridge.JNIBridge;
+import com.jnibridge.generator.GenerationOptions;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Runs the generator within the isolated class loader of a {@link GenerateJniTask} worker.
+ * <p>
+ * Gradle reuses the worker class loader for unchanged classpaths, so the state of the
+ * {@link com.jnibridge.JniBridgeRegistry} outlives a single run. Initializers are therefore run once per class loader,
+ * and removing an initializer requires a fresh class loader (see {@link JniBridgeExtension#getInitializers()}).
+ * </p>
+ */
+public abstract class GenerateJniAction implements WorkAction<GenerateJniAction.Parameters> {
+
+    // the initializers, that have been run within this class loader
+    private static final Set<String> INITIALIZED = new LinkedHashSet<>();
+
+    /**
+     * The parameters of the worker (see {@link GenerateJniTask}).
+     */
+    public interface Parameters extends WorkParameters {
+        ListProperty<String> getClassPatterns();
+
+        ListProperty<String> getNativeIncludes();
+
+        ListProperty<String> getInitializers();
+
+        MapProperty<String, String> getCustomJniFiles();
+
+        MapProperty<String, String> getGenerationProperties();
+
+        DirectoryProperty getOutputDirectory();
+    }
+
+    @Override
+    public void execute() {
+        final Parameters parameters = getParameters();
+
+        // the generator loads the bridged classes and templates via the context class loader
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previousLoader = thread.getContextClassLoader();
+        final ClassLoader workerLoader = getClass().getClassLoader();
+        thread.setContextClassLoader(workerLoader);
+        try {
+            runInitializers(workerLoader, parameters.getInitializers().get());
+
+            final Path outPath = parameters.getOutputDirectory().get().getAsFile().toPath();
+            final Map<Path, String> customJNIFiles = new HashMap<>();
+            parameters.getCustomJniFiles().get().forEach((file, resource) -> customJNIFiles.put(outPath.resolve(file), resource));
+
+            // incremental writes keep the modification time of unchanged files (native builds only recompile changes)
+            final Map<String, String> properties = new HashMap<>(parameters.getGenerationProperties().get());
+            properties.putIfAbsent(GenerationOptions.INCREMENTAL_PROPERTY, "true");
+
+            JNIBridge.generateJNIInterface(outPath,
+                    parameters.getClassPatterns().get().toArray(new String[0]),
+                    parameters.getNativeIncludes().get().toArray(new String[0]),
+                    customJNIFiles,
+                    GenerationOptions.fromProperties(properties::get));
+        } finally {
+            thread.setContextClassLoader(previousLoader);
+        }
+    }
+
+    /**
+     * Runs the initializers, that have not been run within the class loader yet.
+     *
+     * @param classLoader  The class loader of the worker.
+     * @param initializers The configured initializers.
+     * @throws GradleException if a previously run initializer is no longer configured, since its registrations
+     *                         cannot be undone.
+     */
+    private static void runInitializers(@NotNull final ClassLoader classLoader, @NotNull final List<String> initializers) {
+        synchronized (INITIALIZED) {
+            final Set<String> removed = new LinkedHashSet<>(INITIALIZED);
+            removed.removeAll(initializers);
+            if (!removed.isEmpty()) {
+                throw new GradleException(String.format("The JNIBridge initializers %s have been removed, but their registrations "
+                        + "remain in the reused worker class loader; restart the Gradle daemon (gradle --stop)", removed));
+            }
+
+            for (final String initializer : initializers) {
+                if (!INITIALIZED.contains(initializer)) {
+                    runInitializer(classLoader, initializer);
+                    INITIALIZED.add(initializer);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param classLoader The class loader of the worker.
+     * @param className   The fully qualified name of a class implementing {@link Runnable}.
+     * @throws GradleException if the initializer cannot be instantiated.
+     */
+    private static void runInitializer(@NotNull final ClassLoader classLoader, @NotNull final String className) {
+        final Object initializer;
+        try {
+            initializer = Class.forName(className, true, classLoader).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new GradleException(String.format("Unable to instantiate the JNIBridge initializer '%s'", className), e);
+        }
+
+        if (!(initializer instanceof Runnable)) {
+            throw new GradleException(String.format("The JNIBridge initializer '%s' does not implement Runnable", className));
+        }
+        ((Runnable) initializer).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.jnibridge.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.*;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import javax.inject.Inject;
+
+/**
+ * Generates the JNI-code of the bridged classes (see {@link com.jnibridge.JNIBridge#generateJNIInterface}).
+ * <p>
+ * All inputs are declared, so the task is up-to-date as long as the compiled classes, the resources (templates)
+ * and the configuration did not change, and its output is loaded from the build cache otherwise (if possible).
+ * The generator runs in a worker with an isolated class loader, holding the {@link #getClasspath() classpath} only,
+ * so neither the generator nor the bridged classes leak into the build's class loaders.
+ * </p>
+ */
+@CacheableTask
+public abstract class GenerateJniTask extends DefaultTask {
+
+    /**
+     * @return The classes to generate the JNI-code for, their resources (templates) and dependencies, including the
+     * JNIBridge generator itself.
+     */
+    @Classpath
+    public abstract ConfigurableFileCollection getClasspath();
+
+    /**
+     * @return See {@link JniBridgeExtension#getClassPatterns()}.
+     */
+    @Input
+    public abstract ListProperty<String> getClassPatterns();
+
+    /**
+     * @return See {@link JniBridgeExtension#getNativeIncludes()}.
+     */
+    @Input
+    public abstract ListProperty<String> getNativeIncludes();
+
+    /**
+     * @return See {@link JniBridgeExtension#getInitializers()}.
+     */
+    @Input
+    public abstract ListProperty<String> getInitializers();
+
+    /**
+     * @return See {@link JniBridgeExtension#getCustomJniFiles()}.
+     */
+    @Input
+    public abstract MapProperty<String, String> getCustomJniFiles();
+
+    /**
+     * @return See {@link JniBridgeExtension#getGenerationProperties()}.
+     */
+    @Input
+    public abstract MapProperty<String, String> getGenerationProperties();
+
+    /**
+     * @return The output directory of the generated JNI-code, to be consumed by the native build
+     * (e.g. {@code inputs.dir(generateJni.flatMap { it.outputDirectory })}).
+     */
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @Inject
+    protected abstract WorkerExecutor getWorkerExecutor();
+
+    @TaskAction
+    public void generate() {
+        final WorkQueue queue = getWorkerExecutor().classLoaderIsolation(spec -> spec.getClasspath().from(getClasspath()));
+        queue.submit(GenerateJniAction.class, parameters -> {
+            parameters.getClassPatterns().set(getClassPatterns());
+            parameters.getNativeIncludes().set(getNativeIncludes());
+            parameters.getInitializers().set(getInitializers());
+            parameters.getCustomJniFiles().set(getCustomJniFiles());
+            parameters.getGenerationProperties().set(getGenerationProperties());
+            parameters.getOutputDirectory().set(getOutputDirectory());
+        });
+    }
+}
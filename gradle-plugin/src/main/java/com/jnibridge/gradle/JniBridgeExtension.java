@@ -0,0 +1,58 @@
+package com.jnibridge.gradle;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+
+/**
+ * The {@code jnibridge} extension, configuring the {@link GenerateJniTask} of a project.
+ *
+ * <p><b>Usage:</b>
+ * <pre>{@code
+ * jnibridge {
+ *     classPatterns.add("com.example.bridge.*")
+ *     initializers.add("com.example.bridge.RegisterMappers") // <- registers type mappers / exceptions
+ *     generationProperties.put("jnibridge.generator.profile", "release")
+ * }
+ * }</pre>
+ */
+public abstract class JniBridgeExtension {
+
+    /**
+     * @return The classes/packages to generate the JNI-code for (see {@link com.jnibridge.JNIBridge}).
+     */
+    public abstract ListProperty<String> getClassPatterns();
+
+    /**
+     * @return The C++ includes shared by all generated files.
+     */
+    public abstract ListProperty<String> getNativeIncludes();
+
+    /**
+     * @return Classes implementing {@link Runnable}, that are run before the generation (e.g. to configure the
+     * {@link com.jnibridge.JniBridgeRegistry}).
+     * <p>
+     * The registry lives in the worker class loader, which Gradle reuses as long as the classpath does not change.
+     * Each initializer is therefore run once per class loader (registrations are not repeated), and removing an
+     * initializer fails the task until the Gradle daemon is restarted.
+     * </p>
+     */
+    public abstract ListProperty<String> getInitializers();
+
+    /**
+     * @return Custom JNI-files: the path of the file (relative to the output directory) mapped to the resource path
+     * of its content.
+     */
+    public abstract MapProperty<String, String> getCustomJniFiles();
+
+    /**
+     * @return The generation options (see {@link com.jnibridge.generator.GenerationOptions}), e.g.
+     * {@code jnibridge.generator.translationUnits}.
+     */
+    public abstract MapProperty<String, String> getGenerationProperties();
+
+    /**
+     * @return The output directory of the generated JNI-code (default: {@code build/jni}).
+     */
+    public abstract DirectoryProperty getOutputDirectory();
+}
@@ -0,0 +1,59 @@
+package com.jnibridge.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+
+/**
+ * Adds the {@value #EXTENSION_NAME} extension and the {@value #TASK_NAME} task ({@link GenerateJniTask}) to Java
+ * projects.
+ * <p>
+ * The task generates the JNI-code of the main source set. JNIBridge is resolved from its runtime classpath and the
+ * {@value #GENERATOR_CONFIGURATION} configuration (for projects, that only depend on JNIBridge at compile time).
+ * Native build tasks consume the generated code via the task's output directory, which also adds the task dependency:
+ * </p>
+ * <pre>{@code
+ * tasks.register<Exec>("cmakeBuild") {
+ *     inputs.dir(tasks.named<GenerateJniTask>("generateJni").flatMap { it.outputDirectory })
+ *     commandLine("cmake", "--build", "build/native")
+ * }
+ * }</pre>
+ */
+public class JniBridgePlugin implements Plugin<Project> {
+
+    public static final String EXTENSION_NAME = "jnibridge";
+    public static final String TASK_NAME = "generateJni";
+    public static final String GENERATOR_CONFIGURATION = "jnibridgeGenerator";
+
+    @Override
+    public void apply(final Project project) {
+        final JniBridgeExtension extension = project.getExtensions().create(EXTENSION_NAME, JniBridgeExtension.class);
+        extension.getOutputDirectory().convention(project.getLayout().getBuildDirectory().dir("jni"));
+
+        final Configuration generator = project.getConfigurations().create(GENERATOR_CONFIGURATION, configuration -> {
+            configuration.setDescription("Additional classpath of the JNIBridge generator.");
+            configuration.setCanBeConsumed(false);
+            configuration.setCanBeResolved(true);
+        });
+
+        project.getPlugins().withType(JavaPlugin.class, javaPlugin -> {
+            final SourceSet main = project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME);
+
+            project.getTasks().register(TASK_NAME, GenerateJniTask.class, generateJni -> {
+                generateJni.setGroup("jni_generation");
+                generateJni.setDescription("Generates the JNI code of the bridged classes.");
+
+                generateJni.getClasspath().from(main.getRuntimeClasspath(), generator);
+                generateJni.getClassPatterns().set(extension.getClassPatterns());
+                generateJni.getNativeIncludes().set(extension.getNativeIncludes());
+                generateJni.getInitializers().set(extension.getInitializers());
+                generateJni.getCustomJniFiles().set(extension.getCustomJniFiles());
+                generateJni.getGenerationProperties().set(extension.getGenerationProperties());
+                generateJni.getOutputDirectory().set(extension.getOutputDirectory());
+            });
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.jnibridge.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the plugin to a sample project, verifying that {@link GenerateJniTask} is up-to-date and cacheable.
+ */
+public class GenerateJniTaskTest {
+
+    private static final String TASK_PATH = ":" + JniBridgePlugin.TASK_NAME;
+
+    @TempDir
+    Path projectDir;
+
+    @BeforeEach
+    public void createProject() throws IOException {
+        // the sample depends on the generator classes built alongside the plugin (see build.gradle.kts)
+        final String generatorClasspath = System.getProperty("jnibridge.test.generatorClasspath");
+        assertNotNull(generatorClasspath, "the generator classpath has not been passed to the test");
+        final String generatorFiles = Arrays.stream(generatorClasspath.split(File.pathSeparator))
+                .map(entry -> '"' + entry.replace("\\", "/") + '"')
+                .collect(Collectors.joining(", "));
+
+        write("settings.gradle.kts", "rootProject.name = \"sample\"\n"
+                + "buildCache { local { directory = file(\"build-cache\") } }\n");
+        write("build.gradle.kts", "plugins {\n"
+                + "    java\n"
+                + "    id(\"com.github.Avdiji.jnibridge\")\n"
+                + "}\n"
+                + "dependencies { implementation(files(" + generatorFiles + ")) }\n"
+                + "jnibridge { classPatterns.add(\"sample.*\") }\n");
+        write("src/main/java/sample/Sample.java", "package sample;\n"
+                + "\n"
+                + "import com.jnibridge.annotations.BridgeClass;\n"
+                + "\n"
+                + "@BridgeClass(namespace = \"sample\")\n"
+                + "public class Sample {\n"
+                + "    public static native int answer();\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testUnchangedInputsAreUpToDate() {
+        assertEquals(TaskOutcome.SUCCESS, generateJni().task(TASK_PATH).getOutcome());
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/jni/sample/Sample.jni.cpp")));
+
+        assertEquals(TaskOutcome.UP_TO_DATE, generateJni().task(TASK_PATH).getOutcome());
+    }
+
+    @Test
+    public void testCleanBuildIsLoadedFromCache() {
+        assertEquals(TaskOutcome.SUCCESS, generateJni().task(TASK_PATH).getOutcome());
+
+        final BuildResult result = generateJni("clean");
+        assertEquals(TaskOutcome.FROM_CACHE, result.task(TASK_PATH).getOutcome());
+        assertTrue(Files.isRegularFile(projectDir.resolve("build/jni/sample/Sample.jni.cpp")));
+    }
+
+    private BuildResult generateJni(final String... tasksBefore) {
+        final String[] arguments = Arrays.copyOf(tasksBefore, tasksBefore.length + 3);
+        arguments[tasksBefore.length] = JniBridgePlugin.TASK_NAME;
+        arguments[tasksBefore.length + 1] = "--build-cache";
+        arguments[tasksBefore.length + 2] = "--stacktrace";
+
+        return GradleRunner.create()
+                .withProjectDir(projectDir.toFile())
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .forwardOutput()
+                .build();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        final Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,2 +1,7 @@
+pluginManagement {
+    // the JNIBridge Gradle plugin, applied by the examples
+    includeBuild("gradle-plugin")
+}
+
 rootProject.name = "JNIBridge"
-include("examples")
\ No newline at end of file
+include("examples")
@@ -1,23 +1,43 @@
 package com.jnibridge;
 
 import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationMetrics;
+import com.jnibridge.generator.GenerationOptions;
+import com.jnibridge.generator.GeneratorPool;
+import com.jnibridge.generator.TranslationUnitGrouping;
+import com.jnibridge.generator.TranslationUnitPlanner;
+import com.jnibridge.generator.analysis.JniCostAnalyzer;
+import com.jnibridge.generator.analysis.JniCostBudget;
+import com.jnibridge.generator.analysis.JniCostReport;
 import com.jnibridge.generator.compose.jni.ClassInfoJNIComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeDiagnosticsComposer;
 import com.jnibridge.generator.compose.jni.helper.JniBridgeExceptionComposer;
 import com.jnibridge.generator.compose.jni.helper.JniBridgeHandleComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeMemoryComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeRuntimeComposer;
+import com.jnibridge.generator.compose.jni.helper.build.JniBridgePchComposer;
+import com.jnibridge.generator.compose.jni.helper.build.JniBridgeSourcesComposer;
+import com.jnibridge.generator.compose.jni.helper.build.UnityTranslationUnitComposer;
 import com.jnibridge.generator.compose.jni.helper.polymorphism.PolymorphicHelperComposer;
 import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.generator.model.MethodInfo;
 import com.jnibridge.generator.model.extractor.ClassInfoExtractor;
+import com.jnibridge.generator.output.GeneratedFileWriter;
+import com.jnibridge.generator.scanner.ClassScan;
 import com.jnibridge.generator.scanner.ClassScanner;
 import com.jnibridge.nativeaccess.IPointer;
 import com.jnibridge.utils.ResourceUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +51,6 @@ import java.util.stream.Collectors;
  * @author Fitor Avdiji
  * @version 1.0.0
  */
-@SuppressWarnings("ResultOfMethodCallIgnored")
 public class JNIBridge {
 
     /**
@@ -41,6 +60,9 @@ public class JNIBridge {
 
     /**
      * Generates JNI interface header files (.jni.h) for the specified Java classes.
+     * <p>
+     * The generation is configured via system properties (see {@link GenerationOptions#fromSystemProperties()}).
+     * </p>
      *
      * @param outPath        the output directory where the generated JNI header files will be stored.
      *                       If the directory does not exist, it will be created.
@@ -50,37 +72,222 @@ public class JNIBridge {
      * @throws RuntimeException if a header file cannot be created or written.
      */
     public static void generateJNIInterface(@NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles) {
+        generateJNIInterface(outPath, classes, nativeIncludes, customJNIFiles, GenerationOptions.fromSystemProperties());
+    }
+
+    /**
+     * Generates JNI interface header files (.jni.h) for the specified Java classes.
+     * <p>
+     * Extraction, composition and file writing run on a dedicated fork-join pool. Classes, methods, helpers and
+     * exception mappings are emitted in canonical order, so the output is byte-identical between runs, regardless
+     * of the parallelism (see {@link GenerationOptions#VERIFY_REPRODUCIBLE_PROPERTY}).
+     * </p>
+     * <p>
+     * The phases of the generation are measured, and optionally reported (see {@link GenerationMetrics}).
+     * </p>
+     *
+     * @param outPath        the output directory where the generated JNI header files will be stored.
+     *                       If the directory does not exist, it will be created.
+     * @param classes        fully qualified names of the classes/packages to generate JNI headers for.
+     * @param nativeIncludes All C++ includes needed for the mapping.
+     * @param customJNIFiles Resource-Paths, to include centralized, custom JNI-code.
+     * @param options        Options, controlling the generation.
+     * @throws RuntimeException if a header file cannot be created or written.
+     */
+    public static void generateJNIInterface(@NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles, @NotNull final GenerationOptions options) {
+
+        final GeneratedFileWriter writer = new GeneratedFileWriter(outPath, options.isIncremental());
+        final GeneratorPool pool = createGeneratorPool(options.getParallelism());
+        final GenerationMetrics metrics = new GenerationMetrics(pool);
+        try {
+            final GenerationCache.Statistics cacheStatistics = generate(options, writer, metrics, pool, outPath, classes, nativeIncludes, customJNIFiles);
+
+            // delete stale files and record the manifest (incremental generation only)
+            metrics.phase("finish", writer::finish);
+
+            if (options.isMetrics()) { metrics.writeReport(outPath, options, cacheStatistics, writer.getFileSizes(), writer.getIoNanos()); }
+            metrics.logSlowestClasses(options.getSlowestClasses());
+
+            if (options.isVerifyReproducible()) {
+                final GeneratedFileWriter secondRun = GeneratedFileWriter.recordOnly(outPath);
+                generate(options, secondRun, new GenerationMetrics(pool), pool, outPath, classes, nativeIncludes, customJNIFiles);
+                verifyReproducible(writer, secondRun);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-        // extract all classes to map
-        List<Class<?>> classesToMap = ClassScanner.getClassesToMap(classes);
+    /**
+     * Performs a single generation run.
+     *
+     * @param options        Options, controlling the generation.
+     * @param writer         The writer of the generation run.
+     * @param metrics        The metrics of the generation run.
+     * @param pool           The pool to generate the JNI-code on.
+     * @param outPath        the output directory where the generated JNI header files will be stored.
+     * @param classes        fully qualified names of the classes/packages to generate JNI headers for.
+     * @param nativeIncludes All C++ includes needed for the mapping.
+     * @param customJNIFiles Resource-Paths, to include centralized, custom JNI-code.
+     * @return The hit rates of the run's cache.
+     */
+    private static GenerationCache.Statistics generate(@NotNull final GenerationOptions options, @NotNull final GeneratedFileWriter writer, @NotNull final GenerationMetrics metrics, @NotNull final ForkJoinPool pool, @NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles) {
+        // templates and type resolutions are memoized for the duration of a run
+        final GenerationCache cache = new GenerationCache(options);
+
+        // extract all classes to map (in canonical order, which is preserved throughout the generation)
+        final ClassScan scan = metrics.phase("scan", () -> ClassScanner.scan(pool.getParallelism(), classes));
+        final Map<Class<?>, ClassInfo> classMappings = extractAll(cache, metrics, pool, scan);
+        generateFiles(cache, options, writer, metrics, pool, outPath, classMappings, nativeIncludes, customJNIFiles, clazz -> true);
+        return cache.getStatistics();
+    }
 
+    /**
+     * Extracts the class-infos of all scanned classes.
+     *
+     * @param cache   The session of the generation run.
+     * @param metrics The metrics of the generation run.
+     * @param pool    The pool to generate the JNI-code on.
+     * @param scan    The scan of the generation run.
+     * @return The class-info of each class to map (the encounter order of the scan is preserved).
+     */
+    static Map<Class<?>, ClassInfo> extractAll(@NotNull final GenerationCache cache, @NotNull final GenerationMetrics metrics, @NotNull final ForkJoinPool pool, @NotNull final ClassScan scan) {
         // @formatter:off
-        // map classes to map/extracted class-infos
-        Map<Class<?>, ClassInfo> classMappings = classesToMap.stream()
+        return metrics.phase("extract", () -> runInPool(pool, () -> scan.getClassesToMap().parallelStream()
                 .collect(Collectors.toMap(
                         clazz -> clazz,
-                        clazz -> ClassInfoExtractor.extract(clazz, classesToMap)
-                ));
+                        clazz -> extract(cache, metrics, clazz, scan),
+                        (first, second) -> first,
+                        LinkedHashMap::new
+                ))));
+        // @formatter:on
+    }
 
-        // generate the JniBridgeHandle - helper file.
-        generateJniBridgeHandle(outPath, Arrays.stream(nativeIncludes).collect(Collectors.toList()));
+    /**
+     * Generates the helper files, the JNI-files and the native build files of the extracted classes. The JNI-files
+     * and polymorphic helpers of unaffected classes are retained from the previous run, if possible (see
+     * {@link GeneratedFileWriter#retain(Path)}).
+     *
+     * @param cache          The session of the generation run.
+     * @param options        Options, controlling the generation.
+     * @param writer         The writer of the generation run.
+     * @param metrics        The metrics of the generation run.
+     * @param pool           The pool to generate the JNI-code on.
+     * @param outPath        the output directory where the generated JNI header files will be stored.
+     * @param classMappings  The class-info of each class to map.
+     * @param nativeIncludes All C++ includes needed for the mapping.
+     * @param customJNIFiles Resource-Paths, to include centralized, custom JNI-code.
+     * @param affected       True for the classes, whose files have to be generated.
+     */
+    static void generateFiles(@NotNull final GenerationCache cache, @NotNull final GenerationOptions options, @NotNull final GeneratedFileWriter writer, @NotNull final GenerationMetrics metrics, @NotNull final ForkJoinPool pool, @NotNull final Path outPath, @NotNull final Map<Class<?>, ClassInfo> classMappings, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles, @NotNull final Predicate<Class<?>> affected) {
+        // analyze the JNI-cost of the generated functions first, a violated budget fails before anything is written.
+        if (options.isCostAnalysis() || !options.getCostBudget().trim().isEmpty()) {
+            metrics.phase("analysis", () -> analyzeJniCost(cache, options, outPath, classMappings.values(), nativeIncludes));
+        }
+
+        // @formatter:off
+        final Map<Class<?>, String> helperHeaders = metrics.phase("helpers", () -> {
+            // generate the JniBridgeHandle - helper file.
+            generateJniBridgeHandle(cache, writer, outPath, Arrays.stream(nativeIncludes).collect(Collectors.toList()));
+
+            // generate the JniBridge Exception-handler file.
+            generateJniBridgeExceptionHandler(cache, writer, outPath);
+
+            // generate the header-only runtime of the generated functions and helpers.
+            generateJniBridgeRuntime(cache, writer, outPath);
+
+            // generate the polymorphic helper files.
+            final List<ClassInfo> iPointerClasses = classMappings.values().stream()
+                    .filter(classInfo -> IPointer.class.isAssignableFrom(classInfo.getClazz()))
+                    .collect(Collectors.toList());
+            final Map<Class<?>, String> result = runInPool(pool, () -> generatePolymorphicHelpers(cache, writer, outPath, iPointerClasses, affected));
 
-        // generate the JniBridge Exception-handler file.
-        generateJniBridgeExceptionHandler(outPath);
+            // generate the native memory accounting file.
+            generateJniBridgeMemory(cache, writer, outPath, iPointerClasses);
 
-        // generate the polymorphic helper files.
-        generatePolymorphicHelpers(
-                outPath,
-                classMappings.values().stream()
-                        .filter(classInfo -> IPointer.class.isAssignableFrom(classInfo.getClazz()))
-                        .collect(Collectors.toList()));
+            // generate the JNI call counting file (diagnostics profile).
+            generateJniBridgeDiagnostics(cache, writer, outPath);
 
-        // generate any user-defined custom files.
-        generateCustomJNIFiles(customJNIFiles);
+            // generate any user-defined custom files.
+            generateCustomJNIFiles(cache, writer, customJNIFiles);
+            return result;
+        });
         // @formatter:on
 
         // generate the 'actual' JNI files...
-        createJNIFiles(outPath, classMappings);
+        final Map<ClassInfo, Path> jniFiles = metrics.phase("compose", () -> runInPool(pool, () -> createJNIFiles(cache, writer, metrics, outPath, classMappings, helperHeaders, affected)));
+
+        // generate the translation units (and the precompiled header) of the native build.
+        metrics.phase("buildFiles", () -> generateNativeBuildFiles(cache, options, writer, outPath, jniFiles));
+    }
+
+    /**
+     * Analyzes the JNI-cost of the generated functions (see {@link JniCostAnalyzer}), writes the report if
+     * {@link GenerationOptions#COST_ANALYSIS_PROPERTY} is set and checks the budget.
+     *
+     * @param cache          The session of the generation run.
+     * @param options        The options of the generation run.
+     * @param outPath        The output directory of the generation run.
+     * @param classInfos     The classes to analyze.
+     * @param nativeIncludes All C++ includes needed for the mapping.
+     * @throws JniBridgeException if the budget is malformed or exceeded.
+     */
+    private static void analyzeJniCost(@NotNull final GenerationCache cache, @NotNull final GenerationOptions options, @NotNull final Path outPath, @NotNull final Collection<ClassInfo> classInfos, @NotNull final String[] nativeIncludes) {
+        final JniCostBudget budget;
+        try {
+            budget = JniCostBudget.parse(options.getCostBudget());
+        } catch (IllegalArgumentException e) {
+            throw new JniBridgeException(String.format("Invalid %s: %s", GenerationOptions.COST_BUDGET_PROPERTY, e.getMessage()), e);
+        }
+
+        final List<String> runtimeSources = Arrays.asList(
+                new JniBridgeHandleComposer(cache, Arrays.asList(nativeIncludes)).compose(),
+                new JniBridgeExceptionComposer(cache).compose(),
+                new JniBridgeRuntimeComposer(cache).compose());
+        final JniCostReport report = new JniCostAnalyzer(cache, runtimeSources).analyze(classInfos);
+        if (options.isCostAnalysis()) {
+            report.write(outPath);
+            report.log(10);
+        }
+
+        final List<String> violations = budget.check(report);
+        if (!violations.isEmpty()) {
+            throw new JniBridgeException(String.format("JNI-cost budget exceeded by %d function(s):%n  %s", violations.size(), String.join(String.format("%n  "), violations)));
+        }
+    }
+
+    /**
+     * Extracts a class, recording its extraction in the metrics.
+     *
+     * @param cache   The session of the generation run.
+     * @param metrics The metrics of the generation run.
+     * @param clazz   The class to extract.
+     * @param scan    The scan of the generation run.
+     * @return The extracted class-info.
+     */
+    private static ClassInfo extract(@NotNull final GenerationCache cache, @NotNull final GenerationMetrics metrics, @NotNull final Class<?> clazz, @NotNull final ClassScan scan) {
+        final long start = System.nanoTime();
+        final ClassInfo classInfo = ClassInfoExtractor.extract(cache, clazz, scan);
+        final List<MethodInfo> methods = classInfo.getMethodsToMap();
+        final int types = methods.stream().mapToInt(method -> method.getParams().size() + 1).sum();
+        metrics.recordExtraction(clazz, methods.size(), types, System.nanoTime() - start);
+        return classInfo;
+    }
+
+    /**
+     * @param firstRun  The writer of the first generation run.
+     * @param secondRun The writer of the second generation run.
+     * @throws JniBridgeException if the generated files of both runs differ.
+     */
+    private static void verifyReproducible(@NotNull final GeneratedFileWriter firstRun, @NotNull final GeneratedFileWriter secondRun) {
+        final SortedMap<String, String> firstHashes = firstRun.getContentHashes();
+        final SortedMap<String, String> secondHashes = secondRun.getContentHashes();
+        if (firstHashes.equals(secondHashes)) { return; }
+
+        final SortedSet<String> differingFiles = new TreeSet<>(firstHashes.keySet());
+        differingFiles.addAll(secondHashes.keySet());
+        differingFiles.removeIf(file -> Objects.equals(firstHashes.get(file), secondHashes.get(file)));
+        throw new JniBridgeException(String.format("JNI generation is not reproducible, differing files: %s", differingFiles));
     }
 
     /**
@@ -97,148 +304,266 @@ public class JNIBridge {
         generateJNIInterface(outPath, classes, nativeIncludes, new HashMap<>());
     }
 
+    /**
+     * Starts a daemon, that generates the JNI-code once and regenerates the affected files whenever class files in
+     * the passed directories change (see {@link JNIBridgeDaemon}).
+     * <p>
+     * The classes of the class directories are loaded by the daemon (child-first), all other classes via the context
+     * class loader of the calling thread.
+     * </p>
+     *
+     * @param outPath           the output directory where the generated JNI header files will be stored.
+     *                          If the directory does not exist, it will be created.
+     * @param classes           fully qualified names of the classes/packages to generate JNI headers for.
+     * @param nativeIncludes    All C++ includes needed for the mapping.
+     * @param customJNIFiles    Resource-Paths, to include centralized, custom JNI-code.
+     * @param classDirectories  The class-file directories to watch (e.g. {@code build/classes/java/main}).
+     * @param options           Options, controlling the generation (generation is always incremental).
+     * @return The running daemon, to be closed once it is no longer needed.
+     * @throws JniBridgeException if the initial generation fails, or the directories cannot be watched.
+     */
+    @NotNull
+    public static JNIBridgeDaemon watchJNIInterface(@NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles, @NotNull final List<Path> classDirectories, @NotNull final GenerationOptions options) {
+        return JNIBridgeDaemon.start(outPath, classes, nativeIncludes, customJNIFiles, classDirectories, options);
+    }
+
     /**
      * Method creates actual .jni.cpp files for the corresponding java classes.
      *
+     * @param cache         The session of the generation run.
+     * @param writer        The writer of the generation run.
+     * @param metrics       The metrics of the generation run.
      * @param outPath       The output path of the generated JNI-File.
      * @param classMappings The generated JNI-Content.
+     * @param helperHeaders The polymorphic helper file of each polymorphic type (each JNI-file only includes the ones it uses).
+     * @param affected      True for the classes, whose JNI-files have to be generated (the others are retained, if possible).
+     * @return The path of the JNI-file of each class (in canonical order).
      */
-    private static void createJNIFiles(@NotNull final Path outPath, @NotNull final Map<Class<?>, ClassInfo> classMappings) {
-        for (Map.Entry<Class<?>, ClassInfo> classMapping : classMappings.entrySet()) {
+    private static Map<ClassInfo, Path> createJNIFiles(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final GenerationMetrics metrics, @NotNull final Path outPath, @NotNull final Map<Class<?>, ClassInfo> classMappings, @NotNull final Map<Class<?>, String> helperHeaders, @NotNull final Predicate<Class<?>> affected) {
+        final Map<ClassInfo, Path> jniFiles = new LinkedHashMap<>();
+        classMappings.forEach((clazz, classInfo) -> {
 
             // compute the output path of the generated jni-file (reflects the package path)
-            Class<?> clazz = classMapping.getKey();
             Path classPackageAsPath = Paths.get(clazz.getPackage().getName().replace(".", "/"));
             Path actualPath = outPath.resolve(classPackageAsPath);
-            actualPath.toFile().mkdirs();
-
-            // compose and write the jni-file...
-            final String fullFilename = String.format("%s/%s", actualPath, ResourceUtils.getFilename(clazz, "jni", "cpp"));
-            try (FileWriter writer = new FileWriter(fullFilename)) {
-                writer.write(new ClassInfoJNIComposer(classMapping.getValue()).compose());
-            } catch (IOException e) {
-                throw new JniBridgeException(String.format("Unable to create file: %s", fullFilename), e);
-            }
+            jniFiles.put(classInfo, actualPath.resolve(ResourceUtils.getFilename(clazz, "jni", "cpp")));
+        });
+
+        // compose and stream the jni-files (method by method)...
+        jniFiles.entrySet().parallelStream().forEach(jniFile -> {
+            if (!affected.test(jniFile.getKey().getClazz()) && writer.retain(jniFile.getValue())) { return; }
+
+            final long start = System.nanoTime();
+            final ClassInfoJNIComposer composer = new ClassInfoJNIComposer(cache, jniFile.getKey(), helperHeaders);
+            writer.write(jniFile.getValue(), composer::compose);
+            metrics.recordComposition(jniFile.getKey().getClazz(), System.nanoTime() - start);
+        });
+        return jniFiles;
+    }
+
+    /**
+     * Generates the files of the native build: the unity translation units (if the JNI-files are grouped), the
+     * precompiled header (if enabled) and the CMake-file listing all sources to compile.
+     *
+     * @param cache    The session of the generation run.
+     * @param options  Options, controlling the generation.
+     * @param writer   The writer of the generation run.
+     * @param outPath  The output path of the generated JNI-Files.
+     * @param jniFiles The path of the JNI-file of each class (in canonical order).
+     */
+    private static void generateNativeBuildFiles(@NotNull final GenerationCache cache, @NotNull final GenerationOptions options, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath, @NotNull final Map<ClassInfo, Path> jniFiles) {
+        final List<String> sources = new ArrayList<>();
+
+        if (options.getTranslationUnits() == TranslationUnitGrouping.PER_CLASS) {
+            jniFiles.values().forEach(jniFile -> sources.add(toIncludePath(outPath.relativize(jniFile))));
+        } else {
+            final Path unityPath = outPath.resolve(UnityTranslationUnitComposer.DIRECTORY);
+            final Map<String, List<Path>> units = TranslationUnitPlanner.plan(options.getTranslationUnits(), options.getShards(), jniFiles);
+            units.forEach((name, files) -> {
+                final List<String> includes = new ArrayList<>();
+                if (options.isPrecompiledHeader()) { includes.add(toIncludePath(unityPath.relativize(outPath.resolve("internal").resolve(JniBridgePchComposer.FILENAME)))); }
+                files.forEach(file -> includes.add(toIncludePath(unityPath.relativize(file))));
+
+                final Path unit = unityPath.resolve(name + UnityTranslationUnitComposer.EXTENSION);
+                writer.write(unit, new UnityTranslationUnitComposer(cache, includes).compose());
+                sources.add(toIncludePath(outPath.relativize(unit)));
+            });
         }
+        sources.add(String.format("internal/%s", JniBridgeMemoryComposer.FILENAME));
+        sources.add(String.format("internal/%s", JniBridgeDiagnosticsComposer.FILENAME));
+
+        String precompiledHeader = null;
+        if (options.isPrecompiledHeader()) {
+            precompiledHeader = String.format("internal/%s", JniBridgePchComposer.FILENAME);
+            writer.write(outPath.resolve(precompiledHeader), new JniBridgePchComposer(cache).compose());
+        }
+        writer.write(outPath.resolve(JniBridgeSourcesComposer.FILENAME), new JniBridgeSourcesComposer(cache, sources, precompiledHeader).compose());
     }
 
     /**
-     * Generate the file, which the JNIBridge uses internally, to handle mapping logic.
+     * @param relativePath A relative path.
+     * @return The path with forward slashes, as used by includes and CMake.
      */
-    @SuppressWarnings("ResultOfMethodCallIgnored")
-    private static void generateJniBridgeHandle(@NotNull final Path outPath, Collection<String> allNativeIncludes) {
-        final Path internalPath = Paths.get(outPath.toString(), "internal");
-        internalPath.toFile().mkdirs();
+    private static String toIncludePath(@NotNull final Path relativePath) {
+        return relativePath.toString().replace(File.separatorChar, '/');
+    }
 
-        // generate filenames of the internals
-        final String ptrWrapperFilename = String.format("%s/%s", internalPath, JniBridgeHandleComposer.INTERNAL_FILENAME);
+    /**
+     * Creates the pool, the JNI-code is generated on.
+     * <p>
+     * The worker threads inherit the context class loader of the calling thread, since templates are loaded through it
+     * (see {@link ResourceUtils#load(GenerationCache, String)}).
+     * </p>
+     *
+     * @param parallelism The number of worker threads.
+     * @return A new generator pool (to be shut down by the caller).
+     */
+    static GeneratorPool createGeneratorPool(final int parallelism) {
+        return new GeneratorPool(parallelism, Thread.currentThread().getContextClassLoader());
+    }
 
-        // create the corresponding internal files...
-        try (FileWriter jniHandleWriter = new FileWriter(ptrWrapperFilename)
-        ) {
-            jniHandleWriter.write(new JniBridgeHandleComposer(allNativeIncludes).compose());
-        } catch (IOException e) {
-            throw new JniBridgeException(String.format("Unable to create file: %s", ptrWrapperFilename), e);
+    /**
+     * Runs a generation step on the passed pool (parallel streams within the step use the pool as well).
+     *
+     * @param pool The generator pool.
+     * @param task The generation step.
+     * @param <T>  The result type of the generation step.
+     * @return The result of the generation step.
+     * @throws JniBridgeException if the generation step has been interrupted.
+     */
+    private static <T> T runInPool(@NotNull final ForkJoinPool pool, @NotNull final Callable<T> task) {
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JniBridgeException("JNI generation has been interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) { throw (RuntimeException) e.getCause(); }
+            if (e.getCause() instanceof Error) { throw (Error) e.getCause(); }
+            throw new JniBridgeException("JNI generation failed", e.getCause());
         }
     }
 
     /**
+     * Generate the file, which the JNIBridge uses internally, to handle mapping logic.
+     *
+     * @param cache             The session of the generation run.
+     * @param writer            The writer of the generation run.
+     * @param outPath           The output path of the generated JNI-File.
+     * @param allNativeIncludes All C++ includes needed for the mapping.
+     */
+    private static void generateJniBridgeHandle(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath, Collection<String> allNativeIncludes) {
+        final Path internalPath = Paths.get(outPath.toString(), "internal");
+        writer.write(internalPath.resolve(JniBridgeHandleComposer.INTERNAL_FILENAME), new JniBridgeHandleComposer(cache, allNativeIncludes).compose());
+    }
+
+    /**
+     * @param cache   The session of the generation run.
+     * @param writer  The writer of the generation run.
+     * @param outPath The output path of the generated JNI-File.
+     */
+    private static void generateJniBridgeExceptionHandler(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath) {
+        final Path internalPath = Paths.get(outPath.toString(), "internal");
+        writer.write(internalPath.resolve(JniBridgeExceptionComposer.FILENAME), new JniBridgeExceptionComposer(cache).compose());
+    }
+
+    /**
+     * Generate the header-only runtime, shared by all generated functions and helpers.
+     *
+     * @param cache   The session of the generation run.
+     * @param writer  The writer of the generation run.
      * @param outPath The output path of the generated JNI-File.
      */
-    private static void generateJniBridgeExceptionHandler(@NotNull final Path outPath) {
+    private static void generateJniBridgeRuntime(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath) {
         final Path internalPath = Paths.get(outPath.toString(), "internal");
-        internalPath.toFile().mkdirs();
+        writer.write(internalPath.resolve(JniBridgeRuntimeComposer.FILENAME), new JniBridgeRuntimeComposer(cache).compose());
+    }
 
-        try (FileWriter jniExceptionWriter = new FileWriter(String.format("%s/%s", internalPath, JniBridgeExceptionComposer.FILENAME))) {
-            jniExceptionWriter.write(new JniBridgeExceptionComposer().compose());
-        } catch (IOException e) {
-            throw new JniBridgeException("Unable to create JNIBridge exception-handler", e);
-        }
+    /**
+     * Generate the file, which exposes the native memory accounting to {@link com.jnibridge.nativeaccess.memory.JniBridgeMemory}.
+     *
+     * @param cache           The session of the generation run.
+     * @param writer          The writer of the generation run.
+     * @param outPath         The output path of the generated JNI-File.
+     * @param iPointerClasses Classes, that implement the {@link IPointer} interface.
+     */
+    private static void generateJniBridgeMemory(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath, @NotNull final Collection<ClassInfo> iPointerClasses) {
+        final Path internalPath = Paths.get(outPath.toString(), "internal");
+        writer.write(internalPath.resolve(JniBridgeMemoryComposer.FILENAME), new JniBridgeMemoryComposer(cache, iPointerClasses).compose());
+    }
+
+    /**
+     * Generate the file, which exposes the JNI call counts of the diagnostics profile to Java.
+     *
+     * @param cache   The session of the generation run.
+     * @param writer  The writer of the generation run.
+     * @param outPath The output path of the generated JNI-File.
+     */
+    private static void generateJniBridgeDiagnostics(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath) {
+        final Path internalPath = Paths.get(outPath.toString(), "internal");
+        writer.write(internalPath.resolve(JniBridgeDiagnosticsComposer.FILENAME), new JniBridgeDiagnosticsComposer(cache).compose());
     }
 
     /**
      * Generate the polymorphic helper, header files.
      *
+     * @param cache           The session of the generation run.
+     * @param writer          The writer of the generation run.
      * @param outPath         Out-path of the Polymorphic helper files.
      * @param iPointerClasses Classes, that implement the {@link IPointer} interface.
+     * @param affected        True for the classes, whose helper files have to be generated (the others are retained, if possible).
+     * @return The helper file of each polymorphic class (relative to the polymorphism directory).
      */
-    private static void generatePolymorphicHelpers(@NotNull final Path outPath, Collection<ClassInfo> iPointerClasses) {
-        final Path internalPath = Paths.get(outPath.toString(), "internal/polymorphism");
-        internalPath.toFile().mkdirs();
-
-        List<String> convenienceHeaderIncludes = new ArrayList<>();
-        for (ClassInfo classInfo : iPointerClasses) {
-
-            String filename = String.format("%s.helper.jni.hpp", classInfo.getFullCType());
-            filename = filename.replace("::", "_").replace("<", "_").replace(">", "");
-
-            final String fullFilename = String.format("%s/%s", internalPath, filename);
-
-            try (FileWriter rawPolymorphicHelperWriter = new FileWriter(fullFilename)) {
-                rawPolymorphicHelperWriter.write(new PolymorphicHelperComposer(classInfo).compose());
-
-            } catch (IOException e) {
-                throw new JniBridgeException("Unable to create polymorphic helper", e);
-            } finally {
-                convenienceHeaderIncludes.add(String.format("#include \"polymorphism/%s\"", filename));
-            }
+    private static Map<Class<?>, String> generatePolymorphicHelpers(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Path outPath, Collection<ClassInfo> iPointerClasses, @NotNull final Predicate<Class<?>> affected) {
+        final Path internalPath = Paths.get(outPath.toString(), "internal", PolymorphicHelperComposer.DIRECTORY);
+
+        List<String> helperFiles = iPointerClasses.parallelStream().map(classInfo -> {
+            final String filename = PolymorphicHelperComposer.getFilename(classInfo);
+            if (!affected.test(classInfo.getClazz()) && writer.retain(internalPath.resolve(filename))) { return filename; }
+
+            writer.write(internalPath.resolve(filename), new PolymorphicHelperComposer(cache, classInfo).compose());
+            return filename;
+        }).collect(Collectors.toList());
+
+        final Map<Class<?>, String> result = new LinkedHashMap<>();
+        final List<String> convenienceHeaderIncludes = new ArrayList<>();
+        int index = 0;
+        for (final ClassInfo classInfo : iPointerClasses) {
+            final String filename = helperFiles.get(index++);
+            result.put(classInfo.getClazz(), filename);
+            convenienceHeaderIncludes.add(String.format("#include \"%s/%s\"", PolymorphicHelperComposer.DIRECTORY, filename));
         }
-        generatePolymorphicHelperConvenienceHeader(outPath, convenienceHeaderIncludes);
+        generatePolymorphicHelperConvenienceHeader(writer, outPath, convenienceHeaderIncludes);
+        return result;
     }
 
     /**
      * Generate a convenience header for the polymorphic headers.
      *
+     * @param writer   The writer of the generation run.
      * @param outPath  The out-path of the convenience file.
      * @param includes All polymorphic helper file-includes.
      */
-    private static void generatePolymorphicHelperConvenienceHeader(@NotNull final Path outPath, @NotNull final Collection<String> includes) {
+    private static void generatePolymorphicHelperConvenienceHeader(@NotNull final GeneratedFileWriter writer, @NotNull final Path outPath, @NotNull final Collection<String> includes) {
         final Path internalPath = Paths.get(outPath.toString(), "internal");
-        internalPath.toFile().mkdirs();
-
-        final String filename = String.format("%s/%s", internalPath, PolymorphicHelperComposer.FILENAME);
-        try (FileWriter headerWriter = new FileWriter(filename)) {
-
-            final StringBuilder result = new StringBuilder();
-            result.append("#pragma once\n");
-            includes.forEach(include -> result.append("\n").append(include));
 
-            headerWriter.write(result.toString());
+        final StringBuilder result = new StringBuilder();
+        result.append("#pragma once\n");
+        includes.forEach(include -> result.append("\n").append(include));
 
-        } catch (IOException e) {
-            throw new JniBridgeException("Unable to create convenience header for polymorphic helpers", e);
-        }
+        writer.write(internalPath.resolve(PolymorphicHelperComposer.FILENAME), result.toString());
     }
 
     /**
      * Generate Custom-JNI files if any have been generated.
      *
+     * @param cache       The session of the generation run.
+     * @param writer      The writer of the generation run.
      * @param customFiles A Map of file paths and the desired content.
      */
-    private static void generateCustomJNIFiles(@NotNull final Map<Path, String> customFiles) {
+    private static void generateCustomJNIFiles(@NotNull final GenerationCache cache, @NotNull final GeneratedFileWriter writer, @NotNull final Map<Path, String> customFiles) {
         for (final Map.Entry<Path, String> entry : customFiles.entrySet()) {
-            final Path filePath = entry.getKey();
-            final File outFile = filePath.toFile();
-
-            // 1. Create parent directories
-            final File parentDir = outFile.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                if (!parentDir.mkdirs() && !parentDir.exists()) {
-                    throw new JniBridgeException(
-                            "Unable to create directories: " + parentDir.getAbsolutePath()
-                    );
-                }
-            }
-
-            // 2. Write file at the correct path
-            try (FileWriter writer = new FileWriter(outFile)) {
-                final String content = ResourceUtils.load(entry.getValue());
-                writer.write(content);
-            } catch (IOException e) {
-                throw new JniBridgeException(
-                        "Unable to create file: " + outFile.getAbsolutePath(), e
-                );
-            }
+            writer.write(entry.getKey(), ResourceUtils.load(cache, entry.getValue()));
         }
     }
 }
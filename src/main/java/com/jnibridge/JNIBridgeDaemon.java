@@ -0,0 +1,460 @@
+package com.jnibridge;
+
+import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationMetrics;
+import com.jnibridge.generator.GenerationOptions;
+import com.jnibridge.generator.GeneratorPool;
+import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.generator.model.MethodInfo;
+import com.jnibridge.generator.model.TypeInfo;
+import com.jnibridge.generator.output.GeneratedFileWriter;
+import com.jnibridge.generator.scanner.ClassScan;
+import com.jnibridge.generator.scanner.ClassScanner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A long-lived generator, that watches class-file directories and regenerates the JNI-code whenever classes change
+ * (see {@link JNIBridge#watchJNIInterface(Path, String[], String[], Map, List, GenerationOptions)}).
+ * <p>
+ * The daemon owns its generation session (see {@link GenerationCache}), which is kept across incremental runs, so
+ * templates are only loaded once. On every change, the classes are reloaded through a fresh class loader (the one of the
+ * previous run is closed, once the new run has succeeded), the previous scan is
+ * updated with the changed class files only (see {@link ClassScanner#rescan}), and only the JNI-files and polymorphic
+ * helpers of the affected classes are composed: the changed classes, the classes referencing them in their
+ * signatures, and the mapped classes of the same hierarchy. All other files are retained (see
+ * {@link GeneratedFileWriter#retain(Path)}). Changes of other files (e.g. templates) regenerate everything.
+ * </p>
+ * <p>
+ * Type mappers registered in {@link JniBridgeRegistry} keep referring to the classes of the calling class loader, so
+ * they must not be part of the watched directories.
+ * </p>
+ */
+public final class JNIBridgeDaemon implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(JNIBridgeDaemon.class.getName());
+
+    // compilers write class files one by one, changes are collected until the directories have been quiet for a while
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    private static final AtomicInteger DAEMON_COUNT = new AtomicInteger();
+
+    private final Path outPath;
+    private final String[] classes;
+    private final String[] nativeIncludes;
+    private final Map<Path, String> customJNIFiles;
+    private final List<Path> classDirectories;
+    private final GenerationOptions options;
+    private final ClassLoader parentLoader;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Thread thread;
+
+    private GenerationCache cache;
+    private ReloadingClassLoader classLoader;
+    private ClassScan scan;
+    private Map<String, Set<String>> references = Collections.emptyMap(); // <- class -> mapped classes it depends on
+    private volatile SortedSet<String> regeneratedClasses = Collections.emptySortedSet();
+    private volatile long lastRunMillis = -1;
+    private volatile int generations = 0;
+
+    // Private constructor, daemons are started via start()
+    private JNIBridgeDaemon(@NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles, @NotNull final List<Path> classDirectories, @NotNull final GenerationOptions options) throws IOException {
+        this.outPath = outPath;
+        this.classes = classes.clone();
+        this.nativeIncludes = nativeIncludes.clone();
+        this.customJNIFiles = new HashMap<>(customJNIFiles);
+        this.classDirectories = new ArrayList<>();
+        classDirectories.forEach(directory -> this.classDirectories.add(directory.toAbsolutePath().normalize()));
+        this.options = options.toBuilder().incremental(true).verifyReproducible(false).build();
+        this.parentLoader = Thread.currentThread().getContextClassLoader();
+
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::watch, "jnibridge-daemon-" + DAEMON_COUNT.incrementAndGet());
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Generates the JNI-code, and starts watching the class directories.
+     *
+     * @param outPath          the output directory where the generated JNI header files will be stored.
+     * @param classes          fully qualified names of the classes/packages to generate JNI headers for.
+     * @param nativeIncludes   All C++ includes needed for the mapping.
+     * @param customJNIFiles   Resource-Paths, to include centralized, custom JNI-code.
+     * @param classDirectories The class-file directories to watch.
+     * @param options          Options, controlling the generation.
+     * @return The running daemon.
+     * @throws JniBridgeException if the initial generation fails, or the directories cannot be watched.
+     */
+    @NotNull
+    static JNIBridgeDaemon start(@NotNull final Path outPath, @NotNull final String[] classes, @NotNull final String[] nativeIncludes, @NotNull final Map<Path, String> customJNIFiles, @NotNull final List<Path> classDirectories, @NotNull final GenerationOptions options) {
+        final JNIBridgeDaemon daemon;
+        try {
+            daemon = new JNIBridgeDaemon(outPath, classes, nativeIncludes, customJNIFiles, classDirectories, options);
+            for (final Path directory : daemon.classDirectories) {
+                daemon.register(directory);
+            }
+        } catch (IOException e) {
+            throw new JniBridgeException(String.format("Unable to watch the class directories %s", classDirectories), e);
+        }
+
+        try {
+            daemon.regenerate(Collections.emptySet(), true);
+        } catch (RuntimeException | LinkageError e) {
+            daemon.close();
+            throw e;
+        }
+        daemon.thread.start();
+        return daemon;
+    }
+
+    /**
+     * @return The number of generation runs, that have been completed successfully (including the initial one).
+     */
+    public int getGenerations() { return generations; }
+
+    /**
+     * @return The binary names of the classes, whose JNI-files have been composed by the last successful run (all
+     * mapped classes after a full run, only the affected ones after an incremental run).
+     */
+    @NotNull
+    public SortedSet<String> getRegeneratedClasses() { return regeneratedClasses; }
+
+    /**
+     * @return The wall time of the last successful run in milliseconds, -1 if there has been none.
+     */
+    public long getLastRunMillis() { return lastRunMillis; }
+
+    /**
+     * Stops watching, drops the generation session and closes the class loader of the last run.
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "JNIBridge: unable to close the watch service", e);
+        }
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            cache = null;
+            scan = null;
+            closeClassLoader(classLoader);
+            classLoader = null;
+        }
+    }
+
+    /**
+     * The watch loop: collects the changed files until the directories are quiet, and regenerates.
+     */
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<String> changedClasses = new TreeSet<>();
+                final boolean[] otherFilesChanged = {false};
+
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collectChanges(key, changedClasses, otherFilesChanged);
+                    key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                if (changedClasses.isEmpty() && !otherFilesChanged[0]) { continue; }
+                try {
+                    regenerate(changedClasses, otherFilesChanged[0]);
+                } catch (RuntimeException | LinkageError e) {
+                    // keep watching, the next change may fix the error
+                    LOGGER.log(Level.SEVERE, "JNIBridge: JNI generation failed", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed...
+        }
+    }
+
+    /**
+     * @param key               A signalled watch key.
+     * @param changedClasses    Collects the binary names of the changed classes.
+     * @param otherFilesChanged Set to true, if any other file has changed.
+     */
+    private void collectChanges(@NotNull final WatchKey key, @NotNull final Set<String> changedClasses, final boolean[] otherFilesChanged) {
+        final Path directory = watchedDirectories.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                otherFilesChanged[0] = true;
+                continue;
+            }
+
+            final Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                // new package: watch it, and treat its content as changed
+                try {
+                    register(file);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, String.format("JNIBridge: unable to watch %s", file), e);
+                }
+                otherFilesChanged[0] = true;
+                continue;
+            }
+
+            final String className = toClassName(file);
+            if (className != null) {
+                changedClasses.add(className);
+            } else {
+                otherFilesChanged[0] = true;
+            }
+        }
+        if (!key.reset()) { watchedDirectories.remove(key); }
+    }
+
+    /**
+     * Runs a generation: everything, or only the files affected by the changed classes.
+     *
+     * @param changedClasses The binary names of the changed classes.
+     * @param full           True, if everything has to be rescanned and regenerated.
+     */
+    private synchronized void regenerate(@NotNull final Set<String> changedClasses, final boolean full) {
+        final long start = System.nanoTime();
+
+        final Thread current = Thread.currentThread();
+        final ClassLoader previousLoader = current.getContextClassLoader();
+        final ReloadingClassLoader runLoader = new ReloadingClassLoader(toUrls(classDirectories), parentLoader);
+        current.setContextClassLoader(runLoader);
+
+        // the pool is created per run, so its threads use the class loader of the run
+        final GeneratorPool pool = JNIBridge.createGeneratorPool(options.getParallelism());
+        boolean succeeded = false;
+        try {
+            if (full || scan == null) {
+                cache = new GenerationCache(options);
+            } else {
+                cache.invalidateTypes();
+            }
+
+            final GenerationMetrics metrics = new GenerationMetrics(pool);
+            final ClassScan newScan = full || scan == null
+                    ? metrics.phase("scan", () -> ClassScanner.scan(pool.getParallelism(), classes))
+                    : metrics.phase("scan", () -> ClassScanner.rescan(scan, changedClasses, classes));
+            final Map<Class<?>, ClassInfo> classMappings = JNIBridge.extractAll(cache, metrics, pool, newScan);
+            final Map<String, Set<String>> newReferences = computeReferences(classMappings.values());
+
+            final Set<String> affected = full || scan == null ? null : getAffectedClasses(changedClasses, classMappings.values(), newReferences);
+
+            final GeneratedFileWriter writer = new GeneratedFileWriter(outPath, true);
+            JNIBridge.generateFiles(cache, options, writer, metrics, pool, outPath, classMappings, nativeIncludes, customJNIFiles,
+                    clazz -> affected == null || affected.contains(clazz.getName()));
+            metrics.phase("finish", writer::finish);
+
+            if (options.isMetrics()) { metrics.writeReport(outPath, options, cache.getStatistics(), writer.getFileSizes(), writer.getIoNanos()); }
+            metrics.logSlowestClasses(options.getSlowestClasses());
+
+            // the classes of the previous run are no longer referenced
+            closeClassLoader(classLoader);
+            classLoader = runLoader;
+            scan = newScan;
+            references = newReferences;
+            succeeded = true;
+
+            final SortedSet<String> regenerated = new TreeSet<>();
+            classMappings.keySet().stream().map(Class::getName).filter(name -> affected == null || affected.contains(name)).forEach(regenerated::add);
+            regeneratedClasses = Collections.unmodifiableSortedSet(regenerated);
+            lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            generations++;
+
+            LOGGER.info(String.format("JNIBridge: regenerated %d of %d classes in %d ms (%d files written, %d deleted)",
+                    regenerated.size(), classMappings.size(), lastRunMillis, writer.getWrittenFiles(), writer.getDeletedFiles()));
+        } finally {
+            pool.shutdown();
+            current.setContextClassLoader(previousLoader);
+            if (!succeeded) { closeClassLoader(runLoader); }
+        }
+    }
+
+    /**
+     * Closes the class loader of a run (its class files are no longer kept open).
+     */
+    private static void closeClassLoader(@Nullable final ReloadingClassLoader loader) {
+        if (loader == null) { return; }
+        try {
+            loader.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "JNIBridge: unable to close the class loader of a previous run", e);
+        }
+    }
+
+    /**
+     * @param changedClasses The binary names of the changed classes.
+     * @param classInfos     The mapped classes of the current run.
+     * @param newReferences  The references of the current run (see {@link #computeReferences(Collection)}).
+     * @return The binary names of the classes, whose files have to be regenerated: the changed classes (including
+     * the top-level classes of changed nested classes), the classes referencing them (before or after the change)
+     * and the mapped super- and subclasses of changed classes.
+     */
+    @NotNull
+    private Set<String> getAffectedClasses(@NotNull final Set<String> changedClasses, @NotNull final Collection<ClassInfo> classInfos, @NotNull final Map<String, Set<String>> newReferences) {
+        final Set<String> changed = new HashSet<>();
+        changedClasses.forEach(name -> {
+            changed.add(name);
+            if (name.indexOf('$') > 0) { changed.add(name.substring(0, name.indexOf('$'))); }
+        });
+
+        final Set<String> result = new HashSet<>(changed);
+        for (final Map<String, Set<String>> graph : Arrays.asList(references, newReferences)) {
+            graph.forEach((clazz, referenced) -> {
+                if (!Collections.disjoint(referenced, changed)) { result.add(clazz); }
+            });
+        }
+
+        for (final ClassInfo classInfo : classInfos) {
+            final String name = classInfo.getClazz().getName();
+            final boolean isSuperclassOfChanged = classInfo.getSubclasses().stream().anyMatch(subclass -> changed.contains(subclass.getName()));
+            if (isSuperclassOfChanged) { result.add(name); }
+            if (changed.contains(name)) { classInfo.getSubclasses().forEach(subclass -> result.add(subclass.getName())); }
+        }
+        return result;
+    }
+
+    /**
+     * @param classInfos The mapped classes.
+     * @return The classes, each mapped class depends on: the types of its signatures (including template arguments
+     * and array components) and its superclasses and interfaces.
+     */
+    @NotNull
+    private static Map<String, Set<String>> computeReferences(@NotNull final Collection<ClassInfo> classInfos) {
+        final Map<String, Set<String>> result = new HashMap<>();
+        for (final ClassInfo classInfo : classInfos) {
+            final Set<String> referenced = new HashSet<>();
+            for (Class<?> type = classInfo.getClazz().getSuperclass(); type != null; type = type.getSuperclass()) {
+                referenced.add(type.getName());
+            }
+            Arrays.stream(classInfo.getClazz().getInterfaces()).forEach(type -> referenced.add(type.getName()));
+
+            for (final MethodInfo methodInfo : classInfo.getMethodsToMap()) {
+                addReferences(methodInfo.getReturnType(), referenced);
+                addReferences(methodInfo.getSelfType(), referenced);
+                methodInfo.getParams().forEach(param -> addReferences(param, referenced));
+            }
+            result.put(classInfo.getClazz().getName(), referenced);
+        }
+        return result;
+    }
+
+    private static void addReferences(@Nullable final TypeInfo typeInfo, @NotNull final Set<String> referenced) {
+        if (typeInfo == null) { return; }
+
+        final List<Class<?>> types = new ArrayList<>(Collections.singletonList(typeInfo.getType()));
+        if (typeInfo.getJavaTemplateArgumentTypes() != null) { types.addAll(typeInfo.getJavaTemplateArgumentTypes()); }
+        for (Class<?> type : types) {
+            while (type.isArray()) { type = type.getComponentType(); }
+            referenced.add(type.getName());
+        }
+    }
+
+    /**
+     * Registers a directory and all its subdirectories at the watch service.
+     */
+    private void register(@NotNull final Path root) throws IOException {
+        if (!Files.isDirectory(root)) { return; }
+
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(final Path directory, final BasicFileAttributes attributes) throws IOException {
+                final WatchKey key = directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * @param file A changed file.
+     * @return The binary name of the class, null if the file is not a class file within one of the class directories.
+     */
+    @Nullable
+    private String toClassName(@NotNull final Path file) {
+        final String filename = file.getFileName().toString();
+        if (!filename.endsWith(".class")) { return null; }
+
+        for (final Path directory : classDirectories) {
+            if (!file.startsWith(directory)) { continue; }
+
+            final String relativePath = directory.relativize(file).toString();
+            return relativePath.substring(0, relativePath.length() - ".class".length()).replace(File.separatorChar, '.');
+        }
+        return null;
+    }
+
+    /**
+     * @return The URLs of the class directories.
+     */
+    @NotNull
+    private static URL[] toUrls(@NotNull final List<Path> classDirectories) {
+        final URL[] result = new URL[classDirectories.size()];
+        for (int i = 0; i < result.length; i++) {
+            try {
+                result[i] = classDirectories.get(i).toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new JniBridgeException(String.format("Invalid class directory: %s", classDirectories.get(i)), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the classes and resources of the class directories itself (child-first), so they are reloaded on every
+     * run, even if the class directories are part of the parent's classpath.
+     */
+    private static final class ReloadingClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        private ReloadingClassLoader(@NotNull final URL[] urls, @Nullable final ClassLoader parent) {
+            super(urls, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> result = findLoadedClass(name);
+                if (result == null && findResource(name.replace('.', '/') + ".class") != null) {
+                    result = findClass(name);
+                }
+                if (result == null) {
+                    return super.loadClass(name, resolve);
+                }
+                if (resolve) { resolveClass(result); }
+                return result;
+            }
+        }
+
+        @Override
+        public URL getResource(final String name) {
+            final URL result = findResource(name);
+            return result != null ? result : super.getResource(name);
+        }
+    }
+}
@@ -4,14 +4,16 @@ import com.jnibridge.mapper.TypeMapper;
 import com.jnibridge.mapper.primitives.*;
 import com.jnibridge.mapper.standard.filesystem.PathMapper;
 import com.jnibridge.mapper.standard.string.StringMapper;
-import com.jnibridge.utils.CompareUtils;
+import com.jnibridge.utils.ClassHierarchy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.file.Path;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -33,11 +35,17 @@ public class JniBridgeRegistry {
      */
     private JniBridgeRegistry() { }
 
+    // Both registries are immutable snapshots, which are replaced on registration (copy-on-write).
+    // Generator threads thus read them without locking and never observe a partially updated registry.
+
     // type registry with default mappings...
-    private static final Map<Class<?>, Class<? extends TypeMapper>> typeRegistry = new HashMap<>();
+    private static volatile Map<Class<?>, Class<? extends TypeMapper>> typeRegistry = Collections.emptyMap();
 
     // exception registry...
-    private static final Map<String, Class<? extends Throwable>> exceptionRegistry = new HashMap<>();
+    private static volatile Map<String, Class<? extends Throwable>> exceptionRegistry = Collections.emptyMap();
+
+    // exception entries in catch order, derived lazily from an exception registry snapshot...
+    private static volatile SortedExceptionEntries sortedExceptionEntries;
 
     // @formatter:off
     static {
@@ -63,8 +71,8 @@ public class JniBridgeRegistry {
      * @param typeMapper the corresponding {@link TypeMapper} implementation class
      * @throws NullPointerException if either argument is null
      */
-    public static void registerTypeMapper(@NotNull final Class<?> clazz, @NotNull final Class<? extends TypeMapper> typeMapper) {
-        typeRegistry.put(clazz, typeMapper);
+    public static synchronized void registerTypeMapper(@NotNull final Class<?> clazz, @NotNull final Class<? extends TypeMapper> typeMapper) {
+        typeRegistry = copyWith(typeRegistry, clazz, typeMapper);
     }
 
     /**
@@ -88,8 +96,8 @@ public class JniBridgeRegistry {
      * @param javaException the Java exception class that the C++ exception should be translated into.
      */
     @SuppressWarnings("unused")
-    public static void registerException(@NotNull final String cppException, @NotNull final Class<? extends Throwable> javaException) {
-        exceptionRegistry.put(cppException, javaException);
+    public static synchronized void registerException(@NotNull final String cppException, @NotNull final Class<? extends Throwable> javaException) {
+        exceptionRegistry = copyWith(exceptionRegistry, cppException, javaException);
     }
 
     /**
@@ -98,15 +106,45 @@ public class JniBridgeRegistry {
      * @return The sorted entries of the exception-registry.
      */
     public static LinkedList<Map.Entry<String, Class<? extends Throwable>>> getSortedExceptionEntries() {
-        LinkedList<Map.Entry<String, Class<? extends Throwable>>> sortedEntries =
-                new LinkedList<>(exceptionRegistry.entrySet());
-
-        sortedEntries.sort(Map.Entry.comparingByValue(
-                Comparator.<Class<? extends Throwable>>comparingInt(CompareUtils::depth)
-                        .reversed()
-                        .thenComparing(Class::getName)
-        ));
-        return sortedEntries;
+        final Map<String, Class<? extends Throwable>> registry = exceptionRegistry;
+
+        // sort once per registry snapshot...
+        SortedExceptionEntries sorted = sortedExceptionEntries;
+        if (sorted == null || sorted.registry != registry) {
+            sorted = new SortedExceptionEntries(registry);
+            sortedExceptionEntries = sorted;
+        }
+        return new LinkedList<>(sorted.entries);
+    }
+
+    /**
+     * @param registry The current registry snapshot.
+     * @param key      The key to register.
+     * @param value    The value to register.
+     * @return A new immutable snapshot, containing all entries of the passed registry and the passed entry.
+     */
+    private static <K, V> Map<K, V> copyWith(@NotNull final Map<K, V> registry, @NotNull final K key, @NotNull final V value) {
+        final Map<K, V> result = new HashMap<>(registry);
+        result.put(key, value);
+        return Collections.unmodifiableMap(result);
     }
 
+    /**
+     * The exception entries of a registry snapshot, ordered by the depth of their Java exception (deepest first, see
+     * {@link ClassHierarchy}), then by name.
+     */
+    private static final class SortedExceptionEntries {
+        private final Map<String, Class<? extends Throwable>> registry;
+        private final List<Map.Entry<String, Class<? extends Throwable>>> entries;
+
+        private SortedExceptionEntries(@NotNull final Map<String, Class<? extends Throwable>> registry) {
+            final ClassHierarchy hierarchy = ClassHierarchy.of(registry.values());
+            final List<Map.Entry<String, Class<? extends Throwable>>> sorted = new ArrayList<>(registry.entrySet());
+            sorted.sort(Map.Entry.<String, Class<? extends Throwable>>comparingByValue(hierarchy.deepestFirst())
+                    .thenComparing(Map.Entry::getKey)); // <- C++ exceptions mapped to the same Java exception
+
+            this.registry = registry;
+            this.entries = Collections.unmodifiableList(sorted);
+        }
+    }
 }
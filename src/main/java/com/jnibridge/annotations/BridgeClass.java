@@ -36,6 +36,31 @@ public @interface BridgeClass {
      */
     String name() default "";
 
+    /**
+     * Estimated number of native bytes, owned by an instance of the bridged type.
+     * <p>
+     * Allocated instances report this value to the {@link com.jnibridge.nativeaccess.memory.NativeMemoryAccountant},
+     * which applies memory-pressure to the GC. If left negative, the size is measured on the native side via
+     * {@code jnibridge::internal::NativeSizeEstimator} (defaults to {@code sizeof(T)}).
+     * </p>
+     *
+     * @return The estimated native size of an instance in bytes, or a negative value to measure it.
+     */
+    long nativeSize() default -1;
+
+    /**
+     * Indicates whether borrowed instances of the bridged type ({@link com.jnibridge.annotations.lifecycle.Ptr}/
+     * {@link com.jnibridge.annotations.lifecycle.Ref} return values) shall preserve their identity.
+     * <p>
+     * If enabled, returning the same native pointer repeatedly yields the same Java wrapper, as long as that wrapper
+     * is reachable and has not been closed. This avoids allocation churn on navigation-heavy APIs and makes
+     * {@code ==} comparisons of returned wrappers meaningful.
+     * </p>
+     *
+     * @return True if borrowed instances shall be cached per native pointer.
+     */
+    boolean identityCache() default false;
+
     /**
      * Defines type-to-mapper associations that apply at the class level.
      *
@@ -83,6 +108,19 @@ public @interface BridgeClass {
      */
     String[] customJniCodePaths() default {};
 
+    /**
+     * Native includes, declaring the native type of this class (e.g. {@code "core/math/Vector.hpp"} or {@code "<string>"}).
+     * <p>
+     * Only the generated files referencing this class include them: its own JNI-file, the JNI-files of classes
+     * whose methods use this class, and its polymorphic helper. Paths are resolved via the include directories of
+     * the native build. Includes passed to {@link com.jnibridge.JNIBridge#generateJNIInterface} are still
+     * included by every generated file.
+     * </p>
+     *
+     * @return the native includes of this class
+     */
+    String[] includes() default {};
+
     /**
      * Specify custom mappings for this IPointer instance.
      * Mainly used to specify custom in/out mappings of the IPointer instance, setting cType and jniType will have no effect.
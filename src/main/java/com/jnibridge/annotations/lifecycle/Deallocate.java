@@ -29,6 +29,7 @@ public @interface Deallocate {
      * <h4>Available placeholders</h4>
      * <ul>
      *   <li><code>${mangledFuncName}</code> – The JNI-mangled name of the corresponding Java method.</li>
+     *   <li><code>${entryChecks}</code> – The validation (checked profile) or call counting (diagnostics profile) of the function, empty otherwise.</li>
      * </ul>
      *
      * <p>
@@ -0,0 +1,34 @@
+package com.jnibridge.annotations.lifecycle;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the parameter of a {@link Ptr}/{@link Ref} returning method, which receives the result instead of a newly
+ * allocated wrapper (flyweight access).
+ * <p>
+ * The passed wrapper is rebound in place to the returned native instance (borrowed semantics) and returned again.
+ * Neither a Java wrapper, nor a native handle is allocated, if the wrapper already borrows an instance. Empty wrappers
+ * receive a borrowed handle on their first use. Wrappers owning their native instance cannot be rebound, neither can
+ * wrappers of a class, the returned instance is no instance of (e.g. a subclass wrapper for a base class instance).
+ * The annotated parameter must be of the return type.
+ * </p>
+ * <p>
+ * The annotated parameter is not passed to the native function:
+ * </p>
+ * <pre>{@code
+ * @Ptr
+ * public native Node getNext();
+ *
+ * @Ptr
+ * public native Node getNext(@Into Node target); // <- maps to the same native function as getNext()
+ * }</pre>
+ *
+ * @see Ptr#intoMapping()
+ * @see Ref#intoMapping()
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Into { }
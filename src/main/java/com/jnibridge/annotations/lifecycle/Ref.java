@@ -51,10 +51,25 @@ public @interface Ref {
      *   <li><code>${cType}</code> – The C++ type to be mapped</li>
      *   <li><code>${functionCall}</code> – The function-call, which creates an instance of the corresponding cType.</li>
      *   <li><code>${fullJPath}</code> – The complete (semicolon separated) path of the resulting Java class</li>
+     *   <li><code>${identityCache}</code> – <code>true</code> if the resulting Java class enables {@link com.jnibridge.annotations.BridgeClass#identityCache()}</li>
      * </ul>
      *
      * @return the classpath-relative location of the allocation function template
      */
     String outMapping() default "com/jnibridge/mappings/bridged_classes/raw/jnibridge.ref.out.mapping";
 
+    /**
+     * Specifies how a return value should be mapped into a caller-owned wrapper (C++ -> Java, see {@link Into})
+     *
+     * <h4>Available placeholders</h4>
+     * <ul>
+     *   <li><code>${cType}</code> – The C++ type to be mapped</li>
+     *   <li><code>${functionCall}</code> – The function-call, which creates an instance of the corresponding cType.</li>
+     *   <li><code>${intoVar}</code> – The jni-variable name of the wrapper to rebind.</li>
+     * </ul>
+     *
+     * @return the classpath-relative location of the mapping template
+     */
+    String intoMapping() default "com/jnibridge/mappings/bridged_classes/raw/jnibridge.ref.into.mapping";
+
 }
@@ -36,6 +36,7 @@ public @interface Unique {
      *   <li><code>${paramInMapping}</code> – JNI input parameter mapping code.</li>
      *   <li><code>${cType}</code> – The native C++ type to be allocated.</li>
      *   <li><code>${functionCallParams}</code> – C++ constructor arguments derived from JNI parameters.</li>
+     *   <li><code>${nativeSize}</code> – The native size declared via {@link com.jnibridge.annotations.BridgeClass#nativeSize()} (-1 if it shall be measured).</li>
      * </ul>
      *
      * @return the classpath-relative location of the allocation function template
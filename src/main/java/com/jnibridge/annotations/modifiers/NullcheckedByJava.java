@@ -0,0 +1,14 @@
+package com.jnibridge.annotations.modifiers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Parameters annotated with this, are guaranteed to be non-null by the Java-side, so the release profile discards
+ * their null checks on the JNI-level (all other profiles keep them, see {@link IgnoreNullcheck} to discard them always).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NullcheckedByJava {}
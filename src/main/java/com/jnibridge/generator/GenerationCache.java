@@ -0,0 +1,215 @@
+package com.jnibridge.generator;
+
+import com.jnibridge.annotations.BridgeClass;
+import com.jnibridge.generator.model.TypeInfo;
+import com.jnibridge.utils.CompiledTemplate;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Generation-session cache, memoizing loaded templates and resolved types (and providing the session's options to
+ * the composers).
+ *
+ * <p>A session is created for every generation run (see {@link com.jnibridge.JNIBridge}) and passed explicitly to
+ * the extractors and composers of that run, so concurrent runs (e.g. several processors or daemons in the same JVM)
+ * never share their options. Within a session, templates are only read, interned and compiled once, so all
+ * {@link TypeInfo} instances share the same template text.</p>
+ *
+ * <p>All cached values are immutable (templates) or copied on lookup ({@link TypeInfo}), so callers can
+ * safely mutate the returned instances. The cache is thread-safe, as the generation runs in parallel.</p>
+ */
+public final class GenerationCache {
+
+    private final boolean strictTemplates;
+    private final GenerationProfile profile;
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final Map<String, CompiledTemplate> compiledTemplates = new ConcurrentHashMap<>();
+    private final Map<TypeKey, TypeInfo> types = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BridgeClass.MappingEntry[]> classWideMappings = new ConcurrentHashMap<>();
+
+    private final CacheCounter templateCounter = new CacheCounter();
+    private final CacheCounter compiledTemplateCounter = new CacheCounter();
+    private final CacheCounter typeCounter = new CacheCounter();
+
+    /**
+     * Creates the session of a generation run.
+     *
+     * @param options The options of the generation run.
+     */
+    public GenerationCache(@NotNull final GenerationOptions options) {
+        this.strictTemplates = options.isStrictTemplates();
+        this.profile = options.getProfile();
+    }
+
+    /**
+     * @return True, if templates of this session must not contain unknown placeholders.
+     */
+    public boolean isStrictTemplates() {
+        return strictTemplates;
+    }
+
+    /**
+     * @return The profile of this session.
+     */
+    @NotNull
+    public GenerationProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Loads a template, memoized for this session.
+     *
+     * @param path   The resource path of the template.
+     * @param loader Loads the template, if it is not cached yet.
+     * @return The interned template.
+     */
+    @NotNull
+    public String template(@NotNull final String path, @NotNull final Function<String, String> loader) {
+        return templateCounter.lookup(templates, path, p -> loader.apply(p).intern());
+    }
+
+    /**
+     * Compiles a template, memoized for this session.
+     *
+     * @param template The template to compile.
+     * @param compiler Compiles the template, if it is not cached yet.
+     * @return The compiled template.
+     */
+    @NotNull
+    public CompiledTemplate compiledTemplate(@NotNull final String template, @NotNull final Function<String, CompiledTemplate> compiler) {
+        return compiledTemplateCounter.lookup(compiledTemplates, template, compiler);
+    }
+
+    /**
+     * Resolves a type, memoized for this session.
+     *
+     * @param type              The type to resolve.
+     * @param id                The id of the type (e.g. the parameter index), may be null.
+     * @param annotations       The annotations of the type (param or return).
+     * @param classWideMappings The class-wide mappings of the declaring class.
+     * @param resolver          Resolves the type, if it is not cached yet.
+     * @return A copy of the resolved type.
+     */
+    @NotNull
+    public TypeInfo typeInfo(@NotNull final Class<?> type, @Nullable final String id, @NotNull final Annotation[] annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings, @NotNull final Supplier<TypeInfo> resolver) {
+        final TypeKey key = new TypeKey(type, id, Arrays.asList(annotations), Arrays.asList(classWideMappings));
+        return copy(typeCounter.lookup(types, key, k -> resolver.get()));
+    }
+
+    /**
+     * Fetches the class-wide mappings of a class, memoized for this session.
+     *
+     * @param clazz    The class to fetch the mappings for.
+     * @param resolver Extracts the mappings, if they are not cached yet.
+     * @return The class-wide mappings (must not be modified).
+     */
+    @NotNull
+    public BridgeClass.MappingEntry[] classWideMappings(@NotNull final Class<?> clazz, @NotNull final Function<Class<?>, BridgeClass.MappingEntry[]> resolver) {
+        return classWideMappings.computeIfAbsent(clazz, resolver);
+    }
+
+    /**
+     * Drops the resolved types and class-wide mappings of this session, keeping the templates. Required once
+     * the bridged classes have been reloaded (see {@link com.jnibridge.JNIBridgeDaemon}), since both are keyed by class.
+     */
+    public void invalidateTypes() {
+        types.clear();
+        classWideMappings.clear();
+    }
+
+    /**
+     * @return The hit rates of this session.
+     */
+    @NotNull
+    public Statistics getStatistics() {
+        return new Statistics(templateCounter.snapshot(), compiledTemplateCounter.snapshot(), typeCounter.snapshot());
+    }
+
+    /**
+     * @param cached The cached type.
+     * @return A shallow copy of the cached type (template strings and argument lists are shared).
+     */
+    @NotNull
+    private static TypeInfo copy(@NotNull final TypeInfo cached) {
+        return cached.toBuilder().build();
+    }
+
+    /**
+     * Hit rates of the caches of a session (see {@link GenerationMetrics}).
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Statistics {
+        @NotNull private final CacheStatistics templates;
+        @NotNull private final CacheStatistics compiledTemplates;
+        @NotNull private final CacheStatistics types;
+    }
+
+    /**
+     * Hits and misses of a single cache.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class CacheStatistics {
+        private final long hits;
+        private final long misses;
+
+        /**
+         * @return The ratio of lookups served from the cache (0 if there have been no lookups).
+         */
+        public double getHitRate() {
+            return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        }
+    }
+
+    /**
+     * Counts the hits and misses of a cache.
+     */
+    private static final class CacheCounter {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private <K, V> V lookup(@NotNull final Map<K, V> cache, @NotNull final K key, @NotNull final Function<? super K, ? extends V> resolver) {
+            final V cached = cache.get(key);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+            final boolean[] resolved = {false};
+            final V result = cache.computeIfAbsent(key, k -> {
+                resolved[0] = true;
+                return resolver.apply(k);
+            });
+            (resolved[0] ? misses : hits).incrementAndGet();
+            return result;
+        }
+
+        private CacheStatistics snapshot() {
+            return new CacheStatistics(hits.get(), misses.get());
+        }
+    }
+
+    /**
+     * Key of a type resolution. Annotations compare by value, so equally annotated types share one entry.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class TypeKey {
+        private final Class<?> type;
+        private final String id;
+        private final List<Annotation> annotations;
+        private final List<BridgeClass.MappingEntry> classWideMappings;
+    }
+}
@@ -0,0 +1,269 @@
+package com.jnibridge.generator;
+
+import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.utils.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Metrics of a single generation run (thread-safe): wall and CPU time per phase, the time spent on each class,
+ * counts of classes, methods and types, the hit rates of the {@link GenerationCache} and the bytes written per file.
+ * <p>
+ * Recording is cheap (a few clock reads per phase and class), so the metrics are always recorded. They are written as
+ * a JSON report ({@value #REPORT_FILENAME}) next to the generated sources if {@link GenerationOptions#METRICS_PROPERTY}
+ * is set, and the slowest classes are logged if {@link GenerationOptions#SLOWEST_CLASSES_PROPERTY} is set.
+ * </p>
+ * <p>
+ * The CPU time of a phase is the CPU time of the generating threads: the thread running the phase and the workers of
+ * the {@link GeneratorPool} (other threads of the process, e.g. the garbage collector or a build tool, are not
+ * included). It is reported as {@code -1} if the JVM does not measure the CPU time of threads.
+ * </p>
+ */
+public class GenerationMetrics {
+
+    public static final String REPORT_FILENAME = "jnibridge-metrics.json";
+
+    private static final Logger LOGGER = Logger.getLogger(GenerationMetrics.class.getName());
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final GeneratorPool pool;
+    private final long startWallNanos = System.nanoTime();
+    private final Map<Long, Long> startCpuNanos;
+
+    // phases in the order they have been run, phase -> {wall, cpu}
+    private final Map<String, long[]> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, ClassMetrics> classes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param pool The pool of the generation run (its workers are measured along with the calling thread).
+     */
+    public GenerationMetrics(@NotNull final GeneratorPool pool) {
+        this.pool = pool;
+        this.startCpuNanos = threadCpuNanos();
+    }
+
+    /**
+     * Runs a phase of the generation, recording its wall and CPU time (phases of the same name accumulate).
+     *
+     * @param phase The name of the phase (e.g. {@code scan}).
+     * @param task  The phase.
+     * @param <T>   The result type of the phase.
+     * @return The result of the phase.
+     */
+    public <T> T phase(@NotNull final String phase, @NotNull final Supplier<T> task) {
+        final long wall = System.nanoTime();
+        final Map<Long, Long> cpu = threadCpuNanos();
+        try {
+            return task.get();
+        } finally {
+            final long cpuNanos = cpuNanosSince(cpu);
+            final long wallNanos = System.nanoTime() - wall;
+            phases.merge(phase, new long[]{wallNanos, cpuNanos}, (a, b) -> new long[]{a[0] + b[0], a[1] < 0 ? -1 : a[1] + b[1]});
+        }
+    }
+
+    /**
+     * Runs a phase of the generation, recording its wall and CPU time (see {@link #phase(String, Supplier)}).
+     *
+     * @param phase The name of the phase.
+     * @param task  The phase.
+     */
+    public void phase(@NotNull final String phase, @NotNull final Runnable task) {
+        phase(phase, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records the extraction of a class.
+     *
+     * @param clazz   The extracted class.
+     * @param methods The number of mapped methods.
+     * @param types   The number of resolved types (parameters and return types).
+     * @param nanos   The wall time of the extraction.
+     */
+    public void recordExtraction(@NotNull final Class<?> clazz, final int methods, final int types, final long nanos) {
+        final ClassMetrics metrics = classMetrics(clazz);
+        metrics.methods = methods;
+        metrics.types = types;
+        metrics.extractNanos = nanos;
+    }
+
+    /**
+     * Records the composition of a class (including streaming it to its JNI-file).
+     *
+     * @param clazz The composed class.
+     * @param nanos The wall time of the composition.
+     */
+    public void recordComposition(@NotNull final Class<?> clazz, final long nanos) {
+        classMetrics(clazz).composeNanos = nanos;
+    }
+
+    /**
+     * Logs the slowest classes (by extraction and composition time).
+     *
+     * @param count The number of classes to log, nothing is logged if not positive.
+     */
+    public void logSlowestClasses(final int count) {
+        if (count <= 0 || classes.isEmpty()) { return; }
+
+        final StringBuilder report = new StringBuilder(String.format("JNIBridge: %d slowest classes (extract + compose):", Math.min(count, classes.size())));
+        classes.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ClassMetrics> entry) -> entry.getValue().totalNanos()).reversed().thenComparing(Map.Entry::getKey))
+                .limit(count)
+                .forEach(entry -> report.append(String.format("%n  %s: %.3f ms (extract %.3f ms, compose %.3f ms, %d methods)",
+                        entry.getKey(), toMillis(entry.getValue().totalNanos()), toMillis(entry.getValue().extractNanos), toMillis(entry.getValue().composeNanos), entry.getValue().methods)));
+        LOGGER.info(report.toString());
+    }
+
+    /**
+     * Writes the JSON report ({@value #REPORT_FILENAME}) to the output directory.
+     *
+     * @param outPath   The output directory of the generation run.
+     * @param options   The options of the generation run.
+     * @param cache     The statistics of the generation session's cache.
+     * @param fileSizes The bytes written per generated file.
+     * @param ioNanos   The wall time spent on file I/O.
+     * @throws JniBridgeException if the report cannot be written.
+     */
+    public void writeReport(@NotNull final Path outPath, @NotNull final GenerationOptions options, @NotNull final GenerationCache.Statistics cache, @NotNull final SortedMap<String, Long> fileSizes, final long ioNanos) {
+        final long cpuNanos = cpuNanosSince(startCpuNanos);
+        final JsonWriter json = new JsonWriter();
+        json.beginObject();
+        json.name("wallMillis").value(toMillis(System.nanoTime() - startWallNanos));
+        json.name("cpuMillis").value(cpuNanos < 0 ? -1 : toMillis(cpuNanos));
+
+        json.name("options").beginObject();
+        json.name("parallelism").value(options.getParallelism());
+        json.name("incremental").value(options.isIncremental());
+        json.name("translationUnits").value(options.getTranslationUnits().name().toLowerCase(Locale.ROOT));
+        json.name("profile").value(options.getProfile().name().toLowerCase(Locale.ROOT));
+        json.endObject();
+
+        json.name("phases").beginObject();
+        synchronized (phases) {
+            phases.forEach((phase, times) -> {
+                json.name(phase).beginObject();
+                json.name("wallMillis").value(toMillis(times[0]));
+                json.name("cpuMillis").value(times[1] < 0 ? -1 : toMillis(times[1]));
+                json.endObject();
+            });
+        }
+        json.name("io").beginObject().name("wallMillis").value(toMillis(ioNanos)).endObject();
+        json.endObject();
+
+        json.name("counts").beginObject();
+        json.name("classes").value(classes.size());
+        json.name("methods").value(classes.values().stream().mapToLong(metrics -> metrics.methods).sum());
+        json.name("types").value(classes.values().stream().mapToLong(metrics -> metrics.types).sum());
+        json.name("distinctTypes").value(cache.getTypes().getMisses());
+        json.name("files").value(fileSizes.size());
+        json.name("bytes").value(fileSizes.values().stream().mapToLong(Long::longValue).sum());
+        json.endObject();
+
+        json.name("cache").beginObject();
+        writeCacheStatistics(json, "templates", cache.getTemplates());
+        writeCacheStatistics(json, "compiledTemplates", cache.getCompiledTemplates());
+        writeCacheStatistics(json, "types", cache.getTypes());
+        json.endObject();
+
+        json.name("classes").beginObject();
+        new TreeMap<>(classes).forEach((clazz, metrics) -> {
+            json.name(clazz).beginObject();
+            json.name("methods").value(metrics.methods);
+            json.name("types").value(metrics.types);
+            json.name("extractMillis").value(toMillis(metrics.extractNanos));
+            json.name("composeMillis").value(toMillis(metrics.composeNanos));
+            json.endObject();
+        });
+        json.endObject();
+
+        json.name("files").beginObject();
+        fileSizes.forEach((file, bytes) -> json.name(file).value(bytes));
+        json.endObject();
+        json.endObject();
+
+        final Path report = outPath.resolve(REPORT_FILENAME);
+        try {
+            Files.createDirectories(outPath);
+            Files.write(report, json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new JniBridgeException(String.format("Unable to write metrics report: %s", report), e);
+        }
+    }
+
+    private static void writeCacheStatistics(@NotNull final JsonWriter json, @NotNull final String name, @NotNull final GenerationCache.CacheStatistics statistics) {
+        json.name(name).beginObject();
+        json.name("hits").value(statistics.getHits());
+        json.name("misses").value(statistics.getMisses());
+        json.name("hitRate").value(statistics.getHitRate());
+        json.endObject();
+    }
+
+    @NotNull
+    private ClassMetrics classMetrics(@NotNull final Class<?> clazz) {
+        return classes.computeIfAbsent(clazz.getName(), name -> new ClassMetrics());
+    }
+
+    private static double toMillis(final long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * @return The CPU time of each generating thread (by its id) in nanoseconds, null if not supported by the JVM.
+     */
+    @Nullable
+    private Map<Long, Long> threadCpuNanos() {
+        if (!THREADS.isThreadCpuTimeSupported() || !THREADS.isThreadCpuTimeEnabled()) { return null; }
+
+        final Map<Long, Long> result = new HashMap<>();
+        result.put(Thread.currentThread().getId(), THREADS.getCurrentThreadCpuTime());
+        for (final Thread worker : pool.getWorkers()) {
+            final long nanos = THREADS.getThreadCpuTime(worker.getId());
+            if (nanos >= 0) { result.put(worker.getId(), nanos); }
+        }
+        return result;
+    }
+
+    /**
+     * @param start The CPU time of each generating thread at the start (see {@link #threadCpuNanos()}).
+     * @return The CPU time the generating threads have spent since the start, -1 if not supported by the JVM.
+     */
+    private long cpuNanosSince(@Nullable final Map<Long, Long> start) {
+        final Map<Long, Long> end = threadCpuNanos();
+        if (start == null || end == null) { return -1; }
+
+        // workers, that have been started in the meantime, have spent all their CPU time since the start
+        return end.entrySet().stream()
+                .mapToLong(thread -> thread.getValue() - start.getOrDefault(thread.getKey(), 0L))
+                .sum();
+    }
+
+    /**
+     * Metrics of a single class (each value is written by a single generator thread).
+     */
+    private static final class ClassMetrics {
+        private volatile int methods;
+        private volatile int types;
+        private volatile long extractNanos;
+        private volatile long composeNanos;
+
+        private long totalNanos() { return extractNanos + composeNanos; }
+    }
+}
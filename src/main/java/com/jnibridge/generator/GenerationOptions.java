@@ -0,0 +1,109 @@
+package com.jnibridge.generator;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Options, controlling how the JNI-code is generated (see {@link com.jnibridge.JNIBridge}).
+ *
+ * <p><b>Configuration (system properties):</b>
+ * <ul>
+ *     <li>{@value #PARALLELISM_PROPERTY} - the number of generator threads (default: number of available processors).</li>
+ *     <li>{@value #INCREMENTAL_PROPERTY} - {@code true} to only write changed files (default: {@code false}).</li>
+ *     <li>{@value #VERIFY_REPRODUCIBLE_PROPERTY} - {@code true} to fail if two generation runs within the same JVM differ (default: {@code false}).
+ *     Both runs share the class loading and hashing state of the JVM, so only in-process nondeterminism (e.g. of the parallel
+ *     generation) is detected; nondeterminism across JVMs requires generating in separate processes and comparing the output
+ *     trees (see the {@code verifyJNICodeReproducible} task of the examples).</li>
+ *     <li>{@value #STRICT_TEMPLATES_PROPERTY} - {@code true} to fail on unknown template placeholders (default: {@code false}).</li>
+ *     <li>{@value #TRANSLATION_UNITS_PROPERTY} - the grouping of the translation units, see {@link TranslationUnitGrouping} (default: {@code per_class}).</li>
+ *     <li>{@value #SHARDS_PROPERTY} - the number of translation units for {@link TranslationUnitGrouping#SHARDS} (default: number of available processors).</li>
+ *     <li>{@value #PRECOMPILED_HEADER_PROPERTY} - {@code true} to generate a precompiled header (default: {@code false}).</li>
+ *     <li>{@value #PROFILE_PROPERTY} - the safety checks of the generated code, see {@link GenerationProfile} (default: {@code standard}).</li>
+ *     <li>{@value #METRICS_PROPERTY} - {@code true} to write a metrics report, see {@link GenerationMetrics} (default: {@code false}).</li>
+ *     <li>{@value #SLOWEST_CLASSES_PROPERTY} - the number of slowest classes to log (default: {@code 0}).</li>
+ *     <li>{@value #COST_ANALYSIS_PROPERTY} - {@code true} to write a JNI-cost report, see {@link com.jnibridge.generator.analysis.JniCostAnalyzer} (default: {@code false}).</li>
+ *     <li>{@value #COST_BUDGET_PROPERTY} - the JNI-cost limits per function, see {@link com.jnibridge.generator.analysis.JniCostBudget} (default: none).</li>
+ * </ul>
+ */
+@Getter
+@Builder(toBuilder = true)
+public class GenerationOptions {
+
+    public static final String PARALLELISM_PROPERTY = "jnibridge.generator.parallelism";
+    public static final String INCREMENTAL_PROPERTY = "jnibridge.generator.incremental";
+    public static final String VERIFY_REPRODUCIBLE_PROPERTY = "jnibridge.generator.verifyReproducible";
+    public static final String STRICT_TEMPLATES_PROPERTY = "jnibridge.generator.strictTemplates";
+    public static final String TRANSLATION_UNITS_PROPERTY = "jnibridge.generator.translationUnits";
+    public static final String SHARDS_PROPERTY = "jnibridge.generator.shards";
+    public static final String PRECOMPILED_HEADER_PROPERTY = "jnibridge.generator.precompiledHeader";
+    public static final String PROFILE_PROPERTY = "jnibridge.generator.profile";
+    public static final String METRICS_PROPERTY = "jnibridge.generator.metrics";
+    public static final String SLOWEST_CLASSES_PROPERTY = "jnibridge.generator.metrics.slowestClasses";
+    public static final String COST_ANALYSIS_PROPERTY = "jnibridge.generator.costAnalysis";
+    public static final String COST_BUDGET_PROPERTY = "jnibridge.generator.costBudget";
+
+    // @formatter:off
+    @Builder.Default private final int parallelism = Runtime.getRuntime().availableProcessors(); // <- 1 generates sequentially
+    @Builder.Default private final boolean incremental = false; // <- skip unchanged files, delete stale ones
+    @Builder.Default private final boolean verifyReproducible = false; // <- generate twice (in this JVM), fail if the outputs differ
+    @Builder.Default private final boolean strictTemplates = false; // <- unknown placeholders are errors instead of being kept
+    @NotNull @Builder.Default private final TranslationUnitGrouping translationUnits = TranslationUnitGrouping.PER_CLASS;
+    @Builder.Default private final int shards = Runtime.getRuntime().availableProcessors(); // <- SHARDS grouping only
+    @Builder.Default private final boolean precompiledHeader = false; // <- generate internal/JniBridgePch.hpp
+    @NotNull @Builder.Default private final GenerationProfile profile = GenerationProfile.STANDARD;
+    @Builder.Default private final boolean metrics = false; // <- write jnibridge-metrics.json
+    @Builder.Default private final int slowestClasses = 0; // <- log the N slowest classes
+    @Builder.Default private final boolean costAnalysis = false; // <- write jnibridge-jni-cost.json
+    @NotNull @Builder.Default private final String costBudget = ""; // <- e.g. findClass=1,score=60, fails the generation if exceeded
+    // @formatter:on
+
+    /**
+     * @return Options, configured via system properties (see class documentation).
+     */
+    @NotNull
+    public static GenerationOptions fromSystemProperties() {
+        return fromProperties(System::getProperty);
+    }
+
+    /**
+     * @param properties Resolves a property (see class documentation), null if it is not set.
+     * @return Options, configured via the passed properties.
+     * @throws IllegalArgumentException if the translation unit grouping or the profile is unknown.
+     */
+    @NotNull
+    public static GenerationOptions fromProperties(@NotNull final Function<String, String> properties) {
+        final String translationUnits = properties.apply(TRANSLATION_UNITS_PROPERTY);
+        final String profile = properties.apply(PROFILE_PROPERTY);
+        return GenerationOptions.builder()
+                .parallelism(getInteger(properties, PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors()))
+                .incremental(Boolean.parseBoolean(properties.apply(INCREMENTAL_PROPERTY)))
+                .verifyReproducible(Boolean.parseBoolean(properties.apply(VERIFY_REPRODUCIBLE_PROPERTY)))
+                .strictTemplates(Boolean.parseBoolean(properties.apply(STRICT_TEMPLATES_PROPERTY)))
+                .translationUnits(translationUnits == null ? TranslationUnitGrouping.PER_CLASS : TranslationUnitGrouping.parse(translationUnits))
+                .shards(getInteger(properties, SHARDS_PROPERTY, Runtime.getRuntime().availableProcessors()))
+                .precompiledHeader(Boolean.parseBoolean(properties.apply(PRECOMPILED_HEADER_PROPERTY)))
+                .profile(profile == null ? GenerationProfile.STANDARD : GenerationProfile.parse(profile))
+                .metrics(Boolean.parseBoolean(properties.apply(METRICS_PROPERTY)))
+                .slowestClasses(getInteger(properties, SLOWEST_CLASSES_PROPERTY, 0))
+                .costAnalysis(Boolean.parseBoolean(properties.apply(COST_ANALYSIS_PROPERTY)))
+                .costBudget(Optional.ofNullable(properties.apply(COST_BUDGET_PROPERTY)).orElse(""))
+                .build();
+    }
+
+    /**
+     * @return The integer value of the property, the default value if it is not set or not a number.
+     */
+    private static int getInteger(@NotNull final Function<String, String> properties, @NotNull final String property, final int defaultValue) {
+        final String value = properties.apply(property);
+        if (value == null) { return defaultValue; }
+        try {
+            return Integer.decode(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.jnibridge.generator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Determines the safety checks of the generated JNI-code (see {@link GenerationOptions#PROFILE_PROPERTY}).
+ * <p>
+ * The profile is the single source of truth for all checks: the generated functions only contain the checks of the
+ * selected profile, and the generated headers define {@code JNIBRIDGE_CHECKED} for the {@link #CHECKED} profile
+ * ({@code JNIBRIDGE_DIAGNOSTICS} for the {@link #DIAGNOSTICS} profile).
+ * </p>
+ */
+public enum GenerationProfile {
+
+    /**
+     * Null checks, calling instance checks and allocation class checks (default).
+     */
+    STANDARD,
+
+    /**
+     * All checks of {@link #STANDARD}, plus the verification of every native handle against the table of live handles,
+     * a reserved local reference capacity and the assertion of a clean exception state on entry of every function.
+     * Violations abort the JVM via {@code FatalError}, so they are caught during development.
+     */
+    CHECKED,
+
+    /**
+     * All checks of {@link #STANDARD}, except the ones made redundant by the Java-side:
+     * <ul>
+     *     <li>Null checks of parameters, that are validated by the Java-side (annotated with
+     *     {@link com.jnibridge.annotations.modifiers.NullcheckedByJava}). Nullability annotations like {@code NotNull}
+     *     are only hints, and keep the null check.</li>
+     *     <li>The allocation class check of final classes (their allocator cannot be inherited).</li>
+     * </ul>
+     */
+    RELEASE,
+
+    /**
+     * All checks of {@link #STANDARD}, plus the counting of the JNI calls of every generated function. On entry, a
+     * generated function swaps the function table of its {@code JNIEnv} for an instrumented copy, which counts each
+     * JNI call (and the local references created) before forwarding it. The counts are exposed via
+     * {@link com.jnibridge.nativeaccess.diagnostics.JniDiagnostics}, e.g. for assertions in tests.
+     * Meant for tests and diagnostics only.
+     */
+    DIAGNOSTICS;
+
+    /**
+     * @param value The name of the profile, case-insensitive (e.g. {@code release}).
+     * @return The corresponding profile.
+     * @throws IllegalArgumentException if there is no such profile.
+     */
+    @NotNull
+    public static GenerationProfile parse(@NotNull final String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
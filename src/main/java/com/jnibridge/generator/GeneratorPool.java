@@ -0,0 +1,72 @@
+package com.jnibridge.generator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * The fork-join pool, the JNI-code is generated on. Keeps track of its live worker threads, so their CPU time can be
+ * measured (see {@link GenerationMetrics}).
+ * <p>
+ * The worker threads use the passed context class loader, since templates are loaded through it.
+ * </p>
+ */
+public class GeneratorPool extends ForkJoinPool {
+
+    private final Set<Thread> workers;
+
+    /**
+     * Constructor.
+     *
+     * @param parallelism        The number of worker threads.
+     * @param contextClassLoader The context class loader of the worker threads.
+     */
+    public GeneratorPool(final int parallelism, @NotNull final ClassLoader contextClassLoader) {
+        this(parallelism, contextClassLoader, ConcurrentHashMap.newKeySet());
+    }
+
+    private GeneratorPool(final int parallelism, @NotNull final ClassLoader contextClassLoader, @NotNull final Set<Thread> workers) {
+        super(Math.max(1, parallelism), pool -> new Worker(pool, contextClassLoader, workers), null, false);
+        this.workers = workers;
+    }
+
+    /**
+     * @return A snapshot of the live worker threads.
+     */
+    @NotNull
+    public Collection<Thread> getWorkers() {
+        return new ArrayList<>(workers);
+    }
+
+    /**
+     * A worker thread, registered with its pool while it is running.
+     */
+    private static final class Worker extends ForkJoinWorkerThread {
+
+        private final Set<Thread> workers;
+
+        private Worker(@NotNull final ForkJoinPool pool, @NotNull final ClassLoader contextClassLoader, @NotNull final Set<Thread> workers) {
+            super(pool);
+            this.workers = workers;
+            setContextClassLoader(contextClassLoader);
+            setName("jnibridge-generator-" + getPoolIndex());
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            workers.add(this);
+        }
+
+        @Override
+        protected void onTermination(final Throwable exception) {
+            workers.remove(this);
+            super.onTermination(exception);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.jnibridge.generator;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Determines how the generated JNI-files are grouped into translation units of the native build
+ * (see {@link GenerationOptions#TRANSLATION_UNITS_PROPERTY}).
+ * <p>
+ * Grouped translation units (unity builds) include multiple generated JNI-files, so the shared headers are only
+ * parsed once per group. The JNI-files of the bridged classes are generated either way; the generated
+ * {@code jnibridge_sources.cmake} lists the sources to compile.
+ * </p>
+ */
+public enum TranslationUnitGrouping {
+
+    /**
+     * Every JNI-file is a translation unit of its own.
+     */
+    PER_CLASS,
+
+    /**
+     * One translation unit per package.
+     */
+    PER_PACKAGE,
+
+    /**
+     * A fixed number of translation units (see {@link GenerationOptions#SHARDS_PROPERTY}), balanced by the number of mapped methods.
+     */
+    SHARDS;
+
+    /**
+     * @param value The name of the grouping, case-insensitive (e.g. {@code per_package}).
+     * @return The corresponding grouping.
+     * @throws IllegalArgumentException if there is no such grouping.
+     */
+    @NotNull
+    public static TranslationUnitGrouping parse(@NotNull final String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
@@ -0,0 +1,96 @@
+package com.jnibridge.generator;
+
+import com.jnibridge.generator.model.ClassInfo;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Groups the generated JNI-files into translation units (see {@link TranslationUnitGrouping}).
+ * <p>
+ * The grouping only depends on the (canonically ordered) classes, so it is stable between generation runs.
+ * </p>
+ */
+public final class TranslationUnitPlanner {
+
+    private static final String DEFAULT_PACKAGE = "default";
+
+    // Private constructor, static utility class
+    private TranslationUnitPlanner() { }
+
+    /**
+     * @param grouping The grouping of the translation units.
+     * @param shards   The number of translation units ({@link TranslationUnitGrouping#SHARDS} only).
+     * @param jniFiles The JNI-files of the bridged classes (in canonical order).
+     * @param <T>      The type of the JNI-files (e.g. their paths).
+     * @return The name of each translation unit, mapped to the JNI-files it includes (both in canonical order).
+     * @throws IllegalArgumentException if the number of shards is not positive.
+     */
+    @NotNull
+    public static <T> Map<String, List<T>> plan(@NotNull final TranslationUnitGrouping grouping, final int shards, @NotNull final Map<ClassInfo, T> jniFiles) {
+        final Map<String, List<T>> result = new LinkedHashMap<>();
+        switch (grouping) {
+            case PER_CLASS:
+                jniFiles.forEach((classInfo, file) -> result.put(classInfo.getClazz().getName(), Collections.singletonList(file)));
+                break;
+
+            case PER_PACKAGE:
+                final Map<String, List<T>> packages = new TreeMap<>();
+                jniFiles.forEach((classInfo, file) -> packages.computeIfAbsent(packageOf(classInfo), key -> new ArrayList<>()).add(file));
+                result.putAll(packages);
+                break;
+
+            case SHARDS:
+                if (shards < 1) { throw new IllegalArgumentException(String.format("Invalid number of shards: %d", shards)); }
+                final List<List<T>> balanced = balance(new ArrayList<>(jniFiles.entrySet()), Math.min(shards, jniFiles.size()));
+                for (int i = 0; i < balanced.size(); ++i) {
+                    result.put(String.format("shard_%d", i), balanced.get(i));
+                }
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Distributes the JNI-files onto the shards, heaviest class (by its number of mapped methods) first, always onto
+     * the currently lightest shard.
+     */
+    @NotNull
+    private static <T> List<List<T>> balance(@NotNull final List<Map.Entry<ClassInfo, T>> jniFiles, final int shards) {
+        final List<Integer> byWeight = new ArrayList<>();
+        for (int i = 0; i < jniFiles.size(); ++i) { byWeight.add(i); }
+        byWeight.sort(Comparator.comparingInt((Integer i) -> weightOf(jniFiles.get(i).getKey())).reversed());
+
+        final int[] loads = new int[shards];
+        final List<SortedSet<Integer>> assigned = new ArrayList<>();
+        for (int i = 0; i < shards; ++i) { assigned.add(new TreeSet<>()); }
+
+        for (final int index : byWeight) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; ++shard) {
+                if (loads[shard] < loads[lightest]) { lightest = shard; }
+            }
+            loads[lightest] += weightOf(jniFiles.get(index).getKey());
+            assigned.get(lightest).add(index);
+        }
+
+        // restore the canonical order within each shard
+        final List<List<T>> result = new ArrayList<>();
+        for (final SortedSet<Integer> indices : assigned) {
+            final List<T> files = new ArrayList<>();
+            indices.forEach(index -> files.add(jniFiles.get(index).getValue()));
+            result.add(files);
+        }
+        return result;
+    }
+
+    private static int weightOf(@NotNull final ClassInfo classInfo) {
+        return classInfo.getMethodsToMap().size() + 1;
+    }
+
+    @NotNull
+    private static String packageOf(@NotNull final ClassInfo classInfo) {
+        final Package classPackage = classInfo.getClazz().getPackage();
+        return classPackage == null || classPackage.getName().isEmpty() ? DEFAULT_PACKAGE : classPackage.getName();
+    }
+}
@@ -0,0 +1,133 @@
+package com.jnibridge.generator.analysis;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The costly operations of a generated function (or runtime helper), as counted by the {@link JniCostAnalyzer}.
+ * <p>
+ * Operations are counted per call (executed once per invocation) and per element (executed within a loop, e.g. once
+ * per element of a mapped sequence). Operations on error paths ({@code catch} blocks) and one-time initializations
+ * ({@code static} locals) are not counted.
+ * </p>
+ */
+public final class JniCost {
+
+    /**
+     * Factor, by which per-element operations are weighted in the {@link #getScore() score} (a nominal element count).
+     */
+    public static final int ELEMENT_FACTOR = 10;
+
+    // operations, that are anti-patterns if executed per element
+    private static final Set<JniOperation> HOT_OPERATIONS = Collections.unmodifiableSet(EnumSet.of(
+            JniOperation.FIND_CLASS, JniOperation.ID_LOOKUP, JniOperation.UPCALL, JniOperation.GLOBAL_REF));
+
+    private final Map<JniOperation, Integer> perCall = new EnumMap<>(JniOperation.class);
+    private final Map<JniOperation, Integer> perElement = new EnumMap<>(JniOperation.class);
+    private final Set<String> findings = new LinkedHashSet<>();
+    private final Set<String> unanalyzed = new TreeSet<>();
+
+    /**
+     * @param operation The operation.
+     * @return The number of times, the operation is executed per call (outside of loops).
+     */
+    public int getPerCall(@NotNull final JniOperation operation) { return perCall.getOrDefault(operation, 0); }
+
+    /**
+     * @param operation The operation.
+     * @return The number of times, the operation is executed per element (within loops).
+     */
+    public int getPerElement(@NotNull final JniOperation operation) { return perElement.getOrDefault(operation, 0); }
+
+    /**
+     * @param operation The operation.
+     * @return The number of times, the operation occurs in the function (per call and per element).
+     */
+    public int getTotal(@NotNull final JniOperation operation) { return getPerCall(operation) + getPerElement(operation); }
+
+    /**
+     * @return The anti-patterns of the function, e.g. {@code FindClass per element (via jobjectFromBaseHandle)}.
+     */
+    @NotNull
+    public List<String> getFindings() { return new ArrayList<>(findings); }
+
+    /**
+     * @return The runtime member functions, the function calls on a receiver of unknown type (e.g.
+     * {@code IdentityCache::lookup}). Their operations are not counted.
+     */
+    @NotNull
+    public List<String> getUnanalyzed() { return new ArrayList<>(unanalyzed); }
+
+    /**
+     * @return The weighted cost of the function (see {@link JniOperation#getWeight()}), used to rank the functions.
+     */
+    public int getScore() {
+        int result = 0;
+        for (final JniOperation operation : JniOperation.values()) {
+            result += operation.getWeight() * (getPerCall(operation) + ELEMENT_FACTOR * getPerElement(operation));
+        }
+        return result;
+    }
+
+    /**
+     * Counts an operation.
+     *
+     * @param operation The operation.
+     * @param inLoop    True, if the operation is executed per element.
+     * @param via       The helper executing the operation, null if it is executed by the function itself.
+     */
+    void add(@NotNull final JniOperation operation, final boolean inLoop, @Nullable final String via) {
+        (inLoop ? perElement : perCall).merge(operation, 1, Integer::sum);
+        if (inLoop && HOT_OPERATIONS.contains(operation)) {
+            findings.add(String.format("%s per element%s", operation.getJsonName(), via == null ? "" : String.format(" (via %s)", via)));
+        }
+    }
+
+    /**
+     * Reports a call, whose operations cannot be counted.
+     *
+     * @param function The called function, e.g. {@code IdentityCache::lookup}.
+     */
+    void addUnanalyzed(@NotNull final String function) {
+        unanalyzed.add(function);
+    }
+
+    /**
+     * Counts the operations of a called helper.
+     *
+     * @param helper The cost of the helper.
+     * @param inLoop True, if the helper is called per element.
+     * @param name   The name of the helper.
+     */
+    void addAll(@NotNull final JniCost helper, final boolean inLoop, @NotNull final String name) {
+        for (final JniOperation operation : JniOperation.values()) {
+            for (int i = 0; i < helper.getPerCall(operation); i++) { add(operation, inLoop, name); }
+            for (int i = 0; i < helper.getPerElement(operation); i++) { add(operation, true, name); }
+        }
+        findings.addAll(helper.findings);
+        unanalyzed.addAll(helper.unanalyzed);
+    }
+
+    /**
+     * @param first  A cost.
+     * @param second Another cost.
+     * @return The element-wise maximum of both costs (used for overloaded helpers).
+     */
+    @NotNull
+    static JniCost max(@NotNull final JniCost first, @NotNull final JniCost second) {
+        final JniCost result = new JniCost();
+        for (final JniOperation operation : JniOperation.values()) {
+            final int call = Math.max(first.getPerCall(operation), second.getPerCall(operation));
+            final int element = Math.max(first.getPerElement(operation), second.getPerElement(operation));
+            if (call > 0) { result.perCall.put(operation, call); }
+            if (element > 0) { result.perElement.put(operation, element); }
+        }
+        result.findings.addAll(first.findings);
+        result.findings.addAll(second.findings);
+        result.unanalyzed.addAll(first.unanalyzed);
+        result.unanalyzed.addAll(second.unanalyzed);
+        return result;
+    }
+}
@@ -0,0 +1,700 @@
+package com.jnibridge.generator.analysis;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.jni.MethodInfoJNIComposer;
+import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.generator.model.MethodInfo;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Static analysis of the generated JNI-code: counts the costly operations (see {@link JniOperation}), each generated
+ * function executes per call and per element.
+ * <p>
+ * The analyzer works on the composed code (after all templates have been applied), so it sees exactly what the
+ * native compiler sees. Calls to the free functions of the runtime headers (e.g. {@code jobjectFromBaseHandle}) are
+ * followed transitively, as are calls of the constructors and member functions of the runtime classes (e.g.
+ * {@code IdentityCache::lookup}, {@code Handle::get}, {@code LocalRefChunks::next}). The class of a member call is
+ * inferred from its receiver: the declared type of a variable (the type of its initializer for {@code auto}), the
+ * returned type of a call or the class of the calling member function. Member calls on other types (e.g. the standard
+ * library) are ignored, member calls of runtime functions on an unresolved receiver are reported as unanalyzed (see
+ * {@link JniCost#getUnanalyzed()}). Operations within {@code for}, {@code while} and {@code do} loops count per
+ * element, operations in {@code catch} blocks (error paths) and {@code static} initializations (executed once per
+ * process) are ignored.
+ * </p>
+ * <p>
+ * The analyzer is a heuristic on the generated code, not a C++ parser. It is not thread-safe.
+ * </p>
+ */
+public class JniCostAnalyzer {
+
+    // @formatter:off
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+            "if", "for", "while", "do", "switch", "catch", "return", "sizeof", "alignof", "decltype", "static_assert", "defined", "noexcept",
+            "template", "operator"));
+    private static final Set<String> NO_TYPES = new HashSet<>(Arrays.asList(
+            "return", "else", "case", "new", "delete", "throw", "typename", "class", "struct", "const", "goto", "using"));
+    private static final Set<String> CASTS = new HashSet<>(Arrays.asList("static_cast", "dynamic_cast", "reinterpret_cast", "const_cast"));
+    private static final Set<String> BASE_SPECIFIERS = new HashSet<>(Arrays.asList("public", "protected", "private", "virtual"));
+    private static final Set<String> QUALIFIERS = new HashSet<>(Arrays.asList("const", "noexcept", "override", "final"));
+    private static final Set<String> ALLOCATIONS = new HashSet<>(Arrays.asList("make_shared", "make_unique", "malloc", "calloc", "realloc"));
+    // @formatter:on
+
+    // <name><optional explicit specialization>( - the start of a function definition or call
+    private static final Pattern FUNCTION = Pattern.compile("\\b([A-Za-z_]\\w*)\\s*(?:<[^;{}()]*>)?\\s*\\(");
+    // class <name> [final] [: <bases>] { - the start of a class definition
+    private static final Pattern CLASS = Pattern.compile("\\b(?:class|struct)\\s+([A-Za-z_]\\w*)\\s*(?:final\\s*)?(?::([^;{}]*))?\\{");
+    // the type of calls outside of the runtime (e.g. 'std::get<0>(tuple)'), whose members are not followed
+    private static final String EXTERNAL_TYPE = "";
+
+    // = new <qualified name> - the initializer of an 'auto' variable
+    private static final Pattern NEW_EXPRESSION = Pattern.compile("\\G\\s*=\\s*new\\s+(?:[A-Za-z_]\\w*\\s*::\\s*)*([A-Za-z_]\\w*)");
+
+    private final GenerationCache cache;
+    private final Map<String, List<String>> helperBodies = new HashMap<>(); // <- overloads share a name
+    private final Map<String, String> helperTypes = new HashMap<>(); // <- the returned type of each helper
+    private final Map<String, RuntimeClass> classes = new HashMap<>();
+    private final Map<String, JniCost> helperCosts = new HashMap<>(); // <- keyed by 'helper' and 'Class::member'
+    private final Set<String> resolving = new HashSet<>(); // <- guards against recursive helpers
+
+    private enum Block {PLAIN, LOOP, COLD}
+
+    /**
+     * @param cache          The session of the generation run, the generated functions are composed with.
+     * @param runtimeSources The composed runtime sources, whose functions and classes are used by the generated
+     *                       functions (e.g. the composed {@code JniBridgeHandle.hpp}).
+     */
+    public JniCostAnalyzer(@NotNull final GenerationCache cache, @NotNull final Collection<String> runtimeSources) {
+        this.cache = cache;
+        runtimeSources.stream().map(JniCostAnalyzer::sanitize).forEach(this::collectHelpers);
+    }
+
+    /**
+     * Analyzes every mapped method of the passed classes.
+     *
+     * @param classes The classes to analyze.
+     * @return The ranked report.
+     */
+    @NotNull
+    public JniCostReport analyze(@NotNull final Collection<ClassInfo> classes) {
+        final List<JniCostReport.Entry> entries = new ArrayList<>();
+        for (final ClassInfo classInfo : classes) {
+            for (final MethodInfo methodInfo : classInfo.getMethodsToMap()) {
+                final String code = new MethodInfoJNIComposer(cache, methodInfo).compose();
+                entries.add(new JniCostReport.Entry(functionName(methodInfo), analyze(code)));
+            }
+        }
+        return new JniCostReport(entries);
+    }
+
+    /**
+     * Analyzes a single generated function.
+     *
+     * @param code The composed code of the function.
+     * @return The cost of the function.
+     */
+    @NotNull
+    public JniCost analyze(@NotNull final String code) {
+        return scan(sanitize(code), null);
+    }
+
+    /**
+     * @param methodInfo A mapped method.
+     * @return A readable name of the method, e.g. {@code com.example.Foo#bar(int, String)}.
+     */
+    @NotNull
+    private static String functionName(@NotNull final MethodInfo methodInfo) {
+        return String.format("%s#%s(%s)", methodInfo.getMethod().getDeclaringClass().getName(), methodInfo.getMethod().getName(),
+                Arrays.stream(methodInfo.getMethod().getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Collects the classes and the bodies of the functions defined in the passed (sanitized) source. The bodies include
+     * the parameter lists, so the declared types of parameters are known.
+     *
+     * @param source The sanitized source.
+     */
+    private void collectHelpers(@NotNull final String source) {
+        final List<ClassScope> scopes = new ArrayList<>();
+        final Matcher classMatcher = CLASS.matcher(source);
+        while (classMatcher.find()) {
+            final int openBody = classMatcher.end() - 1;
+            final int closeBody = matching(source, openBody, '{', '}');
+            if (closeBody < 0) { continue; }
+
+            final RuntimeClass runtimeClass = classes.computeIfAbsent(classMatcher.group(1), RuntimeClass::new);
+            runtimeClass.bases.addAll(baseNames(classMatcher.group(2)));
+            runtimeClass.sources.add(source.substring(openBody + 1, closeBody));
+            scopes.add(new ClassScope(openBody, closeBody, runtimeClass));
+        }
+
+        final Matcher matcher = FUNCTION.matcher(source);
+        int from = 0;
+        while (from < source.length() && matcher.find(from)) {
+            from = matcher.end();
+            final String name = matcher.group(1);
+            if (KEYWORDS.contains(name)) { continue; }
+
+            final int closeParen = matching(source, matcher.end() - 1, '(', ')');
+            if (closeParen < 0) { continue; }
+
+            final RuntimeClass owner = ownerOf(scopes, matcher.start());
+            int openBody = skipQualifiers(source, closeParen + 1);
+            if (owner != null && name.equals(owner.name) && openBody < source.length() && source.charAt(openBody) == ':') {
+                openBody = skipInitializers(source, openBody); // <- constructor
+            }
+            if (openBody >= source.length() || source.charAt(openBody) != '{') { continue; } // <- declaration or call
+
+            final int closeBody = matching(source, openBody, '{', '}');
+            if (closeBody < 0) { continue; }
+            from = closeBody + 1;
+
+            final int before = skipWhitespaceBackwards(source, matcher.start() - 1);
+            if (before >= 0 && source.charAt(before) == '~') { continue; } // <- destructor
+
+            final String body = source.substring(matcher.end() - 1, closeBody + 1);
+            final String type = typeBefore(source, matcher.start());
+            if (owner == null) {
+                helperBodies.computeIfAbsent(name, key -> new ArrayList<>()).add(body);
+                if (type != null) { helperTypes.putIfAbsent(name, type); }
+            } else {
+                owner.members.computeIfAbsent(name, key -> new ArrayList<>()).add(body);
+                if (type != null) { owner.types.putIfAbsent(name, type); }
+            }
+        }
+    }
+
+    /**
+     * @param name The name of a helper.
+     * @return The cost of the helper (the maximum of its overloads), resolved lazily.
+     */
+    @NotNull
+    private JniCost helperCost(@NotNull final String name) {
+        return resolve(name, helperBodies.get(name), null);
+    }
+
+    /**
+     * @param definingClass The runtime class defining the member function.
+     * @param name          The name of the member function (the name of the class for its constructors).
+     * @return The cost of the member function (the maximum of its overloads), resolved lazily.
+     */
+    @NotNull
+    private JniCost memberCost(@NotNull final RuntimeClass definingClass, @NotNull final String name) {
+        return resolve(definingClass.name + "::" + name, definingClass.members.get(name), definingClass);
+    }
+
+    // the cost of a function (the maximum of its overloads), cached by its key
+    @NotNull
+    private JniCost resolve(@NotNull final String key, @NotNull final List<String> bodies, @Nullable final RuntimeClass owner) {
+        final JniCost cached = helperCosts.get(key);
+        if (cached != null) { return cached; }
+        if (!resolving.add(key)) { return new JniCost(); } // <- recursion, counted once
+
+        final JniCost result = bodies.stream().map(body -> scan(body, owner)).reduce(JniCost::max).orElseGet(JniCost::new);
+        resolving.remove(key);
+        helperCosts.put(key, result);
+        return result;
+    }
+
+    /**
+     * Counts the operations of the passed (sanitized) code.
+     *
+     * @param code  The sanitized code.
+     * @param owner The runtime class, whose member function is scanned, null for free functions.
+     * @return The cost of the code.
+     */
+    @NotNull
+    private JniCost scan(@NotNull final String code, @Nullable final RuntimeClass owner) {
+        final JniCost cost = new JniCost();
+        final Deque<Block> blocks = new ArrayDeque<>();
+        Block pending = Block.PLAIN; // <- the kind of the next block
+        int loopStatements = 0; // <- open single-statement loop bodies (closed by the next ';')
+        int loopHeaderEnd = -1; // <- conditions and increments of a loop are executed per element
+        int parens = 0;
+        boolean oneTime = false; // <- within a 'static' statement
+
+        int i = 0;
+        while (i < code.length()) {
+            final char c = code.charAt(i);
+            if (Character.isJavaIdentifierStart(c)) {
+                final int start = i;
+                while (i < code.length() && Character.isJavaIdentifierPart(code.charAt(i))) { i++; }
+                final String word = code.substring(start, i);
+                final int next = skipWhitespace(code, i);
+                final char following = next < code.length() ? code.charAt(next) : '\0';
+
+                final boolean inLoop = loopStatements > 0 || i < loopHeaderEnd || blocks.contains(Block.LOOP);
+                final boolean counted = !oneTime && !blocks.contains(Block.COLD);
+                switch (word) {
+                    case "for":
+                    case "while":
+                        if (following != '(') { break; }
+                        final int closeHeader = matching(code, next, '(', ')');
+                        if (closeHeader < 0) { return cost; }
+                        final int body = skipWhitespace(code, closeHeader + 1);
+                        if (body < code.length() && code.charAt(body) == '{') { pending = Block.LOOP; }
+                        else if (body < code.length() && code.charAt(body) != ';') { loopStatements++; } // <- ';' ends a do-while
+                        loopHeaderEnd = Math.max(loopHeaderEnd, closeHeader);
+                        break;
+                    case "do":
+                        pending = Block.LOOP;
+                        break;
+                    case "catch":
+                        if (following == '(') { i = Math.max(i, matching(code, next, '(', ')') + 1); }
+                        pending = Block.COLD;
+                        break;
+                    case "static":
+                        oneTime = true;
+                        break;
+                    case "new":
+                        if (counted) { cost.add(JniOperation.HEAP_ALLOCATION, inLoop, null); }
+                        break;
+                    default:
+                        if (!counted) { break; }
+                        if (classes.containsKey(word) && !isMemberCall(code, start)) {
+                            if (isConstruction(code, i)) { addMember(cost, classes.get(word), word, inLoop); }
+                            break;
+                        }
+                        if (following != '(' && following != '<') { break; }
+                        if (start >= 5 && code.startsWith("env->", start - 5)) {
+                            final JniOperation operation = JniOperation.of(word);
+                            if (operation != null) { cost.add(operation, inLoop, null); }
+                        } else if (isMemberCall(code, start)) {
+                            addMemberCall(cost, code, start, word, owner, inLoop);
+                        } else if (ALLOCATIONS.contains(word)) {
+                            cost.add(JniOperation.HEAP_ALLOCATION, inLoop, null);
+                        } else {
+                            final String qualifier = qualifierOf(code, start);
+                            final RuntimeClass scope = qualifier != null ? classes.get(qualifier) : owner;
+                            if (scope != null && definerOf(scope, word) != null) { addMember(cost, scope, word, inLoop); }
+                            else if (helperBodies.containsKey(word)) { cost.addAll(helperCost(word), inLoop, word); }
+                        }
+                }
+                continue;
+            }
+
+            switch (c) {
+                case '{':
+                    // a braced body of a single-statement loop (e.g. 'for (...) if (...) { ... }') belongs to the loop
+                    blocks.push(loopStatements > 0 ? Block.LOOP : pending);
+                    loopStatements = 0;
+                    pending = Block.PLAIN;
+                    break;
+                case '}':
+                    if (!blocks.isEmpty()) { blocks.pop(); }
+                    break;
+                case '(':
+                    parens++;
+                    break;
+                case ')':
+                    parens--;
+                    break;
+                case ';':
+                    if (parens <= 0) {
+                        oneTime = false;
+                        loopStatements = 0;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            i++;
+        }
+        return cost;
+    }
+
+    /**
+     * Counts the cost of a member function (or constructor) of a runtime class, or reports it as unanalyzed if neither
+     * the class nor its bases define it.
+     *
+     * @param cost         The cost of the scanned code.
+     * @param runtimeClass The runtime class.
+     * @param name         The name of the member function (the name of the class for its constructors).
+     * @param inLoop       True, if the member function is called per element.
+     */
+    private void addMember(@NotNull final JniCost cost, @NotNull final RuntimeClass runtimeClass, @NotNull final String name, final boolean inLoop) {
+        final RuntimeClass definer = definerOf(runtimeClass, name);
+        if (definer != null) { cost.addAll(memberCost(definer, name), inLoop, definer.name + "::" + name); }
+        else if (!name.equals(runtimeClass.name)) { cost.addUnanalyzed(runtimeClass.name + "::" + name); } // <- implicit constructors are free
+    }
+
+    /**
+     * Counts the cost of a member call ({@code receiver.name(} or {@code receiver->name(}).
+     *
+     * @param cost   The cost of the scanned code.
+     * @param code   The sanitized code.
+     * @param start  The start of the name of the member function.
+     * @param name   The name of the member function.
+     * @param owner  The runtime class, whose member function is scanned, null for free functions.
+     * @param inLoop True, if the member function is called per element.
+     */
+    private void addMemberCall(@NotNull final JniCost cost, @NotNull final String code, final int start, @NotNull final String name, @Nullable final RuntimeClass owner, final boolean inLoop) {
+        final String type = typeOf(code, operatorStart(code, start), owner);
+        final RuntimeClass receiver = type == null ? null : classes.get(type);
+        if (receiver != null) {
+            addMember(cost, receiver, name, inLoop);
+        } else if (type == null) {
+            final String candidates = classes.values().stream().filter(runtimeClass -> runtimeClass.members.containsKey(name))
+                    .map(runtimeClass -> runtimeClass.name).sorted().collect(Collectors.joining("|"));
+            if (!candidates.isEmpty()) { cost.addUnanalyzed(candidates + "::" + name); }
+        } // else: a member of a type outside the runtime (e.g. the standard library)
+    }
+
+    /**
+     * @param runtimeClass A runtime class.
+     * @param name         The name of a member function.
+     * @return The class (the passed one or one of its bases) defining the member function, null if there is none.
+     */
+    @Nullable
+    private RuntimeClass definerOf(@NotNull final RuntimeClass runtimeClass, @NotNull final String name) {
+        final Deque<RuntimeClass> pending = new ArrayDeque<>(Collections.singleton(runtimeClass));
+        final Set<String> visited = new HashSet<>();
+        while (!pending.isEmpty()) {
+            final RuntimeClass current = pending.poll();
+            if (!visited.add(current.name)) { continue; }
+            if (current.members.containsKey(name)) { return current; }
+            current.bases.stream().map(classes::get).filter(Objects::nonNull).forEach(pending::add);
+        }
+        return null;
+    }
+
+    /**
+     * @param runtimeClass A runtime class.
+     * @param name         The name of a member function.
+     * @return The returned type of the member function, null if it is unknown.
+     */
+    @Nullable
+    private String memberTypeOf(@NotNull final RuntimeClass runtimeClass, @NotNull final String name) {
+        final RuntimeClass definer = definerOf(runtimeClass, name);
+        return definer == null ? null : definer.types.get(name);
+    }
+
+    /**
+     * Infers the type of the expression ending at the passed index, e.g. the receiver of a member call.
+     *
+     * @param code  The sanitized code.
+     * @param end   The (exclusive) end of the expression.
+     * @param owner The runtime class, whose member function is scanned, null for free functions.
+     * @return The name of the type (possibly not a runtime class), null if it cannot be inferred.
+     */
+    @Nullable
+    private String typeOf(@NotNull final String code, final int end, @Nullable final RuntimeClass owner) {
+        int index = skipWhitespaceBackwards(code, end - 1);
+        if (index < 0) { return null; }
+
+        if (code.charAt(index) == ')') { // <- the result of a call
+            index = skipWhitespaceBackwards(code, matchingBackwards(code, index, '(', ')') - 1);
+            String templateArguments = null;
+            if (index >= 0 && code.charAt(index) == '>') {
+                final int open = matchingBackwards(code, index, '<', '>');
+                if (open < 0) { return null; }
+                templateArguments = code.substring(open + 1, index);
+                index = skipWhitespaceBackwards(code, open - 1);
+            }
+            final int nameStart = identifierStart(code, index);
+            if (nameStart > index) { return null; }
+            final String name = code.substring(nameStart, index + 1);
+            if (CASTS.contains(name) && templateArguments != null) { return castType(templateArguments); }
+
+            if (isMemberCall(code, nameStart)) {
+                final String receiverType = typeOf(code, operatorStart(code, nameStart), owner);
+                final RuntimeClass receiver = receiverType == null ? null : classes.get(receiverType);
+                return receiver == null ? null : memberTypeOf(receiver, name);
+            }
+
+            final String qualifier = qualifierOf(code, nameStart);
+            final RuntimeClass scope = qualifier != null ? classes.get(qualifier) : owner;
+            if (scope != null && definerOf(scope, name) != null) { return memberTypeOf(scope, name); }
+            return helperBodies.containsKey(name) ? helperTypes.get(name) : EXTERNAL_TYPE;
+        }
+
+        final int nameStart = identifierStart(code, index);
+        if (nameStart > index) { return null; }
+        final String name = code.substring(nameStart, index + 1);
+        if ("this".equals(name)) { return owner == null ? null : owner.name; }
+
+        final String type = declaredType(code, name, owner);
+        if (type != null || owner == null) { return type; }
+        for (final String source : owner.sources) { // <- a field of the calling class
+            final String fieldType = declaredType(source, name, owner);
+            if (fieldType != null) { return fieldType; }
+        }
+        return null;
+    }
+
+    /**
+     * @param templateArguments The template argument of a cast, e.g. {@code jnibridge::internal::Handle<T>*}.
+     * @return The (unqualified) target type of the cast.
+     */
+    @Nullable
+    private static String castType(@NotNull final String templateArguments) {
+        String type = templateArguments;
+        for (String reduced = type.replaceAll("<[^<>]*>", ""); !reduced.equals(type); reduced = type.replaceAll("<[^<>]*>", "")) {
+            type = reduced;
+        }
+        return typeBefore(type, type.length());
+    }
+
+    /**
+     * @param code     The sanitized code.
+     * @param variable The name of a variable (or parameter).
+     * @param owner    The runtime class, whose member function is scanned, null for free functions.
+     * @return The declared type of the variable (inferred from the initializer for {@code auto}), null if its
+     * declaration cannot be found or its initializer cannot be inferred.
+     */
+    @Nullable
+    private String declaredType(@NotNull final String code, @NotNull final String variable, @Nullable final RuntimeClass owner) {
+        final Pattern declaration = Pattern.compile("\\b([A-Za-z_]\\w*)\\s*(?:<[^;{}()]*>)?[\\s*&]*(?:const\\b[\\s*&]*)?\\b"
+                + Pattern.quote(variable) + "\\s*(?=[=({;,):\\[])");
+        final Matcher matcher = declaration.matcher(code);
+        while (matcher.find()) {
+            final String type = matcher.group(1);
+            if (NO_TYPES.contains(type) || KEYWORDS.contains(type) || type.equals(variable)) { continue; }
+            if (!"auto".equals(type)) { return type; }
+
+            final Matcher newExpression = NEW_EXPRESSION.matcher(code);
+            if (newExpression.find(matcher.end())) { return newExpression.group(1); }
+
+            final int assignment = skipWhitespace(code, matcher.end());
+            final int end = statementEnd(code, assignment);
+            return assignment < code.length() && code.charAt(assignment) == '=' && end > assignment ? typeOf(code, end, owner) : null;
+        }
+        return null;
+    }
+
+    /**
+     * @param source The sanitized source.
+     * @param start  The start of the name of a function definition.
+     * @return The (unqualified) returned type of the function, null if it is not a plain name (e.g. a template).
+     */
+    @Nullable
+    private static String typeBefore(@NotNull final String source, final int start) {
+        int index = start - 1;
+        while (index >= 0 && (Character.isWhitespace(source.charAt(index)) || source.charAt(index) == '&' || source.charAt(index) == '*')) { index--; }
+        final int typeStart = identifierStart(source, index);
+        return typeStart > index ? null : source.substring(typeStart, index + 1);
+    }
+
+    /**
+     * @param code  The sanitized code.
+     * @param index The index after the name of a runtime class.
+     * @return True, if the name constructs an instance, e.g. {@code new Handle<T>(...)} or {@code LocalRefChunks chunks(...)}.
+     */
+    private static boolean isConstruction(@NotNull final String code, final int index) {
+        int next = skipWhitespace(code, index);
+        if (next < code.length() && code.charAt(next) == '<') {
+            final int close = matching(code, next, '<', '>');
+            if (close < 0) { return false; }
+            next = skipWhitespace(code, close + 1);
+        }
+        if (next < code.length() && Character.isJavaIdentifierStart(code.charAt(next))) { // <- a declared variable
+            while (next < code.length() && Character.isJavaIdentifierPart(code.charAt(next))) { next++; }
+            next = skipWhitespace(code, next);
+        }
+        return next < code.length() && (code.charAt(next) == '(' || code.charAt(next) == '{');
+    }
+
+    /**
+     * @param bases The base clause of a class definition, e.g. {@code public BaseHandle}.
+     * @return The (unqualified) names of the base classes.
+     */
+    @NotNull
+    private static List<String> baseNames(@Nullable final String bases) {
+        if (bases == null) { return Collections.emptyList(); }
+
+        final List<String> result = new ArrayList<>();
+        for (final String base : bases.replaceAll("<[^<>]*>", "").split(",")) {
+            final String[] words = base.trim().split("[\\s:]+");
+            final String name = words[words.length - 1];
+            if (!name.isEmpty() && !BASE_SPECIFIERS.contains(name)) { result.add(name); }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static RuntimeClass ownerOf(@NotNull final List<ClassScope> scopes, final int index) {
+        ClassScope innermost = null;
+        for (final ClassScope scope : scopes) {
+            if (scope.open < index && index < scope.close && (innermost == null || scope.open > innermost.open)) { innermost = scope; }
+        }
+        return innermost == null ? null : innermost.runtimeClass;
+    }
+
+    /**
+     * Replaces comments, string- and character-literals and preprocessor directives by whitespace (line breaks and
+     * offsets are kept).
+     *
+     * @param code The code to sanitize.
+     * @return The sanitized code.
+     */
+    @NotNull
+    static String sanitize(@NotNull final String code) {
+        final char[] result = code.toCharArray();
+        boolean lineStart = true;
+        int i = 0;
+        while (i < result.length) {
+            final char c = result[i];
+            final char next = i + 1 < result.length ? result[i + 1] : '\0';
+            if (c == '/' && next == '/' || c == '#' && lineStart) {
+                while (i < result.length && result[i] != '\n') { result[i++] = ' '; }
+            } else if (c == '/' && next == '*') {
+                while (i < result.length && !(result[i] == '*' && i + 1 < result.length && result[i + 1] == '/')) { blank(result, i++); }
+                if (i < result.length) { result[i++] = ' '; }
+                if (i < result.length) { result[i++] = ' '; }
+            } else if (c == '"' || c == '\'') {
+                i++;
+                while (i < result.length && result[i] != c && result[i] != '\n') {
+                    if (result[i] == '\\' && i + 1 < result.length) { result[i++] = ' '; }
+                    blank(result, i++);
+                }
+                i++;
+            } else {
+                lineStart = c == '\n' || (lineStart && Character.isWhitespace(c));
+                i++;
+            }
+        }
+        return new String(result);
+    }
+
+    private static void blank(final char[] code, final int index) {
+        if (code[index] != '\n') { code[index] = ' '; }
+    }
+
+    /**
+     * @param code  The sanitized code.
+     * @param open  The index of the opening bracket.
+     * @param left  The opening bracket.
+     * @param right The closing bracket.
+     * @return The index of the matching closing bracket, -1 if it is missing.
+     */
+    private static int matching(@NotNull final String code, final int open, final char left, final char right) {
+        int depth = 0;
+        for (int i = open; i < code.length(); i++) {
+            if (code.charAt(i) == left) { depth++; }
+            else if (code.charAt(i) == right && --depth == 0) { return i; }
+        }
+        return -1;
+    }
+
+    /**
+     * @param code  The sanitized code.
+     * @param close The index of the closing bracket.
+     * @param left  The opening bracket.
+     * @param right The closing bracket.
+     * @return The index of the matching opening bracket, -1 if it is missing.
+     */
+    private static int matchingBackwards(@NotNull final String code, final int close, final char left, final char right) {
+        int depth = 0;
+        for (int i = close; i >= 0; i--) {
+            if (code.charAt(i) == right) { depth++; }
+            else if (code.charAt(i) == left && --depth == 0) { return i; }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(@NotNull final String code, int index) {
+        while (index < code.length() && Character.isWhitespace(code.charAt(index))) { index++; }
+        return index;
+    }
+
+    private static int skipWhitespaceBackwards(@NotNull final String code, int index) {
+        while (index >= 0 && Character.isWhitespace(code.charAt(index))) { index--; }
+        return index;
+    }
+
+    // the start of the identifier ending at the passed index (index + 1 if there is none)
+    private static int identifierStart(@NotNull final String code, final int index) {
+        int start = index + 1;
+        while (start > 0 && Character.isJavaIdentifierPart(code.charAt(start - 1))) { start--; }
+        return start;
+    }
+
+    // skips the member initializers of a constructor (e.g. ': _store(instance), _used{false}'), returns the index of its body
+    private static int skipInitializers(@NotNull final String code, final int colon) {
+        int depth = 0;
+        for (int i = colon + 1; i < code.length(); i++) {
+            final char c = code.charAt(i);
+            if (c == '(') { depth++; }
+            else if (c == ')') { depth--; }
+            else if (c == ';' && depth == 0) { return code.length(); }
+            else if (c == '{' && depth == 0) {
+                final int before = skipWhitespaceBackwards(code, i - 1);
+                if (before < 0 || !Character.isJavaIdentifierPart(code.charAt(before))) { return i; }
+                i = matching(code, i, '{', '}'); // <- a braced member initializer
+                if (i < 0) { return code.length(); }
+            }
+        }
+        return code.length();
+    }
+
+    // the index of the ';' ending the statement at the passed index, -1 if it is missing
+    private static int statementEnd(@NotNull final String code, final int index) {
+        int depth = 0;
+        for (int i = index; i < code.length(); i++) {
+            final char c = code.charAt(i);
+            if (c == '(' || c == '{' || c == '[') { depth++; }
+            else if (c == ')' || c == '}' || c == ']') { if (--depth < 0) { return -1; } }
+            else if (c == ';' && depth == 0) { return i; }
+        }
+        return -1;
+    }
+
+    // the qualifying class of 'Class::name(', null if the name is unqualified
+    @Nullable
+    private static String qualifierOf(@NotNull final String code, final int start) {
+        final int colons = skipWhitespaceBackwards(code, start - 1);
+        if (colons < 1 || code.charAt(colons) != ':' || code.charAt(colons - 1) != ':') { return null; }
+        final int end = skipWhitespaceBackwards(code, colons - 2);
+        final int qualifierStart = identifierStart(code, end);
+        return qualifierStart > end ? null : code.substring(qualifierStart, end + 1);
+    }
+
+    // the index of the '.' or '->' of a member call
+    private static int operatorStart(@NotNull final String code, final int start) {
+        final int operator = skipWhitespaceBackwards(code, start - 1);
+        return code.charAt(operator) == '.' ? operator : operator - 1;
+    }
+
+    // skips the qualifiers between the parameters and the body of a function (e.g. 'const noexcept')
+    private static int skipQualifiers(@NotNull final String code, int index) {
+        while (true) {
+            index = skipWhitespace(code, index);
+            int end = index;
+            while (end < code.length() && Character.isJavaIdentifierPart(code.charAt(end))) { end++; }
+            if (end == index || !QUALIFIERS.contains(code.substring(index, end))) { return index; }
+            index = end;
+        }
+    }
+
+    // true for 'object.name(' and 'object->name('
+    private static boolean isMemberCall(@NotNull final String code, final int start) {
+        int i = start - 1;
+        while (i >= 0 && Character.isWhitespace(code.charAt(i))) { i--; }
+        return i >= 0 && (code.charAt(i) == '.' || (code.charAt(i) == '>' && i > 0 && code.charAt(i - 1) == '-'));
+    }
+
+    /**
+     * A class (or struct) of the runtime sources.
+     */
+    @RequiredArgsConstructor
+    private static final class RuntimeClass {
+        @NotNull private final String name;
+        private final List<String> bases = new ArrayList<>();
+        private final List<String> sources = new ArrayList<>(); // <- the class bodies (fields)
+        private final Map<String, List<String>> members = new HashMap<>(); // <- constructors are named after the class
+        private final Map<String, String> types = new HashMap<>(); // <- the returned type of each member
+    }
+
+    @RequiredArgsConstructor
+    private static final class ClassScope {
+        private final int open;
+        private final int close;
+        @NotNull private final RuntimeClass runtimeClass;
+    }
+}
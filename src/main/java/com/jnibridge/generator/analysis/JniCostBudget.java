@@ -0,0 +1,88 @@
+package com.jnibridge.generator.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Limits of the JNI-cost of each generated function, the build fails if a function exceeds them.
+ * <p>
+ * A budget is configured as comma-separated {@code <key>=<limit>} pairs, e.g. {@code findClass=1,upcall=4,score=60}.
+ * Keys are the {@link JniOperation#getJsonName() names of the operations} (limiting the operations per call and per
+ * element), {@code score} (limiting {@link JniCost#getScore()}) and {@code antiPatterns} (limiting the number of
+ * {@link JniCost#getFindings() anti-patterns}).
+ * </p>
+ */
+public class JniCostBudget {
+
+    public static final String SCORE = "score";
+    public static final String ANTI_PATTERNS = "antiPatterns";
+
+    private final Map<JniOperation, Integer> operations = new EnumMap<>(JniOperation.class);
+    private Integer score; // <- null if unlimited
+    private Integer antiPatterns; // <- null if unlimited
+
+    /**
+     * @param value The budget, e.g. {@code findClass=1,score=60} (empty for no limits).
+     * @return The parsed budget.
+     * @throws IllegalArgumentException if the budget is malformed or contains an unknown key.
+     */
+    @NotNull
+    public static JniCostBudget parse(@NotNull final String value) {
+        final JniCostBudget result = new JniCostBudget();
+        for (final String limit : value.split(",")) {
+            if (limit.trim().isEmpty()) { continue; }
+
+            final String[] keyAndLimit = limit.split("=", 2);
+            if (keyAndLimit.length != 2) { throw new IllegalArgumentException(String.format("Malformed JNI-cost budget entry: '%s'", limit.trim())); }
+
+            final String key = keyAndLimit[0].trim();
+            final int max;
+            try {
+                max = Integer.parseInt(keyAndLimit[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format("Malformed JNI-cost budget limit: '%s'", limit.trim()), e);
+            }
+
+            if (SCORE.equals(key)) { result.score = max; }
+            else if (ANTI_PATTERNS.equals(key)) { result.antiPatterns = max; }
+            else {
+                final JniOperation operation = JniOperation.ofJsonName(key);
+                if (operation == null) { throw new IllegalArgumentException(String.format("Unknown JNI-cost budget key: '%s'", key)); }
+                result.operations.put(operation, max);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return True, if the budget does not limit anything.
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty() && score == null && antiPatterns == null;
+    }
+
+    /**
+     * @param report The report to check.
+     * @return The violations of the budget (empty if the report is within the budget).
+     */
+    @NotNull
+    public List<String> check(@NotNull final JniCostReport report) {
+        final List<String> violations = new ArrayList<>();
+        for (final JniCostReport.Entry entry : report.getEntries()) {
+            final JniCost cost = entry.getCost();
+            operations.forEach((operation, max) -> {
+                if (cost.getTotal(operation) > max) {
+                    violations.add(String.format("%s: %d %s (budget %d)", entry.getFunction(), cost.getTotal(operation), operation.getJsonName(), max));
+                }
+            });
+            if (score != null && cost.getScore() > score) {
+                violations.add(String.format("%s: score %d (budget %d)", entry.getFunction(), cost.getScore(), score));
+            }
+            if (antiPatterns != null && cost.getFindings().size() > antiPatterns) {
+                violations.add(String.format("%s: %s (budget %d anti-patterns)", entry.getFunction(), cost.getFindings(), antiPatterns));
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,121 @@
+package com.jnibridge.generator.analysis;
+
+import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.utils.JsonWriter;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The result of the {@link JniCostAnalyzer}: the cost of each generated function, ranked by {@link JniCost#getScore()}
+ * (most expensive first).
+ */
+@Getter
+public class JniCostReport {
+
+    public static final String REPORT_FILENAME = "jnibridge-jni-cost.json";
+
+    private static final Logger LOGGER = Logger.getLogger(JniCostReport.class.getName());
+
+    @NotNull private final List<Entry> entries;
+
+    /**
+     * @param entries The analyzed functions (in any order).
+     */
+    public JniCostReport(@NotNull final Collection<Entry> entries) {
+        this.entries = new ArrayList<>(entries);
+        this.entries.sort(Comparator.comparingInt((Entry entry) -> entry.getCost().getScore()).reversed().thenComparing(Entry::getFunction));
+    }
+
+    /**
+     * Logs the most expensive functions and all anti-patterns.
+     *
+     * @param count The number of functions to log.
+     */
+    public void log(final int count) {
+        final StringBuilder report = new StringBuilder(String.format("JNIBridge: %d most expensive functions (JNI-cost):", Math.min(count, entries.size())));
+        entries.stream().limit(count).forEach(entry -> report.append(String.format("%n  %s: %d", entry.getFunction(), entry.getCost().getScore())));
+
+        final long antiPatterns = entries.stream().mapToLong(entry -> entry.getCost().getFindings().size()).sum();
+        if (antiPatterns > 0) {
+            report.append(String.format("%n%d anti-pattern(s):", antiPatterns));
+            entries.forEach(entry -> entry.getCost().getFindings().forEach(finding -> report.append(String.format("%n  %s: %s", entry.getFunction(), finding))));
+        }
+
+        final long unanalyzed = entries.stream().filter(entry -> !entry.getCost().getUnanalyzed().isEmpty()).count();
+        if (unanalyzed > 0) {
+            report.append(String.format("%n%d function(s) call runtime members, that could not be analyzed (see %s)", unanalyzed, REPORT_FILENAME));
+        }
+        LOGGER.info(report.toString());
+    }
+
+    /**
+     * Writes the JSON report ({@value #REPORT_FILENAME}) to the output directory.
+     *
+     * @param outPath The output directory of the generation run.
+     * @throws JniBridgeException if the report cannot be written.
+     */
+    public void write(@NotNull final Path outPath) {
+        final JsonWriter json = new JsonWriter();
+        json.beginObject();
+        json.name("elementFactor").value(JniCost.ELEMENT_FACTOR);
+        json.name("weights").beginObject();
+        for (final JniOperation operation : JniOperation.values()) { json.name(operation.getJsonName()).value(operation.getWeight()); }
+        json.endObject();
+
+        json.name("functions").beginArray();
+        for (final Entry entry : entries) {
+            final JniCost cost = entry.getCost();
+            json.beginObject();
+            json.name("function").value(entry.getFunction());
+            json.name("score").value(cost.getScore());
+            json.name("perCall").beginObject();
+            for (final JniOperation operation : JniOperation.values()) {
+                if (cost.getPerCall(operation) > 0) { json.name(operation.getJsonName()).value(cost.getPerCall(operation)); }
+            }
+            json.endObject();
+            json.name("perElement").beginObject();
+            for (final JniOperation operation : JniOperation.values()) {
+                if (cost.getPerElement(operation) > 0) { json.name(operation.getJsonName()).value(cost.getPerElement(operation)); }
+            }
+            json.endObject();
+            json.name("antiPatterns").beginArray();
+            cost.getFindings().forEach(json::value);
+            json.endArray();
+            json.name("unanalyzed").beginArray();
+            cost.getUnanalyzed().forEach(json::value);
+            json.endArray();
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+
+        final Path report = outPath.resolve(REPORT_FILENAME);
+        try {
+            Files.createDirectories(outPath);
+            Files.write(report, json.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new JniBridgeException(String.format("Unable to write JNI-cost report: %s", report), e);
+        }
+    }
+
+    /**
+     * The cost of a single generated function.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Entry {
+        @NotNull private final String function; // <- e.g. com.example.Foo#bar(int, String)
+        @NotNull private final JniCost cost;
+    }
+}
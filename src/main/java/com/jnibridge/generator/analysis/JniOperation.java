@@ -0,0 +1,56 @@
+package com.jnibridge.generator.analysis;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * The categories of costly operations, the {@link JniCostAnalyzer} counts in the generated JNI-code.
+ */
+@Getter
+public enum JniOperation {
+
+    FIND_CLASS("findClass", 10, Pattern.compile("FindClass")),
+    ID_LOOKUP("idLookup", 5, Pattern.compile("Get(Static)?(Method|Field)ID")),
+    UPCALL("upcall", 8, Pattern.compile("Call(Static|Nonvirtual)?\\w*Method[AV]?|NewObject[AV]?")),
+    GLOBAL_REF("globalRef", 3, Pattern.compile("New(Weak)?GlobalRef")),
+    LOCAL_REF("localRef", 1, Pattern.compile("AllocObject|GetObjectClass|NewObjectArray|New\\w+Array|NewString(UTF)?|NewLocalRef|Get(Static)?ObjectField|GetObjectArrayElement|ExceptionOccurred")),
+    ARRAY_COPY("arrayCopy", 4, Pattern.compile("(Get|Set)\\w+ArrayRegion|(Get|Release)\\w+ArrayElements|(Get|Release)String(UTF)?Chars|GetString(UTF)?Region")),
+    HEAP_ALLOCATION("heapAllocation", 2, null); // <- native allocations (new, make_shared, make_unique, malloc)
+
+    private final String jsonName;
+    private final int weight; // <- relative cost, used to rank the functions
+    @Nullable private final Pattern jniFunctions;
+
+    JniOperation(@NotNull final String jsonName, final int weight, @Nullable final Pattern jniFunctions) {
+        this.jsonName = jsonName;
+        this.weight = weight;
+        this.jniFunctions = jniFunctions;
+    }
+
+    /**
+     * @param jniFunction The name of a function of the JNIEnv, e.g. {@code FindClass}.
+     * @return The operation, null if the function is not considered costly (e.g. {@code ExceptionCheck}).
+     */
+    @Nullable
+    public static JniOperation of(@NotNull final String jniFunction) {
+        for (final JniOperation operation : values()) {
+            if (operation.jniFunctions != null && operation.jniFunctions.matcher(jniFunction).matches()) { return operation; }
+        }
+        return null;
+    }
+
+    /**
+     * @param jsonName The name of an operation, as used in reports and budgets (e.g. {@code findClass}).
+     * @return The operation, null if there is no such operation.
+     */
+    @Nullable
+    public static JniOperation ofJsonName(@NotNull final String jsonName) {
+        for (final JniOperation operation : values()) {
+            if (operation.jsonName.equals(jsonName)) { return operation; }
+        }
+        return null;
+    }
+}
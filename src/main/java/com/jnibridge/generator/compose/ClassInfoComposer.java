@@ -1,43 +1,95 @@
 package com.jnibridge.generator.compose;
 
 import com.jnibridge.annotations.BridgeClass;
-import com.jnibridge.generator.compose.jni.helper.JniBridgeExceptionComposer;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeRuntimeComposer;
 import com.jnibridge.generator.compose.jni.MethodInfoJNIComposer;
 
 import com.jnibridge.generator.compose.jni.helper.polymorphism.PolymorphicHelperComposer;
 import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.generator.model.MethodInfo;
+import com.jnibridge.generator.model.TypeInfo;
+import com.jnibridge.utils.CompiledTemplate;
+import com.jnibridge.utils.IncludeUtils;
 import com.jnibridge.utils.ResourceUtils;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.io.IOException;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Composes string representations of {@link ClassInfo} objects.
  */
 @Getter
-@RequiredArgsConstructor
 public abstract class ClassInfoComposer implements Composer {
 
+    @NonNull
+    private final GenerationCache cache;
+
     @NonNull
     private final ClassInfo classInfo;
 
+    @Nullable
+    private final Map<Class<?>, String> helperHeaders; // <- class -> polymorphic helper file, null to include all helpers
+
+    /**
+     * Creates a composer, whose JNI-file includes the helpers of all polymorphic types.
+     *
+     * @param cache     the session of the generation run.
+     * @param classInfo the class information to compose.
+     */
+    protected ClassInfoComposer(@NonNull final GenerationCache cache, @NonNull final ClassInfo classInfo) {
+        this(cache, classInfo, null);
+    }
+
+    /**
+     * Creates a composer, whose JNI-file only includes the helpers (and native includes) of the types it references.
+     *
+     * @param cache         the session of the generation run.
+     * @param classInfo     the class information to compose.
+     * @param helperHeaders the polymorphic helper file of each polymorphic type (relative to the polymorphism directory),
+     *                      null to include the helpers of all polymorphic types.
+     */
+    protected ClassInfoComposer(@NonNull final GenerationCache cache, @NonNull final ClassInfo classInfo, @Nullable final Map<Class<?>, String> helperHeaders) {
+        this.cache = cache;
+        this.classInfo = classInfo;
+        this.helperHeaders = helperHeaders;
+    }
+
     @Override
     public @NotNull Map<String, String> getReplacements() {
+        Map<String, String> replacements = getInlineReplacements();
+        replacements.put(Placeholder.FUNCTIONS, getMappedMethods());
+        return replacements;
+    }
+
+    /**
+     * @return All replacements, except for the sections (see {@link #getSections()}).
+     */
+    @NotNull
+    protected Map<String, String> getInlineReplacements() {
         Map<String, String> replacements = new HashMap<>();
 
         replacements.put(Placeholder.INTERNAL_INCLUDES, computeInternalInclude());
         replacements.put(Placeholder.CUSTOM_JNI, getCustomJNIContent());
-        replacements.put(Placeholder.FUNCTIONS, getMappedMethods());
 
         return replacements;
     }
 
+    /**
+     * @return Placeholders, whose content is streamed method by method (see {@link #compose(Appendable)}).
+     */
+    @NotNull
+    protected Map<String, CompiledTemplate.Section> getSections() {
+        Map<String, CompiledTemplate.Section> sections = new HashMap<>();
+        sections.put(Placeholder.FUNCTIONS, this::writeMappedMethods);
+        return sections;
+    }
+
     /**
      * Compose the replacement for all class specific custom JNI-code.
      *
@@ -50,7 +102,7 @@ public abstract class ClassInfoComposer implements Composer {
 
         StringBuilder result = new StringBuilder();
         for (final String resourcePath : annotation.customJniCodePaths()) {
-            result.append(ResourceUtils.load(resourcePath));
+            result.append(ResourceUtils.load(cache, resourcePath));
         }
         return result.toString();
     }
@@ -61,12 +113,27 @@ public abstract class ClassInfoComposer implements Composer {
     private String getMappedMethods() {
         return classInfo.getMethodsToMap()
                 .stream()
-                .map(methodInfo -> new MethodInfoJNIComposer(methodInfo).compose())
+                .map(methodInfo -> new MethodInfoJNIComposer(cache, methodInfo).compose())
                 .collect(Collectors.joining("\n"));
     }
 
     /**
-     * @return the relative include path to the JNIBridge-Helper file.
+     * Writes all the methods to be mapped as JNI-code, one at a time.
+     *
+     * @param out The output to write the methods to.
+     * @throws IOException if the output cannot be written.
+     */
+    private void writeMappedMethods(@NotNull final Appendable out) throws IOException {
+        boolean first = true;
+        for (final MethodInfo methodInfo : classInfo.getMethodsToMap()) {
+            if (!first) { out.append('\n'); }
+            out.append(new MethodInfoJNIComposer(cache, methodInfo).compose());
+            first = false;
+        }
+    }
+
+    /**
+     * @return the includes of the JNI-file: the JNIBridge-Helper files, and the native includes of all referenced types.
      */
     private String computeInternalInclude() {
         String packagePath = classInfo.getClazz().getPackage().getName();
@@ -80,10 +147,61 @@ public abstract class ClassInfoComposer implements Composer {
         }
 
         String internalIncludeTemplate = "#include " + "\"" + relativeParentPath + "internal/%s\"";
-        result.append(String.format(internalIncludeTemplate, PolymorphicHelperComposer.FILENAME))
-                .append("\n")
-                .append(String.format(internalIncludeTemplate, JniBridgeExceptionComposer.FILENAME));
+
+        // custom JNI-code may use any helper -> include all of them
+        if (helperHeaders == null || hasCustomJNIContent()) {
+            result.append(String.format(internalIncludeTemplate, PolymorphicHelperComposer.FILENAME))
+                    .append("\n")
+                    .append(String.format(internalIncludeTemplate, JniBridgeRuntimeComposer.FILENAME));
+            return result.toString();
+        }
+
+        final Set<Class<?>> referencedTypes = getReferencedTypes();
+        result.append(String.format(internalIncludeTemplate, JniBridgeRuntimeComposer.FILENAME));
+        referencedTypes.stream()
+                .map(helperHeaders::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(helper -> result.append("\n").append(String.format(internalIncludeTemplate, PolymorphicHelperComposer.DIRECTORY + "/" + helper)));
+        IncludeUtils.includesOf(referencedTypes).forEach(include -> result.append("\n").append(IncludeUtils.toDirective(include)));
 
         return result.toString();
     }
+
+    /**
+     * @return The mapped class and all types used by its mapped methods (in a stable order, the mapped class first).
+     */
+    @NotNull
+    private Set<Class<?>> getReferencedTypes() {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        result.add(classInfo.getClazz());
+
+        final SortedSet<Class<?>> usedTypes = new TreeSet<>(Comparator.comparing(Class::getName));
+        for (final MethodInfo methodInfo : classInfo.getMethodsToMap()) {
+            final List<TypeInfo> types = new ArrayList<>(methodInfo.getParams());
+            types.add(methodInfo.getReturnType());
+            if (methodInfo.getSelfType() != null) { types.add(methodInfo.getSelfType()); }
+
+            for (final TypeInfo typeInfo : types) {
+                usedTypes.add(componentTypeOf(typeInfo.getType()));
+                if (typeInfo.getJavaTemplateArgumentTypes() != null) {
+                    typeInfo.getJavaTemplateArgumentTypes().forEach(type -> usedTypes.add(componentTypeOf(type)));
+                }
+            }
+        }
+        result.addAll(usedTypes);
+        return result;
+    }
+
+    private boolean hasCustomJNIContent() {
+        final BridgeClass annotation = classInfo.getClazz().getAnnotation(BridgeClass.class);
+        return annotation != null && annotation.customJniCodePaths().length > 0;
+    }
+
+    @NotNull
+    private static Class<?> componentTypeOf(@NotNull final Class<?> type) {
+        Class<?> result = type;
+        while (result.isArray()) { result = result.getComponentType(); }
+        return result;
+    }
 }
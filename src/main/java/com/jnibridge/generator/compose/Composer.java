@@ -3,6 +3,7 @@ package com.jnibridge.generator.compose;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -19,6 +20,19 @@ public interface Composer {
      */
     String compose();
 
+    /**
+     * Composes the string representation of any element into the passed output.
+     * <p>
+     * Composers of large elements (e.g. whole files) override this method to stream their content, instead of
+     * building it as a single string first.
+     *
+     * @param out The output to compose into.
+     * @throws IOException if the output cannot be written.
+     */
+    default void compose(@NotNull final Appendable out) throws IOException {
+        out.append(compose());
+    }
+
     /**
      * Returns a map of placeholder-to-value pairs used to replace
      * the placeholders defined in the type-mapping templates.
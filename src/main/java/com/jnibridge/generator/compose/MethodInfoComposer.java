@@ -1,7 +1,11 @@
 package com.jnibridge.generator.compose;
 
+import com.jnibridge.annotations.lifecycle.Into;
 import com.jnibridge.annotations.modifiers.Specialized;
 import com.jnibridge.annotations.modifiers.IgnoreNullcheck;
+import com.jnibridge.annotations.modifiers.NullcheckedByJava;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationProfile;
 import com.jnibridge.generator.compose.jni.TypeInfoJNIComposer;
 import com.jnibridge.generator.model.MethodInfo;
 import com.jnibridge.generator.model.TypeInfo;
@@ -21,6 +25,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public abstract class MethodInfoComposer implements Composer {
 
+    @NonNull
+    private final GenerationCache cache;
+
     @NonNull
     private final MethodInfo methodInfo;
 
@@ -28,15 +35,16 @@ public abstract class MethodInfoComposer implements Composer {
     public Map<String, String> getReplacements() {
         Map<String, String> replacements = new HashMap<>();
 
-        Optional.ofNullable(methodInfo.getSelfType()).ifPresent(selfType -> replacements.put(Placeholder.SELF_IN_MAPPING, new TypeInfoJNIComposer(selfType).compose()));
+        Optional.ofNullable(methodInfo.getSelfType()).ifPresent(selfType -> replacements.put(Placeholder.SELF_IN_MAPPING, new TypeInfoJNIComposer(cache, selfType).compose()));
 
         replacements.put(Placeholder.PARAMS_IN_MAPPING, getParamInputMappings());
-        replacements.put(Placeholder.RESULT_OUT_MAPPING, new TypeInfoJNIComposer(methodInfo.getReturnType()).compose());
+        replacements.put(Placeholder.RESULT_OUT_MAPPING, new TypeInfoJNIComposer(cache, methodInfo.getReturnType()).compose());
 
         replacements.put(Placeholder.JNI_TYPE, methodInfo.getReturnType().getJniType());
         replacements.put(Placeholder.MANGLED_FUNC_NAME, JNIMangler.getMangledMethodDescriptor(methodInfo.getMethod()));
 
         replacements.put(Placeholder.JNI_PARAMS, getJNIFunctionParams());
+        replacements.put(Placeholder.ENTRY_CHECKS, getEntryChecks());
         replacements.put(Placeholder.NULL_CHECK, getNullChecks());
 
         replacements.put(Placeholder.JNI_CLEANUP, getCleanupLogic());
@@ -73,13 +81,31 @@ public abstract class MethodInfoComposer implements Composer {
 
     }
 
+    /**
+     * @return Replacement for {@link Placeholder#ENTRY_CHECKS} (checked and diagnostics profile only).
+     */
+    private String getEntryChecks() {
+        final String function = String.format("%s.%s", methodInfo.getMethod().getDeclaringClass().getName(), methodInfo.getMethod().getName());
+        switch (cache.getProfile()) {
+            case CHECKED:
+                return String.format("\t\t\t// CHECKED PROFILE\n\t\t\tjnibridge::runtime::checked::enter(env, \"%s\");", function);
+            case DIAGNOSTICS:
+                return String.format("\t\t\t// DIAGNOSTICS PROFILE\n\t\t\tjnibridge::runtime::diagnostics::Scope jnibridgeDiagnostics(env, \"%s\");", function);
+            default:
+                return "";
+        }
+    }
+
     /**
      * @return A replacement for the null check placeholder.
      */
     private String getNullChecks() {
+        final boolean release = cache.getProfile() == GenerationProfile.RELEASE;
+
         final StringBuilder result = new StringBuilder();
         methodInfo.getParams().stream()
                 .filter(p -> !p.hasAnnotation(IgnoreNullcheck.class))
+                .filter(p -> !release || !p.hasAnnotation(NullcheckedByJava.class))
                 .filter(p -> !p.getType().isPrimitive())
                 .forEach(p -> result.append("\t\t\tif (!")
                         .append(Placeholder.JNI_VAR)
@@ -135,7 +161,7 @@ public abstract class MethodInfoComposer implements Composer {
      */
     private String getNativeFunctionCallParams() {
         List<TypeInfo> params = methodInfo.getParams();
-        return params.stream().map(typeInfo -> {
+        return params.stream().filter(p -> !p.hasAnnotation(Into.class)).map(typeInfo -> {
 
             String id = Objects.requireNonNull(typeInfo.getId(), "TypeInfo's that act as parameter types must have a id!");
             return String.format("%s%s", Placeholder.C_VAR, id);
@@ -154,7 +180,8 @@ public abstract class MethodInfoComposer implements Composer {
 
         final StringBuilder result = new StringBuilder();
         params.stream()
-                .map(param -> new TypeInfoJNIComposer(param).compose())
+                .filter(param -> !param.hasAnnotation(Into.class)) // <- not passed to the native function
+                .map(param -> new TypeInfoJNIComposer(cache, param).compose())
                 .forEach(paramMapping -> result.append(paramMapping)
                         .append("\t\t\tjnibridge::internal::capturePendingJException(env, pendingJExceptions);\n\n")
                 );
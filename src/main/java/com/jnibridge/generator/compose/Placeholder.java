@@ -43,6 +43,29 @@ public class Placeholder {
     public static final String HANDLE_TO_INSTANCE = "handleToInstance";
     public static final String INSTANCE_TO_JAVA_FULL_PATH = "instanceToJFullPath";
 
+    // Memory accounting specific...
+    public static final String TRACKED_CLASSES = "trackedClasses";
+    public static final String NATIVE_SIZE = "nativeSize";
+
+    // Identity cache specific...
+    public static final String IDENTITY_CACHE = "identityCache";
+    public static final String INTO_VAR = "intoVar";
+
+    // Native build specific...
+    public static final String SOURCES = "sources";
+    public static final String PRECOMPILED_HEADER = "precompiledHeader";
+    public static final String HANDLE_INCLUDE = "handleInclude";
+    public static final String EXCEPTION_HANDLER_INCLUDE = "exceptionHandlerInclude";
+
+    // Runtime specific...
+    public static final String RUNTIME_VERSION = "runtimeVersion";
+    public static final String RUNTIME_INCLUDE = "runtimeInclude";
+
+    // Generation profile specific...
+    public static final String PROFILE_DEFINITIONS = "profileDefinitions";
+    public static final String ENTRY_CHECKS = "entryChecks";
+    public static final String ALLOC_CLASS_CHECK = "allocClassCheck";
+
 
 
 
@@ -1,7 +1,9 @@
 package com.jnibridge.generator.compose;
 
+import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.modifiers.Const;
 import com.jnibridge.annotations.modifiers.Specialized;
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.model.TypeInfo;
 import lombok.Getter;
 import lombok.NonNull;
@@ -17,6 +19,9 @@ import java.util.*;
 @RequiredArgsConstructor
 public abstract class TypeInfoComposer implements Composer {
 
+    @NonNull
+    private final GenerationCache cache;
+
     @NonNull
     private final TypeInfo typeInfo;
 
@@ -45,6 +50,9 @@ public abstract class TypeInfoComposer implements Composer {
 
         replacements.put(Placeholder.JNI_CLEANUP, typeInfo.getCleanupLogic());
 
+        final BridgeClass bridgeClass = typeInfo.getType().getAnnotation(BridgeClass.class);
+        replacements.put(Placeholder.IDENTITY_CACHE, String.valueOf(bridgeClass != null && bridgeClass.identityCache()));
+
         addTemplateReplacements(replacements);
         return replacements;
     }
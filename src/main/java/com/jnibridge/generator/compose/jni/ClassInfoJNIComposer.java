@@ -1,28 +1,52 @@
 package com.jnibridge.generator.compose.jni;
 
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.compose.ClassInfoComposer;
 import com.jnibridge.generator.model.ClassInfo;
 import com.jnibridge.utils.ResourceUtils;
 import com.jnibridge.utils.TemplateUtils;
 import lombok.NonNull;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.Map;
 
 /**
  * Composes JNI-specific string representations of {@link ClassInfo} objects.
  */
 public class ClassInfoJNIComposer extends ClassInfoComposer {
 
+    private static final String TEMPLATE = "com/jnibridge/other/jni_files/jni_file.template";
+
     /**
      * Creates a new JNI type composer for the given {@link ClassInfo}.
      *
+     * @param cache     the session of the generation run.
      * @param classInfo the method information to compose.
      */
-    public ClassInfoJNIComposer(@NonNull ClassInfo classInfo) {
-        super(classInfo);
+    public ClassInfoJNIComposer(@NonNull GenerationCache cache, @NonNull ClassInfo classInfo) {
+        super(cache, classInfo);
+    }
+
+    /**
+     * Creates a new JNI type composer for the given {@link ClassInfo}, only including the helpers of the types it references.
+     *
+     * @param cache         the session of the generation run.
+     * @param classInfo     the method information to compose.
+     * @param helperHeaders the polymorphic helper file of each polymorphic type.
+     */
+    public ClassInfoJNIComposer(@NonNull GenerationCache cache, @NonNull ClassInfo classInfo, @NonNull Map<Class<?>, String> helperHeaders) {
+        super(cache, classInfo, helperHeaders);
     }
 
     @Override
     public String compose() {
-        String result = ResourceUtils.load("com/jnibridge/other/jni_files/jni_file.template");
-        return TemplateUtils.substitute(result, getReplacements());
+        String result = ResourceUtils.load(getCache(), TEMPLATE);
+        return TemplateUtils.substitute(getCache(), result, getReplacements());
+    }
+
+    @Override
+    public void compose(@NotNull final Appendable out) throws IOException {
+        TemplateUtils.stream(getCache(), ResourceUtils.load(getCache(), TEMPLATE), getInlineReplacements(), getSections(), out);
     }
 }
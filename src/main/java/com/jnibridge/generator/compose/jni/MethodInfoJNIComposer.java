@@ -1,10 +1,13 @@
 package com.jnibridge.generator.compose.jni;
 
 
+import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.lifecycle.Allocate;
 import com.jnibridge.annotations.lifecycle.Deallocate;
 import com.jnibridge.annotations.lifecycle.Shared;
 import com.jnibridge.annotations.lifecycle.Unique;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationProfile;
 import com.jnibridge.generator.compose.MethodInfoComposer;
 import com.jnibridge.generator.compose.Placeholder;
 import com.jnibridge.generator.model.MethodInfo;
@@ -14,6 +17,7 @@ import com.jnibridge.utils.TemplateUtils;
 import lombok.NonNull;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -29,9 +33,10 @@ public class MethodInfoJNIComposer extends MethodInfoComposer {
     /**
      * Creates a new JNI type composer for the given {@link MethodInfo}.
      *
+     * @param cache      the session of the generation run.
      * @param methodInfo the method information to compose.
      */
-    public MethodInfoJNIComposer(@NonNull MethodInfo methodInfo) { super(methodInfo); }
+    public MethodInfoJNIComposer(@NonNull GenerationCache cache, @NonNull MethodInfo methodInfo) { super(cache, methodInfo); }
 
     @Override
     public @NotNull String compose() {
@@ -43,14 +48,14 @@ public class MethodInfoJNIComposer extends MethodInfoComposer {
 
         // Handle static methods
         if (getMethodInfo().isStatic()) {
-            String staticMethodTemplate = ResourceUtils.load("com/jnibridge/other/methods/static_method.template");
-            final String staticFunction = TemplateUtils.substitute(staticMethodTemplate, getReplacements(), true);
+            final String staticMethodTemplate = ResourceUtils.load(getCache(), "com/jnibridge/other/methods/static_method.template");
+            final String staticFunction = TemplateUtils.substitute(getCache(), staticMethodTemplate, getReplacements(), true);
             return String.format(DIVIDER, "STATIC FUNCTION") + staticFunction;
         }
 
         // Handle all other methods
-        String instanceMethodTemplate = ResourceUtils.load("com/jnibridge/other/methods/instance_method.template");
-        final String instanceFunction = TemplateUtils.substitute(instanceMethodTemplate, getReplacements(), true);
+        final String instanceMethodTemplate = ResourceUtils.load(getCache(), "com/jnibridge/other/methods/instance_method.template");
+        final String instanceFunction = TemplateUtils.substitute(getCache(), instanceMethodTemplate, getReplacements(), true);
         return String.format(DIVIDER, "INSTANCE FUNCTION") + instanceFunction;
     }
 
@@ -67,6 +72,8 @@ public class MethodInfoJNIComposer extends MethodInfoComposer {
 
         allocReplacements.put(Placeholder.C_TYPE, selfType.getCType());
         allocReplacements.put(Placeholder.JAVA_PATH, selfType.getType().getName().replace(".", "/"));
+        allocReplacements.put(Placeholder.NATIVE_SIZE, getDeclaredNativeSize(selfType));
+        allocReplacements.put(Placeholder.ALLOC_CLASS_CHECK, getAllocClassCheck(selfType));
 
         // extract the allocation method
         final TypeInfo returnType = getMethodInfo().getReturnType();
@@ -91,12 +98,37 @@ public class MethodInfoJNIComposer extends MethodInfoComposer {
         });
 
         // compose the allocation function...
-        String allocMethodTemplate = ResourceUtils.load(allocMethodTemplatePath.toString());
-        allocMethodTemplate = TemplateUtils.substitute(allocMethodTemplate, allocReplacements);
-        final String allocationFunction = TemplateUtils.substitute(allocMethodTemplate, getReplacements(), true);
+        final String allocMethodTemplate = ResourceUtils.load(getCache(), allocMethodTemplatePath.toString());
+        final String allocationFunction = TemplateUtils.substitute(getCache(), allocMethodTemplate, allocReplacements, getReplacements(), true);
         return String.format(DIVIDER, "ALLOCATION FUNCTION") + allocationFunction;
     }
 
+    /**
+     * @param selfType The type to be allocated.
+     * @return Replacement for {@link Placeholder#NATIVE_SIZE} (-1 if the native size shall be measured).
+     */
+    private static String getDeclaredNativeSize(@NotNull final TypeInfo selfType) {
+        final BridgeClass bridgeClass = selfType.getType().getAnnotation(BridgeClass.class);
+        final long nativeSize = bridgeClass == null ? -1 : bridgeClass.nativeSize();
+        return String.valueOf(nativeSize < 0 ? -1 : nativeSize);
+    }
+
+    /**
+     * @param selfType The type to be allocated.
+     * @return Replacement for {@link Placeholder#ALLOC_CLASS_CHECK}: makes sure, that the allocate() function of a super-type
+     * is not executed for a sub-type (redundant for final classes in the release profile).
+     */
+    private String getAllocClassCheck(@NotNull final TypeInfo selfType) {
+        final Class<?> type = selfType.getType();
+        if (getCache().getProfile() == GenerationProfile.RELEASE && Modifier.isFinal(type.getModifiers())) {
+            return "            // final class: the allocate() function cannot be inherited";
+        }
+
+        return "            // super-types allocate() function should not be executed\n" +
+                String.format("            bool canAlloc = env->IsSameObject(env->GetObjectClass(jself), env->FindClass(\"%s\"));\n", type.getName().replace(".", "/")) +
+                "            if(!canAlloc || jnibridge::internal::capturePendingJException(env, pendingJExceptions)) { return; }";
+    }
+
     /**
      * compose the JNI code for deallocation functions.
      *
@@ -115,9 +147,8 @@ public class MethodInfoJNIComposer extends MethodInfoComposer {
                 .orElseThrow(() -> new IllegalArgumentException("Method expected to be annotated with 'Deallocate'"));
 
         // compose the deallocation function...
-        String deallocMethodTemplate = ResourceUtils.load(deallocateAnnotation.deallocTemplate());
-        deallocMethodTemplate = TemplateUtils.substitute(deallocMethodTemplate, deallocReplacements);
-        final String deallocFunction = TemplateUtils.substitute(deallocMethodTemplate, getReplacements(), true);
+        final String deallocMethodTemplate = ResourceUtils.load(getCache(), deallocateAnnotation.deallocTemplate());
+        final String deallocFunction = TemplateUtils.substitute(getCache(), deallocMethodTemplate, deallocReplacements, getReplacements(), true);
         return String.format(DIVIDER, "DEALLOC FUNCTION") + deallocFunction;
     }
 }
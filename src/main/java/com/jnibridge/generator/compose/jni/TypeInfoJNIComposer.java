@@ -1,5 +1,6 @@
 package com.jnibridge.generator.compose.jni;
 
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.compose.Placeholder;
 import com.jnibridge.generator.compose.TypeInfoComposer;
 import com.jnibridge.generator.model.TypeInfo;
@@ -18,9 +19,10 @@ public class TypeInfoJNIComposer extends TypeInfoComposer {
     /**
      * Creates a new JNI type composer for the given {@link TypeInfo}.
      *
+     * @param cache    the session of the generation run.
      * @param typeInfo the type information to compose.
      */
-    public TypeInfoJNIComposer(@NonNull TypeInfo typeInfo) { super(typeInfo); }
+    public TypeInfoJNIComposer(@NonNull GenerationCache cache, @NonNull TypeInfo typeInfo) { super(cache, typeInfo); }
 
     @Override
     public @NotNull String compose() {
@@ -31,16 +33,13 @@ public class TypeInfoJNIComposer extends TypeInfoComposer {
             selfReplacements.put(Placeholder.C_VAR, "cself");
             selfReplacements.put(Placeholder.JNI_VAR, "jself");
 
-            String selfInMapping = typeInfo.getInMapping();
-            selfInMapping = TemplateUtils.substitute(selfInMapping, selfReplacements);
-            return TemplateUtils.substitute(selfInMapping, getReplacements());
+            return TemplateUtils.substitutePartially(getCache(), typeInfo.getInMapping(), selfReplacements, getReplacements());
         }
 
         // fetch all critical metadata
         final boolean isReturnValue = typeInfo.getId() == null;
-        String result = isReturnValue ? typeInfo.getOutMapping() : typeInfo.getInMapping();
-        result = TemplateUtils.substitute(result, getReplacements());
-
-        return result;
+        // method-level placeholders (e.g. the function call) are substituted by the enclosing method template
+        final String mapping = isReturnValue ? typeInfo.getOutMapping() : typeInfo.getInMapping();
+        return TemplateUtils.substitutePartially(getCache(), mapping, getReplacements());
     }
 }
@@ -0,0 +1,41 @@
+package com.jnibridge.generator.compose.jni.helper;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Composes the JNI-code, that exposes the JNI call counts of the diagnostics profile
+ * to {@link com.jnibridge.nativeaccess.diagnostics.JniDiagnostics}.
+ * <p>
+ * The file is generated for every profile, its functions report diagnostics as disabled, unless the native library
+ * is compiled with {@code JNIBRIDGE_DIAGNOSTICS}.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class JniBridgeDiagnosticsComposer implements Composer {
+
+    public static final String FILENAME = "JniBridgeDiagnostics.jni.cpp";
+
+    private final GenerationCache cache;
+
+    @Override
+    public String compose() {
+        final String template = ResourceUtils.load(cache, "com/jnibridge/internals/diagnostics/JniBridgeDiagnostics.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.RUNTIME_INCLUDE, JniBridgeRuntimeComposer.FILENAME);
+        return replacements;
+    }
+}
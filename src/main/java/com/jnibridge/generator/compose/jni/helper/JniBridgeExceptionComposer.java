@@ -1,10 +1,12 @@
 package com.jnibridge.generator.compose.jni.helper;
 
 import com.jnibridge.JniBridgeRegistry;
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.compose.Composer;
 import com.jnibridge.generator.compose.Placeholder;
 import com.jnibridge.utils.ResourceUtils;
 import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -12,19 +14,22 @@ import java.util.*;
 /**
  * Composes JNI-specific helper-code to handle exceptions on a C++/jni level.
  */
+@RequiredArgsConstructor
 public class JniBridgeExceptionComposer implements Composer {
     public static final String FILENAME = "JniBridgeExceptionHandler.hpp";
 
+    private final GenerationCache cache;
+
     @Override
     public String compose() {
-        final String exceptionHandler = ResourceUtils.load("com/jnibridge/internals/exception/JniBridgeExceptionHandler.cpp");
-        return TemplateUtils.substitute(exceptionHandler, getReplacements());
+        final String exceptionHandler = ResourceUtils.load(cache, "com/jnibridge/internals/exception/JniBridgeExceptionHandler.cpp");
+        return TemplateUtils.substitute(cache, exceptionHandler, getReplacements());
     }
 
     @Override
     public @NotNull Map<String, String> getReplacements() {
         final Map<String, String> replacements = new HashMap<>();
-        replacements.put(Placeholder.EXCEPTION_FUNC, new JniBridgeExceptionFuncComposer().compose());
+        replacements.put(Placeholder.EXCEPTION_FUNC, new JniBridgeExceptionFuncComposer(cache).compose());
         replacements.put(Placeholder.HANDLE_FILE_INCLUDE, String.format("%s", JniBridgeHandleComposer.INTERNAL_FILENAME));
         return replacements;
     }
@@ -32,12 +37,15 @@ public class JniBridgeExceptionComposer implements Composer {
     /**
      * Composes JNI-specific helper-code to handle exceptions on a C++/jni level.
      */
+    @RequiredArgsConstructor
     private static class JniBridgeExceptionFuncComposer implements Composer {
 
+        private final GenerationCache cache;
+
         @Override
         public String compose() {
-            final String exceptionHandlerFunc = ResourceUtils.load("com/jnibridge/internals/exception/MappedExceptionHandlerFunc.template");
-            return TemplateUtils.substitute(exceptionHandlerFunc, getReplacements());
+            final String exceptionHandlerFunc = ResourceUtils.load(cache, "com/jnibridge/internals/exception/MappedExceptionHandlerFunc.template");
+            return TemplateUtils.substitute(cache, exceptionHandlerFunc, getReplacements());
         }
 
         @Override
@@ -1,7 +1,10 @@
 package com.jnibridge.generator.compose.jni.helper;
 
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.GenerationProfile;
 import com.jnibridge.generator.compose.Composer;
 import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.utils.IncludeUtils;
 import com.jnibridge.utils.ResourceUtils;
 import com.jnibridge.utils.TemplateUtils;
 import lombok.RequiredArgsConstructor;
@@ -9,8 +12,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Compose the JniBridgeHandle - helper file.
@@ -20,12 +23,13 @@ public class JniBridgeHandleComposer implements Composer {
 
     public static final String INTERNAL_FILENAME = "JniBridgeHandle.hpp";
 
+    private final GenerationCache cache;
     private final Collection<String> includes;
 
     @Override
     public String compose() {
-        String internals = ResourceUtils.load("com/jnibridge/internals/handle/" + INTERNAL_FILENAME);
-        return TemplateUtils.substitute(internals, getReplacements());
+        String internals = ResourceUtils.load(cache, "com/jnibridge/internals/handle/" + INTERNAL_FILENAME);
+        return TemplateUtils.substitute(cache, internals, getReplacements());
     }
 
     @Override
@@ -33,11 +37,25 @@ public class JniBridgeHandleComposer implements Composer {
         Map<String, String> replacements = new HashMap<>();
 
         // add all includes.
-        final String allIncludesStr = includes.stream()
-                .map(include -> String.format("#include %s", include.contains("<") ? include : "\"" + include + "\""))
-                .collect(Collectors.joining("\n"));
-        replacements.put(Placeholder.INTERNAL_INCLUDES, allIncludesStr);
+        replacements.put(Placeholder.INTERNAL_INCLUDES, IncludeUtils.toDirectives(includes));
+        replacements.put(Placeholder.PROFILE_DEFINITIONS, getProfileDefinitions());
 
         return replacements;
     }
+
+    /**
+     * @return Replacement for {@link Placeholder#PROFILE_DEFINITIONS}: the generation profile, and the macros it enables.
+     */
+    @NotNull
+    private String getProfileDefinitions() {
+        final GenerationProfile profile = cache.getProfile();
+        final StringBuilder result = new StringBuilder(String.format("// Generation profile: %s", profile.name().toLowerCase(Locale.ROOT)));
+        if (profile == GenerationProfile.CHECKED) {
+            result.append("\n#ifndef JNIBRIDGE_CHECKED\n#define JNIBRIDGE_CHECKED\n#endif");
+        }
+        if (profile == GenerationProfile.DIAGNOSTICS) {
+            result.append("\n#ifndef JNIBRIDGE_DIAGNOSTICS\n#define JNIBRIDGE_DIAGNOSTICS\n#endif");
+        }
+        return result.toString();
+    }
 }
@@ -0,0 +1,57 @@
+package com.jnibridge.generator.compose.jni.helper;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.utils.IncludeUtils;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Composes the JNI-code, that exposes the native memory accounting of all bridged types
+ * to {@link com.jnibridge.nativeaccess.memory.JniBridgeMemory}.
+ */
+@RequiredArgsConstructor
+public class JniBridgeMemoryComposer implements Composer {
+
+    public static final String FILENAME = "JniBridgeMemory.jni.cpp";
+
+    private final GenerationCache cache;
+    private final Collection<ClassInfo> iPointerClasses;
+
+    @Override
+    public String compose() {
+        final String template = ResourceUtils.load(cache, "com/jnibridge/internals/memory/JniBridgeMemory.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.HANDLE_FILE_INCLUDE, JniBridgeHandleComposer.INTERNAL_FILENAME);
+        replacements.put(Placeholder.TRACKED_CLASSES, getTrackedClassesReplacement());
+        replacements.put(Placeholder.INTERNAL_INCLUDES, IncludeUtils.toDirectives(IncludeUtils.includesOf(iPointerClasses.stream()
+                .map(ClassInfo::getClazz)
+                .collect(Collectors.toList()))));
+        return replacements;
+    }
+
+    /**
+     * @return One entry per bridged class, associating the java class-name with the memory account of its native type.
+     */
+    private String getTrackedClassesReplacement() {
+        return iPointerClasses.stream()
+                .map(classInfo -> String.format("\t\t{ \"%s\", &jnibridge::internal::memoryStatisticsOf<%s> },",
+                        classInfo.getClazz().getName(),
+                        classInfo.getFullCType()))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,46 @@
+package com.jnibridge.generator.compose.jni.helper;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Composes the header-only runtime of the generated JNI-code.
+ * <p>
+ * The runtime contains the scaffolding, that is shared by all generated functions and helpers (exception translation,
+ * calling instance checks, polymorphic handle conversion), so it is compiled from a single, versioned header.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class JniBridgeRuntimeComposer implements Composer {
+
+    public static final String FILENAME = "jnibridge_runtime.hpp";
+
+    /**
+     * Version of the runtime, increased with every incompatible change of the runtime's functions.
+     */
+    public static final int VERSION = 1;
+
+    private final GenerationCache cache;
+
+    @Override
+    public String compose() {
+        final String runtime = ResourceUtils.load(cache, "com/jnibridge/internals/runtime/" + FILENAME);
+        return TemplateUtils.substitute(cache, runtime, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.EXCEPTION_HANDLER_INCLUDE, JniBridgeExceptionComposer.FILENAME);
+        replacements.put(Placeholder.RUNTIME_VERSION, String.valueOf(VERSION));
+        return replacements;
+    }
+}
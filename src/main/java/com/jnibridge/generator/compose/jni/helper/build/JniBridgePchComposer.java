@@ -0,0 +1,40 @@
+package com.jnibridge.generator.compose.jni.helper.build;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeHandleComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeRuntimeComposer;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Composes the precompiled header of the generated JNI-code, containing all headers shared by the JNI-files: JNI, the
+ * standard library and the runtime (the polymorphic helpers are only included by the JNI-files using them).
+ */
+@RequiredArgsConstructor
+public class JniBridgePchComposer implements Composer {
+
+    public static final String FILENAME = "JniBridgePch.hpp";
+
+    private final GenerationCache cache;
+
+    @Override
+    public String compose() {
+        final String template = ResourceUtils.load(cache, "com/jnibridge/internals/build/JniBridgePch.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.HANDLE_INCLUDE, JniBridgeHandleComposer.INTERNAL_FILENAME);
+        replacements.put(Placeholder.RUNTIME_INCLUDE, JniBridgeRuntimeComposer.FILENAME);
+        return replacements;
+    }
+}
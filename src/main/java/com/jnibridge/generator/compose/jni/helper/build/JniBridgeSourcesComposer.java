@@ -0,0 +1,44 @@
+package com.jnibridge.generator.compose.jni.helper.build;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Composes the CMake-file, listing the translation units (and the precompiled header) of the generated JNI-code.
+ */
+@RequiredArgsConstructor
+public class JniBridgeSourcesComposer implements Composer {
+
+    public static final String FILENAME = "jnibridge_sources.cmake";
+
+    private final GenerationCache cache;
+    private final Collection<String> sources;     // <- relative to the output directory
+    @Nullable private final String precompiledHeader; // <- relative to the output directory, null if there is none
+
+    @Override
+    public String compose() {
+        final String template = ResourceUtils.load(cache, "com/jnibridge/internals/build/jnibridge_sources.cmake.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.SOURCES, sources.stream()
+                .map(source -> String.format("    \"%s\"", source))
+                .collect(Collectors.joining("\n")));
+        replacements.put(Placeholder.PRECOMPILED_HEADER, precompiledHeader == null ? "" : precompiledHeader);
+        return replacements;
+    }
+}
@@ -0,0 +1,42 @@
+package com.jnibridge.generator.compose.jni.helper.build;
+
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Composer;
+import com.jnibridge.generator.compose.Placeholder;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Composes a unity translation unit, which includes a group of generated JNI-files.
+ */
+@RequiredArgsConstructor
+public class UnityTranslationUnitComposer implements Composer {
+
+    public static final String DIRECTORY = "unity";
+    public static final String EXTENSION = ".unity.cpp";
+
+    private final GenerationCache cache;
+    private final Collection<String> includes; // <- relative to the unity directory
+
+    @Override
+    public String compose() {
+        final String template = ResourceUtils.load(cache, "com/jnibridge/internals/build/unity.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
+    }
+
+    @Override
+    public @NotNull Map<String, String> getReplacements() {
+        final Map<String, String> replacements = new HashMap<>();
+        replacements.put(Placeholder.INTERNAL_INCLUDES, includes.stream()
+                .map(include -> String.format("#include \"%s\"", include))
+                .collect(Collectors.joining("\n")));
+        return replacements;
+    }
+}
@@ -1,9 +1,12 @@
 package com.jnibridge.generator.compose.jni.helper.polymorphism;
 
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.compose.Composer;
 import com.jnibridge.generator.compose.Placeholder;
-import com.jnibridge.generator.compose.jni.helper.JniBridgeHandleComposer;
+import com.jnibridge.generator.compose.jni.helper.JniBridgeRuntimeComposer;
 import com.jnibridge.generator.model.ClassInfo;
+import com.jnibridge.generator.model.extractor.ClassInfoExtractor;
+import com.jnibridge.utils.IncludeUtils;
 import com.jnibridge.utils.ResourceUtils;
 import com.jnibridge.utils.TemplateUtils;
 import lombok.Getter;
@@ -12,6 +15,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Composes JNI-specific helper-code to handle polymorphism on a C++/jni level.
@@ -20,12 +24,15 @@ import java.util.Map;
 public class PolymorphicHelperComposer implements Composer {
 
     public static final String FILENAME = "JniBridgePolymorphicHelper.hpp";
+    public static final String DIRECTORY = "polymorphism";
+
+    private final GenerationCache cache;
     private final ClassInfo classInfo;
 
     @Override
     public String compose() {
-        String template = ResourceUtils.load("com/jnibridge/internals/polymorphism/PolymorphicHandler.template");
-        return TemplateUtils.substitute(template, getReplacements());
+        String template = ResourceUtils.load(cache, "com/jnibridge/internals/polymorphism/PolymorphicHandler.template");
+        return TemplateUtils.substitute(cache, template, getReplacements());
     }
 
     @Override
@@ -33,11 +40,22 @@ public class PolymorphicHelperComposer implements Composer {
         final Map<String, String> replacements = new HashMap<>();
 
         replacements.put(Placeholder.FUNCTIONS, getHelperFunctionReplacement());
-        replacements.put(Placeholder.HANDLE_FILE_INCLUDE, String.format("../%s", JniBridgeHandleComposer.INTERNAL_FILENAME));
+        replacements.put(Placeholder.HANDLE_FILE_INCLUDE, String.format("../%s", JniBridgeRuntimeComposer.FILENAME));
+        replacements.put(Placeholder.INTERNAL_INCLUDES, IncludeUtils.toDirectives(IncludeUtils.includesOf(classInfo.getSubclasses())));
 
         return replacements;
     }
 
+    /**
+     * @param classInfo The polymorphic type.
+     * @return The filename of the helper header of the passed type (relative to the polymorphism directory).
+     */
+    @NotNull
+    public static String getFilename(@NotNull final ClassInfo classInfo) {
+        final String filename = String.format("%s.helper.jni.hpp", classInfo.getFullCType());
+        return filename.replace("::", "_").replace("<", "_").replace(">", "");
+    }
+
     /**
      * Compose the replacements for the actual helper functions of the corresponding polymorphic type.
      *
@@ -51,9 +69,9 @@ public class PolymorphicHelperComposer implements Composer {
      */
     @NotNull
     private String getHelperFunctionReplacement() {
-        RawPolymorphicFuncComposer rawPolymorphicFuncComposer = new RawPolymorphicFuncComposer(classInfo);
-        SharedPolymorphicFuncComposer sharedPolymorphicFuncComposer = new SharedPolymorphicFuncComposer(classInfo);
-//        UniquePolymorphicFuncComposer uniquePolymorphicFuncComposer = new UniquePolymorphicFuncComposer(classInfo);
+        RawPolymorphicFuncComposer rawPolymorphicFuncComposer = new RawPolymorphicFuncComposer(cache, classInfo);
+        SharedPolymorphicFuncComposer sharedPolymorphicFuncComposer = new SharedPolymorphicFuncComposer(cache, classInfo);
+//        UniquePolymorphicFuncComposer uniquePolymorphicFuncComposer = new UniquePolymorphicFuncComposer(cache, classInfo);
 
         //noinspection StringBufferReplaceableByString
         StringBuilder result = new StringBuilder();
@@ -73,6 +91,7 @@ public class PolymorphicHelperComposer implements Composer {
     @Getter
     public static abstract class PolymorphicFuncComposer implements Composer {
 
+        private final GenerationCache cache;
         private final ClassInfo polymorphicClass;
         private final String helperFunctionPrefix;
 
@@ -82,10 +101,12 @@ public class PolymorphicHelperComposer implements Composer {
         /**
          * Constructor.
          *
+         * @param cache                The session of the generation run.
          * @param polymorphicClass     The type to generate the helper function for.
          * @param helperFunctionPrefix The function prefix for the generated helper function (to make the function-signature unique).
          */
-        public PolymorphicFuncComposer(@NotNull final ClassInfo polymorphicClass, @NotNull final String helperFunctionPrefix) {
+        public PolymorphicFuncComposer(@NotNull final GenerationCache cache, @NotNull final ClassInfo polymorphicClass, @NotNull final String helperFunctionPrefix) {
+            this.cache = cache;
             this.polymorphicClass = polymorphicClass;
             this.helperFunctionPrefix = helperFunctionPrefix;
             this.cType = polymorphicClass.getFullCType();
@@ -110,6 +131,18 @@ public class PolymorphicHelperComposer implements Composer {
          */
         public abstract String getHandleToInstanceReplacement();
 
+        /**
+         * @return The template arguments of the runtime's polymorphic helpers: the polymorphic type, followed by all
+         * of its candidate types (e.g. {@code Base, Derived, Base}).
+         */
+        @NotNull
+        protected String getRuntimeTemplateArguments() {
+            final StringJoiner result = new StringJoiner(", ");
+            result.add(cType);
+            polymorphicClass.getSubclasses().forEach(subclass -> result.add(ClassInfoExtractor.extractClassCType(subclass)));
+            return result.toString();
+        }
+
     }
 
 
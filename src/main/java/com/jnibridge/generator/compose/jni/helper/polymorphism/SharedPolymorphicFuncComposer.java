@@ -1,13 +1,11 @@
 package com.jnibridge.generator.compose.jni.helper.polymorphism;
 
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.model.ClassInfo;
-import com.jnibridge.generator.model.extractor.ClassInfoExtractor;
 import com.jnibridge.utils.ResourceUtils;
 import com.jnibridge.utils.TemplateUtils;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.SortedSet;
-
 /**
  * Compose Polymorphic helper functions for types, wrapped in <code>std::shared_ptr</code>.
  */
@@ -17,43 +15,21 @@ public class SharedPolymorphicFuncComposer extends PolymorphicHelperComposer.Pol
 
     /**
      * Constructor.
+     * @param cache            The session of the generation run.
      * @param polymorphicClass The class to generate the helper function for.
      */
-    public SharedPolymorphicFuncComposer(@NotNull final ClassInfo polymorphicClass) {
-        super(polymorphicClass, FUNC_NAME_PREFIX);
+    public SharedPolymorphicFuncComposer(@NotNull final GenerationCache cache, @NotNull final ClassInfo polymorphicClass) {
+        super(cache, polymorphicClass, FUNC_NAME_PREFIX);
     }
 
     @Override
     public String compose() {
-        String template = ResourceUtils.load("com/jnibridge/internals/polymorphism/PolymorphicHandlerFunc.shared.template");
-        return TemplateUtils.substitute(template, getReplacements());
+        String template = ResourceUtils.load(getCache(), "com/jnibridge/internals/polymorphism/PolymorphicHandlerFunc.shared.template");
+        return TemplateUtils.substitute(getCache(), template, getReplacements());
     }
 
-
     @Override
     public String getHandleToInstanceReplacement() {
-        final StringBuilder result = new StringBuilder();
-
-        final SortedSet<Class<?>> subclasses = getPolymorphicClass().getSubclasses();
-        boolean firstIteration = true;
-        boolean shouldDynamicCast = subclasses.size() > 1;
-
-        for(Class<?> subclass : subclasses) {
-            final String subclassCType = ClassInfoExtractor.extractClassCType(subclass);
-
-            if(shouldDynamicCast) {
-                result.append(firstIteration ? "\t\tif " : "\n\t\telse if ");
-                firstIteration = false;
-
-                result.append(String.format("(auto* actualType = dynamic_cast<jnibridge::internal::Handle<%s>*>(handle)) {\n\t\t\t", subclassCType));
-                result.append(String.format("return actualType->getAsShared<%s>(env);", getCType()));
-                result.append("\n\t\t}");
-            } else {
-                result.append(String.format("\t\tauto* actualType = static_cast<jnibridge::internal::Handle<%s>*>(handle);\n\t\t", subclassCType));
-                result.append("return actualType->getShared(env);");
-            }
-        }
-        if (shouldDynamicCast) { result.append("\n\t\treturn nullptr;"); }
-        return result.toString();
+        return String.format("\t\treturn jnibridge::runtime::handleAsShared<%s>(env, handle);", getRuntimeTemplateArguments());
     }
 }
@@ -1,5 +1,6 @@
 package com.jnibridge.generator.compose.jni.helper.polymorphism;
 
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.model.ClassInfo;
 import com.jnibridge.generator.model.extractor.ClassInfoExtractor;
 import com.jnibridge.utils.ResourceUtils;
@@ -18,16 +19,17 @@ public class UniquePolymorphicFuncComposer extends PolymorphicHelperComposer.Pol
     /**
      * Constructor.
      *
+     * @param cache            The session of the generation run.
      * @param polymorphicClass The class to generate the helper function for.
      */
-    public UniquePolymorphicFuncComposer(@NotNull final ClassInfo polymorphicClass) {
-        super(polymorphicClass, FUNC_NAME_PREFIX);
+    public UniquePolymorphicFuncComposer(@NotNull final GenerationCache cache, @NotNull final ClassInfo polymorphicClass) {
+        super(cache, polymorphicClass, FUNC_NAME_PREFIX);
     }
 
     @Override
     public String compose() {
-        String template = ResourceUtils.load("com/jnibridge/internals/polymorphism/PolymorphicHandlerFunc.unique.template");
-        return TemplateUtils.substitute(template, getReplacements());
+        String template = ResourceUtils.load(getCache(), "com/jnibridge/internals/polymorphism/PolymorphicHandlerFunc.unique.template");
+        return TemplateUtils.substitute(getCache(), template, getReplacements());
     }
 
 
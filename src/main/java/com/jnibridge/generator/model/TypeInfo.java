@@ -14,7 +14,7 @@ import java.util.Optional;
  * code generation.
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class TypeInfo {
 
     // @formatter:off
@@ -2,11 +2,12 @@ package com.jnibridge.generator.model.extractor;
 
 import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.model.ClassInfo;
 import com.jnibridge.generator.model.MethodInfo;
+import com.jnibridge.generator.scanner.ClassScan;
 import com.jnibridge.generator.scanner.MethodScanner;
 import com.jnibridge.nativeaccess.IPointer;
-import com.jnibridge.utils.CompareUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Method;
@@ -26,12 +27,14 @@ public class ClassInfoExtractor {
     /**
      * Extracts a fully resolved {@link ClassInfo} object from a class annotated with {@link BridgeClass}.
      *
+     * @param cache the session of the generation run
      * @param clazz the class to extract metadata and method info from
+     * @param scan  the scan, the class has been found by
      * @return the extracted {@link ClassInfo} representation
      * @throws IllegalArgumentException if the class is not annotated with {@link BridgeClass}
      */
     @NotNull
-    public static ClassInfo extract(@NotNull final Class<?> clazz, @NotNull final List<Class<?>> otherClassesToMap) {
+    public static ClassInfo extract(@NotNull final GenerationCache cache, @NotNull final Class<?> clazz, @NotNull final ClassScan scan) {
         // ensure that the corresponding class has been annotated properly...
         BridgeClass annotation = clazz.getAnnotation(BridgeClass.class);
         if (annotation == null) {
@@ -40,17 +43,8 @@ public class ClassInfoExtractor {
 
         // sorted set of all the subclasses to be mapped (for polymorphic handlers)...
         SortedSet<Class<?>> subclasses =
-                otherClassesToMap.stream()
-                        .filter(otherClazz -> otherClazz != clazz)
-                        .filter(other -> clazz.isAssignableFrom(other) || other.isAssignableFrom(clazz))
-                        .collect(Collectors.toCollection(() ->
-                                new TreeSet<>(
-                                        Comparator
-                                                .comparingInt(CompareUtils::depth)
-                                                .reversed()
-                                                .thenComparing(Class::getName)
-                                )
-                        ));
+                scan.getHierarchy().getRelatedClasses(clazz).stream()
+                        .collect(Collectors.toCollection(() -> new TreeSet<>(scan.getHierarchy().deepestFirst())));
 
         // Compose ClassInfo...
         final String nativeClassName = annotation.name().isEmpty() ? clazz.getSimpleName() : annotation.name();
@@ -58,7 +52,7 @@ public class ClassInfoExtractor {
                 .clazz(clazz)
                 .subclasses(subclasses)
                 .fullCType(String.format("%s::%s", annotation.namespace(), nativeClassName))
-                .methodsToMap(extractMethodsToMap(clazz, annotation.namespace(), nativeClassName))
+                .methodsToMap(extractMethodsToMap(cache, clazz, annotation.namespace(), nativeClassName))
                 .build();
 
         // for polymorphic helpers...
@@ -72,14 +66,15 @@ public class ClassInfoExtractor {
      * Delegates to {@link MethodScanner#getAllJNIBridgedMethods(Class)} and transforms
      * each method into a {@link MethodInfo}.
      *
+     * @param cache           the session of the generation run.
      * @param clazz           the class to scan.
      * @param namespace       The namespace of the corresponding function.
      * @param nativeClassName The name of the implementing function (to complete the namespace in case of a static function inside a class).
      * @return list of {@link MethodInfo} objects representing native methods
      */
     @NotNull
-    private static List<MethodInfo> extractMethodsToMap(@NotNull final Class<?> clazz, @NotNull final String namespace, @NotNull final String nativeClassName) {
-        Set<Method> allJNIBridgedMethods = MethodScanner.getAllJNIBridgedMethods(clazz);
+    private static List<MethodInfo> extractMethodsToMap(@NotNull final GenerationCache cache, @NotNull final Class<?> clazz, @NotNull final String namespace, @NotNull final String nativeClassName) {
+        SortedSet<Method> allJNIBridgedMethods = MethodScanner.getAllJNIBridgedMethods(clazz);
 
         // adjust namespace depending on whether the corresponding class is a utils or not
         final StringBuilder actualNamespace = new StringBuilder(namespace);
@@ -90,7 +85,7 @@ public class ClassInfoExtractor {
         // compose MethodInfos...
         return allJNIBridgedMethods.stream()
                 .filter(method -> method.getDeclaringClass().equals(clazz))
-                .map(method -> MethodInfoExtractor.extract(method, actualNamespace.toString(), clazz)).collect(Collectors.toList());
+                .map(method -> MethodInfoExtractor.extract(cache, method, actualNamespace.toString(), clazz)).collect(Collectors.toList());
     }
 
     /**
@@ -1,14 +1,23 @@
 package com.jnibridge.generator.model.extractor;
 
+import com.jnibridge.annotations.lifecycle.Into;
+import com.jnibridge.annotations.lifecycle.Ptr;
+import com.jnibridge.annotations.lifecycle.Ref;
 import com.jnibridge.annotations.mapping.MethodName;
 import com.jnibridge.annotations.mapping.MethodNamespace;
+import com.jnibridge.generator.GenerationCache;
+import com.jnibridge.generator.compose.Placeholder;
 import com.jnibridge.generator.model.MethodInfo;
+import com.jnibridge.generator.model.TypeInfo;
 import com.jnibridge.nativeaccess.IPointer;
+import com.jnibridge.utils.ResourceUtils;
+import com.jnibridge.utils.TemplateUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Optional;
+import java.util.*;
 
 import static com.jnibridge.generator.model.extractor.ClassInfoExtractor.extractClassCType;
 
@@ -25,12 +34,13 @@ public class MethodInfoExtractor {
     /**
      * Extracts a {@link MethodInfo} object from a Java {@link Method}.
      *
+     * @param cache          the session of the generation run
      * @param method         the Java method to extract information from
      * @param classNamespace the namespace of the native class, the method resides in.
      * @return a fully populated {@link MethodInfo} model
      */
     @NotNull
-    protected static MethodInfo extract(@NotNull final Method method, @NotNull final String classNamespace, @NotNull final Class<?> classToBeMapped) {
+    protected static MethodInfo extract(@NotNull final GenerationCache cache, @NotNull final Method method, @NotNull final String classNamespace, @NotNull final Class<?> classToBeMapped) {
 
         // Extract methods namespace and name...
         Optional<MethodNamespace> namespaceOpt = Optional.ofNullable(method.getAnnotation(MethodNamespace.class));
@@ -47,15 +57,54 @@ public class MethodInfoExtractor {
                 .namespace(namespaceOpt.isPresent() ? namespaceOpt.get().value() : classNamespace)
                 .nativeName(nameOpt.isPresent() ? nameOpt.get().value() : method.getName())
 
-                .returnType(TypeInfoExtractor.extractReturnType(method))
-                .params(TypeInfoExtractor.extractParamTypes(method));
+                .returnType(extractReturnType(cache, method))
+                .params(TypeInfoExtractor.extractParamTypes(cache, method));
 
         // in case the method is an instance method
         if (!isStatic && IPointer.class.isAssignableFrom(classToBeMapped)) {
-            methodBuilder.selfType(TypeInfoExtractor.extractSelfType(classToBeMapped, extractClassCType(classToBeMapped)));
+            methodBuilder.selfType(TypeInfoExtractor.extractSelfType(cache, classToBeMapped, extractClassCType(classToBeMapped)));
         }
 
         return methodBuilder.build();
     }
 
+    /**
+     * Extracts the return type of a method, which is mapped into its {@link Into} parameter (if present).
+     *
+     * @param cache  the session of the generation run
+     * @param method the Java method to extract the return type from
+     * @return The {@link TypeInfo} of the return type.
+     * @throws IllegalArgumentException if the {@link Into} parameter does not fit the return type.
+     */
+    @NotNull
+    private static TypeInfo extractReturnType(@NotNull final GenerationCache cache, @NotNull final Method method) {
+        final TypeInfo returnType = TypeInfoExtractor.extractReturnType(cache, method);
+
+        final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+        final List<Integer> intoParams = new ArrayList<>();
+        for (int i = 0; i < parameterAnnotations.length; ++i) {
+            if (Arrays.stream(parameterAnnotations[i]).anyMatch(Into.class::isInstance)) { intoParams.add(i); }
+        }
+        if (intoParams.isEmpty()) { return returnType; }
+
+        // validate the into parameter...
+        if (intoParams.size() > 1) {
+            throw new IllegalArgumentException(String.format("Method '%s' declares more than one @Into parameter", method));
+        }
+        final int intoParam = intoParams.get(0);
+        if (!returnType.getType().equals(method.getParameterTypes()[intoParam])) {
+            throw new IllegalArgumentException(String.format("@Into parameter of '%s' must be of the return type", method));
+        }
+
+        final String intoMappingPath = returnType.getAnnotation(Ptr.class).map(Ptr::intoMapping)
+                .orElseGet(() -> returnType.getAnnotation(Ref.class).map(Ref::intoMapping)
+                        .orElseThrow(() -> new IllegalArgumentException(String.format("Method '%s' must return @Ptr or @Ref to declare an @Into parameter", method))));
+
+        final Map<String, String> intoReplacements = new HashMap<>();
+        intoReplacements.put(Placeholder.INTO_VAR, Placeholder.JNI_VAR + intoParam);
+        returnType.setOutMapping(TemplateUtils.substitutePartially(cache, ResourceUtils.load(cache, intoMappingPath), intoReplacements));
+
+        return returnType;
+    }
+
 }
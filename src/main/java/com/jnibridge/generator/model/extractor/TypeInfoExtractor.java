@@ -9,6 +9,7 @@ import com.jnibridge.annotations.lifecycle.Unique;
 import com.jnibridge.annotations.mapping.Mapping;
 import com.jnibridge.annotations.mapping.UseMapping;
 import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.generator.GenerationCache;
 import com.jnibridge.generator.compose.Placeholder;
 import com.jnibridge.generator.model.TypeInfo;
 import com.jnibridge.mapper.TypeMapper;
@@ -37,18 +38,19 @@ public class TypeInfoExtractor {
     /**
      * Extract the type of the calling instance.
      *
+     * @param cache The session of the generation run.
      * @param clazz The class to be mapped.
      * @param cType The CType of the class to be mapped.
      * @return The TypeInfo, which maps the calling type to C++.
      */
-    protected static TypeInfo extractSelfType(@NotNull final Class<?> clazz, @NotNull final String cType) {
+    protected static TypeInfo extractSelfType(@NotNull final GenerationCache cache, @NotNull final Class<?> clazz, @NotNull final String cType) {
         return TypeInfo.builder()
                 .type(clazz)
                 .id(null)
                 .annotations(new ArrayList<>())
                 .cType(cType)
                 .jniType("jobject")
-                .inMapping(ResourceUtils.load("com/jnibridge/mappings/bridged_classes/raw/jnibridge.ptr.in.mapping"))
+                .inMapping(ResourceUtils.load(cache, "com/jnibridge/mappings/bridged_classes/raw/jnibridge.ptr.in.mapping"))
                 .outMapping("") // not needed...
                 .isInvoker(true)
                 .build();
@@ -57,24 +59,26 @@ public class TypeInfoExtractor {
     /**
      * Extracts a {@link TypeInfo} representation from a method's return type.
      *
+     * @param cache  the session of the generation run
      * @param method the method whose return type should be processed
      * @return a {@link TypeInfo} describing the return type
      * @throws IllegalArgumentException if no valid {@link TypeMapper} is registered or annotated for the return type
      */
     @NotNull
-    protected static TypeInfo extractReturnType(@NotNull final Method method) {
-        return extract(method.getReturnType(), null, method.getDeclaredAnnotations(), extractClassWideMappings(method));
+    protected static TypeInfo extractReturnType(@NotNull final GenerationCache cache, @NotNull final Method method) {
+        return extract(cache, method.getReturnType(), null, method.getDeclaredAnnotations(), extractClassWideMappings(cache, method));
     }
 
     /**
      * Extracts a list of {@link TypeInfo} objects for each parameter of the given method.
      *
+     * @param cache  the session of the generation run
      * @param method the method whose parameters should be processed
      * @return a list of {@link TypeInfo} objects representing each parameter
      * @throws IllegalArgumentException if a parameter's type has no valid {@link TypeMapper} registered or annotated
      */
     @NotNull
-    protected static List<TypeInfo> extractParamTypes(@NotNull final Method method) {
+    protected static List<TypeInfo> extractParamTypes(@NotNull final GenerationCache cache, @NotNull final Method method) {
         List<TypeInfo> result = new LinkedList<>();
 
         // fetch all parameter specific annotations...
@@ -82,10 +86,11 @@ public class TypeInfoExtractor {
         Annotation[][] parameterAnnotations = method.getParameterAnnotations();
 
         // iterate through all params of the passed method
+        final BridgeClass.MappingEntry[] classWideMappings = extractClassWideMappings(cache, method);
         for (int i = 0; i < method.getParameterCount(); ++i) {
             Class<?> paramType = parameterTypes[i];
             Annotation[] paramAnnotations = parameterAnnotations[i];
-            result.add(extract(paramType, "" + i, paramAnnotations, extractClassWideMappings(method)));
+            result.add(extract(cache, paramType, "" + i, paramAnnotations, classWideMappings));
         }
         return result;
     }
@@ -94,39 +99,53 @@ public class TypeInfoExtractor {
     /**
      * Internal helper that builds a {@link TypeInfo} object from a given type and its annotations.
      *
-     * @param type        the Java class to resolve
-     * @param annotations annotations present on the type (param or return)
+     * The resolution is memoized per generation session (see {@link GenerationCache}).
+     *
+     * @param cache             the session of the generation run
+     * @param type              the Java class to resolve
+     * @param id                a unique identifier (used for the JNI-Mapping process)
+     * @param annotations       annotations present on the type (param or return)
+     * @param classWideMappings mappings that have been specified on the method-invoking class
      * @return a fully populated {@link TypeInfo} object
      * @throws IllegalArgumentException if no valid {@link Mapping} is found for the resolved {@link TypeMapper}
      */
     @NotNull
-    private static TypeInfo extract(@NotNull final Class<?> type, @Nullable final String id, final Annotation[] annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings) {
+    private static TypeInfo extract(@NotNull final GenerationCache cache, @NotNull final Class<?> type, @Nullable final String id, final Annotation[] annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings) {
+        return cache.typeInfo(type, id, annotations, classWideMappings, () -> resolve(cache, type, id, annotations, classWideMappings));
+    }
+
+    /**
+     * Resolves a {@link TypeInfo} object (uncached, see {@link #extract(GenerationCache, Class, String, Annotation[], BridgeClass.MappingEntry[])}).
+     */
+    @NotNull
+    private static TypeInfo resolve(@NotNull final GenerationCache cache, @NotNull final Class<?> type, @Nullable final String id, final Annotation[] annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings) {
         List<Annotation> annotationList = Arrays.stream(annotations).collect(Collectors.toList());
 
         // Extract enum types...
         final BridgeClass bridgeClassAnnotation = type.getAnnotation(BridgeClass.class);
         if (bridgeClassAnnotation != null && bridgeClassAnnotation.isEnum()) {
-            return extractEnumType(type, id, annotationList);
+            return extractEnumType(cache, type, id, annotationList);
         }
 
         // Extract from an IPointer instance...
         if (IPointer.class.isAssignableFrom(type)) {
-            return extractIPointerType(type, id, annotationList);
+            return extractIPointerType(cache, type, id, annotationList);
         }
 
         // Extract types that are mapped via TypeMappers...
-        return extractFromTypeMapper(type, id, annotationList, classWideMappings);
+        return extractFromTypeMapper(cache, type, id, annotationList, classWideMappings);
     }
 
     /**
      * Extract the {@link TypeInfo} for enum-types.
      *
+     * @param cache       The session of the generation run.
      * @param type        The enum type to extract the info from.
      * @param id          A unique identifier.
      * @param annotations The annotations of the corresponding type.
      * @return An instance of {@link TypeInfo}.
      */
-    private static TypeInfo extractEnumType(@NotNull final Class<?> type, @Nullable final String id, final List<Annotation> annotations) {
+    private static TypeInfo extractEnumType(@NotNull final GenerationCache cache, @NotNull final Class<?> type, @Nullable final String id, final List<Annotation> annotations) {
 
         return TypeInfo.builder()
                 .type(type)
@@ -135,20 +154,21 @@ public class TypeInfoExtractor {
                 .cType(ClassInfoExtractor.extractClassCType(type))
                 .jniType("jobject")
                 .isInvoker(false)
-                .inMapping(ResourceUtils.load("com/jnibridge/mappings/bridged_classes/enum/jnibridge.enum.in.mapping"))
-                .outMapping(ResourceUtils.load("com/jnibridge/mappings/bridged_classes/enum/jnibridge.enum.out.mapping"))
+                .inMapping(ResourceUtils.load(cache, "com/jnibridge/mappings/bridged_classes/enum/jnibridge.enum.in.mapping"))
+                .outMapping(ResourceUtils.load(cache, "com/jnibridge/mappings/bridged_classes/enum/jnibridge.enum.out.mapping"))
                 .build();
     }
 
     /**
      * Extract the TypeInfo from a class, implementing the {@link IPointer} interface.
      *
+     * @param cache       The session of the generation run.
      * @param type        The class-type of the type to extract the <code>InfoType</code> from.
      * @param id          A unique identifier (used for the JNI-Mapping process).
      * @param annotations All the annotations of the corresponding type.
      * @return An instance of {@link TypeInfo} from the passed parameter.
      */
-    private static TypeInfo extractIPointerType(@NotNull final Class<?> type, @Nullable final String id, final List<Annotation> annotations) {
+    private static TypeInfo extractIPointerType(@NotNull final GenerationCache cache, @NotNull final Class<?> type, @Nullable final String id, final List<Annotation> annotations) {
         final TypeInfo result = TypeInfo.builder()
                 .type(type)
                 .id(id)
@@ -216,21 +236,22 @@ public class TypeInfoExtractor {
         });
 
 
-        result.setInMapping(ResourceUtils.load(inMappingTemplatePath.toString()));
-        result.setOutMapping(ResourceUtils.load(outMappingTemplatePath.toString()));
+        result.setInMapping(ResourceUtils.load(cache, inMappingTemplatePath.toString()));
+        result.setOutMapping(ResourceUtils.load(cache, outMappingTemplatePath.toString()));
         return result;
     }
 
     /**
      * Extract an instance of {@link TypeInfo} from a registered {@link TypeMapper}.
      *
+     * @param cache             The session of the generation run.
      * @param type              The type to be mapped.
      * @param id                The id of the resulting typeInfo.
      * @param annotations       All annotations of the parameter/type to be mapped.
      * @param classWideMappings Mappings that have been specified on the method-invoking class.
      * @return An instance of {@link TypeInfo}, composed by the information deduces from {@link TypeMapper} and {@link Mapping}.
      */
-    private static TypeInfo extractFromTypeMapper(@NotNull final Class<?> type, @Nullable final String id, @NotNull final List<Annotation> annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings) {
+    private static TypeInfo extractFromTypeMapper(@NotNull final GenerationCache cache, @NotNull final Class<?> type, @Nullable final String id, @NotNull final List<Annotation> annotations, @NotNull final BridgeClass.MappingEntry[] classWideMappings) {
         // check whether the param/returnValue is using the 'UseMapping' annotation.
         Mapping paramSpecificMapping = annotations.stream()
                 .filter(annotation -> annotation instanceof UseMapping)
@@ -267,8 +288,8 @@ public class TypeInfoExtractor {
             replacements.put(Placeholder.JNI_TYPE, paramSpecificMapping.jniType());
             replacements.put(Placeholder.JNI_VAR, Placeholder.JNI_VAR + id);
 
-            final String cleanupTemplate = ResourceUtils.load(cleanupPath);
-            cleanupLogic = TemplateUtils.substitute(cleanupTemplate, replacements, true);
+            final String cleanupTemplate = ResourceUtils.load(cache, cleanupPath);
+            cleanupLogic = TemplateUtils.substitute(cache, cleanupTemplate, replacements, true);
         }
 
         // check for any template argument types...
@@ -287,8 +308,8 @@ public class TypeInfoExtractor {
                 .jniType(paramSpecificMapping.jniType())
                 .cTemplateArgumentTypes(Arrays.stream(cTemplateTypes).collect(Collectors.toCollection(LinkedList::new)))
                 .javaTemplateArgumentTypes(Arrays.stream(jTemplateArgumentTypes).collect(Collectors.toCollection(LinkedList::new)))
-                .inMapping(ResourceUtils.load(paramSpecificMapping.templates().inPath()))
-                .outMapping(ResourceUtils.load(paramSpecificMapping.templates().outPath()))
+                .inMapping(ResourceUtils.load(cache, paramSpecificMapping.templates().inPath()))
+                .outMapping(ResourceUtils.load(cache, paramSpecificMapping.templates().outPath()))
                 .isInvoker(false)
                 .cleanupLogic(cleanupLogic)
                 .build();
@@ -319,12 +340,15 @@ public class TypeInfoExtractor {
     }
 
     /**
+     * @param cache  The session of the generation run.
      * @param method The method which resides in the class to extract the mappings from.
      * @return An array of {@link com.jnibridge.annotations.BridgeClass.MappingEntry}, that defines class-wide mappings.
      */
-    private static BridgeClass.MappingEntry[] extractClassWideMappings(@NotNull final Method method) {
-        final Optional<BridgeClass> bridgeClassAnnotation = Optional.ofNullable(method.getDeclaringClass().getAnnotation(BridgeClass.class));
-        return bridgeClassAnnotation.map(BridgeClass::typeMappers).orElse(new BridgeClass.MappingEntry[]{});
+    private static BridgeClass.MappingEntry[] extractClassWideMappings(@NotNull final GenerationCache cache, @NotNull final Method method) {
+        return cache.classWideMappings(method.getDeclaringClass(), declaringClass -> {
+            final Optional<BridgeClass> bridgeClassAnnotation = Optional.ofNullable(declaringClass.getAnnotation(BridgeClass.class));
+            return bridgeClassAnnotation.map(BridgeClass::typeMappers).orElse(new BridgeClass.MappingEntry[]{});
+        });
     }
 
 }
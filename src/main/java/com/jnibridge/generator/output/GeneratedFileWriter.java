@@ -0,0 +1,425 @@
+package com.jnibridge.generator.output;
+
+import com.jnibridge.exception.JniBridgeException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the generated files of a single generation run (thread-safe).
+ * <p>
+ * Files are streamed through buffered writers and written atomically (temp-file and rename), so native builds never
+ * observe partially written files.
+ * In incremental mode, files whose content did not change are left untouched (preserving their modification time),
+ * files generated by the previous run but not by the current one are deleted, and a {@value #MANIFEST_FILENAME}
+ * recording the content hash of each generated file is kept in the output directory.
+ * </p>
+ */
+public class GeneratedFileWriter {
+
+    public static final String MANIFEST_FILENAME = ".jnibridge-manifest";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // hashes content without writing it (record-only runs)
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(final int b) { }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) { }
+    };
+
+    private final Path outPath;
+    private final boolean incremental;
+    private final boolean recordOnly; // <- only record the content hashes, without touching the file system
+
+    // relative (or absolute if outside the output directory) path -> content hash
+    private final Map<String, String> generatedFiles = new ConcurrentHashMap<>();
+    private final Map<String, Long> fileSizes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger writtenFiles = new AtomicInteger();
+    private final AtomicInteger unchangedFiles = new AtomicInteger();
+    private final AtomicInteger deletedFiles = new AtomicInteger();
+    private final AtomicLong ioNanos = new AtomicLong();
+
+    // manifest of the previous run, read on the first retained file
+    private volatile Map<String, String> previousManifest;
+
+    /**
+     * Constructor.
+     *
+     * @param outPath     The output directory of the generation run.
+     * @param incremental True if unchanged files shall be skipped and stale files deleted.
+     */
+    public GeneratedFileWriter(@NotNull final Path outPath, final boolean incremental) {
+        this(outPath, incremental, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param outPath     The output directory of the generation run.
+     * @param incremental True if unchanged files shall be skipped and stale files deleted.
+     * @param recordOnly  True if the content hashes shall be recorded only (nothing is written).
+     */
+    private GeneratedFileWriter(@NotNull final Path outPath, final boolean incremental, final boolean recordOnly) {
+        this.outPath = outPath.toAbsolutePath().normalize();
+        this.incremental = incremental;
+        this.recordOnly = recordOnly;
+    }
+
+    /**
+     * @param outPath The output directory of the generation run.
+     * @return A writer, that only records the content hashes of the generated files (see {@link #getContentHashes()}).
+     */
+    @NotNull
+    public static GeneratedFileWriter recordOnly(@NotNull final Path outPath) {
+        return new GeneratedFileWriter(outPath, false, true);
+    }
+
+    /**
+     * @return The SHA-256 hashes of all files generated so far, keyed by their path (relative to the output directory, if possible).
+     */
+    @NotNull
+    public SortedMap<String, String> getContentHashes() { return Collections.unmodifiableSortedMap(new TreeMap<>(generatedFiles)); }
+
+    /**
+     * @return The size in bytes of all files generated so far, keyed by their path (see {@link #getContentHashes()}).
+     */
+    @NotNull
+    public SortedMap<String, Long> getFileSizes() { return Collections.unmodifiableSortedMap(new TreeMap<>(fileSizes)); }
+
+    /**
+     * @return The wall time in nanoseconds, spent on file I/O (writing, comparing and renaming files).
+     */
+    public long getIoNanos() { return ioNanos.get(); }
+
+    /**
+     * Writes a generated file (creating its parent directories).
+     *
+     * @param file    The file to write.
+     * @param content The content of the file.
+     * @throws JniBridgeException if the file cannot be written.
+     */
+    public void write(@NotNull final Path file, @NotNull final String content) {
+        write(file, out -> out.write(content));
+    }
+
+    /**
+     * Writes a generated file (creating its parent directories), streaming its content through a buffered writer.
+     * The content is hashed while it is written, so it is never held in memory as a whole.
+     *
+     * @param file    The file to write.
+     * @param content Writes the content of the file.
+     * @throws JniBridgeException if the file cannot be written.
+     */
+    public void write(@NotNull final Path file, @NotNull final Content content) {
+        final Path target = file.toAbsolutePath().normalize();
+        final MessageDigest digest = newDigest();
+
+        try {
+            if (recordOnly) {
+                final MeteredOutputStream metered = new MeteredOutputStream(DISCARD, null);
+                try (Writer out = newWriter(new DigestOutputStream(metered, digest))) { content.writeTo(out); }
+                generatedFiles.put(toManifestPath(target), toHex(digest.digest()));
+                fileSizes.put(toManifestPath(target), metered.bytes);
+                return;
+            }
+
+            final Path parent = target.getParent();
+            if (parent != null) { Files.createDirectories(parent); }
+
+            final Path temp = tempFileFor(target);
+            try {
+                final MeteredOutputStream metered = new MeteredOutputStream(Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW), ioNanos);
+                try (Writer out = newWriter(new DigestOutputStream(metered, digest))) { content.writeTo(out); }
+                final String hash = toHex(digest.digest());
+                generatedFiles.put(toManifestPath(target), hash);
+                fileSizes.put(toManifestPath(target), metered.bytes);
+
+                final long start = System.nanoTime();
+                try {
+                    if (incremental && Files.isRegularFile(target) && Files.size(target) == Files.size(temp) && hash.equals(hash(target))) {
+                        unchangedFiles.incrementAndGet();
+                        return;
+                    }
+
+                    move(temp, target);
+                    writtenFiles.incrementAndGet();
+                } finally {
+                    ioNanos.addAndGet(System.nanoTime() - start);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new JniBridgeException(String.format("Unable to create file: %s", target), e);
+        }
+    }
+
+    /**
+     * Keeps a file of the previous run without regenerating it, so it is neither rewritten nor deleted as stale
+     * (incremental mode only, used to regenerate only the files affected by a change).
+     *
+     * @param file The file to keep.
+     * @return True, if the file has been kept. False, if it has to be generated (it is not part of the previous run's
+     * manifest, or it has been deleted since).
+     * @throws JniBridgeException if the manifest cannot be read.
+     */
+    public boolean retain(@NotNull final Path file) {
+        if (!incremental || recordOnly) { return false; }
+
+        final Path target = file.toAbsolutePath().normalize();
+        final String manifestPath = toManifestPath(target);
+        final String hash = getPreviousManifest().get(manifestPath);
+        if (hash == null || !Files.isRegularFile(target)) { return false; }
+
+        try {
+            fileSizes.put(manifestPath, Files.size(target));
+        } catch (IOException e) {
+            return false;
+        }
+        generatedFiles.put(manifestPath, hash);
+        unchangedFiles.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * @return The number of files, that have been (re)written.
+     */
+    public int getWrittenFiles() { return writtenFiles.get(); }
+
+    /**
+     * @return The number of files, that have been skipped since their content did not change (or that have been retained).
+     */
+    public int getUnchangedFiles() { return unchangedFiles.get(); }
+
+    /**
+     * @return The number of stale files, that have been deleted.
+     */
+    public int getDeletedFiles() { return deletedFiles.get(); }
+
+    /**
+     * Completes the generation run: deletes stale files and records the manifest (incremental mode only).
+     *
+     * @throws JniBridgeException if the manifest cannot be read or written.
+     */
+    public void finish() {
+        if (!incremental || recordOnly) { return; }
+
+        final Path manifest = outPath.resolve(MANIFEST_FILENAME);
+        try {
+            // delete files of the previous run, that have not been generated again...
+            for (final String previousFile : readManifest(manifest).keySet()) {
+                if (generatedFiles.containsKey(previousFile)) { continue; }
+
+                final Path stale = outPath.resolve(previousFile).normalize();
+                if (stale.startsWith(outPath) && Files.deleteIfExists(stale)) { deletedFiles.incrementAndGet(); }
+            }
+
+            final String manifestContent = getContentHashes().entrySet().stream()
+                    .map(entry -> String.format("%s %s", entry.getValue(), entry.getKey()))
+                    .collect(Collectors.joining("\n", "", "\n"));
+            final byte[] manifestBytes = manifestContent.getBytes(StandardCharsets.UTF_8);
+            if (!Files.isRegularFile(manifest) || !Arrays.equals(manifestBytes, Files.readAllBytes(manifest))) {
+                writeAtomically(manifest, manifestBytes);
+            }
+        } catch (IOException e) {
+            throw new JniBridgeException(String.format("Unable to update manifest: %s", manifest), e);
+        }
+    }
+
+    /**
+     * @return The manifest of the previous run (read once).
+     * @throws JniBridgeException if the manifest cannot be read.
+     */
+    @NotNull
+    private Map<String, String> getPreviousManifest() {
+        Map<String, String> result = previousManifest;
+        if (result == null) {
+            synchronized (this) {
+                result = previousManifest;
+                if (result == null) {
+                    final Path manifest = outPath.resolve(MANIFEST_FILENAME);
+                    try {
+                        result = readManifest(manifest);
+                    } catch (IOException e) {
+                        throw new JniBridgeException(String.format("Unable to read manifest: %s", manifest), e);
+                    }
+                    previousManifest = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param manifest The manifest of the previous run.
+     * @return The content hash of each file, generated by the previous run (empty if there is no manifest).
+     */
+    private static Map<String, String> readManifest(@NotNull final Path manifest) throws IOException {
+        if (!Files.isRegularFile(manifest)) { return Collections.emptyMap(); }
+
+        try (Stream<String> lines = Files.lines(manifest, StandardCharsets.UTF_8)) {
+            return lines.filter(line -> line.indexOf(' ') > 0)
+                    .collect(Collectors.toMap(
+                            line -> line.substring(line.indexOf(' ') + 1),
+                            line -> line.substring(0, line.indexOf(' ')),
+                            (first, second) -> second,
+                            LinkedHashMap::new
+                    ));
+        }
+    }
+
+    /**
+     * Writes to a temp-file next to the target and renames it to the target.
+     */
+    private static void writeAtomically(@NotNull final Path target, final byte[] bytes) throws IOException {
+        final Path parent = target.getParent();
+        if (parent != null) { Files.createDirectories(parent); }
+
+        final Path temp = tempFileFor(target);
+        try {
+            Files.write(temp, bytes, StandardOpenOption.CREATE_NEW);
+            move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Unlike {@link Files#createTempFile(Path, String, String)}, the temp-file is created by the caller with the default
+     * permissions (honoring the umask), so generated files are not restricted to the owner.
+     *
+     * @param target The file to be written.
+     * @return A unique, not yet existing temp-file next to the target.
+     */
+    private static Path tempFileFor(@NotNull final Path target) {
+        return target.resolveSibling(String.format("%s.%s.tmp", target.getFileName(), UUID.randomUUID()));
+    }
+
+    /**
+     * Renames a temp-file to the target (atomically, if supported).
+     */
+    private static void move(@NotNull final Path temp, @NotNull final Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @param out The stream to write to.
+     * @return A buffered UTF-8 writer on top of the stream.
+     */
+    private static Writer newWriter(@NotNull final OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * @param target The absolute path of a generated file.
+     * @return The path of the file as recorded in the manifest (relative to the output directory, if possible).
+     */
+    private String toManifestPath(@NotNull final Path target) {
+        final Path path = target.startsWith(outPath) ? outPath.relativize(target) : target;
+        return path.toString().replace('\\', '/');
+    }
+
+    /**
+     * @param file The file to hash.
+     * @return The hex-encoded SHA-256 hash of the file's content.
+     */
+    private static String hash(@NotNull final Path file) throws IOException {
+        final MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (in.read(buffer) >= 0) {
+                // digest only...
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * @return A new SHA-256 digest.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new JniBridgeException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * @param hash The hash to encode.
+     * @return The hex-encoded hash.
+     */
+    private static String toHex(final byte[] hash) {
+        final StringBuilder result = new StringBuilder();
+        for (final byte b : hash) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Counts the bytes written to a stream, and (optionally) the time spent writing them.
+     */
+    private static final class MeteredOutputStream extends FilterOutputStream {
+        private final AtomicLong nanos; // <- null, if the time is not measured
+        private long bytes = 0;
+
+        private MeteredOutputStream(@NotNull final OutputStream out, final AtomicLong nanos) {
+            super(out);
+            this.nanos = nanos;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            final long start = nanos == null ? 0 : System.nanoTime();
+            out.write(b, off, len);
+            bytes += len;
+            if (nanos != null) { nanos.addAndGet(System.nanoTime() - start); }
+        }
+
+        @Override
+        public void close() throws IOException {
+            final long start = nanos == null ? 0 : System.nanoTime();
+            super.close();
+            if (nanos != null) { nanos.addAndGet(System.nanoTime() - start); }
+        }
+    }
+
+    /**
+     * Writes the content of a generated file.
+     */
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * @param out The (buffered) writer of the generated file.
+         * @throws IOException if the content cannot be written.
+         */
+        void writeTo(@NotNull Writer out) throws IOException;
+    }
+}
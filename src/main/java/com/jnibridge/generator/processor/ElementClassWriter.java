@@ -0,0 +1,398 @@
+package com.jnibridge.generator.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.objectweb.asm.*;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.SimpleAnnotationValueVisitor8;
+import javax.lang.model.util.Types;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes class files from the {@link Element} model of a compilation.
+ * <p>
+ * The class files of the current compilation are only written once all processing rounds are over, so the
+ * processor generates from class files, that declare the same types, members, modifiers and annotations as the
+ * compiled ones (everything the generator reads). Method bodies are replaced by a {@code throw}, as the classes
+ * are never initialized, let alone called.
+ * </p>
+ * <p>
+ * Enums are the exception: reading an annotation value (or default) of an enum type of the compilation initializes
+ * the enum and calls its {@code values()}, so its constants are created (without running any constructor of the
+ * compilation) and {@code values()}/{@code valueOf(String)} are implemented. The constants of enums with constant
+ * class bodies cannot be created, their annotation values remain unreadable.
+ * </p>
+ * <p>
+ * The javac model is not thread-safe, so all class files are written on the processor's thread, before the
+ * generation starts.
+ * </p>
+ */
+class ElementClassWriter {
+
+    private static final String UNSUPPORTED = Type.getInternalName(UnsupportedOperationException.class);
+    private static final String ENUM = Type.getInternalName(Enum.class);
+    private static final String ENUM_VALUES_FIELD = "$VALUES";
+
+    private final Elements elements;
+    private final Types types;
+
+    /**
+     * Constructor.
+     *
+     * @param elements The element utilities of the compilation.
+     * @param types    The type utilities of the compilation.
+     */
+    ElementClassWriter(@NotNull final Elements elements, @NotNull final Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    /**
+     * @param type The type to write the class file of.
+     * @return The class file of the type (without the ones of its member types).
+     */
+    @NotNull
+    byte[] write(@NotNull final TypeElement type) {
+        final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+        final TypeMirror superclass = type.getSuperclass();
+        final String superName = superclass.getKind() == TypeKind.NONE ? (isInterface(type) ? "java/lang/Object" : null) : getInternalName(superclass);
+        final String[] interfaces = type.getInterfaces().stream().map(this::getInternalName).toArray(String[]::new);
+        writer.visit(Opcodes.V1_8, getClassAccess(type), getInternalName(type), null, superName, interfaces);
+
+        // nesting (read by reflection for simple names and declaring classes)
+        if (type.getNestingKind() == NestingKind.MEMBER) { visitInnerClass(writer, type); }
+        for (final TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+            visitInnerClass(writer, member);
+        }
+
+        writeAnnotations(type, writer::visitAnnotation);
+
+        for (final VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            final FieldVisitor fieldVisitor = writer.visitField(getFieldAccess(field), field.getSimpleName().toString(), getDescriptor(field.asType()), null, null);
+            writeAnnotations(field, fieldVisitor::visitAnnotation);
+            fieldVisitor.visitEnd();
+        }
+
+        final boolean constantEnum = type.getKind() == ElementKind.ENUM && !type.getModifiers().contains(Modifier.ABSTRACT);
+        for (final ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (constantEnum && isEnumValuesMethod(type, method)) { continue; }
+            writeMethod(writer, type, method);
+        }
+        if (constantEnum) { writeEnumConstants(writer, type); }
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param type A type of the compilation.
+     * @return The binary name of the type, e.g. {@code com.example.Outer$Inner}.
+     */
+    @NotNull
+    String getBinaryName(@NotNull final TypeElement type) {
+        return elements.getBinaryName(type).toString();
+    }
+
+    private void writeMethod(@NotNull final ClassWriter writer, @NotNull final TypeElement type, @NotNull final ExecutableElement method) {
+        final StringBuilder descriptor = new StringBuilder("(");
+        method.getParameters().forEach(parameter -> descriptor.append(getDescriptor(parameter.asType())));
+        descriptor.append(')').append(getDescriptor(method.getReturnType()));
+
+        final String[] exceptions = method.getThrownTypes().stream().map(this::getInternalName).toArray(String[]::new);
+        final int access = getMethodAccess(type, method);
+        final MethodVisitor methodVisitor = writer.visitMethod(access, method.getSimpleName().toString(), descriptor.toString(), null, exceptions.length == 0 ? null : exceptions);
+
+        if (method.getDefaultValue() != null) {
+            final AnnotationVisitor defaultVisitor = methodVisitor.visitAnnotationDefault();
+            writeValue(defaultVisitor, null, method.getDefaultValue());
+            defaultVisitor.visitEnd();
+        }
+        writeAnnotations(method, methodVisitor::visitAnnotation);
+
+        final List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            final int parameter = i;
+            writeAnnotations(parameters.get(i), (desc, visible) -> methodVisitor.visitParameterAnnotation(parameter, desc, visible));
+        }
+
+        if ((access & (Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) == 0) {
+            methodVisitor.visitCode();
+            methodVisitor.visitTypeInsn(Opcodes.NEW, UNSUPPORTED);
+            methodVisitor.visitInsn(Opcodes.DUP);
+            methodVisitor.visitMethodInsn(Opcodes.INVOKESPECIAL, UNSUPPORTED, "<init>", "()V", false);
+            methodVisitor.visitInsn(Opcodes.ATHROW);
+            methodVisitor.visitMaxs(0, 0);
+        }
+        methodVisitor.visitEnd();
+    }
+
+    /**
+     * @return True if the method is one of the implicitly declared {@code values()}/{@code valueOf(String)} of an enum.
+     */
+    private boolean isEnumValuesMethod(@NotNull final TypeElement type, @NotNull final ExecutableElement method) {
+        if (!method.getModifiers().contains(Modifier.STATIC)) { return false; }
+        final String name = method.getSimpleName().toString();
+        final List<? extends VariableElement> parameters = method.getParameters();
+        if ("values".equals(name)) { return parameters.isEmpty(); }
+        return "valueOf".equals(name) && parameters.size() == 1 && "java.lang.String".equals(types.erasure(parameters.get(0).asType()).toString())
+                && types.isSameType(types.erasure(method.getReturnType()), types.erasure(type.asType()));
+    }
+
+    /**
+     * Writes the creation of the constants of an enum (without a class body) and its {@code values()}/{@code valueOf(String)}.
+     */
+    private void writeEnumConstants(@NotNull final ClassWriter writer, @NotNull final TypeElement type) {
+        final String internalName = getInternalName(type);
+        final String descriptor = "L" + internalName + ";";
+        final String arrayDescriptor = "[" + descriptor;
+        final List<String> constants = type.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(element -> element.getSimpleName().toString())
+                .collect(Collectors.toList());
+
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL | Opcodes.ACC_SYNTHETIC, ENUM_VALUES_FIELD, arrayDescriptor, null, null).visitEnd();
+
+        // the constructor of java.lang.Enum only, none of the compilation
+        final MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PRIVATE | Opcodes.ACC_SYNTHETIC, "<init>", "(Ljava/lang/String;I)V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitVarInsn(Opcodes.ALOAD, 1);
+        constructor.visitVarInsn(Opcodes.ILOAD, 2);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, ENUM, "<init>", "(Ljava/lang/String;I)V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        final MethodVisitor initializer = writer.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        initializer.visitCode();
+        for (int ordinal = 0; ordinal < constants.size(); ordinal++) {
+            initializer.visitTypeInsn(Opcodes.NEW, internalName);
+            initializer.visitInsn(Opcodes.DUP);
+            initializer.visitLdcInsn(constants.get(ordinal));
+            initializer.visitLdcInsn(ordinal);
+            initializer.visitMethodInsn(Opcodes.INVOKESPECIAL, internalName, "<init>", "(Ljava/lang/String;I)V", false);
+            initializer.visitFieldInsn(Opcodes.PUTSTATIC, internalName, constants.get(ordinal), descriptor);
+        }
+        initializer.visitLdcInsn(constants.size());
+        initializer.visitTypeInsn(Opcodes.ANEWARRAY, internalName);
+        for (int ordinal = 0; ordinal < constants.size(); ordinal++) {
+            initializer.visitInsn(Opcodes.DUP);
+            initializer.visitLdcInsn(ordinal);
+            initializer.visitFieldInsn(Opcodes.GETSTATIC, internalName, constants.get(ordinal), descriptor);
+            initializer.visitInsn(Opcodes.AASTORE);
+        }
+        initializer.visitFieldInsn(Opcodes.PUTSTATIC, internalName, ENUM_VALUES_FIELD, arrayDescriptor);
+        initializer.visitInsn(Opcodes.RETURN);
+        initializer.visitMaxs(0, 0);
+        initializer.visitEnd();
+
+        final MethodVisitor values = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "values", "()" + arrayDescriptor, null, null);
+        values.visitCode();
+        values.visitFieldInsn(Opcodes.GETSTATIC, internalName, ENUM_VALUES_FIELD, arrayDescriptor);
+        values.visitMethodInsn(Opcodes.INVOKEVIRTUAL, arrayDescriptor, "clone", "()Ljava/lang/Object;", false);
+        values.visitTypeInsn(Opcodes.CHECKCAST, arrayDescriptor);
+        values.visitInsn(Opcodes.ARETURN);
+        values.visitMaxs(0, 0);
+        values.visitEnd();
+
+        final MethodVisitor valueOf = writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "valueOf", "(Ljava/lang/String;)" + descriptor, null, null);
+        valueOf.visitCode();
+        valueOf.visitLdcInsn(Type.getObjectType(internalName));
+        valueOf.visitVarInsn(Opcodes.ALOAD, 0);
+        valueOf.visitMethodInsn(Opcodes.INVOKESTATIC, ENUM, "valueOf", "(Ljava/lang/Class;Ljava/lang/String;)Ljava/lang/Enum;", false);
+        valueOf.visitTypeInsn(Opcodes.CHECKCAST, internalName);
+        valueOf.visitInsn(Opcodes.ARETURN);
+        valueOf.visitMaxs(0, 0);
+        valueOf.visitEnd();
+    }
+
+    private void visitInnerClass(@NotNull final ClassWriter writer, @NotNull final TypeElement member) {
+        final TypeElement outer = (TypeElement) member.getEnclosingElement();
+        writer.visitInnerClass(getInternalName(member), getInternalName(outer), member.getSimpleName().toString(), getInnerClassAccess(member));
+    }
+
+    /**
+     * Writes the annotations of an element, that are retained in class files.
+     *
+     * @param element The annotated element.
+     * @param visitor Creates the visitor of a single annotation (by its descriptor and runtime visibility).
+     */
+    private void writeAnnotations(@NotNull final Element element, @NotNull final AnnotationVisitorFactory visitor) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            final RetentionPolicy retention = getRetention(annotation);
+            if (retention == RetentionPolicy.SOURCE) { continue; }
+
+            final AnnotationVisitor annotationVisitor = visitor.create(getDescriptor(annotation.getAnnotationType()), retention == RetentionPolicy.RUNTIME);
+            writeAnnotation(annotationVisitor, annotation);
+        }
+    }
+
+    private void writeAnnotation(@NotNull final AnnotationVisitor visitor, @NotNull final AnnotationMirror annotation) {
+        annotation.getElementValues().forEach((member, value) -> writeValue(visitor, member.getSimpleName().toString(), value));
+        visitor.visitEnd();
+    }
+
+    private void writeValue(@NotNull final AnnotationVisitor visitor, final String name, @NotNull final AnnotationValue value) {
+        value.accept(new SimpleAnnotationValueVisitor8<Void, Void>() {
+            @Override
+            protected Void defaultAction(final Object constant, final Void ignored) {
+                visitor.visit(name, constant);
+                return null;
+            }
+
+            @Override
+            public Void visitType(final TypeMirror type, final Void ignored) {
+                visitor.visit(name, Type.getType(getDescriptor(type)));
+                return null;
+            }
+
+            @Override
+            public Void visitEnumConstant(final VariableElement constant, final Void ignored) {
+                visitor.visitEnum(name, getDescriptor(constant.asType()), constant.getSimpleName().toString());
+                return null;
+            }
+
+            @Override
+            public Void visitAnnotation(final AnnotationMirror annotation, final Void ignored) {
+                writeAnnotation(visitor.visitAnnotation(name, getDescriptor(annotation.getAnnotationType())), annotation);
+                return null;
+            }
+
+            @Override
+            public Void visitArray(final List<? extends AnnotationValue> values, final Void ignored) {
+                final AnnotationVisitor arrayVisitor = visitor.visitArray(name);
+                values.forEach(element -> writeValue(arrayVisitor, null, element));
+                arrayVisitor.visitEnd();
+                return null;
+            }
+        }, null);
+    }
+
+    @NotNull
+    private static RetentionPolicy getRetention(@NotNull final AnnotationMirror annotation) {
+        final Retention retention = annotation.getAnnotationType().asElement().getAnnotation(Retention.class);
+        return retention == null ? RetentionPolicy.CLASS : retention.value();
+    }
+
+    @NotNull
+    private String getInternalName(@NotNull final TypeElement type) {
+        return getBinaryName(type).replace('.', '/');
+    }
+
+    @NotNull
+    private String getInternalName(@NotNull final TypeMirror type) {
+        return getInternalName((TypeElement) ((DeclaredType) types.erasure(type)).asElement());
+    }
+
+    /**
+     * @param type A type of the compilation.
+     * @return The descriptor of the erasure of the type.
+     */
+    @NotNull
+    private String getDescriptor(@NotNull final TypeMirror type) {
+        final TypeMirror erasure = types.erasure(type);
+        switch (erasure.getKind()) {
+            case BOOLEAN: return "Z";
+            case BYTE: return "B";
+            case SHORT: return "S";
+            case CHAR: return "C";
+            case INT: return "I";
+            case LONG: return "J";
+            case FLOAT: return "F";
+            case DOUBLE: return "D";
+            case VOID: return "V";
+            case ARRAY: return "[" + getDescriptor(((ArrayType) erasure).getComponentType());
+            case DECLARED: return "L" + getInternalName(erasure) + ";";
+            default: throw new IllegalArgumentException(String.format("Unable to write the type '%s' to a class file", type));
+        }
+    }
+
+    private static boolean isInterface(@NotNull final TypeElement type) {
+        return type.getKind().isInterface();
+    }
+
+    /**
+     * @return The access flags of the class file (nested classes are public or package-private in their class file).
+     */
+    private static int getClassAccess(@NotNull final TypeElement type) {
+        final Set<Modifier> modifiers = type.getModifiers();
+        int access = getKindAccess(type);
+        if (modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.PROTECTED)) { access |= Opcodes.ACC_PUBLIC; }
+        if (modifiers.contains(Modifier.FINAL)) { access |= Opcodes.ACC_FINAL; }
+        if (modifiers.contains(Modifier.ABSTRACT)) { access |= Opcodes.ACC_ABSTRACT; }
+        return isInterface(type) ? access : access | Opcodes.ACC_SUPER;
+    }
+
+    private static int getInnerClassAccess(@NotNull final TypeElement member) {
+        int access = getKindAccess(member) | getAccess(member.getModifiers());
+        // member interfaces, enums and annotations are implicitly static
+        if (member.getKind() != ElementKind.CLASS) { access |= Opcodes.ACC_STATIC; }
+        return access;
+    }
+
+    private static int getKindAccess(@NotNull final TypeElement type) {
+        switch (type.getKind()) {
+            case ANNOTATION_TYPE: return Opcodes.ACC_ANNOTATION | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT;
+            case INTERFACE: return Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT;
+            case ENUM: return Opcodes.ACC_ENUM;
+            default: return 0;
+        }
+    }
+
+    private static int getFieldAccess(@NotNull final VariableElement field) {
+        final int access = getAccess(field.getModifiers());
+        return field.getKind() == ElementKind.ENUM_CONSTANT ? access | Opcodes.ACC_ENUM : access;
+    }
+
+    private static int getMethodAccess(@NotNull final TypeElement type, @NotNull final ExecutableElement method) {
+        final Set<Modifier> modifiers = method.getModifiers();
+        int access = getAccess(modifiers);
+        if (method.isVarArgs()) { access |= Opcodes.ACC_VARARGS; }
+
+        // interface methods without a body are implicitly public and abstract
+        if (isInterface(type) && !modifiers.contains(Modifier.DEFAULT) && !modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.PRIVATE)) {
+            access |= Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT;
+        }
+        return access;
+    }
+
+    private static int getAccess(@NotNull final Set<Modifier> modifiers) {
+        int access = 0;
+        for (final Modifier modifier : modifiers) {
+            switch (modifier) {
+                case PUBLIC: access |= Opcodes.ACC_PUBLIC; break;
+                case PROTECTED: access |= Opcodes.ACC_PROTECTED; break;
+                case PRIVATE: access |= Opcodes.ACC_PRIVATE; break;
+                case STATIC: access |= Opcodes.ACC_STATIC; break;
+                case FINAL: access |= Opcodes.ACC_FINAL; break;
+                case ABSTRACT: access |= Opcodes.ACC_ABSTRACT; break;
+                case NATIVE: access |= Opcodes.ACC_NATIVE; break;
+                case SYNCHRONIZED: access |= Opcodes.ACC_SYNCHRONIZED; break;
+                case TRANSIENT: access |= Opcodes.ACC_TRANSIENT; break;
+                case VOLATILE: access |= Opcodes.ACC_VOLATILE; break;
+                case STRICTFP: access |= Opcodes.ACC_STRICT; break;
+                default: break;
+            }
+        }
+        return access;
+    }
+
+    /**
+     * Creates the visitor of a single annotation.
+     */
+    @FunctionalInterface
+    private interface AnnotationVisitorFactory {
+        AnnotationVisitor create(@NotNull String descriptor, boolean visible);
+    }
+}
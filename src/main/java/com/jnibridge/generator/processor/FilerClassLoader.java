@@ -0,0 +1,142 @@
+package com.jnibridge.generator.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.Filer;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager;
+import javax.tools.StandardLocation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads the classes (and resources) of the current compilation: the classes compiled by the compilation from the
+ * class files written from its element model (see {@link ElementClassWriter}), all others through the {@link Filer}
+ * (from the compile classpath, then from the class output), and resources from additional resource directories last.
+ * <p>
+ * Classes of the JNIBridge itself are always loaded by the parent (the processor's class loader), so annotations
+ * like {@link com.jnibridge.annotations.BridgeClass} resolve to the same classes for the generator and the
+ * compiled classes.
+ * </p>
+ */
+class FilerClassLoader extends ClassLoader {
+
+    private static final JavaFileManager.Location[] LOCATIONS = {StandardLocation.CLASS_PATH, StandardLocation.CLASS_OUTPUT};
+    private static final String COMPILED_CLASS_PROTOCOL = "jnibridge-compiled";
+
+    private final Filer filer;
+    private final Map<String, byte[]> compiledClasses;
+    private final List<Path> resourceDirs;
+
+    /**
+     * Constructor.
+     *
+     * @param parent          The processor's class loader.
+     * @param filer           The filer of the compilation.
+     * @param compiledClasses The class file of each class of the compilation (by its binary name).
+     * @param resourceDirs    Additional directories to load resources (e.g. custom templates) from.
+     */
+    FilerClassLoader(@NotNull final ClassLoader parent, @NotNull final Filer filer, @NotNull final Map<String, byte[]> compiledClasses, @NotNull final List<Path> resourceDirs) {
+        super(parent);
+        this.filer = filer;
+        this.compiledClasses = compiledClasses;
+        this.resourceDirs = resourceDirs;
+    }
+
+    @Override
+    protected Class<?> findClass(final String name) throws ClassNotFoundException {
+        final byte[] compiledClass = compiledClasses.get(name);
+        if (compiledClass != null) { return defineClass(name, compiledClass, 0, compiledClass.length); }
+
+        final FileObject classFile = findFileObject(name.replace('.', '/') + ".class");
+        if (classFile == null) { throw new ClassNotFoundException(name); }
+
+        try (InputStream in = classFile.openInputStream()) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+            }
+            return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    @Override
+    protected URL findResource(final String name) {
+        try {
+            final byte[] compiledClass = getCompiledClass(name);
+            if (compiledClass != null) { return new URL(COMPILED_CLASS_PROTOCOL, null, -1, "/" + name, new CompiledClassHandler(compiledClass)); }
+
+            final FileObject resource = findFileObject(name);
+            if (resource != null) { return resource.toUri().toURL(); }
+
+            for (final Path resourceDir : resourceDirs) {
+                final Path file = resourceDir.resolve(name);
+                if (Files.isRegularFile(file)) { return file.toUri().toURL(); }
+            }
+            return null;
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param name The resource path (relative to the classpath root).
+     * @return The class file of a class of the compilation, null if the resource is none.
+     */
+    @Nullable
+    private byte[] getCompiledClass(@NotNull final String name) {
+        if (!name.endsWith(".class")) { return null; }
+        return compiledClasses.get(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+    }
+
+    /**
+     * @param name The resource path (relative to the classpath root).
+     * @return The first existing file for the resource, null if there is none.
+     */
+    @Nullable
+    private FileObject findFileObject(@NotNull final String name) {
+        for (final JavaFileManager.Location location : LOCATIONS) {
+            try {
+                final FileObject fileObject = filer.getResource(location, "", name);
+                fileObject.openInputStream().close(); // <- throws, if the resource does not exist at this location
+                return fileObject;
+            } catch (IOException | IllegalArgumentException e) {
+                // not found at this location...
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Serves the class file of a class of the compilation (read by {@link com.jnibridge.generator.scanner.ClassFileScanner}).
+     */
+    private static class CompiledClassHandler extends URLStreamHandler {
+
+        private final byte[] classFile;
+
+        private CompiledClassHandler(@NotNull final byte[] classFile) { this.classFile = classFile; }
+
+        @Override
+        protected URLConnection openConnection(final URL url) {
+            return new URLConnection(url) {
+                @Override
+                public void connect() { connected = true; }
+
+                @Override
+                public InputStream getInputStream() { return new ByteArrayInputStream(classFile); }
+            };
+        }
+    }
+}
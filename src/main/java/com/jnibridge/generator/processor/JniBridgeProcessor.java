@@ -0,0 +1,179 @@
+package com.jnibridge.generator.processor;
+
+import com.jnibridge.JNIBridge;
+import com.jnibridge.annotations.BridgeClass;
+import com.jnibridge.generator.GenerationOptions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.lang.model.util.ElementFilter;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Annotation processor, generating the JNI code of all {@link BridgeClass bridged classes} of a compilation.
+ *
+ * <p>The processor collects the types of the compilation from the {@link Element} model of every round and runs the
+ * generation (with the same extractors and composers as {@link JNIBridge}) in the final round. The class files of the
+ * compilation are not written before all rounds are over, so the compiled classes are read from class files written
+ * from their element model (see {@link ElementClassWriter}), without a separate JVM launch or classpath scan. All
+ * other classes are loaded through the {@link Filer}. No class is ever initialized.</p>
+ *
+ * <p>The processor is only active, if the output directory is passed (e.g. {@code -Ajnibridge.outputDir=build/jni}).
+ * It is registered as an aggregating processor for Gradle's incremental compilation: all bridged classes are
+ * reprocessed whenever one of them changes, and the classes, that have not been recompiled, are read from the class
+ * output. The JNI code is written to the output directory directly, not through the {@link Filer}, so Gradle cannot
+ * track it: the output directory has to be declared as an output of the compilation task by the build (stale files
+ * are removed by the generation itself). Supported options:</p>
+ * <ul>
+ *   <li>{@value #OUTPUT_DIR_OPTION}: The directory to write the JNI code to.</li>
+ *   <li>{@value #NATIVE_INCLUDES_OPTION}: Comma-separated native includes of the generated code.</li>
+ *   <li>{@value #RESOURCE_DIRS_OPTION}: Additional directories to load custom templates from (separated by the path separator).</li>
+ * </ul>
+ * <p>Generation options are passed as processor options as well (e.g. {@code -Ajnibridge.generator.precompiledHeader=true},
+ * see {@link GenerationOptions}), falling back to the system properties. Incremental writes are enabled by default.</p>
+ */
+@SupportedAnnotationTypes("com.jnibridge.annotations.BridgeClass")
+@SupportedOptions({
+        JniBridgeProcessor.OUTPUT_DIR_OPTION, JniBridgeProcessor.NATIVE_INCLUDES_OPTION, JniBridgeProcessor.RESOURCE_DIRS_OPTION,
+        GenerationOptions.PARALLELISM_PROPERTY, GenerationOptions.INCREMENTAL_PROPERTY, GenerationOptions.VERIFY_REPRODUCIBLE_PROPERTY,
+        GenerationOptions.STRICT_TEMPLATES_PROPERTY, GenerationOptions.TRANSLATION_UNITS_PROPERTY, GenerationOptions.SHARDS_PROPERTY,
+        GenerationOptions.PRECOMPILED_HEADER_PROPERTY, GenerationOptions.PROFILE_PROPERTY, GenerationOptions.METRICS_PROPERTY,
+        GenerationOptions.SLOWEST_CLASSES_PROPERTY, GenerationOptions.COST_ANALYSIS_PROPERTY, GenerationOptions.COST_BUDGET_PROPERTY
+})
+public class JniBridgeProcessor extends AbstractProcessor {
+
+    public static final String OUTPUT_DIR_OPTION = "jnibridge.outputDir";
+    public static final String NATIVE_INCLUDES_OPTION = "jnibridge.nativeIncludes";
+    public static final String RESOURCE_DIRS_OPTION = "jnibridge.resourceDirs";
+
+    private final SortedSet<String> bridgedClasses = new TreeSet<>();
+    private final SortedSet<String> compiledTypes = new TreeSet<>(); // <- canonical names of the top-level types
+    private Path outputDir;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        final String outputOption = processingEnv.getOptions().get(OUTPUT_DIR_OPTION);
+        if (outputOption == null || outputOption.trim().isEmpty()) { return; }
+
+        outputDir = Paths.get(outputOption.trim()).toAbsolutePath();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (outputDir == null) { return false; }
+
+        if (roundEnv.processingOver()) {
+            if (!roundEnv.errorRaised()) { generate(); }
+            return false;
+        }
+
+        for (final TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            compiledTypes.add(type.getQualifiedName().toString());
+        }
+        for (final Element element : roundEnv.getElementsAnnotatedWith(BridgeClass.class)) {
+            if (element.getKind() == ElementKind.ANNOTATION_TYPE || !(element instanceof TypeElement)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@BridgeClass is only supported on classes, interfaces and enums.", element);
+                continue;
+            }
+            bridgedClasses.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+        }
+        return false;
+    }
+
+    /**
+     * Generates the JNI code of all collected classes (called in the final round).
+     */
+    private void generate() {
+        if (bridgedClasses.isEmpty()) { return; }
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previousLoader = thread.getContextClassLoader();
+        try {
+            final Map<String, byte[]> compiledClasses = writeCompiledClasses();
+            thread.setContextClassLoader(new FilerClassLoader(getClass().getClassLoader(), processingEnv.getFiler(), compiledClasses, getResourceDirs()));
+
+            final GenerationOptions options = GenerationOptions.fromProperties(this::getGenerationProperty);
+            JNIBridge.generateJNIInterface(outputDir, bridgedClasses.toArray(new String[0]), getNativeIncludes(), new HashMap<>(), options);
+        } catch (RuntimeException | LinkageError e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format("JNIBridge: JNI generation failed: %s", e));
+        } finally {
+            thread.setContextClassLoader(previousLoader);
+            bridgedClasses.clear();
+            compiledTypes.clear();
+        }
+    }
+
+    /**
+     * Writes the class files of all types of the compilation (including their member types), from the element model
+     * of the final round.
+     *
+     * @return The class file of each type (by its binary name).
+     */
+    @NotNull
+    private Map<String, byte[]> writeCompiledClasses() {
+        final ElementClassWriter writer = new ElementClassWriter(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+        final Map<String, byte[]> result = new HashMap<>();
+
+        final Deque<TypeElement> pending = new ArrayDeque<>();
+        for (final String compiledType : compiledTypes) {
+            final TypeElement type = processingEnv.getElementUtils().getTypeElement(compiledType);
+            if (type != null) { pending.push(type); }
+        }
+        while (!pending.isEmpty()) {
+            final TypeElement type = pending.pop();
+            result.put(writer.getBinaryName(type), writer.write(type));
+            ElementFilter.typesIn(type.getEnclosedElements()).forEach(pending::push);
+        }
+        return result;
+    }
+
+    /**
+     * @return The value of a generation option: the processor option, the system property or the processor's default.
+     */
+    @Nullable
+    private String getGenerationProperty(@NotNull final String property) {
+        final Map<String, String> options = processingEnv.getOptions();
+        if (options.containsKey(property)) { return options.get(property); }
+        if (System.getProperty(property) != null) { return System.getProperty(property); }
+        return GenerationOptions.INCREMENTAL_PROPERTY.equals(property) ? "true" : null;
+    }
+
+    @NotNull
+    private String[] getNativeIncludes() {
+        final String option = processingEnv.getOptions().get(NATIVE_INCLUDES_OPTION);
+        if (option == null) { return new String[0]; }
+
+        return Arrays.stream(option.split(","))
+                .map(String::trim)
+                .filter(include -> !include.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @NotNull
+    private List<Path> getResourceDirs() {
+        final String option = processingEnv.getOptions().get(RESOURCE_DIRS_OPTION);
+        if (option == null) { return Collections.emptyList(); }
+
+        final List<Path> result = new ArrayList<>();
+        for (final String dir : option.split(File.pathSeparator)) {
+            if (!dir.trim().isEmpty()) { result.add(Paths.get(dir.trim()).toAbsolutePath()); }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,248 @@
+package com.jnibridge.generator.scanner;
+
+import com.jnibridge.exception.JniBridgeException;
+import com.jnibridge.utils.ResourceUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads class metadata straight from class files (via ASM), without loading or initializing any class.
+ * <p>
+ * Used to decide which classes are relevant for the generation <i>before</i> they are loaded, so static
+ * initializers (e.g. {@code System.load} calls of bridged classes) never run during the generation, and classes
+ * that are not bridged are never loaded at all. Instances cache the classes they have read and are thread-safe.
+ * </p>
+ */
+public class ClassFileScanner {
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private final ClassLoader classLoader;
+    private final Map<String, Optional<ClassFile>> classFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param classLoader The class loader to read the class files from.
+     */
+    public ClassFileScanner(@NotNull final ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @param className The fully qualified (binary) name of the class, e.g. {@code com.example.Outer$Inner}.
+     * @return The metadata of the class, empty if there is no class file for it.
+     * @throws JniBridgeException if the class file cannot be read.
+     */
+    @NotNull
+    public Optional<ClassFile> read(@NotNull final String className) {
+        return classFiles.computeIfAbsent(className, this::parse);
+    }
+
+    /**
+     * @param className The fully qualified (binary) name of the class to check.
+     * @param superType The fully qualified name of the super class or interface.
+     * @return True, if the class is the passed type or one of its subtypes (false if the hierarchy cannot be read).
+     */
+    public boolean isSubtypeOf(@NotNull final String className, @NotNull final String superType) {
+        final Deque<String> pending = new ArrayDeque<>(Collections.singletonList(className));
+        final Set<String> visited = new HashSet<>();
+
+        while (!pending.isEmpty()) {
+            final String current = pending.pop();
+            if (current.equals(superType)) { return true; }
+            if (!visited.add(current) || current.startsWith("java.")) { continue; }
+
+            read(current).ifPresent(classFile -> {
+                classFile.getSuperName().ifPresent(pending::push);
+                classFile.getInterfaces().forEach(pending::push);
+            });
+        }
+        return false;
+    }
+
+    /**
+     * Reads a single class file.
+     */
+    @NotNull
+    private Optional<ClassFile> parse(@NotNull final String className) {
+        final String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = ResourceUtils.openStream(classLoader, resource)) {
+            if (in == null) { return Optional.empty(); }
+
+            final ClassFileVisitor visitor = new ClassFileVisitor();
+            new ClassReader(in).accept(visitor, PARSING_OPTIONS);
+            return Optional.of(visitor.result);
+        } catch (IOException | RuntimeException e) {
+            throw new JniBridgeException(String.format("Unable to read class file of '%s'", className), e);
+        }
+    }
+
+    /**
+     * @param internalName An internal name, e.g. {@code com/example/Outer$Inner}.
+     * @return The binary name, e.g. {@code com.example.Outer$Inner}.
+     */
+    private static String toBinaryName(@NotNull final String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * Metadata of a class, as declared in its class file.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class ClassFile {
+
+        // @formatter:off
+        @NotNull private final String name;
+        private final int access;
+        @Nullable private final String superClassName;
+        @NotNull private final List<String> interfaces;
+        @NotNull private final Map<String, Map<String, Object>> annotations = new HashMap<>(); // <- descriptor -> values
+        @NotNull private final List<MethodFile> methods = new ArrayList<>(); // <- excluding constructors and initializers
+        private boolean anonymous;
+        // @formatter:on
+
+        /**
+         * @return The binary name of the super class (empty for {@link Object} and interfaces without one).
+         */
+        @NotNull
+        public Optional<String> getSuperName() { return Optional.ofNullable(superClassName); }
+
+        /**
+         * @return True, if the class is synthetic.
+         */
+        public boolean isSynthetic() { return (access & Opcodes.ACC_SYNTHETIC) != 0; }
+
+        /**
+         * @param annotation The annotation type to look for (must be retained in the class file).
+         * @return The explicitly declared values of the annotation (defaults are not included), empty if the class is not annotated.
+         */
+        @NotNull
+        public Optional<Map<String, Object>> getAnnotation(@NotNull final Class<?> annotation) {
+            return Optional.ofNullable(annotations.get(Type.getDescriptor(annotation)));
+        }
+    }
+
+    /**
+     * Metadata of a method, as declared in its class file.
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class MethodFile {
+
+        // @formatter:off
+        @NotNull private final String name;
+        @NotNull private final String descriptor;
+        private final int access;
+        // @formatter:on
+
+        /**
+         * @return True, if the method is static.
+         */
+        public boolean isStatic() { return (access & Opcodes.ACC_STATIC) != 0; }
+
+        /**
+         * @return True, if the method is native.
+         */
+        public boolean isNative() { return (access & Opcodes.ACC_NATIVE) != 0; }
+
+        /**
+         * @return True, if the method is synthetic.
+         */
+        public boolean isSynthetic() { return (access & Opcodes.ACC_SYNTHETIC) != 0; }
+    }
+
+    /**
+     * Collects the {@link ClassFile} of a single class.
+     */
+    private static class ClassFileVisitor extends ClassVisitor {
+
+        private ClassFile result;
+
+        private ClassFileVisitor() { super(Opcodes.ASM9); }
+
+        @Override
+        public void visit(final int version, final int access, final String name, final String signature, final String superName, final String[] interfaces) {
+            final List<String> interfaceNames = new ArrayList<>();
+            for (final String interfaceName : interfaces) {
+                interfaceNames.add(toBinaryName(interfaceName));
+            }
+            result = new ClassFile(toBinaryName(name), access, superName == null ? null : toBinaryName(superName), interfaceNames);
+        }
+
+        @Override
+        public void visitInnerClass(final String name, final String outerName, final String innerName, final int access) {
+            // anonymous classes declare themselves as inner class without outer and inner name
+            if (toBinaryName(name).equals(result.name) && outerName == null && innerName == null) {
+                result.anonymous = true;
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            result.annotations.put(descriptor, values);
+            return new AnnotationValuesVisitor(values::put);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(final int access, final String name, final String descriptor, final String signature, final String[] exceptions) {
+            if (!name.equals("<init>") && !name.equals("<clinit>")) {
+                result.methods.add(new MethodFile(name, descriptor, access));
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Collects annotation values: primitives and strings as they are, classes as {@link Type}, enum constants by
+     * their name, arrays as {@link List} and nested annotations as {@link Map}.
+     */
+    private static class AnnotationValuesVisitor extends AnnotationVisitor {
+
+        private final ValueConsumer consumer;
+
+        private AnnotationValuesVisitor(@NotNull final ValueConsumer consumer) {
+            super(Opcodes.ASM9);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void visit(final String name, final Object value) { consumer.accept(name, value); }
+
+        @Override
+        public void visitEnum(final String name, final String descriptor, final String value) { consumer.accept(name, value); }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(final String name, final String descriptor) {
+            final Map<String, Object> values = new LinkedHashMap<>();
+            consumer.accept(name, values);
+            return new AnnotationValuesVisitor(values::put);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(final String name) {
+            final List<Object> values = new ArrayList<>();
+            consumer.accept(name, values);
+            return new AnnotationValuesVisitor((ignored, value) -> values.add(value));
+        }
+    }
+
+    /**
+     * Receives a single (named) annotation value.
+     */
+    @FunctionalInterface
+    private interface ValueConsumer {
+        void accept(@Nullable String name, @Nullable Object value);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jnibridge.generator.scanner;
+
+import com.jnibridge.utils.ClassHierarchy;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * The result of a {@link ClassScanner} run: the classes to map and the hierarchy index over them, built once per run.
+ */
+@Getter
+public class ClassScan {
+
+    private final List<Class<?>> classesToMap; // <- ordered by their fully qualified name
+    private final SortedSet<String> candidates; // <- all classes matching the patterns, mapped or not (see ClassScanner#rescan)
+    private final ClassHierarchy hierarchy;
+
+    /**
+     * Constructor.
+     *
+     * @param classesToMap The classes to map.
+     * @param candidates   The classes, that have been considered for mapping.
+     */
+    ClassScan(@NotNull final List<Class<?>> classesToMap, @NotNull final SortedSet<String> candidates) {
+        this.classesToMap = Collections.unmodifiableList(classesToMap);
+        this.candidates = Collections.unmodifiableSortedSet(new TreeSet<>(candidates));
+        this.hierarchy = ClassHierarchy.of(classesToMap);
+    }
+}
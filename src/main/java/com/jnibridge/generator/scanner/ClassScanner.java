@@ -8,17 +8,16 @@ import io.github.classgraph.ScanResult;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Scans provided class names or packages for classes annotated with {@link BridgeClass}.
  * <p>
  * Only classes that are either utility classes (all-static methods) or implement {@link IPointer}
- * are included for mapping.
+ * are included for mapping. All patterns are scanned in a single pass, and only classes found in the annotation
+ * index are considered. Candidates are filtered by their class files (see {@link ClassFileScanner}), so only
+ * the classes to map are loaded, and none of them is initialized.
  */
 @Getter
 public class ClassScanner {
@@ -30,38 +29,122 @@ public class ClassScanner {
      * and filtering them according to the presence of {@link BridgeClass}.
      *
      * @param classPatterns class or package patterns to scan
+     * @return The classes to map, ordered by their fully qualified name.
      * @throws IllegalArgumentException if the classPatterns are invalid.
      * @throws IllegalArgumentException if one of the classes within the pattern can not be found.
      */
     @NotNull
     public static List<Class<?>> getClassesToMap(@NotNull final String... classPatterns) {
-        try {
-            // validate class patterns
-            if (!validateClassPatterns(classPatterns)) {
-                throw new JniBridgeException("The passed class-patterns are invalid.");
+        return scan(Runtime.getRuntime().availableProcessors(), classPatterns).getClassesToMap();
+    }
+
+    /**
+     * Scans all package patterns in a single pass, using the annotation index of ClassGraph, so only classes
+     * annotated with {@link BridgeClass} are considered. Single classes are checked via their class files only,
+     * so they can be resolved by any class loader (e.g. during annotation processing).
+     *
+     * @param parallelism   The number of ClassGraph worker threads.
+     * @param classPatterns class or package patterns to scan
+     * @return The scan, holding the classes to map (ordered by their fully qualified name) and their hierarchy.
+     * @throws IllegalArgumentException if the classPatterns are invalid.
+     * @throws IllegalArgumentException if one of the classes within the pattern can not be found.
+     */
+    @NotNull
+    public static ClassScan scan(final int parallelism, @NotNull final String... classPatterns) {
+        // validate class patterns
+        if (!validateClassPatterns(classPatterns)) {
+            throw new JniBridgeException("The passed class-patterns are invalid.");
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ClassFileScanner classFiles = new ClassFileScanner(classLoader);
+
+        // split the patterns into packages and single classes
+        final List<String> packageNames = new ArrayList<>();
+        final List<String> classNames = new ArrayList<>();
+        for (final String pattern : classPatterns) {
+            if (pattern.endsWith(".*")) {
+                packageNames.add(pattern.substring(0, pattern.length() - 2));
+            } else if (classFiles.read(pattern).isPresent()) {
+                classNames.add(pattern);
+            } else {
+                throw new JniBridgeException("One of the passed classes have not been found", new ClassNotFoundException(pattern));
             }
+        }
 
-            List<Class<?>> loadedClasses = new ArrayList<>();
-            for (final String pattern : classPatterns) {
+        // collect the candidates (in canonical order, without duplicates)
+        final SortedSet<String> candidates = new TreeSet<>(classNames);
+        if (!packageNames.isEmpty()) {
+            try (ScanResult scanResult = scanClasspath(parallelism, packageNames)) {
+                scanResult.getClassesWithAnnotation(BridgeClass.class).getNames().stream()
+                        .filter(name -> isInPackage(name, packageNames, classFiles))
+                        .forEach(candidates::add);
+            }
+        }
 
-                // add all classes in package.
-                if (pattern.endsWith(".*")) {
-                    String packageName = pattern.substring(0, pattern.length() - 2);
-                    loadedClasses.addAll(scanPackage(packageName));
+        return load(candidates, classFiles, classLoader);
+    }
 
-                } else {
-                    loadedClasses.add(Class.forName(pattern));
+    /**
+     * Updates a previous scan after some class files have changed, without scanning the classpath again: only the
+     * candidates of the previous scan and the changed classes are considered. All classes to map are loaded again
+     * via the context class loader, which is expected to reload the changed classes (see {@link com.jnibridge.JNIBridgeDaemon}).
+     *
+     * @param previous       The previous scan.
+     * @param changedClasses The binary names of the classes, whose class files have been created, modified or deleted.
+     * @param classPatterns  class or package patterns to scan (the same as for the previous scan)
+     * @return The updated scan, holding the classes to map (ordered by their fully qualified name) and their hierarchy.
+     * @throws IllegalArgumentException if the classPatterns are invalid.
+     */
+    @NotNull
+    public static ClassScan rescan(@NotNull final ClassScan previous, @NotNull final Collection<String> changedClasses, @NotNull final String... classPatterns) {
+        // validate class patterns
+        if (!validateClassPatterns(classPatterns)) {
+            throw new JniBridgeException("The passed class-patterns are invalid.");
+        }
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ClassFileScanner classFiles = new ClassFileScanner(classLoader);
+
+        final List<String> packageNames = Arrays.stream(classPatterns)
+                .filter(pattern -> pattern.endsWith(".*"))
+                .map(pattern -> pattern.substring(0, pattern.length() - 2))
+                .collect(Collectors.toList());
+        final Set<String> classNames = Arrays.stream(classPatterns)
+                .filter(pattern -> !pattern.endsWith(".*"))
+                .collect(Collectors.toSet());
+
+        // deleted classes are dropped by the relevance filter (there is no class file to read)
+        final SortedSet<String> candidates = new TreeSet<>(previous.getCandidates());
+        changedClasses.stream()
+                .filter(name -> classNames.contains(name) || isInPackage(name, packageNames, classFiles))
+                .forEach(candidates::add);
+        return load(candidates, classFiles, classLoader);
+    }
+
+    /**
+     * Filters all the classes that are irrelevant for the JniBridgeTool, and loads the remaining ones (without initializing them).
+     *
+     * @param candidates  The classes to consider (in canonical order, without duplicates).
+     * @param classFiles  The class files of the scan.
+     * @param classLoader The class loader to load the classes with.
+     * @return The scan, holding the classes to map.
+     */
+    @NotNull
+    private static ClassScan load(@NotNull final SortedSet<String> candidates, @NotNull final ClassFileScanner classFiles, @NotNull final ClassLoader classLoader) {
+        try {
+            final List<Class<?>> result = new ArrayList<>();
+            for (final String candidate : candidates) {
+                if (isRelevantClass(candidate, classFiles)) {
+                    result.add(Class.forName(candidate, false, classLoader));
                 }
             }
-
-            // filter all the classes that are irrelevant for the JniBridgeTool
-            return filterRelevantClasses(loadedClasses);
-        } catch (ClassNotFoundException e) {
+            return new ClassScan(result, candidates);
+        } catch (ClassNotFoundException | LinkageError e) {
             throw new JniBridgeException("One of the passed classes have not been found", e);
         }
     }
 
-
     /**
      * Validates that the provided class patterns are not null, empty, or malformed.
      *
@@ -79,93 +162,90 @@ public class ClassScanner {
     }
 
     /**
-     * Recursively scans a package and returns all non-anonymous, non-synthetic classes within it.
+     * Runs a single ClassGraph scan over all packages (recursively). Single classes are not scanned, as their
+     * class files are read directly (see {@link ClassFileScanner}).
      *
-     * @param packageName the base package to scan
-     * @return list of matching classes
+     * @param parallelism  The number of ClassGraph worker threads.
+     * @param packageNames The packages to scan.
+     * @return The result of the scan.
      */
     @NotNull
-    private static List<Class<?>> scanPackage(String packageName) {
-        try (ScanResult scanResult = new ClassGraph().enableClassInfo().acceptPackages(packageName).scan()) {
-
-            // get all scanned classes
-            Stream<? extends Class<?>> classStream = scanResult.getAllClasses().stream()
-                    .map(classInfo -> {
-                        try {
-                            return classInfo.loadClass();
-                        } catch (Throwable ignored) {
-                            return null;
-                        }
-                    });
-
-            // filter all classes in package (recursively)
-            return classStream
-                    .filter(Objects::nonNull)
-                    .filter(clazz -> !clazz.isAnonymousClass())
-                    .filter(clazz -> !clazz.isSynthetic())
-                    .filter(clazz -> clazz.getPackage().getName().startsWith(packageName))
-                    .collect(Collectors.toList());
-
+    private static ScanResult scanClasspath(final int parallelism, @NotNull final List<String> packageNames) {
+        try {
+            return new ClassGraph()
+                    .enableClassInfo()
+                    .enableAnnotationInfo()
+                    .acceptPackages(packageNames.toArray(new String[0]))
+                    .scan(Math.max(1, parallelism));
         } catch (Exception e) {
-            throw new JniBridgeException(String.format("Unable to find classes in package '%s'", packageName), e);
+            throw new JniBridgeException(String.format("Unable to find classes in packages %s", packageNames), e);
         }
     }
 
     /**
-     * Method filters all relevant (for the jnibridge) classes to map.
+     * @param className    The class to check.
+     * @param packageNames The scanned packages.
+     * @param classFiles   The class files of the scan.
+     * @return True, if the class is a non-anonymous, non-synthetic class within one of the packages (recursively).
+     */
+    private static boolean isInPackage(@NotNull final String className, @NotNull final List<String> packageNames, @NotNull final ClassFileScanner classFiles) {
+        return packageNames.stream().anyMatch(packageName -> className.startsWith(packageName + "."))
+                && classFiles.read(className)
+                .map(classFile -> !classFile.isAnonymous() && !classFile.isSynthetic())
+                .orElse(false);
+    }
+
+    /**
+     * Method checks whether a class is relevant (for the jnibridge) to map.
      *
-     * @param classesToFilter The classes to filter.
-     * @return A List of classes, relevant for the JniBridge tool.
+     * @param className  The class to check.
+     * @param classFiles The class files of the scan.
+     * @return True, if the class is relevant for the JniBridge tool.
      */
-    @NotNull
-    private static List<Class<?>> filterRelevantClasses(@NotNull final Collection<Class<?>> classesToFilter) {
-        ArrayList<Class<?>> result = new ArrayList<>();
-
-        for (final Class<?> clazz : classesToFilter) {
-            if (!clazz.isAnnotationPresent(BridgeClass.class)) { continue; }
-
-            // handle special case - enum classes...
-            final BridgeClass bridgeClass = clazz.getAnnotation(BridgeClass.class);
-            if (bridgeClass.isEnum()) {
-                checkEnumClass(clazz);
-                result.add(clazz);
-                continue;
-            }
+    private static boolean isRelevantClass(@NotNull final String className, @NotNull final ClassFileScanner classFiles) {
+        final ClassFileScanner.ClassFile classFile = classFiles.read(className).orElse(null);
+        if (classFile == null) { return false; }
 
-            // map only classes that extend IPointer, or mapped utils classes...
-            boolean isIPointer = IPointer.class.isAssignableFrom(clazz);
-            boolean isUtilityClass = Arrays.stream(clazz.getDeclaredMethods()).allMatch(m -> Modifier.isStatic(m.getModifiers()) || m.isSynthetic());
-            boolean containsNativeMethods = Arrays.stream(clazz.getDeclaredMethods()).anyMatch(method -> Modifier.isNative(method.getModifiers()));
+        final Optional<Map<String, Object>> bridgeClass = classFile.getAnnotation(BridgeClass.class);
+        if (!bridgeClass.isPresent()) { return false; }
 
-            // implements IPointer = instance class
-            if (isIPointer || (isUtilityClass && containsNativeMethods)) {
-                result.add(clazz);
-            }
+        // handle special case - enum classes...
+        if (Boolean.TRUE.equals(bridgeClass.get().get("isEnum"))) {
+            checkEnumClass(classFile);
+            return true;
         }
-        return result;
+
+        // map only classes that extend IPointer, or mapped utils classes...
+        final List<ClassFileScanner.MethodFile> methods = classFile.getMethods();
+        boolean isIPointer = classFiles.isSubtypeOf(className, IPointer.class.getName());
+        boolean isUtilityClass = methods.stream().allMatch(m -> m.isStatic() || m.isSynthetic());
+        boolean containsNativeMethods = methods.stream().anyMatch(ClassFileScanner.MethodFile::isNative);
+
+        // implements IPointer = instance class
+        return isIPointer || (isUtilityClass && containsNativeMethods);
     }
 
     /**
      * Check whether the enum to be mapped declares the proper methods.
      *
-     * @param clazz The enum-class to check.
+     * @param classFile The enum-class to check.
      */
-    private static void checkEnumClass(Class<?> clazz) {
-        Method[] declaredMethods = clazz.getDeclaredMethods();
+    private static void checkEnumClass(@NotNull final ClassFileScanner.ClassFile classFile) {
+        final List<ClassFileScanner.MethodFile> declaredMethods = classFile.getMethods();
 
         // Check whether the enum contains a static, fromInt Method.
-        boolean fromIntMethodExists = Arrays.stream(declaredMethods)
-                .filter(method -> !Modifier.isNative(method.getModifiers()))
-                .filter(method -> Modifier.isStatic(method.getModifiers()))
+        boolean fromIntMethodExists = declaredMethods.stream()
+                .filter(method -> !method.isNative())
+                .filter(ClassFileScanner.MethodFile::isStatic)
                 .anyMatch(method -> method.getName().equals("fromInt"));
         if (!fromIntMethodExists) {
             throw new JniBridgeException("Mapped enums must declare a static,native 'fromInt' method.");
         }
 
         // Check whether the enum contains a non-static, toInt instance Method.
-        boolean toIntExists = Arrays.stream(declaredMethods)
-                .filter(method -> !Modifier.isNative(method.getModifiers()))
-                .filter(method -> !Modifier.isStatic(method.getModifiers()))
+        boolean toIntExists = declaredMethods.stream()
+                .filter(method -> !method.isNative())
+                .filter(method -> !method.isStatic())
                 .anyMatch(method -> method.getName().equals("toInt"));
         if (!toIntExists) {
             throw new JniBridgeException("Mapped enums must declare a non-static,native 'toInt' method.");
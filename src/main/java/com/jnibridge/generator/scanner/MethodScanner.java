@@ -2,13 +2,12 @@ package com.jnibridge.generator.scanner;
 
 import com.jnibridge.annotations.BridgeClass;
 import com.jnibridge.annotations.IgnoreJniBridge;
+import com.jnibridge.utils.CompareUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -30,17 +29,18 @@ public class MethodScanner {
      * </ul>
      *
      * @param clazz The class to scan.
-     * @return A set of native {@link Method} objects used in JNI bridging.
+     * @return A set of native {@link Method} objects used in JNI bridging, ordered by name and descriptor
+     * (the reflection order is unspecified and would make the generated code differ between runs).
      */
     @NotNull
-    public static Set<Method> getAllJNIBridgedMethods(@NotNull final Class<?> clazz) {
+    public static SortedSet<Method> getAllJNIBridgedMethods(@NotNull final Class<?> clazz) {
         Set<Method> result = new HashSet<>();
         result.addAll(getInheritedNativeMethods(clazz));
         result.addAll(getDeclaredNativeMethods(clazz));
 
         return result.stream()
                 .filter(method -> method.getDeclaringClass().isAnnotationPresent(BridgeClass.class))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(() -> new TreeSet<>(CompareUtils.METHOD_ORDER.thenComparing(method -> method.getDeclaringClass().getName()))));
     }
 
     /**
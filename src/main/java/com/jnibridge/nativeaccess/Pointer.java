@@ -1,5 +1,7 @@
 package com.jnibridge.nativeaccess;
 
+import com.jnibridge.nativeaccess.leak.LeakDetector;
+
 import java.io.Closeable;
 
 /**
@@ -30,7 +32,10 @@ public abstract class Pointer implements IPointer, Closeable {
 
     @Override
     @SuppressWarnings("removal")
-    protected void finalize() { destructNativeHandle(); }
+    protected void finalize() {
+        LeakDetector.reportFinalized(nativeHandle); // <- reaching this point without close() is a leak.
+        destructNativeHandle();
+    }
 
     @Override
     public void close() { destructNativeHandle(); }
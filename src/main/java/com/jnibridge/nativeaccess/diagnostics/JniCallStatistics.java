@@ -0,0 +1,52 @@
+package com.jnibridge.nativeaccess.diagnostics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.SortedMap;
+
+/**
+ * JNI call counts of a generated function (see {@link JniDiagnostics}), either of a single invocation
+ * ({@link JniDiagnostics#getLastCall()}) or aggregated over all invocations ({@link JniDiagnostics#getStatistics(String)}).
+ * <p>
+ * Counts are keyed by the name of the {@code JNIEnv} function, variadic functions are counted as their {@code V}
+ * variant (e.g. {@code CallLongMethod} as {@code CallLongMethodV}).
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor
+public class JniCallStatistics {
+
+    // @formatter:off
+    @NotNull private final String function;                // <- e.g. com.example.Type.method
+    private final long invocations;
+    private final long maxJniCalls;                        // <- counted JNI calls of the most expensive invocation
+    private final long localRefHighWater;                  // <- maximum of the live local references, created by an invocation
+    @NotNull private final SortedMap<String, Long> counts; // <- JNIEnv function -> calls (of all invocations), without zeros
+    // @formatter:on
+
+    /**
+     * @param jniFunction The name of a {@code JNIEnv} function, e.g. {@code FindClass}.
+     * @return The number of calls of the function (of all invocations).
+     */
+    public long getCount(@NotNull final String jniFunction) { return counts.getOrDefault(jniFunction, 0L); }
+
+    /**
+     * @return The number of counted JNI calls (of all invocations).
+     */
+    public long getJniCalls() { return counts.values().stream().mapToLong(Long::longValue).sum(); }
+
+    /**
+     * @return The counts, keyed by the name of the {@code JNIEnv} function.
+     */
+    @NotNull
+    public SortedMap<String, Long> getCounts() { return Collections.unmodifiableSortedMap(counts); }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d invocation(s), max. %d JNI call(s), local reference high-water mark %d, %s",
+                function, invocations, maxJniCalls, localRefHighWater, counts);
+    }
+}
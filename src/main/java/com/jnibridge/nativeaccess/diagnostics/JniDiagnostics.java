@@ -0,0 +1,137 @@
+package com.jnibridge.nativeaccess.diagnostics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Java-side view on the JNI call counting of the diagnostics profile
+ * (see {@link com.jnibridge.generator.GenerationProfile#DIAGNOSTICS}).
+ * <p>
+ * The counting itself happens in the generated functions, if the native library has been generated with the
+ * diagnostics profile (i.e. compiled with {@code JNIBRIDGE_DIAGNOSTICS}). Otherwise (or before the native library
+ * has been loaded) diagnostics are reported as disabled and no statistics are available.
+ * </p>
+ * <p>
+ * Generated functions are identified by their Java method (e.g. {@code com.example.Point.getX}), overloads share
+ * their statistics.
+ * </p>
+ *
+ * <p><b>Usage (e.g. in a regression test):</b>
+ * <pre>{@code
+ * point.getX();
+ * assertTrue(JniDiagnostics.getLastCall().getJniCalls() <= 2);
+ * }</pre>
+ */
+public final class JniDiagnostics {
+
+    private static volatile String[] jniFunctions; // <- names of the counted JNIEnv functions, in native order
+
+    /**
+     * Constructor.
+     */
+    private JniDiagnostics() { }
+
+    /**
+     * @return True, if the loaded native library counts JNI calls.
+     */
+    public static boolean isEnabled() {
+        try {
+            return isNativeDiagnosticsEnabled();
+        } catch (UnsatisfiedLinkError ignored) {
+            return false; // <- native library has not been loaded (yet).
+        }
+    }
+
+    /**
+     * Discards all statistics (and the last call of the current thread).
+     */
+    public static void reset() {
+        try {
+            resetNative();
+        } catch (UnsatisfiedLinkError ignored) {
+            // <- native library has not been loaded (yet), there is nothing to reset.
+        }
+    }
+
+    /**
+     * @return The counts of the last generated function, that completed on the current thread, null if there is none.
+     */
+    @Nullable
+    public static JniCallStatistics getLastCall() {
+        try {
+            final String function = getNativeLastCallFunction();
+            return function == null ? null : toStatistics(function, getNativeLastCallStatistics());
+        } catch (UnsatisfiedLinkError ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * @param function The Java method of a generated function, e.g. {@code com.example.Point.getX}.
+     * @return The aggregated counts of all invocations of the function, null if it has not been invoked.
+     */
+    @Nullable
+    public static JniCallStatistics getStatistics(@NotNull final String function) {
+        try {
+            return toStatistics(function, getNativeStatistics(function));
+        } catch (UnsatisfiedLinkError ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * @return The aggregated counts of every generated function, that has been invoked (ordered by function).
+     */
+    @NotNull
+    public static JniCallStatistics[] getAllStatistics() {
+        final String[] functions;
+        try {
+            functions = getNativeFunctions();
+        } catch (UnsatisfiedLinkError ignored) {
+            return new JniCallStatistics[0];
+        }
+
+        return Arrays.stream(functions)
+                .map(JniDiagnostics::getStatistics)
+                .filter(Objects::nonNull)
+                .toArray(JniCallStatistics[]::new);
+    }
+
+    /**
+     * @param function   The Java method of the generated function.
+     * @param statistics The native statistics: {invocations, maxJniCalls, localRefHighWater, counts...}.
+     * @return The statistics, null if there are none.
+     */
+    @Nullable
+    private static JniCallStatistics toStatistics(@NotNull final String function, @Nullable final long[] statistics) {
+        if (statistics == null) { return null; }
+
+        final String[] names = getJniFunctions();
+        final SortedMap<String, Long> counts = new TreeMap<>();
+        for (int i = 0; i < names.length && i + 3 < statistics.length; i++) {
+            if (statistics[i + 3] != 0) { counts.put(names[i], statistics[i + 3]); }
+        }
+        return new JniCallStatistics(function, statistics[0], statistics[1], statistics[2], counts);
+    }
+
+    @NotNull
+    private static String[] getJniFunctions() {
+        String[] result = jniFunctions;
+        if (result == null) { jniFunctions = result = getNativeJniFunctions(); }
+        return result;
+    }
+
+    // implemented in the generated 'internal/JniBridgeDiagnostics.jni.cpp'
+    private static native boolean isNativeDiagnosticsEnabled();
+    private static native String[] getNativeJniFunctions();
+    private static native String[] getNativeFunctions();
+    private static native long[] getNativeStatistics(String function);
+    private static native String getNativeLastCallFunction();
+    private static native long[] getNativeLastCallStatistics();
+    private static native void resetNative();
+}
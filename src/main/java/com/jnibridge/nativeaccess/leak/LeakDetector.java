@@ -0,0 +1,213 @@
+package com.jnibridge.nativeaccess.leak;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Detects bridged objects, that become unreachable without having been closed
+ * (i.e. without their {@link com.jnibridge.annotations.lifecycle.Deallocate} function having been invoked).
+ * <p>
+ * Every wrapper, that receives a native handle from the generated JNI-code, may be tracked by a phantom reference,
+ * which records the stack trace of its allocation. Deallocating the object stops the tracking. If a tracked object
+ * gets collected while still being tracked, a leak report (containing the allocation stack trace) is emitted.
+ *
+ * <p><b>Levels:</b>
+ * <ul>
+ *     <li>{@link Mode#OFF} - nothing is tracked (default).</li>
+ *     <li>{@link Mode#SAMPLED} - about one out of {@link #getSamplingInterval()} objects is tracked.
+ *     Cheap enough to stay enabled in canary deployments.</li>
+ *     <li>{@link Mode#PARANOID} - every object is tracked.</li>
+ * </ul>
+ *
+ * <p><b>Configuration (system properties):</b>
+ * <ul>
+ *     <li>{@value #MODE_PROPERTY} - one of {@code off}, {@code sampled}, {@code paranoid}.</li>
+ *     <li>{@value #SAMPLING_INTERVAL_PROPERTY} - the sampling interval (default: {@value #DEFAULT_SAMPLING_INTERVAL}).</li>
+ * </ul>
+ */
+@SuppressWarnings("unused") // track/untrack are invoked from the generated JNI-code
+public class LeakDetector {
+
+    public static final String MODE_PROPERTY = "jnibridge.leakDetection.mode";
+    public static final String SAMPLING_INTERVAL_PROPERTY = "jnibridge.leakDetection.samplingInterval";
+
+    public static final int DEFAULT_SAMPLING_INTERVAL = 128;
+
+    /**
+     * Leak detection levels.
+     */
+    public enum Mode { OFF, SAMPLED, PARANOID }
+
+    private static final Logger LOGGER = Logger.getLogger(LeakDetector.class.getName());
+
+    // read by the native side, before calling track (avoids the upcall if leak detection is disabled).
+    private static volatile boolean enabled;
+
+    // read by the native side, before calling untrack (avoids the upcall on every deallocation, if nothing has ever been tracked).
+    private static volatile boolean tracked;
+
+    private static volatile Mode mode = Mode.OFF;
+    private static volatile int samplingInterval = Integer.getInteger(SAMPLING_INTERVAL_PROPERTY, DEFAULT_SAMPLING_INTERVAL);
+    private static volatile Consumer<String> reporter = report -> LOGGER.log(Level.SEVERE, report);
+
+    private static final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
+    private static final Map<Long, LeakTracker> trackers = new ConcurrentHashMap<>();
+    private static final AtomicLong leakCount = new AtomicLong();
+
+    static {
+        setMode(Mode.valueOf(System.getProperty(MODE_PROPERTY, Mode.OFF.name()).toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Constructor.
+     */
+    private LeakDetector() { }
+
+    /**
+     * @return The current leak detection level.
+     */
+    @NotNull
+    public static Mode getMode() { return mode; }
+
+    /**
+     * @param mode The new leak detection level (objects, that are already tracked, remain tracked).
+     */
+    public static void setMode(@NotNull final Mode mode) {
+        LeakDetector.mode = mode;
+        LeakDetector.enabled = mode != Mode.OFF;
+    }
+
+    /**
+     * @return One out of {@code samplingInterval} objects is tracked in {@link Mode#SAMPLED}.
+     */
+    public static int getSamplingInterval() { return samplingInterval; }
+
+    /**
+     * @param samplingInterval One out of {@code samplingInterval} objects is tracked in {@link Mode#SAMPLED}.
+     */
+    public static void setSamplingInterval(final int samplingInterval) { LeakDetector.samplingInterval = Math.max(1, samplingInterval); }
+
+    /**
+     * @param reporter Receives the leak reports (logs them as {@code SEVERE} by default).
+     */
+    public static void setReporter(@NotNull final Consumer<String> reporter) { LeakDetector.reporter = reporter; }
+
+    /**
+     * @return The number of leaks, that have been reported so far.
+     */
+    public static long getLeakCount() { return leakCount.get(); }
+
+    /**
+     * Reports all tracked objects, that have been collected without having been closed.
+     * <p>
+     * Invoked implicitly whenever a new object gets tracked.
+     */
+    public static void reportLeaks() {
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            final LeakTracker tracker = (LeakTracker) reference;
+
+            // the object has been closed in the meantime...
+            if (!trackers.remove(tracker.nativeHandle, tracker)) { continue; }
+
+            leakCount.incrementAndGet();
+            reporter.accept(tracker.toReport());
+        }
+    }
+
+    /**
+     * Starts tracking a bridged object, that just received a native handle.
+     *
+     * @param object       The bridged object.
+     * @param nativeHandle The native handle of the bridged object.
+     */
+    static void track(@NotNull final Object object, final long nativeHandle) {
+        if (!shouldTrack()) { return; }
+        reportLeaks();
+
+        tracked = true;
+        trackers.put(nativeHandle, new LeakTracker(object, nativeHandle));
+    }
+
+    /**
+     * Stops tracking a bridged object, since its native handle is about to be destroyed.
+     *
+     * @param nativeHandle The native handle of the bridged object.
+     */
+    static void untrack(final long nativeHandle) {
+        final LeakTracker tracker = trackers.remove(nativeHandle);
+        if (tracker != null) { tracker.clear(); }
+    }
+
+    /**
+     * Reports a tracked object, that is being finalized without having been closed.
+     * <p>
+     * Finalizable wrappers (see {@link com.jnibridge.nativeaccess.Pointer}) release their native handle on finalization,
+     * which would otherwise stop the tracking before the phantom reference gets enqueued.
+     *
+     * @param nativeHandle The native handle of the finalized object.
+     */
+    public static void reportFinalized(final long nativeHandle) {
+        final LeakTracker tracker = trackers.remove(nativeHandle);
+        if (tracker == null) { return; }
+
+        tracker.clear();
+        leakCount.incrementAndGet();
+        reporter.accept(tracker.toReport());
+    }
+
+    /**
+     * @return True if the next object shall be tracked.
+     */
+    private static boolean shouldTrack() {
+        switch (mode) {
+            case PARANOID:
+                return true;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextInt(samplingInterval) == 0;
+            case OFF:
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Phantom reference to a tracked object, recording the stack trace of its allocation.
+     */
+    private static class LeakTracker extends PhantomReference<Object> {
+
+        private final long nativeHandle;
+        private final String className;
+        private final Throwable allocation;
+
+        LeakTracker(@NotNull final Object object, final long nativeHandle) {
+            super(object, referenceQueue);
+            this.nativeHandle = nativeHandle;
+            this.className = object.getClass().getName();
+            this.allocation = new Throwable("Allocation of " + className);
+        }
+
+        /**
+         * @return A human-readable leak report.
+         */
+        String toReport() {
+            final StringWriter stackTrace = new StringWriter();
+            allocation.printStackTrace(new PrintWriter(stackTrace));
+            return String.format("LEAK: '%s' has been garbage-collected without being closed. Native handle: 0x%x.%n%s",
+                    className, nativeHandle, stackTrace);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.jnibridge.nativeaccess.memory;
+
+import com.jnibridge.exception.JniBridgeException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Java-side view on the native memory accounting of all bridged classes.
+ * <p>
+ * The accounting itself happens in the constructors/destructors of {@code jnibridge::internal::Handle},
+ * if the native library has been compiled with {@code JNIBRIDGE_MEMORY_ACCOUNTING}. Without that definition
+ * (or before the native library has been loaded) all values are reported as zero.
+ *
+ * <p><b>Usage:</b>
+ * <pre>{@code
+ * System.load("libMyBindings.so");
+ * JniBridgeMemory.register();
+ * }</pre>
+ */
+public class JniBridgeMemory implements JniBridgeMemoryMXBean {
+
+    public static final String OBJECT_NAME = "com.jnibridge:type=NativeMemory";
+
+    private static final JniBridgeMemory INSTANCE = new JniBridgeMemory();
+
+    /**
+     * Constructor.
+     */
+    private JniBridgeMemory() { }
+
+    /**
+     * @return The singleton instance of the memory accounting view.
+     */
+    @NotNull
+    public static JniBridgeMemoryMXBean getInstance() { return INSTANCE; }
+
+    /**
+     * Registers the {@link JniBridgeMemoryMXBean} at the platform MBeanServer (does nothing if already registered).
+     *
+     * @throws JniBridgeException if the MXBean cannot be registered.
+     */
+    public static synchronized void register() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) { server.registerMBean(INSTANCE, name); }
+        } catch (JMException e) {
+            throw new JniBridgeException("Unable to register the JNIBridge memory MXBean", e);
+        }
+    }
+
+    /**
+     * Unregisters the {@link JniBridgeMemoryMXBean} from the platform MBeanServer (does nothing if not registered).
+     *
+     * @throws JniBridgeException if the MXBean cannot be unregistered.
+     */
+    public static synchronized void unregister() {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) { server.unregisterMBean(name); }
+        } catch (JMException e) {
+            throw new JniBridgeException("Unable to unregister the JNIBridge memory MXBean", e);
+        }
+    }
+
+    @Override
+    public boolean isAccountingEnabled() {
+        try {
+            return isNativeAccountingEnabled();
+        } catch (UnsatisfiedLinkError ignored) {
+            return false; // <- native library has not been loaded (yet).
+        }
+    }
+
+    @Override
+    public long getLiveHandles() {
+        return Arrays.stream(getUsages()).mapToLong(NativeMemoryUsage::getLiveHandles).sum();
+    }
+
+    @Override
+    public long getLiveBytes() {
+        return Arrays.stream(getUsages()).mapToLong(NativeMemoryUsage::getLiveBytes).sum();
+    }
+
+    @Override
+    public long getReservedBytes() { return NativeMemoryAccountant.getReservedBytes(); }
+
+    @Override
+    public long getSoftLimit() { return NativeMemoryAccountant.getSoftLimit(); }
+
+    @Override
+    public void setSoftLimit(final long softLimit) { NativeMemoryAccountant.setSoftLimit(softLimit); }
+
+    @Override
+    public long getLimitExceededCount() { return NativeMemoryAccountant.getLimitExceededCount(); }
+
+    @Override
+    public NativeMemoryUsage[] getUsages() {
+        final String[] trackedClasses;
+        try {
+            trackedClasses = getNativeTrackedClasses();
+        } catch (UnsatisfiedLinkError ignored) {
+            return new NativeMemoryUsage[0];
+        }
+
+        return Arrays.stream(trackedClasses)
+                .map(this::getUsage)
+                .filter(Objects::nonNull)
+                .toArray(NativeMemoryUsage[]::new);
+    }
+
+    @Override
+    @Nullable
+    public NativeMemoryUsage getUsage(final String className) {
+        final long[] statistics;
+        try {
+            statistics = getNativeStatistics(className);
+        } catch (UnsatisfiedLinkError ignored) {
+            return null;
+        }
+
+        if (statistics == null) { return null; }
+        return new NativeMemoryUsage(className, statistics[0], statistics[1], statistics[2], statistics[3]);
+    }
+
+    // implemented in the generated 'internal/JniBridgeMemory.jni.cpp'
+    private static native boolean isNativeAccountingEnabled();
+    private static native String[] getNativeTrackedClasses();
+    private static native long[] getNativeStatistics(String className);
+}
@@ -0,0 +1,56 @@
+package com.jnibridge.nativeaccess.memory;
+
+/**
+ * Management interface exposing the native memory held by JNIBridge handles.
+ * <p>
+ * Registered under {@value JniBridgeMemory#OBJECT_NAME} via {@link JniBridgeMemory#register()}.
+ */
+@SuppressWarnings("unused") // accessed via JMX
+public interface JniBridgeMemoryMXBean {
+
+    /**
+     * @return True if the native library has been compiled with {@code JNIBRIDGE_MEMORY_ACCOUNTING}.
+     */
+    boolean isAccountingEnabled();
+
+    /**
+     * @return The number of handles, that are currently alive (across all bridged classes).
+     */
+    long getLiveHandles();
+
+    /**
+     * @return The estimated number of bytes, currently held by live handles (across all bridged classes).
+     */
+    long getLiveBytes();
+
+    /**
+     * @return The native bytes, currently reserved at the {@link NativeMemoryAccountant} (only while a soft limit is configured).
+     */
+    long getReservedBytes();
+
+    /**
+     * @return The soft limit of the {@link NativeMemoryAccountant} in bytes.
+     */
+    long getSoftLimit();
+
+    /**
+     * @param softLimit The soft limit of the {@link NativeMemoryAccountant} in bytes (a non-positive value removes the limit).
+     */
+    void setSoftLimit(long softLimit);
+
+    /**
+     * @return The number of reservations, that have been granted although the soft limit has been exceeded.
+     */
+    long getLimitExceededCount();
+
+    /**
+     * @return The memory usage of every bridged class.
+     */
+    NativeMemoryUsage[] getUsages();
+
+    /**
+     * @param className The fully qualified name of the bridged class.
+     * @return The memory usage of the passed class, or null if the class is not bridged.
+     */
+    NativeMemoryUsage getUsage(String className);
+}
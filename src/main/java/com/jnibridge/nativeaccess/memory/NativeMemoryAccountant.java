@@ -0,0 +1,236 @@
+package com.jnibridge.nativeaccess.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Java-side accountant for native memory, owned by bridged objects.
+ * <p>
+ * A bridged wrapper occupies a few bytes of Java heap, but may own a lot of native memory. The GC does not
+ * know about the latter, so unreachable wrappers may pile up before any collection reclaims them.
+ * The generated allocation functions therefore report the (declared or measured) native size of every
+ * allocated instance via {@link #reserve(long)}, and the deallocation functions return it via {@link #release(long)}.
+ * Allocations are only reported while a soft limit is configured (no upcall per allocation otherwise), so instances
+ * allocated before the limit has been set are not counted.
+ * <p>
+ * If a soft limit is configured and a reservation would exceed it, the accountant (similar in spirit to
+ * {@code java.nio.Bits.reserveMemory}) hints the GC, waits for pending finalization/cleaner processing and
+ * retries with an exponential backoff. Only one thread triggers a GC cycle at a time, the other threads wait for the
+ * end of that cycle (without holding any lock) and retry once. The trigger stops waiting as soon as the cycle does not
+ * release any more memory; after a cycle, that has released nothing, no new cycle is triggered until the reservations
+ * have grown by another eighth (of the soft limit or of the reservations at the end of that cycle, whichever is
+ * larger). If the reservation still exceeds the limit, it is granted anyway
+ * (the limit is soft) and counted in {@link #getLimitExceededCount()}.
+ *
+ * <p><b>Configuration (system properties):</b>
+ * <ul>
+ *     <li>{@value #SOFT_LIMIT_PROPERTY} - the soft limit in bytes (default: no limit).</li>
+ *     <li>{@value #MAX_WAIT_PROPERTY} - the maximum time in milliseconds an allocation is held back (default: {@value #DEFAULT_MAX_WAIT_MILLIS}).</li>
+ * </ul>
+ */
+@SuppressWarnings("unused") // reserve/release are invoked from the generated JNI-code
+public class NativeMemoryAccountant {
+
+    public static final String SOFT_LIMIT_PROPERTY = "jnibridge.memory.softLimit";
+    public static final String MAX_WAIT_PROPERTY = "jnibridge.memory.maxWaitMillis";
+
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 100;
+
+    private static final AtomicLong reservedBytes = new AtomicLong();
+    private static final AtomicLong releasedBytes = new AtomicLong(); // <- monotonic, measures the progress of a GC cycle
+    private static final AtomicLong limitExceededCount = new AtomicLong();
+
+    private static volatile long softLimit = Long.getLong(SOFT_LIMIT_PROPERTY, NO_LIMIT); // <- read by the generated JNI-code
+    private static volatile long maxWaitMillis = Long.getLong(MAX_WAIT_PROPERTY, DEFAULT_MAX_WAIT_MILLIS);
+
+    // only one thread at a time triggers the GC, the others wait for the end of its cycle...
+    private static final Object backPressureLock = new Object();
+    private static long gcCycle = 0; // guarded by backPressureLock
+    private static boolean gcInProgress = false; // guarded by backPressureLock
+    private static long futileCycleReservedBytes = -1; // guarded by backPressureLock, -1 if the last cycle released memory
+
+    /**
+     * Constructor.
+     */
+    private NativeMemoryAccountant() { }
+
+    /**
+     * Reserves native memory for a newly allocated instance.
+     * <p>
+     * Blocks the calling thread (for at most {@link #getMaxWaitMillis()}) if the soft limit is exceeded.
+     *
+     * @param bytes The estimated native size of the allocated instance.
+     */
+    public static void reserve(final long bytes) {
+        if (bytes <= 0) { return; }
+        if (tryReserve(bytes)) { return; }
+
+        applyBackPressure(bytes);
+    }
+
+    /**
+     * Releases native memory of a deallocated instance.
+     *
+     * @param bytes The bytes, that have previously been reserved for the instance.
+     */
+    public static void release(final long bytes) {
+        if (bytes <= 0) { return; }
+        reservedBytes.addAndGet(-bytes);
+        releasedBytes.addAndGet(bytes);
+    }
+
+    /**
+     * @return The native bytes, that are currently reserved by live instances (allocated while a soft limit has been configured).
+     */
+    public static long getReservedBytes() { return reservedBytes.get(); }
+
+    /**
+     * @return The number of reservations, that have been granted although the soft limit has been exceeded.
+     */
+    public static long getLimitExceededCount() { return limitExceededCount.get(); }
+
+    /**
+     * @return The soft limit in bytes ({@link #NO_LIMIT} if not limited).
+     */
+    public static long getSoftLimit() { return softLimit; }
+
+    /**
+     * @param softLimit The soft limit in bytes (a non-positive value removes the limit).
+     */
+    public static void setSoftLimit(final long softLimit) {
+        NativeMemoryAccountant.softLimit = softLimit > 0 ? softLimit : NO_LIMIT;
+        synchronized (backPressureLock) { futileCycleReservedBytes = -1; }
+    }
+
+    /**
+     * @return The maximum time in milliseconds, an allocation is held back once the soft limit is exceeded.
+     */
+    public static long getMaxWaitMillis() { return maxWaitMillis; }
+
+    /**
+     * @param maxWaitMillis The maximum time in milliseconds, an allocation is held back once the soft limit is exceeded.
+     */
+    public static void setMaxWaitMillis(final long maxWaitMillis) { NativeMemoryAccountant.maxWaitMillis = Math.max(0, maxWaitMillis); }
+
+    /**
+     * @param bytes The bytes to reserve.
+     * @return True if the bytes have been reserved without exceeding the soft limit.
+     */
+    private static boolean tryReserve(final long bytes) {
+        final long limit = softLimit;
+        long current;
+        do {
+            current = reservedBytes.get();
+            if (limit != NO_LIMIT && current + bytes > limit) { return false; }
+        } while (!reservedBytes.compareAndSet(current, current + bytes));
+        return true;
+    }
+
+    /**
+     * Gives the GC a chance to reclaim unreachable wrappers (and thereby their native memory), before granting the reservation.
+     *
+     * @param bytes The bytes to reserve.
+     */
+    private static void applyBackPressure(final long bytes) {
+        final long deadline = System.nanoTime() + maxWaitMillis * 1_000_000L;
+        final long cycle;
+        final boolean trigger;
+        synchronized (backPressureLock) {
+            // another thread might have freed enough memory in the meantime...
+            if (tryReserve(bytes)) { return; }
+
+            // the last cycle has released nothing -> do not collect again, until there is more to reclaim.
+            if (!gcInProgress && futileCycleReservedBytes >= 0 && reservedBytes.get() - futileCycleReservedBytes < Math.max(softLimit, futileCycleReservedBytes) / 8) {
+                grant(bytes);
+                return;
+            }
+
+            cycle = gcCycle;
+            trigger = !gcInProgress;
+            gcInProgress = true;
+        }
+
+        if (trigger) { collect(bytes, deadline); }
+        else { awaitCycle(cycle, deadline); }
+
+        if (!tryReserve(bytes)) {
+            // soft limit -> grant the reservation anyway.
+            grant(bytes);
+        }
+    }
+
+    /**
+     * Runs a GC cycle and waits (with an exponential backoff) as long as finalization/cleaner processing releases
+     * memory. Called without holding the lock.
+     *
+     * @param bytes    The bytes to reserve.
+     * @param deadline The deadline of the wait (see {@link System#nanoTime()}).
+     */
+    @SuppressWarnings("removal")
+    private static void collect(final long bytes, final long deadline) {
+        final long releasedBefore = releasedBytes.get();
+        try {
+            System.gc();
+            System.runFinalization(); // <- Pointer releases its native handle on finalization.
+
+            long released = releasedBytes.get();
+            long sleepMillis = 1;
+            while (reservedBytes.get() + bytes > softLimit) {
+                final long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) { break; }
+
+                try {
+                    Thread.sleep(Math.min(sleepMillis, remainingMillis));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                // nothing has been released since the last check -> the cycle is done.
+                final long releasedNow = releasedBytes.get();
+                if (releasedNow == released) { break; }
+                released = releasedNow;
+                sleepMillis <<= 1;
+            }
+        } finally {
+            synchronized (backPressureLock) {
+                futileCycleReservedBytes = releasedBytes.get() == releasedBefore ? reservedBytes.get() : -1;
+                gcInProgress = false;
+                gcCycle++;
+                backPressureLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits for the end of the GC cycle, triggered by another thread (the lock is released while waiting).
+     *
+     * @param cycle    The running cycle.
+     * @param deadline The deadline of the wait (see {@link System#nanoTime()}).
+     */
+    private static void awaitCycle(final long cycle, final long deadline) {
+        synchronized (backPressureLock) {
+            while (gcCycle == cycle) {
+                final long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+                if (remainingMillis <= 0) { return; }
+
+                try {
+                    backPressureLock.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Grants a reservation, that exceeds the soft limit.
+     *
+     * @param bytes The bytes to reserve.
+     */
+    private static void grant(final long bytes) {
+        reservedBytes.addAndGet(bytes);
+        limitExceededCount.incrementAndGet();
+    }
+}
@@ -0,0 +1,34 @@
+package com.jnibridge.nativeaccess.memory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Snapshot of the native memory, held by the handles of a single bridged class.
+ * <p>
+ * Byte values are estimates, computed on the native side via {@code jnibridge::internal::NativeSizeEstimator}
+ * (defaults to {@code sizeof(T)}). Borrowed instances ({@code @Ref}, {@code @Ptr}) are counted as handles,
+ * but do not account for any bytes.
+ */
+@Getter
+@RequiredArgsConstructor
+public class NativeMemoryUsage {
+
+    // @formatter:off
+    private final String className;
+    private final long allocations;    // <- handles created
+    private final long frees;          // <- handles destroyed
+    private final long allocatedBytes; // <- estimated bytes of all created handles
+    private final long freedBytes;     // <- estimated bytes of all destroyed handles
+    // @formatter:on
+
+    /**
+     * @return The number of handles, that are currently alive.
+     */
+    public long getLiveHandles() { return allocations - frees; }
+
+    /**
+     * @return The estimated number of bytes, currently held by live handles.
+     */
+    public long getLiveBytes() { return allocatedBytes - freedBytes; }
+}
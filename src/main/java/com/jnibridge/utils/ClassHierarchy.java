@@ -0,0 +1,131 @@
+package com.jnibridge.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Immutable index over the type hierarchy of a set of classes, built once (e.g. per generation run).
+ * <p>
+ * For every indexed class, the index stores its nearest indexed supertypes (parents), its nearest indexed subtypes
+ * (children) and its depth (the length of its superclass chain, see {@link CompareUtils#depth(Class)}). Related
+ * classes are found by walking the adjacency lists instead of testing every pair of classes.
+ * </p>
+ */
+public final class ClassHierarchy {
+
+    private final Set<Class<?>> classes;
+    private final Map<Class<?>, Set<Class<?>>> parents = new HashMap<>();
+    private final Map<Class<?>, Set<Class<?>>> children = new HashMap<>();
+    private final Map<Class<?>, Integer> depths = new HashMap<>();
+
+    // Private constructor, instances are built via of()
+    private ClassHierarchy(@NotNull final Collection<? extends Class<?>> classes) {
+        this.classes = Collections.unmodifiableSet(new HashSet<>(classes));
+
+        for (final Class<?> clazz : this.classes) {
+            children.putIfAbsent(clazz, new HashSet<>());
+            final Set<Class<?>> nearestSupertypes = findNearestSupertypes(clazz);
+            parents.put(clazz, nearestSupertypes);
+            for (final Class<?> parent : nearestSupertypes) {
+                children.computeIfAbsent(parent, key -> new HashSet<>()).add(clazz);
+            }
+            computeDepth(clazz);
+        }
+    }
+
+    /**
+     * @param classes The classes to index.
+     * @return The hierarchy index of the passed classes.
+     */
+    @NotNull
+    public static ClassHierarchy of(@NotNull final Collection<? extends Class<?>> classes) {
+        return new ClassHierarchy(classes);
+    }
+
+    /**
+     * @param clazz An indexed class.
+     * @return All other indexed classes, which are super- or subtypes of the passed class (empty if it is not indexed).
+     */
+    @NotNull
+    public Set<Class<?>> getRelatedClasses(@NotNull final Class<?> clazz) {
+        final Set<Class<?>> result = new HashSet<>();
+        collect(clazz, parents, result);
+        collect(clazz, children, result);
+        result.remove(clazz);
+        return result;
+    }
+
+    /**
+     * @param clazz Any class.
+     * @return The length of the superclass chain of the class (including itself), precomputed for indexed classes.
+     */
+    public int getDepth(@NotNull final Class<?> clazz) {
+        final Integer depth = depths.get(clazz);
+        return depth != null ? depth : CompareUtils.depth(clazz);
+    }
+
+    /**
+     * @return Orders classes by their depth (deepest, i.e. most derived, first), then by their fully qualified name.
+     */
+    @NotNull
+    public Comparator<Class<?>> deepestFirst() {
+        return Comparator.<Class<?>>comparingInt(this::getDepth).reversed().thenComparing(Class::getName);
+    }
+
+    /**
+     * Walks the supertypes of a class, stopping at indexed classes.
+     */
+    @NotNull
+    private Set<Class<?>> findNearestSupertypes(@NotNull final Class<?> clazz) {
+        final Set<Class<?>> result = new HashSet<>();
+        final Set<Class<?>> visited = new HashSet<>();
+        final Deque<Class<?>> pending = new ArrayDeque<>(directSupertypes(clazz));
+
+        while (!pending.isEmpty()) {
+            final Class<?> current = pending.pop();
+            if (!visited.add(current)) { continue; }
+
+            if (classes.contains(current)) {
+                result.add(current);
+            } else {
+                pending.addAll(directSupertypes(current));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the depth of a class, reusing the depths of the superclass chain computed so far.
+     */
+    private int computeDepth(@NotNull final Class<?> clazz) {
+        final Deque<Class<?>> chain = new ArrayDeque<>();
+        Class<?> current = clazz;
+        while (current != null && !depths.containsKey(current)) {
+            chain.push(current);
+            current = current.getSuperclass();
+        }
+
+        int depth = current == null ? 0 : depths.get(current);
+        while (!chain.isEmpty()) {
+            depths.put(chain.pop(), ++depth);
+        }
+        return depth;
+    }
+
+    private static List<Class<?>> directSupertypes(@NotNull final Class<?> clazz) {
+        final List<Class<?>> result = new ArrayList<>(Arrays.asList(clazz.getInterfaces()));
+        if (clazz.getSuperclass() != null) { result.add(clazz.getSuperclass()); }
+        return result;
+    }
+
+    private static void collect(@NotNull final Class<?> start, @NotNull final Map<Class<?>, Set<Class<?>>> edges, @NotNull final Set<Class<?>> result) {
+        final Deque<Class<?>> pending = new ArrayDeque<>(edges.getOrDefault(start, Collections.emptySet()));
+        while (!pending.isEmpty()) {
+            final Class<?> current = pending.pop();
+            if (result.add(current)) {
+                pending.addAll(edges.getOrDefault(current, Collections.emptySet()));
+            }
+        }
+    }
+}
@@ -1,7 +1,24 @@
 package com.jnibridge.utils;
 
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+
 public class CompareUtils {
 
+    /**
+     * Canonical order of methods: by name, then by JVM descriptor (e.g. {@code (ILjava/lang/String;)V}).
+     */
+    public static final Comparator<Method> METHOD_ORDER = Comparator
+            .comparing(Method::getName)
+            .thenComparing(method -> Type.getMethodDescriptor(method));
+
+    /**
+     * Canonical order of classes: by their fully qualified name.
+     */
+    public static final Comparator<Class<?>> CLASS_ORDER = Comparator.comparing(Class::getName);
+
     public static int depth(Class<?> c) {
         int d = 0;
         for (Class<?> cur = c; cur != null; cur = cur.getSuperclass()) d++;
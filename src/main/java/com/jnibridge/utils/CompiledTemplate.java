@@ -0,0 +1,257 @@
+package com.jnibridge.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A template, parsed once into literal and placeholder segments.
+ *
+ * <p>Placeholders use the {@code ${name}} syntax, {@code $${name}} escapes a placeholder. Unknown placeholders are
+ * kept as they are (or rejected in strict mode), placeholders within replacement values are resolved recursively.
+ * Rendering is a single pass into a {@link StringBuilder}, which optionally collapses runs of two or more blank
+ * lines into a single newline. Large templates can be streamed into any {@link Appendable} instead, writing
+ * {@link Section sections} (e.g. all functions of a file) directly into the output.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public final class CompiledTemplate {
+
+    private static final String PREFIX = "${";
+    private static final char SUFFIX = '}';
+    private static final char ESCAPE = '$';
+
+    private final String template;
+    private final String[] literals;      // <- literals[i] precedes placeholders[i], the last literal trails the template
+    private final String[] placeholders;
+
+    private CompiledTemplate(@NotNull final String template, @NotNull final String[] literals, @NotNull final String[] placeholders) {
+        this.template = template;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Parses a template into its segments.
+     *
+     * @param template The template to parse.
+     * @return The compiled template.
+     */
+    @NotNull
+    public static CompiledTemplate compile(@NotNull final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> placeholders = new ArrayList<>();
+
+        final StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < template.length()) {
+            final int start = template.indexOf(PREFIX, pos);
+            if (start < 0) {
+                break;
+            }
+
+            // escaped placeholder -> keep it literally (without the escape character)
+            if (start > 0 && template.charAt(start - 1) == ESCAPE) {
+                literal.append(template, pos, start - 1).append(PREFIX);
+                pos = start + PREFIX.length();
+                continue;
+            }
+
+            // unterminated placeholder -> literal
+            final int end = template.indexOf(SUFFIX, start + PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+
+            literal.append(template, pos, start);
+            literals.add(literal.toString());
+            placeholders.add(template.substring(start + PREFIX.length(), end));
+            literal.setLength(0);
+            pos = end + 1;
+        }
+        literal.append(template, pos, template.length());
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(template, literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Renders this template.
+     *
+     * @param out                       The builder to render into.
+     * @param lookup                    Resolves a placeholder, null if it is unknown.
+     * @param collapseConsecutiveBlanks Flag, that determines whether consecutive blanks shall be substituted with a singular newline.
+     * @param strict                    Flag, that determines whether unknown placeholders are rejected.
+     * @throws IllegalArgumentException if a placeholder is unknown in strict mode, or if placeholders resolve cyclically.
+     */
+    public void render(@NotNull final StringBuilder out, @NotNull final Function<String, String> lookup, final boolean collapseConsecutiveBlanks, final boolean strict) {
+        final Renderer renderer = new Renderer(out, lookup, collapseConsecutiveBlanks, strict);
+        renderer.render(this);
+    }
+
+    /**
+     * Streams this template (without collapsing blank lines).
+     *
+     * @param out      The output to stream into.
+     * @param lookup   Resolves a placeholder, null if it is unknown.
+     * @param sections Placeholders, whose content is written directly into the output.
+     * @param strict   Flag, that determines whether unknown placeholders are rejected.
+     * @throws IOException              if the output cannot be written.
+     * @throws IllegalArgumentException if a placeholder is unknown in strict mode, or if placeholders resolve cyclically.
+     */
+    public void stream(@NotNull final Appendable out, @NotNull final Function<String, String> lookup, @NotNull final Map<String, Section> sections, final boolean strict) throws IOException {
+        final StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < placeholders.length; ++i) {
+            out.append(literals[i]);
+
+            final Section section = sections.get(placeholders[i]);
+            if (section != null) {
+                section.writeTo(out);
+                continue;
+            }
+
+            // regular placeholders are small -> render them into the buffer first
+            buffer.setLength(0);
+            new Renderer(buffer, lookup, false, strict).renderPlaceholder(placeholders[i]);
+            out.append(buffer);
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    /**
+     * @return The source of this template.
+     */
+    @NotNull
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * Content of a placeholder, that is written directly into the output (see {@link #stream(Appendable, Function, Map, boolean)}).
+     */
+    @FunctionalInterface
+    public interface Section {
+
+        /**
+         * @param out The output to write the content to.
+         * @throws IOException if the output cannot be written.
+         */
+        void writeTo(@NotNull Appendable out) throws IOException;
+    }
+
+    /**
+     * The state of a single rendering pass.
+     */
+    private static final class Renderer {
+        private final StringBuilder out;
+        private final Function<String, String> lookup;
+        private final boolean collapse;
+        private final boolean strict;
+        private final Deque<String> resolving = new ArrayDeque<>();
+
+        // blank-line tracking (collapse only)
+        private boolean lineBlank;
+        private int lineStart;
+        private int blankLines;
+        private int blankRunStart;
+
+        private Renderer(@NotNull final StringBuilder out, @NotNull final Function<String, String> lookup, final boolean collapse, final boolean strict) {
+            this.out = out;
+            this.lookup = lookup;
+            this.collapse = collapse;
+            this.strict = strict;
+            this.lineStart = currentLineStart(out);
+            this.lineBlank = isBlank(out, lineStart, out.length());
+        }
+
+        private void render(@NotNull final CompiledTemplate template) {
+            for (int i = 0; i < template.placeholders.length; ++i) {
+                append(template.literals[i]);
+                renderPlaceholder(template.placeholders[i]);
+            }
+            append(template.literals[template.literals.length - 1]);
+        }
+
+        private void renderPlaceholder(@NotNull final String name) {
+            final String value = lookup.apply(name);
+            if (value == null) {
+                if (strict) {
+                    throw new IllegalArgumentException(String.format("Unknown placeholder '%s'.", name));
+                }
+                append(PREFIX);
+                append(name);
+                append(String.valueOf(SUFFIX));
+                return;
+            }
+
+            // plain value -> no need to parse it
+            if (value.indexOf(PREFIX) < 0) {
+                append(value);
+                return;
+            }
+
+            // resolve placeholders within the value
+            if (resolving.contains(name)) {
+                throw new IllegalArgumentException(String.format("Cyclic placeholder '%s': %s", name, resolving));
+            }
+            resolving.push(name);
+            render(compile(value));
+            resolving.pop();
+        }
+
+        private void append(@NotNull final String text) {
+            if (!collapse) {
+                out.append(text);
+                return;
+            }
+            for (int i = 0; i < text.length(); ++i) {
+                append(text.charAt(i));
+            }
+        }
+
+        private void append(final char c) {
+            out.append(c);
+            if (c != '\n') {
+                lineBlank &= c == ' ' || c == '\t' || c == '\r';
+                return;
+            }
+
+            // a line has been completed...
+            if (!lineBlank) {
+                blankLines = 0;
+            } else if (blankLines++ == 0) {
+                blankRunStart = lineStart;
+            } else {
+                // two or more blank lines -> a single newline
+                out.setLength(blankRunStart);
+                out.append('\n');
+            }
+            lineStart = out.length();
+            lineBlank = true;
+        }
+
+        private static int currentLineStart(@NotNull final StringBuilder out) {
+            int start = out.length();
+            while (start > 0 && out.charAt(start - 1) != '\n') {
+                --start;
+            }
+            return start;
+        }
+
+        private static boolean isBlank(@NotNull final StringBuilder out, final int start, final int end) {
+            for (int i = start; i < end; ++i) {
+                final char c = out.charAt(i);
+                if (c != ' ' && c != '\t' && c != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
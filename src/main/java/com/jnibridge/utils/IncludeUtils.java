@@ -0,0 +1,51 @@
+package com.jnibridge.utils;
+
+import com.jnibridge.annotations.BridgeClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Utility class for the native includes of the generated JNI-code.
+ * <p>
+ * This class is not meant to be instantiated.
+ */
+public final class IncludeUtils {
+
+    // Private constructor to prevent instantiation
+    private IncludeUtils() { }
+
+    /**
+     * @param include A native include, either a system include (e.g. {@code <vector>}) or a path.
+     * @return The include directive for the passed include.
+     */
+    @NotNull
+    public static String toDirective(@NotNull final String include) {
+        return String.format("#include %s", include.contains("<") ? include : "\"" + include + "\"");
+    }
+
+    /**
+     * @param classes The classes, whose includes to collect (see {@link BridgeClass#includes()}).
+     * @return The distinct includes of all passed classes, in encounter order.
+     */
+    @NotNull
+    public static List<String> includesOf(@NotNull final Collection<? extends Class<?>> classes) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (final Class<?> clazz : classes) {
+            final BridgeClass annotation = clazz.getAnnotation(BridgeClass.class);
+            if (annotation != null) { result.addAll(Arrays.asList(annotation.includes())); }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * @param includes Native includes.
+     * @return One include directive per line.
+     */
+    @NotNull
+    public static String toDirectives(@NotNull final Collection<String> includes) {
+        final StringJoiner result = new StringJoiner("\n");
+        includes.forEach(include -> result.add(toDirective(include)));
+        return result.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.jnibridge.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+
+/**
+ * Minimal, indenting JSON writer for the reports of the generator (e.g. {@link com.jnibridge.generator.GenerationMetrics}).
+ * <p>
+ * Names are always followed by a value, an object or an array. The writer does not validate the structure.
+ * </p>
+ */
+public final class JsonWriter {
+
+    private final StringBuilder out = new StringBuilder();
+    private final Deque<Boolean> firstInContainer = new ArrayDeque<>(); // <- one entry per open object/array
+    private boolean afterName = false;
+
+    /**
+     * Opens an object.
+     *
+     * @return This writer.
+     */
+    @NotNull
+    public JsonWriter beginObject() { return open('{'); }
+
+    /**
+     * Closes the current object.
+     *
+     * @return This writer.
+     */
+    @NotNull
+    public JsonWriter endObject() { return close('}'); }
+
+    /**
+     * Opens an array.
+     *
+     * @return This writer.
+     */
+    @NotNull
+    public JsonWriter beginArray() { return open('['); }
+
+    /**
+     * Closes the current array.
+     *
+     * @return This writer.
+     */
+    @NotNull
+    public JsonWriter endArray() { return close(']'); }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name The name of the member.
+     * @return This writer.
+     */
+    @NotNull
+    public JsonWriter name(@NotNull final String name) {
+        separate();
+        out.append(quote(name)).append(": ");
+        afterName = true;
+        return this;
+    }
+
+    @NotNull
+    public JsonWriter value(@NotNull final String value) { return raw(quote(value)); }
+
+    @NotNull
+    public JsonWriter value(final long value) { return raw(String.valueOf(value)); }
+
+    @NotNull
+    public JsonWriter value(final double value) { return raw(Double.isFinite(value) ? String.valueOf(value) : "null"); }
+
+    @NotNull
+    public JsonWriter value(final boolean value) { return raw(String.valueOf(value)); }
+
+    @Override
+    public String toString() { return out + "\n"; }
+
+    private JsonWriter open(final char bracket) {
+        separate();
+        out.append(bracket);
+        firstInContainer.push(true);
+        return this;
+    }
+
+    private JsonWriter close(final char bracket) {
+        final boolean empty = firstInContainer.pop();
+        if (!empty) { out.append('\n').append(indent()); }
+        out.append(bracket);
+        return this;
+    }
+
+    private JsonWriter raw(@NotNull final String value) {
+        separate();
+        out.append(value);
+        return this;
+    }
+
+    // separates the elements of a container (each on its own line), values directly follow their names
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (firstInContainer.isEmpty()) { return; }
+
+        if (!firstInContainer.pop()) { out.append(','); }
+        firstInContainer.push(false);
+        out.append('\n').append(indent());
+    }
+
+    private String indent() {
+        return String.join("", Collections.nCopies(firstInContainer.size(), "  "));
+    }
+
+    private static String quote(@NotNull final String value) {
+        final StringBuilder result = new StringBuilder("\"");
+        for (final char c : value.toCharArray()) {
+            switch (c) {
+                case '"': result.append("\\\""); break;
+                case '\\': result.append("\\\\"); break;
+                case '\n': result.append("\\n"); break;
+                case '\r': result.append("\\r"); break;
+                case '\t': result.append("\\t"); break;
+                default:
+                    if (c < 0x20) { result.append(String.format("\\u%04x", (int) c)); }
+                    else { result.append(c); }
+            }
+        }
+        return result.append('"').toString();
+    }
+}
@@ -1,11 +1,15 @@
 package com.jnibridge.utils;
 
+import com.jnibridge.generator.GenerationCache;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Objects;
@@ -27,22 +31,34 @@ public class ResourceUtils {
      * Loads the content of a resource file from the classpath as a {@link String}.
      * <p>
      * The resource is loaded using the current thread's context {@link ClassLoader}, and its content is
-     * read as UTF-8 text.
+     * read as UTF-8 text. Within a generation session, every resource is only read once (see {@link GenerationCache}).
      *
+     * @param cache the session of the generation run
      * @param path the path to the resource (relative to the classpath root), e.g., {@code "templates/codegen.stub"}
      * @return the full text content of the resource as a string
      * @throws NullPointerException     if the resource path is null or the resource cannot be found
      * @throws IllegalArgumentException if an I/O error occurs while reading the resource
      */
     @NotNull
-    public static String load(@NotNull final String path) {
+    public static String load(@NotNull final GenerationCache cache, @NotNull final String path) {
 
         // validate params
         Objects.requireNonNull(path, "Unable to fetch resource: The passed path is null.");
+        return cache.template(path, ResourceUtils::read);
+    }
+
+    /**
+     * Reads the content of a resource file from the classpath as UTF-8 text.
+     *
+     * @param path the path to the resource (relative to the classpath root)
+     * @return the full text content of the resource as a string
+     */
+    @NotNull
+    private static String read(@NotNull final String path) {
 
         // validate resource stream
         ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-        InputStream resource = classloader.getResourceAsStream(path);
+        InputStream resource = openStream(classloader, path);
         if (resource == null) {
             throw new NullPointerException(String.format("The fetched resource for '%s' is null", path));
         }
@@ -64,6 +80,31 @@ public class ResourceUtils {
         }
     }
 
+    /**
+     * Opens a resource, bypassing the JVM-wide cache of opened jar files.
+     * <p>
+     * The cached jar files are shared between class loaders, so long-running processes (e.g. build daemons running
+     * the generator) would otherwise read stale content once a jar on the classpath has been rebuilt.
+     *
+     * @param classLoader The class loader to load the resource with.
+     * @param path        the path to the resource (relative to the classpath root)
+     * @return The stream of the resource, null if there is no such resource.
+     * @throws IllegalArgumentException if an I/O error occurs while opening the resource
+     */
+    @Nullable
+    public static InputStream openStream(@NotNull final ClassLoader classLoader, @NotNull final String path) {
+        final URL url = classLoader.getResource(path);
+        if (url == null) { return null; }
+
+        try {
+            final URLConnection connection = url.openConnection();
+            connection.setUseCaches(false);
+            return connection.getInputStream();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Unable to open resource '%s'", path), e);
+        }
+    }
+
     /**
      * @param clazz The class to extract the filename from.
      * @param fileEndings file-endings to add to the generated name.
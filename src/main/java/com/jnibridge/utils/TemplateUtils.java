@@ -1,11 +1,15 @@
 package com.jnibridge.utils;
 
-import org.apache.commons.text.StringSubstitutor;
+import com.jnibridge.generator.GenerationCache;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Utility class for performing simple string template substitutions using named placeholders.
+ * <p>
+ * Templates are compiled once per generation session (see {@link CompiledTemplate} and {@link GenerationCache})
+ * and rendered in a single pass. Unknown placeholders are kept, unless the session renders strictly.
  */
 public class TemplateUtils {
 
@@ -15,25 +19,92 @@ public class TemplateUtils {
     /**
      * Method for performing simple template substitution using named placeholders.
      *
+     * @param cache        The session of the generation run.
      * @param template     The templated string.
      * @param replacements The substitution key-value pairs.
      * @param collapseConsecutiveBlanks Flag, that determines whether consecutive blanks shall be substituted with a singular newline.
      * @return The substituted template.
      */
-    public static String substitute(String template, Map<String, String> replacements, final boolean collapseConsecutiveBlanks) {
-        String result = new StringSubstitutor(replacements).replace(template);
-        return collapseConsecutiveBlanks ? result.replaceAll("(?m)^(?:[ \\t]*\\R){2,}", "\n") : result;
+    public static String substitute(GenerationCache cache, String template, Map<String, String> replacements, final boolean collapseConsecutiveBlanks) {
+        return render(cache, template, replacements, null, collapseConsecutiveBlanks, cache.isStrictTemplates());
     }
 
-
     /**
      * Method for performing simple template substitution using named placeholders.
      *
+     * @param cache        The session of the generation run.
      * @param template     The templated string.
      * @param replacements The substitution key-value pairs.
      * @return The substituted template.
      */
-    public static String substitute(String template, Map<String, String> replacements) {
-        return substitute(template, replacements, false);
+    public static String substitute(GenerationCache cache, String template, Map<String, String> replacements) {
+        return substitute(cache, template, replacements, false);
+    }
+
+    /**
+     * Method for performing template substitution with two layers of named placeholders.
+     *
+     * @param cache        The session of the generation run.
+     * @param template     The templated string.
+     * @param replacements The substitution key-value pairs, taking precedence.
+     * @param fallback     The substitution key-value pairs, used for all placeholders not found in replacements.
+     * @param collapseConsecutiveBlanks Flag, that determines whether consecutive blanks shall be substituted with a singular newline.
+     * @return The substituted template.
+     */
+    public static String substitute(GenerationCache cache, String template, Map<String, String> replacements, Map<String, String> fallback, final boolean collapseConsecutiveBlanks) {
+        return render(cache, template, replacements, fallback, collapseConsecutiveBlanks, cache.isStrictTemplates());
+    }
+
+    /**
+     * Method for substituting only some placeholders of a template, keeping all others for a later substitution
+     * (never strict).
+     *
+     * @param cache        The session of the generation run.
+     * @param template     The templated string.
+     * @param replacements The substitution key-value pairs.
+     * @return The partially substituted template.
+     */
+    public static String substitutePartially(GenerationCache cache, String template, Map<String, String> replacements) {
+        return render(cache, template, replacements, null, false, false);
+    }
+
+    /**
+     * Method for substituting only some placeholders of a template with two layers of named placeholders, keeping
+     * all others for a later substitution (never strict).
+     *
+     * @param cache        The session of the generation run.
+     * @param template     The templated string.
+     * @param replacements The substitution key-value pairs, taking precedence.
+     * @param fallback     The substitution key-value pairs, used for all placeholders not found in replacements.
+     * @return The partially substituted template.
+     */
+    public static String substitutePartially(GenerationCache cache, String template, Map<String, String> replacements, Map<String, String> fallback) {
+        return render(cache, template, replacements, fallback, false, false);
+    }
+
+    /**
+     * Method for streaming a template into an output, writing the passed sections directly (without building the
+     * substituted template as a whole).
+     *
+     * @param cache        The session of the generation run.
+     * @param template     The templated string.
+     * @param replacements The substitution key-value pairs.
+     * @param sections     Placeholders, whose content is written directly into the output.
+     * @param out          The output to stream into.
+     * @throws IOException if the output cannot be written.
+     */
+    public static void stream(GenerationCache cache, String template, Map<String, String> replacements, Map<String, CompiledTemplate.Section> sections, Appendable out) throws IOException {
+        final CompiledTemplate compiled = cache.compiledTemplate(template, CompiledTemplate::compile);
+        compiled.stream(out, replacements::get, sections, cache.isStrictTemplates());
+    }
+
+    private static String render(GenerationCache cache, String template, Map<String, String> replacements, Map<String, String> fallback, final boolean collapseConsecutiveBlanks, final boolean strict) {
+        final CompiledTemplate compiled = cache.compiledTemplate(template, CompiledTemplate::compile);
+        final StringBuilder result = new StringBuilder(template.length() + (template.length() >> 1));
+        compiled.render(result, name -> {
+            final String value = replacements.get(name);
+            return value != null || fallback == null ? value : fallback.get(name);
+        }, collapseConsecutiveBlanks, strict);
+        return result.toString();
     }
 }
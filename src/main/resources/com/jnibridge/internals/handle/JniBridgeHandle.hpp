@@ -1,11 +1,23 @@
 #pragma once
 
+${profileDefinitions}
+
 #include <jni.h>
 
+#include <algorithm>
+#include <atomic>
+#include <cstdint>
+#include <limits>
+#include <map>
 #include <memory>
+#include <mutex>
 #include <string>
 #include <variant>
 #include <stdexcept>
+#include <type_traits>
+#include <typeinfo>
+#include <unordered_map>
+#include <unordered_set>
 #include <vector>
 
 ${internal_includes}
@@ -111,6 +123,184 @@ namespace jnibridge::internal {
         }
     };
 
+    /**
+     * Estimates the native memory owned by an instance of T.
+     *
+     * Defaults to sizeof(T). Specialize this template for types that own additional
+     * heap memory (buffers, containers, ...) to report a more accurate estimate.
+     *
+     * @tparam T Native type being wrapped.
+     */
+    template<class T>
+    struct NativeSizeEstimator {
+        static std::size_t estimate(const T& /*instance*/) { return sizeof(T); }
+    };
+
+    /**
+     * Aggregated memory counters of a single native type.
+     */
+    struct MemoryStatistics {
+        int64_t allocations = 0;    // handles created
+        int64_t frees = 0;          // handles destroyed
+        int64_t allocatedBytes = 0; // estimated bytes owned by created handles
+        int64_t freedBytes = 0;     // estimated bytes released by destroyed handles
+    };
+
+    /**
+     * Per-type memory account.
+     *
+     * Every thread records into its own slot, so handle creation never contends on a shared counter.
+     * Slots are only summed up when a snapshot is requested. Counters of terminated threads are
+     * folded into a retired total.
+     *
+     * Accounting is only active if the native library is compiled with JNIBRIDGE_MEMORY_ACCOUNTING.
+     */
+    class MemoryAccount {
+    public:
+
+        /**
+         * Counters of a single thread. Only the owning thread writes, any thread may read.
+         */
+        class ThreadSlot {
+        public:
+            explicit ThreadSlot(MemoryAccount &account) : _account(account) { _account.attach(this); }
+            ~ThreadSlot() { _account.detach(this); }
+
+            void recordAllocation(const int64_t bytes) {
+                bump(_allocations, 1);
+                bump(_allocatedBytes, bytes);
+            }
+
+            void recordFree(const int64_t bytes) {
+                bump(_frees, 1);
+                bump(_freedBytes, bytes);
+            }
+
+            void addTo(MemoryStatistics &statistics) const {
+                statistics.allocations += _allocations.load(std::memory_order_relaxed);
+                statistics.frees += _frees.load(std::memory_order_relaxed);
+                statistics.allocatedBytes += _allocatedBytes.load(std::memory_order_relaxed);
+                statistics.freedBytes += _freedBytes.load(std::memory_order_relaxed);
+            }
+
+        private:
+            // single writer -> no read-modify-write instruction needed.
+            static void bump(std::atomic<int64_t> &counter, const int64_t delta) {
+                counter.store(counter.load(std::memory_order_relaxed) + delta, std::memory_order_relaxed);
+            }
+
+            MemoryAccount &_account;
+            std::atomic<int64_t> _allocations{0};
+            std::atomic<int64_t> _frees{0};
+            std::atomic<int64_t> _allocatedBytes{0};
+            std::atomic<int64_t> _freedBytes{0};
+        };
+
+        /**
+         * @return The sum of all live thread slots and all retired threads.
+         */
+        MemoryStatistics snapshot() {
+            std::lock_guard<std::mutex> lock(_mutex);
+            MemoryStatistics result = _retired;
+            for(const ThreadSlot* slot : _slots) { slot->addTo(result); }
+            return result;
+        }
+
+    private:
+        void attach(ThreadSlot* slot) {
+            std::lock_guard<std::mutex> lock(_mutex);
+            _slots.push_back(slot);
+        }
+
+        void detach(ThreadSlot* slot) {
+            std::lock_guard<std::mutex> lock(_mutex);
+            slot->addTo(_retired);
+            for(auto it = _slots.begin(); it != _slots.end(); ++it) {
+                if(*it == slot) { _slots.erase(it); break; }
+            }
+        }
+
+        std::mutex _mutex;
+        std::vector<ThreadSlot*> _slots;
+        MemoryStatistics _retired;
+    };
+
+    /**
+     * @tparam T Native type being wrapped (cv-qualified handles share the account of the unqualified type).
+     * @return The process-wide memory account of T.
+     */
+    template<class T>
+    inline MemoryAccount& memoryAccountOf() {
+        static MemoryAccount account;
+        return account;
+    }
+
+    /**
+     * @tparam T Native type being wrapped.
+     * @return The calling thread's slot in the memory account of T.
+     */
+    template<class T>
+    inline MemoryAccount::ThreadSlot& memoryThreadSlotOf() {
+        thread_local MemoryAccount::ThreadSlot slot(memoryAccountOf<typename std::remove_cv<T>::type>());
+        return slot;
+    }
+
+    /**
+     * @tparam T Native type being wrapped.
+     * @return A snapshot of the memory account of T (all zero if accounting is disabled).
+     */
+    template<class T>
+    inline MemoryStatistics memoryStatisticsOf() {
+#ifdef JNIBRIDGE_MEMORY_ACCOUNTING
+        return memoryAccountOf<typename std::remove_cv<T>::type>().snapshot();
+#else
+        return MemoryStatistics{};
+#endif
+    }
+
+    class IdentityCache;
+
+    inline IdentityCache& identityCache();
+
+#ifdef JNIBRIDGE_CHECKED
+    /**
+     * Table of all live handles (checked profile only), to detect stale or foreign native handles.
+     */
+    class HandleTable {
+    public:
+        /**
+         * @return The process-wide handle table.
+         */
+        static HandleTable& get() {
+            static HandleTable instance;
+            return instance;
+        }
+
+        void add(const void* handle) {
+            std::lock_guard<std::mutex> lock(_mutex);
+            _handles.insert(handle);
+        }
+
+        void remove(const void* handle) {
+            std::lock_guard<std::mutex> lock(_mutex);
+            _handles.erase(handle);
+        }
+
+        /**
+         * @param handle A native handle.
+         * @return True, if the handle has been created and not yet been destroyed.
+         */
+        bool contains(const void* handle) const {
+            std::lock_guard<std::mutex> lock(_mutex);
+            return _handles.count(handle) != 0;
+        }
+
+    private:
+        mutable std::mutex _mutex;
+        std::unordered_set<const void*> _handles;
+    };
+#endif
+
     /**
      * Base class for all native handles.
      *
@@ -119,7 +309,51 @@ namespace jnibridge::internal {
      */
     class BaseHandle {
     public:
+#ifdef JNIBRIDGE_CHECKED
+        BaseHandle() { HandleTable::get().add(this); }
+        BaseHandle(const BaseHandle&) = delete;
+        BaseHandle& operator=(const BaseHandle&) = delete;
+        virtual ~BaseHandle() { HandleTable::get().remove(this); }
+#else
         virtual ~BaseHandle() = default;
+#endif
+
+        /**
+         * @return The bytes, reserved at the Java-side NativeMemoryAccountant on behalf of this handle.
+         */
+        jlong getReservedBytes() const { return _reservedBytes; }
+
+        /**
+         * @param reservedBytes The bytes, reserved at the Java-side NativeMemoryAccountant on behalf of this handle.
+         */
+        void setReservedBytes(const jlong reservedBytes) { _reservedBytes = reservedBytes; }
+
+        /**
+         * @return The identity cache, this handle's Java wrapper is registered in (or nullptr).
+         */
+        IdentityCache* getIdentityCache() const { return _identityCache; }
+
+        /**
+         * @return The native pointer, this handle's Java wrapper is registered under in its identity cache.
+         */
+        const void* getIdentityKey() const { return _identityKey; }
+
+        /**
+         * @param identityCache The identity cache, this handle's Java wrapper is registered in.
+         * @param identityKey The native pointer, the Java wrapper is registered under.
+         */
+        void setIdentityCache(IdentityCache* identityCache, const void* identityKey) {
+            _identityCache = identityCache;
+            _identityKey = identityKey;
+        }
+
+        /**
+         * Removes all borrowed wrappers of the owned instance from the identity cache, since the
+         * instance is about to be destroyed (no-op for borrowed handles).
+         *
+         * @param env JNI environment.
+         */
+        virtual void invalidateIdentity(JNIEnv *env) { }
 
         /**
          * Describes how a native instance is stored and owned by a Handle.
@@ -135,6 +369,11 @@ namespace jnibridge::internal {
             Shared,
             Unique
         };
+
+    private:
+        jlong _reservedBytes = 0;
+        IdentityCache* _identityCache = nullptr;
+        const void* _identityKey = nullptr;
     };
 
     /**
@@ -162,6 +401,9 @@ namespace jnibridge::internal {
          * Shared and unique ownership are released automatically.
          */
         ~Handle() {
+#ifdef JNIBRIDGE_MEMORY_ACCOUNTING
+            memoryThreadSlotOf<T>().recordFree(_accountedBytes);
+#endif
             if(_strategy == StorageStrategy::RawOwned) {
                 delete std::get<T*>(_store);
             }
@@ -173,14 +415,14 @@ namespace jnibridge::internal {
          * @param instance Pointer to an instance of T.
          * @param owns Whether the handle owns the pointer and is responsible for deleting it.
          */
-        explicit Handle(T* instance, bool owns) : _store(instance), _strategy(owns ? StorageStrategy::RawOwned : StorageStrategy::RawBorrowed){}
+        explicit Handle(T* instance, bool owns) : _store(instance), _strategy(owns ? StorageStrategy::RawOwned : StorageStrategy::RawBorrowed) { trackAllocation(); }
 
         /**
          * Constructs a handle from a shared pointer.
          *
          * @param sharedInstance Shared ownership of the instance.
          */
-        explicit Handle(std::shared_ptr<T> sharedInstance) : _store(std::move(sharedInstance)), _strategy(StorageStrategy::Shared){}
+        explicit Handle(std::shared_ptr<T> sharedInstance) : _store(std::move(sharedInstance)), _strategy(StorageStrategy::Shared) { trackAllocation(); }
 
         /**
          * Constructs a handle from a unique pointer.
@@ -189,7 +431,7 @@ namespace jnibridge::internal {
          */
         explicit Handle(std::unique_ptr<T> u)
           : _store(ErasedUnique(u.release(), [](void* p){ delete static_cast<T*>(p); })),
-            _strategy(StorageStrategy::Unique) {}
+            _strategy(StorageStrategy::Unique) { trackAllocation(); }
 
         /**
          * Retrieves the wrapped instance as a raw pointer.
@@ -292,11 +534,152 @@ namespace jnibridge::internal {
             }
         }
 
+        /**
+         * @return True if the handle borrows its instance and thus can be rebound (see rebind).
+         */
+        bool canRebind() const { return _strategy == StorageStrategy::RawBorrowed; }
+
+        /**
+         * Rebinds a borrowing handle to another instance (flyweight wrappers).
+         *
+         * @param instance The instance to borrow from now on.
+         * @return False if the handle owns its instance and thus cannot be rebound.
+         */
+        bool rebind(T* instance) {
+            if (!canRebind()) { return false; }
+            _store = instance;
+            return true;
+        }
+
+        void invalidateIdentity(JNIEnv *env) override;
+
     private:
+        /**
+         * Records the creation of this handle in the memory account of T.
+         * Borrowed instances are counted as handles, but do not account for any bytes.
+         */
+        void trackAllocation() {
+#ifdef JNIBRIDGE_MEMORY_ACCOUNTING
+            const T* instance = get();
+            _accountedBytes = (instance && _strategy != StorageStrategy::RawBorrowed)
+                    ? static_cast<int64_t>(NativeSizeEstimator<T>::estimate(*instance))
+                    : 0;
+            memoryThreadSlotOf<T>().recordAllocation(_accountedBytes);
+#endif
+        }
+
         Store _store;
         StorageStrategy _strategy;
+#ifdef JNIBRIDGE_MEMORY_ACCOUNTING
+        int64_t _accountedBytes = 0;
+#endif
+    };
+
+    /**
+     * Cached JNI-references to com.jnibridge.nativeaccess.leak.LeakDetector.
+     */
+    struct LeakDetector {
+        jclass clazz = nullptr;
+        jfieldID enabled = nullptr;
+        jfieldID tracked = nullptr;
+        jmethodID track = nullptr;
+        jmethodID untrack = nullptr;
+
+        LeakDetector() = default;
+
+        explicit LeakDetector(JNIEnv *env) {
+            jclass localClass = env->FindClass("com/jnibridge/nativeaccess/leak/LeakDetector");
+            if (!localClass) {
+                // e.g. not visible to the class loader of the calling thread -> do not leave the NoClassDefFoundError pending.
+                env->ExceptionClear();
+                return;
+            }
+
+            clazz = static_cast<jclass>(env->NewGlobalRef(localClass));
+            enabled = env->GetStaticFieldID(clazz, "enabled", "Z");
+            tracked = env->GetStaticFieldID(clazz, "tracked", "Z");
+            track = env->GetStaticMethodID(clazz, "track", "(Ljava/lang/Object;J)V");
+            untrack = env->GetStaticMethodID(clazz, "untrack", "(J)V");
+            env->DeleteLocalRef(localClass);
+
+            if (env->ExceptionCheck()) {
+                // incompatible LeakDetector class -> leak detection stays disabled.
+                env->ExceptionClear();
+                enabled = nullptr;
+                tracked = nullptr;
+                track = nullptr;
+                untrack = nullptr;
+            }
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return The process-wide leak detector references (resolved on first use). If the class cannot be found,
+         *         the returned references are empty and the resolution is retried on the next call.
+         */
+        static const LeakDetector& get(JNIEnv *env) {
+            static std::atomic<const LeakDetector*> resolved{nullptr};
+            static const LeakDetector unresolved;
+
+            const LeakDetector* instance = resolved.load(std::memory_order_acquire);
+            if (instance) { return *instance; }
+
+            auto* candidate = new LeakDetector(env);
+            if (!candidate->clazz) {
+                delete candidate;
+                return unresolved;
+            }
+
+            if (!resolved.compare_exchange_strong(instance, candidate, std::memory_order_acq_rel)) {
+                // resolved concurrently by another thread.
+                env->DeleteGlobalRef(candidate->clazz);
+                delete candidate;
+            }
+            return *resolved.load(std::memory_order_acquire);
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return True if leak detection has been enabled on the Java side.
+         */
+        bool isEnabled(JNIEnv *env) const {
+            return enabled && env->GetStaticBooleanField(clazz, enabled);
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return True if any object has ever been tracked (there may be something to untrack).
+         */
+        bool hasTracked(JNIEnv *env) const {
+            return tracked && env->GetStaticBooleanField(clazz, tracked);
+        }
     };
 
+    /**
+     * Passes a Java object, that just received its native handle, to the LeakDetector (if enabled).
+     *
+     * @param env JNI environment.
+     * @param object The Java object.
+     * @param handle The native handle of the Java object.
+     */
+    inline void trackLeak(JNIEnv *env, jobject object, jlong handle) {
+        const LeakDetector& detector = LeakDetector::get(env);
+        if (!detector.track || !detector.isEnabled(env)) { return; }
+        env->CallStaticVoidMethod(detector.clazz, detector.track, object, handle);
+    }
+
+    /**
+     * Stops tracking a native handle, that is about to be destroyed.
+     *
+     * @param env JNI environment.
+     * @param handle The native handle about to be destroyed.
+     */
+    inline void untrackLeak(JNIEnv *env, jlong handle) {
+        const LeakDetector& detector = LeakDetector::get(env);
+        if (!detector.untrack || !detector.hasTracked(env)) { return; }
+        env->CallStaticVoidMethod(detector.clazz, detector.untrack, handle);
+    }
+
     /**
      * Assigns a native handle to a Java object by calling setNativeHandle(long).
      *
@@ -309,9 +692,10 @@ namespace jnibridge::internal {
 
         jmethodID setHandle = env->GetMethodID(cls, "setNativeHandle", "(J)V");
         env->CallVoidMethod(object, setHandle, reinterpret_cast<jlong>(ptr));
-
-        if(env->ExceptionCheck()) { env->DeleteLocalRef(cls); }
         env->DeleteLocalRef(cls);
+
+        if(env->ExceptionCheck()) { return; }
+        if(ptr) { trackLeak(env, object, reinterpret_cast<jlong>(ptr)); }
     }
 
     /**
@@ -320,6 +704,7 @@ namespace jnibridge::internal {
      * @param env JNI environment.
      * @param obj Java object containing the native handle.
      * @return Native handle pointer as jlong.
+     * @note Aborts the JVM on handles, that are not live (checked profile only).
      */
     inline jlong getHandle(JNIEnv* env, jobject obj) {
         if(!obj) { return 0; }
@@ -335,32 +720,556 @@ namespace jnibridge::internal {
         }
 
         env->DeleteLocalRef(cls);
+#ifdef JNIBRIDGE_CHECKED
+        if(handle != 0 && handle != -1 && !HandleTable::get().contains(reinterpret_cast<const void*>(handle))) {
+            env->FatalError("JNIBridge (checked): invalid native handle (already destroyed or not created by the JNIBridge).");
+        }
+#endif
         return handle;
     }
 
     /**
-     * Creates a Java object and associates it with a native handle.
+     * Creates a Java object of an already resolved class and associates it with a native handle.
+     *
+     * Preferred in loops (e.g. sequence mappings), as the class is only resolved once.
      *
      * @param env JNI environment.
-     * @param jClassName Fully-qualified Java class name.
+     * @param cls Java class of the object.
      * @param handle Native handle pointer.
-     * @return Newly allocated Java object.
+     * @return Newly allocated Java object (a local reference), null if a Java exception is pending.
      */
-    inline jobject jobjectFromBaseHandle(JNIEnv *env, const std::string& jClassName, BaseHandle* handle) {
-        jclass cls = env->FindClass(jClassName.c_str());
+    inline jobject jobjectFromBaseHandleOfClass(JNIEnv *env, jclass cls, BaseHandle* handle) {
         jobject result = env->AllocObject(cls);
+        if(!result) { return jniDefaultReturn<jobject>(); }
 
         setNativeHandle(env, result, handle);
 
         if(env->ExceptionCheck()) {
-            env->DeleteLocalRef(cls);
+            env->DeleteLocalRef(result);
             return jniDefaultReturn<jobject>();
         }
+        return result;
+    }
+
+    /**
+     * Creates a Java object and associates it with a native handle.
+     *
+     * @param env JNI environment.
+     * @param jClassName Fully-qualified Java class name.
+     * @param handle Native handle pointer.
+     * @return Newly allocated Java object (a local reference), null if a Java exception is pending.
+     */
+    inline jobject jobjectFromBaseHandle(JNIEnv *env, const std::string& jClassName, BaseHandle* handle) {
+        jclass cls = env->FindClass(jClassName.c_str());
+        if(!cls) { return jniDefaultReturn<jobject>(); }
 
+        jobject result = jobjectFromBaseHandleOfClass(env, cls, handle);
         env->DeleteLocalRef(cls);
         return result;
     }
 
+    /**
+     * Cached JNI-references to com.jnibridge.nativeaccess.memory.NativeMemoryAccountant.
+     */
+    struct NativeMemoryAccountant {
+        jclass clazz = nullptr;
+        jfieldID softLimit = nullptr;
+        jmethodID reserve = nullptr;
+        jmethodID release = nullptr;
+
+        NativeMemoryAccountant() = default;
+
+        explicit NativeMemoryAccountant(JNIEnv *env) {
+            jclass localClass = env->FindClass("com/jnibridge/nativeaccess/memory/NativeMemoryAccountant");
+            if (!localClass) {
+                // e.g. not visible to the class loader of the calling thread -> do not leave the NoClassDefFoundError pending.
+                env->ExceptionClear();
+                return;
+            }
+
+            clazz = static_cast<jclass>(env->NewGlobalRef(localClass));
+            softLimit = env->GetStaticFieldID(clazz, "softLimit", "J");
+            reserve = env->GetStaticMethodID(clazz, "reserve", "(J)V");
+            release = env->GetStaticMethodID(clazz, "release", "(J)V");
+            env->DeleteLocalRef(localClass);
+
+            if (env->ExceptionCheck()) {
+                // incompatible NativeMemoryAccountant class -> memory accounting stays disabled.
+                env->ExceptionClear();
+                softLimit = nullptr;
+                reserve = nullptr;
+                release = nullptr;
+            }
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return The process-wide accountant references (resolved on first use). If the class cannot be found,
+         *         the returned references are empty and the resolution is retried on the next call.
+         */
+        static const NativeMemoryAccountant& get(JNIEnv *env) {
+            static std::atomic<const NativeMemoryAccountant*> resolved{nullptr};
+            static const NativeMemoryAccountant unresolved;
+
+            const NativeMemoryAccountant* instance = resolved.load(std::memory_order_acquire);
+            if (instance) { return *instance; }
+
+            auto* candidate = new NativeMemoryAccountant(env);
+            if (!candidate->clazz) {
+                delete candidate;
+                return unresolved;
+            }
+
+            if (!resolved.compare_exchange_strong(instance, candidate, std::memory_order_acq_rel)) {
+                // resolved concurrently by another thread.
+                env->DeleteGlobalRef(candidate->clazz);
+                delete candidate;
+            }
+            return *resolved.load(std::memory_order_acquire);
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return True if a soft limit has been configured on the Java side (reservations are reported only then).
+         */
+        bool isLimited(JNIEnv *env) const {
+            return softLimit && env->GetStaticLongField(clazz, softLimit) != std::numeric_limits<jlong>::max();
+        }
+    };
+
+    /**
+     * Reports the native memory owned by a newly allocated handle to the Java-side NativeMemoryAccountant,
+     * if a soft limit has been configured.
+     *
+     * The accountant may block the calling thread (back-pressure), while the GC reclaims unreachable wrappers.
+     *
+     * @tparam T Native type being wrapped.
+     * @param env JNI environment.
+     * @param handle The newly allocated handle.
+     * @param declaredBytes Bytes declared via BridgeClass#nativeSize, or -1 to measure via NativeSizeEstimator.
+     */
+    template<class T>
+    inline void reserveNativeMemory(JNIEnv *env, Handle<T>* handle, const jlong declaredBytes) {
+        const NativeMemoryAccountant& accountant = NativeMemoryAccountant::get(env);
+        if (!accountant.reserve || !accountant.isLimited(env)) { return; } // <- no upcall per allocation without a limit
+
+        const T* instance = handle->get();
+        jlong bytes = declaredBytes;
+        if (bytes < 0) {
+            bytes = instance ? static_cast<jlong>(NativeSizeEstimator<typename std::remove_cv<T>::type>::estimate(*instance)) : 0;
+        }
+        if (bytes <= 0) { return; }
+
+        handle->setReservedBytes(bytes);
+        env->CallStaticVoidMethod(accountant.clazz, accountant.reserve, bytes);
+    }
+
+    /**
+     * Returns the native memory reserved by a handle to the Java-side NativeMemoryAccountant.
+     * Must be invoked before the handle is deleted.
+     *
+     * @param env JNI environment.
+     * @param handle The handle about to be deleted.
+     */
+    inline void releaseNativeMemory(JNIEnv *env, BaseHandle* handle) {
+        const jlong bytes = handle->getReservedBytes();
+        if (bytes <= 0) { return; }
+
+        const NativeMemoryAccountant& accountant = NativeMemoryAccountant::get(env);
+        if (!accountant.release) { return; }
+
+        handle->setReservedBytes(0);
+        env->CallStaticVoidMethod(accountant.clazz, accountant.release, bytes);
+    }
+
+    /**
+     * Cached JNI-references to java.lang.ref.WeakReference.
+     *
+     * JNI weak global references may still resolve objects, that are pending finalization, whereas
+     * WeakReferences are cleared beforehand. Since finalized wrappers destroy their handle, the identity
+     * cache must never hand them out again.
+     */
+    struct JavaWeakReference {
+        jclass clazz = nullptr;
+        jmethodID constructor = nullptr;
+        jmethodID get = nullptr;
+
+        explicit JavaWeakReference(JNIEnv *env) {
+            jclass localClass = env->FindClass("java/lang/ref/WeakReference");
+            if (!localClass) { return; }
+
+            clazz = static_cast<jclass>(env->NewGlobalRef(localClass));
+            constructor = env->GetMethodID(clazz, "<init>", "(Ljava/lang/Object;)V");
+            get = env->GetMethodID(clazz, "get", "()Ljava/lang/Object;");
+            env->DeleteLocalRef(localClass);
+        }
+
+        /**
+         * @param env JNI environment.
+         * @return The process-wide WeakReference references (resolved on first use).
+         */
+        static const JavaWeakReference& instance(JNIEnv *env) {
+            static const JavaWeakReference weakReference(env);
+            return weakReference;
+        }
+    };
+
+    /**
+     * Maps borrowed native pointers to the Java wrappers, that are currently bridging them.
+     *
+     * Returning the same native pointer repeatedly (@Ref/@Ptr) yields the same Java wrapper, as long as
+     * that wrapper is alive and has not been closed. Wrappers are only referenced weakly; dead entries are
+     * removed on lookup, on deallocation and by a periodic sweep.
+     *
+     * There is a single, process-wide cache (see identityCache()). Entries are keyed by the address of the most
+     * derived object (polymorphic types), by its dynamic type and by the returned type, so a Base* and a Derived*
+     * to the same object map to the same address, a different object reusing the address of a freed one never
+     * receives its wrapper, and deallocating an owner removes the wrappers of all of its subobjects and members,
+     * whatever type they have been returned as.
+     *
+     * The mutex only guards the entries; the WeakReferences are resolved (Java upcalls) without holding it.
+     */
+    class IdentityCache {
+    public:
+        /**
+         * @tparam T The returned type of the native pointer.
+         * @param env JNI environment.
+         * @param instance The native pointer.
+         * @return A local reference to the cached wrapper of the native pointer, or nullptr.
+         */
+        template<class T>
+        jobject lookup(JNIEnv *env, const T* instance) {
+            if (!_used.load(std::memory_order_acquire)) { return nullptr; }
+
+            const void* key = keyOf(instance);
+            jobject weakReference = referenceOf(env, key, typeid(T), typeOf(instance));
+            if (!weakReference) { return nullptr; }
+
+            jobject wrapper = resolve(env, weakReference);
+            if (!wrapper) { eraseCleared(env, key, weakReference); }
+            env->DeleteLocalRef(weakReference);
+            return wrapper;
+        }
+
+        /**
+         * Registers a newly created wrapper of a native pointer.
+         *
+         * If another thread has registered a live wrapper of the same pointer in the meantime, that wrapper
+         * is handed out instead, and the passed wrapper is released (its handle is deleted).
+         *
+         * @tparam T The returned type of the native pointer.
+         * @param env JNI environment.
+         * @param instance The native pointer.
+         * @param wrapper The newly created wrapper (a local reference).
+         * @param handle The native handle of the newly created wrapper.
+         * @return The wrapper to hand out (an already registered live wrapper wins over the passed one).
+         */
+        template<class T>
+        jobject store(JNIEnv *env, const T* instance, jobject wrapper, BaseHandle* handle) {
+            const JavaWeakReference& weakReference = JavaWeakReference::instance(env);
+            if (!weakReference.constructor || !wrapper) { return wrapper; }
+
+            const void* key = keyOf(instance);
+            const std::type_info& dynamicType = typeOf(instance);
+            const size_t extent = static_cast<size_t>(reinterpret_cast<const char*>(instance) - static_cast<const char*>(key)) + sizeof(T);
+
+            jobject localReference = env->NewObject(weakReference.clazz, weakReference.constructor, wrapper);
+            if (!localReference) { return wrapper; }
+            jobject globalReference = env->NewGlobalRef(localReference);
+            env->DeleteLocalRef(localReference);
+
+            while (true) {
+                jobject existingReference = nullptr;
+                bool sweepRequired = false;
+                {
+                    std::lock_guard<std::mutex> lock(_mutex);
+
+                    auto entry = find(key, typeid(T), dynamicType);
+                    if (entry == _wrappers.end()) {
+                        _used.store(true, std::memory_order_release);
+                        _wrappers.emplace(key, Entry{ &typeid(T), &dynamicType, extent, globalReference, handle });
+                        handle->setIdentityCache(this, key);
+                        sweepRequired = _wrappers.size() >= _sweepThreshold;
+                    } else {
+                        existingReference = env->NewLocalRef(entry->second.weakReference);
+                    }
+                }
+
+                if (!existingReference) {
+                    if (sweepRequired) { sweep(env); }
+                    return wrapper;
+                }
+
+                jobject existing = resolve(env, existingReference);
+                if (existing) {
+                    // lost the race against another thread -> hand out its wrapper
+                    env->DeleteLocalRef(existingReference);
+                    env->DeleteGlobalRef(globalReference);
+                    discard(env, wrapper, handle);
+                    return existing;
+                }
+                eraseCleared(env, key, existingReference);
+                env->DeleteLocalRef(existingReference);
+            }
+        }
+
+        /**
+         * Removes the wrapper owning the passed handle (invoked before the handle is deleted).
+         *
+         * @param env JNI environment.
+         * @param handle The handle about to be deleted.
+         */
+        void evict(JNIEnv *env, BaseHandle* handle) {
+            std::lock_guard<std::mutex> lock(_mutex);
+
+            auto range = _wrappers.equal_range(handle->getIdentityKey());
+            for (auto entry = range.first; entry != range.second; ++entry) {
+                if (entry->second.handle == handle) {
+                    erase(env, entry);
+                    break;
+                }
+            }
+            handle->setIdentityCache(nullptr, nullptr);
+        }
+
+        /**
+         * Removes the wrappers of an instance, that is about to be destroyed, including the wrappers of its base
+         * class subobjects and of its members.
+         *
+         * @tparam T The (static) type of the instance.
+         * @param env JNI environment.
+         * @param instance The instance about to be destroyed.
+         */
+        template<class T>
+        void invalidate(JNIEnv *env, const T* instance) {
+            if (!instance || !_used.load(std::memory_order_acquire)) { return; } // <- keeps deallocation of uncached types cheap
+
+            // the object spans at least [most derived object, end of the T subobject), the cached wrappers within
+            // it extend the span by the extent of their objects (e.g. a Derived wrapper of an instance deleted as Base)
+            const char* begin = static_cast<const char*>(keyOf(instance));
+            const char* end = std::max(begin + sizeof(T), reinterpret_cast<const char*>(instance) + sizeof(T));
+
+            std::lock_guard<std::mutex> lock(_mutex);
+            auto entry = _wrappers.lower_bound(begin);
+            while (entry != _wrappers.end() && std::less<const void*>()(entry->first, end)) {
+                end = std::max(end, static_cast<const char*>(entry->first) + entry->second.extent, std::less<const char*>());
+                entry = erase(env, entry);
+            }
+        }
+
+    private:
+        struct Entry {
+            const std::type_info* type; // <- the returned type
+            const std::type_info* dynamicType; // <- the type of the most derived object
+            size_t extent; // <- bytes of the returned object, counted from the key
+            jobject weakReference; // <- global reference to a java.lang.ref.WeakReference
+            BaseHandle* handle;
+        };
+
+        // ordered, so the wrappers within the storage of a destroyed instance can be found
+        using EntryMap = std::multimap<const void*, Entry>;
+
+        std::mutex _mutex;
+        std::atomic<bool> _used{false};
+        EntryMap _wrappers;
+        size_t _sweepThreshold = 64;
+
+        /**
+         * @return The address of the most derived object (polymorphic types), the address of the instance otherwise.
+         */
+        template<class T>
+        static const void* keyOf(const T* instance) {
+            if constexpr (std::is_polymorphic<T>::value) { return dynamic_cast<const void*>(instance); }
+            else { return instance; }
+        }
+
+        /**
+         * @return The type of the most derived object (polymorphic types), T otherwise.
+         */
+        template<class T>
+        static const std::type_info& typeOf(const T* instance) {
+            if constexpr (std::is_polymorphic<T>::value) { return typeid(*instance); }
+            else { return typeid(T); }
+        }
+
+        EntryMap::iterator find(const void* key, const std::type_info& type, const std::type_info& dynamicType) {
+            auto range = _wrappers.equal_range(key);
+            for (auto entry = range.first; entry != range.second; ++entry) {
+                if (*entry->second.type == type && *entry->second.dynamicType == dynamicType) { return entry; }
+            }
+            return _wrappers.end();
+        }
+
+        /**
+         * @return A local reference to the WeakReference of the matching entry, or nullptr.
+         */
+        jobject referenceOf(JNIEnv *env, const void* key, const std::type_info& type, const std::type_info& dynamicType) {
+            std::lock_guard<std::mutex> lock(_mutex);
+
+            auto entry = find(key, type, dynamicType);
+            return entry != _wrappers.end() ? env->NewLocalRef(entry->second.weakReference) : nullptr;
+        }
+
+        static jobject resolve(JNIEnv *env, jobject weakReference) {
+            return env->CallObjectMethod(weakReference, JavaWeakReference::instance(env).get);
+        }
+
+        /**
+         * Removes the entry of a cleared WeakReference, unless it has been removed concurrently.
+         */
+        void eraseCleared(JNIEnv *env, const void* key, jobject weakReference) {
+            std::lock_guard<std::mutex> lock(_mutex);
+
+            auto range = _wrappers.equal_range(key);
+            for (auto entry = range.first; entry != range.second; ++entry) {
+                if (env->IsSameObject(entry->second.weakReference, weakReference)) {
+                    erase(env, entry);
+                    return;
+                }
+            }
+        }
+
+        EntryMap::iterator erase(JNIEnv *env, EntryMap::iterator entry) {
+            entry->second.handle->setIdentityCache(nullptr, nullptr);
+            env->DeleteGlobalRef(entry->second.weakReference);
+            return _wrappers.erase(entry);
+        }
+
+        /**
+         * Releases a wrapper, that has not been registered: its handle is deleted and the wrapper is closed.
+         */
+        static void discard(JNIEnv *env, jobject wrapper, BaseHandle* handle) {
+            untrackLeak(env, reinterpret_cast<jlong>(handle));
+            releaseNativeMemory(env, handle);
+            delete handle;
+
+            jclass cls = env->GetObjectClass(wrapper);
+            jmethodID setHandle = env->GetMethodID(cls, "setNativeHandle", "(J)V");
+            env->CallVoidMethod(wrapper, setHandle, (jlong) -1);
+            env->DeleteLocalRef(cls);
+            env->DeleteLocalRef(wrapper);
+        }
+
+        void sweep(JNIEnv *env) {
+            // copy the references out, so the WeakReferences can be resolved without holding the mutex
+            std::vector<std::pair<const void*, jobject>> references;
+            {
+                std::lock_guard<std::mutex> lock(_mutex);
+                references.reserve(_wrappers.size());
+                for (const auto& entry : _wrappers) {
+                    references.emplace_back(entry.first, env->NewGlobalRef(entry.second.weakReference));
+                }
+            }
+
+            for (const auto& reference : references) {
+                jobject wrapper = resolve(env, reference.second);
+                if (wrapper) {
+                    env->DeleteLocalRef(wrapper);
+                } else {
+                    eraseCleared(env, reference.first, reference.second);
+                }
+                env->DeleteGlobalRef(reference.second);
+            }
+
+            std::lock_guard<std::mutex> lock(_mutex);
+            _sweepThreshold = std::max<size_t>(64, _wrappers.size() * 2);
+        }
+    };
+
+    /**
+     * @return The process-wide identity cache.
+     */
+    inline IdentityCache& identityCache() {
+        static IdentityCache cache;
+        return cache;
+    }
+
+    template<class T>
+    inline void Handle<T>::invalidateIdentity(JNIEnv *env) {
+        if (_strategy != StorageStrategy::RawBorrowed) { identityCache().invalidate(env, get()); }
+    }
+
+    /**
+     * Removes a handle's Java wrapper from its identity cache (if registered), as well as all
+     * borrowed wrappers of the instance owned by the handle. Must be invoked before the handle is deleted.
+     *
+     * @param env JNI environment.
+     * @param handle The handle about to be deleted.
+     */
+    inline void evictIdentity(JNIEnv *env, BaseHandle* handle) {
+        IdentityCache* cache = handle->getIdentityCache();
+        if (cache) { cache->evict(env, handle); }
+
+        handle->invalidateIdentity(env);
+    }
+
+    /**
+     * Rebinds a caller-owned Java wrapper to a borrowed instance (see com.jnibridge.annotations.lifecycle.Into).
+     *
+     * Wrappers, that already borrow an instance of T, are rebound in place. Empty wrappers receive a
+     * borrowed handle. Wrappers owning their instance, as well as wrappers of a class, the instance is
+     * no instance of (e.g. a subclass wrapper for a base class instance), are rejected with a JniBridgeException.
+     *
+     * @tparam T Native type of the borrowed instance.
+     * @param env JNI environment.
+     * @param target The Java wrapper to rebind.
+     * @param instance The instance to borrow.
+     * @param jClassName Fully-qualified Java class name of the instance's dynamic type.
+     * @return The rebound target, or nullptr if the target cannot be rebound.
+     */
+    template<class T>
+    inline jobject rebindBorrowed(JNIEnv *env, jobject target, T* instance, const std::string& jClassName) {
+        if (!target) { // <- not null-checked by Java (@IgnoreNullcheck, @NullcheckedByJava in the release profile)
+            throwJniBridgeExceptionJava(env, "Cannot rebind a null wrapper.");
+            return nullptr;
+        }
+
+        // the methods of the wrapper's class must be able to access the instance
+        jclass instanceClass = env->FindClass(jClassName.c_str());
+        if (!instanceClass) { return nullptr; }
+        jclass targetClass = env->GetObjectClass(target);
+        const bool isInstanceOfTargetClass = env->IsAssignableFrom(instanceClass, targetClass);
+        env->DeleteLocalRef(targetClass);
+        env->DeleteLocalRef(instanceClass);
+        if (!isInstanceOfTargetClass) {
+            throwJniBridgeExceptionJava(env, "Cannot rebind a wrapper to an instance of a different class.");
+            return nullptr;
+        }
+
+        const jlong targetHandlePtr = getHandle(env, target);
+        if (env->ExceptionCheck()) { return nullptr; }
+
+        // empty wrapper -> borrow once...
+        if (targetHandlePtr == 0 || targetHandlePtr == -1) {
+            auto handle = new Handle<T>(instance, false);
+            setNativeHandle(env, target, handle);
+            if (env->ExceptionCheck()) {
+                delete handle;
+                return nullptr;
+            }
+            return target;
+        }
+
+        auto targetBaseHandle = reinterpret_cast<BaseHandle*>(targetHandlePtr);
+        auto targetHandle = dynamic_cast<Handle<T>*>(targetBaseHandle);
+        if (!targetHandle) {
+            throwJniBridgeExceptionJava(env, "Cannot rebind a wrapper of a different native type.");
+            return nullptr;
+        }
+
+        if (!targetHandle->canRebind()) {
+            throwJniBridgeExceptionJava(env, "Cannot rebind a wrapper, that owns its native instance.");
+            return nullptr;
+        }
+
+        // the wrapper must not be handed out for its previous instance anymore
+        IdentityCache* cache = targetBaseHandle->getIdentityCache();
+        if (cache) { cache->evict(env, targetBaseHandle); }
+
+        targetHandle->rebind(instance);
+        return target;
+    }
+
     /**
      * @brief Captures a pending Java exception and stores it for later handling.
      *
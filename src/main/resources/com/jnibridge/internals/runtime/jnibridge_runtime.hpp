@@ -0,0 +1,556 @@
+#pragma once
+
+#include "${exceptionHandlerInclude}"
+#include <jni.h>
+
+#include <algorithm>
+#include <array>
+#include <cstddef>
+#include <map>
+#include <memory>
+#include <mutex>
+#include <stdexcept>
+#include <string>
+#include <type_traits>
+#include <utility>
+#include <vector>
+
+/**
+ * Version of the JNIBridge runtime. Generated code is only compatible with the runtime it has been generated with.
+ */
+#define JNIBRIDGE_RUNTIME_VERSION ${runtimeVersion}
+
+/**
+ * Number of local references, every generated function reserves (checked profile only).
+ */
+#ifndef JNIBRIDGE_CHECKED_LOCAL_CAPACITY
+    #define JNIBRIDGE_CHECKED_LOCAL_CAPACITY 64
+#endif
+
+/**
+ * Number of elements of a mapped sequence, whose local references share a local frame (see LocalRefChunks).
+ */
+#ifndef JNIBRIDGE_LOCAL_FRAME_CHUNK
+    #define JNIBRIDGE_LOCAL_FRAME_CHUNK 256
+#endif
+
+#if defined(_MSC_VER)
+    #define JNIBRIDGE_NOINLINE __declspec(noinline)
+#else
+    #define JNIBRIDGE_NOINLINE __attribute__((noinline))
+#endif
+
+/**
+ * Header-only runtime of the generated JNI-code.
+ *
+ * Contains the scaffolding shared by all generated functions (exception translation, calling instance checks) and
+ * helpers (polymorphic handle conversion), so the generated code only consists of thin call sites.
+ */
+namespace jnibridge::runtime {
+
+    /**
+     * Java exceptions, captured during a JNI function (see jnibridge::internal::capturePendingJException).
+     */
+    using PendingExceptions = std::vector<jthrowable>;
+
+    /**
+     * @brief Translates a C++ exception into a captured Java exception.
+     *
+     * Kept out of line, as it is the cold path of every generated function.
+     *
+     * @param env JNI environment pointer for the current thread.
+     * @param e The C++ exception to translate.
+     * @param pending The captured Java exceptions of the current JNI function.
+     */
+    JNIBRIDGE_NOINLINE inline void translateException(JNIEnv *env, const std::exception &e, PendingExceptions &pending) {
+        jthrowable jexception = jnibridge::internal::handleException(env, e);
+        env->Throw(jexception);
+        jnibridge::internal::capturePendingJException(env, pending);
+    }
+
+    /**
+     * @brief Rethrows the captured Java exceptions, once a JNI function is done.
+     *
+     * @param env JNI environment pointer for the current thread.
+     * @param pending The captured Java exceptions of the current JNI function.
+     */
+    inline void finish(JNIEnv *env, PendingExceptions &pending) {
+        jnibridge::internal::capturePendingJException(env, pending);
+        jnibridge::internal::throwPendingJException(env, pending);
+    }
+
+    /**
+     * @brief Makes sure, that the calling instance of an instance function is valid.
+     *
+     * @param self The calling instance (raw or smart pointer).
+     * @throws jnibridge::internal::JniBridgeError if the calling instance is null.
+     */
+    template<typename T>
+    inline void requireCallingInstance(const T &self) {
+        if (!self) { throw jnibridge::internal::JniBridgeError(jnibridge::internal::JniBridgeError::Code::InvalidCallingInstance); }
+    }
+
+    /**
+     * @brief Bounds the local references of a sequence mapping, independent of the number of its elements.
+     *
+     * Mappings call next() before mapping each element, and delete the local references of an element as soon as it
+     * has been stored (e.g. via SetObjectArrayElement). Sequences of up to JNIBRIDGE_LOCAL_FRAME_CHUNK elements reserve
+     * the local references of all elements up front (EnsureLocalCapacity). Larger sequences are mapped in chunks of
+     * JNIBRIDGE_LOCAL_FRAME_CHUNK elements, each within its own local frame (PushLocalFrame/PopLocalFrame), so a
+     * reference, that is not deleted by the mapping (or a helper), is released with its chunk at the latest.
+     *
+     * Local references of an element must not be used after the next call of next(). The last frame is popped on
+     * destruction, which is safe while a Java exception is pending.
+     */
+    class LocalRefChunks {
+    public:
+        /**
+         * @param env JNI environment pointer for the current thread.
+         * @param elements The number of elements to map.
+         * @param refsPerElement The maximum number of local references, that are alive while mapping an element.
+         */
+        LocalRefChunks(JNIEnv *env, std::size_t elements, jint refsPerElement)
+            : env(env), capacity(refsPerElement * JNIBRIDGE_LOCAL_FRAME_CHUNK), chunked(elements > JNIBRIDGE_LOCAL_FRAME_CHUNK) {
+            if (!chunked && elements > 0) { reserved = env->EnsureLocalCapacity(static_cast<jint>(elements) * refsPerElement) == 0; }
+        }
+
+        ~LocalRefChunks() { close(); }
+
+        LocalRefChunks(const LocalRefChunks &) = delete;
+        LocalRefChunks &operator=(const LocalRefChunks &) = delete;
+
+        /**
+         * @brief Prepares the mapping of the next element (opens a new frame at the start of each chunk).
+         *
+         * @return False, if the local references could not be reserved (an OutOfMemoryError is pending).
+         */
+        bool next() {
+            if (!chunked || mapped++ % JNIBRIDGE_LOCAL_FRAME_CHUNK != 0) { return reserved; }
+
+            close();
+            reserved = env->PushLocalFrame(capacity) == 0;
+            open = reserved;
+            return reserved;
+        }
+
+    private:
+        void close() {
+            if (open) { env->PopLocalFrame(nullptr); }
+            open = false;
+        }
+
+        JNIEnv *env;
+        jint capacity;
+        bool chunked;
+        bool reserved = true;
+        bool open = false;
+        std::size_t mapped = 0;
+    };
+
+    /**
+     * Validation of the checked profile (see GenerationProfile#CHECKED). Violations are programming errors, so
+     * they abort the JVM instead of throwing a Java exception.
+     */
+    namespace checked {
+
+        /**
+         * @brief Aborts the JVM with a message, naming the violating function.
+         *
+         * @param env JNI environment pointer for the current thread.
+         * @param function The Java method of the generated function (e.g. com.example.Type.method).
+         * @param message Description of the violation.
+         */
+        JNIBRIDGE_NOINLINE inline void fail(JNIEnv *env, const char *function, const char *message) {
+            const std::string fatal = std::string("JNIBridge (checked): ") + function + ": " + message;
+            env->FatalError(fatal.c_str());
+        }
+
+        /**
+         * @brief Validates the state of the JNI environment on entry of a generated function.
+         *
+         * Asserts, that no Java exception is pending (which would make any further JNI call undefined) and reserves
+         * the local references of the function.
+         *
+         * @param env JNI environment pointer for the current thread.
+         * @param function The Java method of the generated function (e.g. com.example.Type.method).
+         */
+        inline void enter(JNIEnv *env, const char *function) {
+            if (env->ExceptionCheck()) { fail(env, function, "entered with a pending Java exception."); }
+            if (env->EnsureLocalCapacity(JNIBRIDGE_CHECKED_LOCAL_CAPACITY) != 0) { fail(env, function, "unable to reserve local references."); }
+        }
+    }  // namespace checked
+
+#ifdef JNIBRIDGE_DIAGNOSTICS
+
+    /**
+     * JNI call counting of the diagnostics profile (see GenerationProfile#DIAGNOSTICS).
+     *
+     * Every generated function opens a Scope, which swaps the function table of its JNIEnv for an instrumented copy
+     * until the function returns. The instrumented functions count their invocations (and the local references they
+     * create or delete) before forwarding to the original table. The counts are exposed to Java via
+     * com.jnibridge.nativeaccess.diagnostics.JniDiagnostics.
+     */
+    namespace diagnostics {
+
+/**
+ * Expands X(name, effect) for each primitive variant of a JNIEnv function (e.g. CallIntMethodV).
+ */
+#define JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, PREFIX, SUFFIX, EFFECT) \
+        X(PREFIX##Boolean##SUFFIX, EFFECT) X(PREFIX##Byte##SUFFIX, EFFECT) X(PREFIX##Char##SUFFIX, EFFECT) \
+        X(PREFIX##Short##SUFFIX, EFFECT) X(PREFIX##Int##SUFFIX, EFFECT) X(PREFIX##Long##SUFFIX, EFFECT) \
+        X(PREFIX##Float##SUFFIX, EFFECT) X(PREFIX##Double##SUFFIX, EFFECT)
+
+/**
+ * Expands X(name, effect) for the Object, primitive and Void variants of a JNIEnv call function (e.g. CallObjectMethodV).
+ */
+#define JNIBRIDGE_DIAGNOSTICS_CALLS(X, PREFIX, SUFFIX) \
+        X(PREFIX##Object##SUFFIX, NewRef) JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, PREFIX, SUFFIX, None) X(PREFIX##Void##SUFFIX, None)
+
+/**
+ * The counted functions of the JNIEnv: X(name, effect on the local references).
+ *
+ * Variadic functions (e.g. CallLongMethod) are not listed, as the C++ JNIEnv forwards them to their 'V' variants.
+ * Functions, that are not listed, are forwarded without being counted.
+ */
+#define JNIBRIDGE_DIAGNOSTICS_FUNCTIONS(X) \
+        X(FindClass, NewRef) X(GetSuperclass, NewRef) X(GetObjectClass, NewRef) \
+        X(IsInstanceOf, None) X(IsSameObject, None) X(IsAssignableFrom, None) X(GetObjectRefType, None) \
+        X(GetMethodID, None) X(GetStaticMethodID, None) X(GetFieldID, None) X(GetStaticFieldID, None) \
+        X(AllocObject, NewRef) X(NewObjectV, NewRef) X(NewObjectA, NewRef) \
+        JNIBRIDGE_DIAGNOSTICS_CALLS(X, Call, MethodV) JNIBRIDGE_DIAGNOSTICS_CALLS(X, Call, MethodA) \
+        JNIBRIDGE_DIAGNOSTICS_CALLS(X, CallStatic, MethodV) JNIBRIDGE_DIAGNOSTICS_CALLS(X, CallStatic, MethodA) \
+        JNIBRIDGE_DIAGNOSTICS_CALLS(X, CallNonvirtual, MethodV) JNIBRIDGE_DIAGNOSTICS_CALLS(X, CallNonvirtual, MethodA) \
+        X(GetObjectField, NewRef) X(SetObjectField, None) \
+        JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Get, Field, None) JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Set, Field, None) \
+        X(GetStaticObjectField, NewRef) X(SetStaticObjectField, None) \
+        JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, GetStatic, Field, None) JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, SetStatic, Field, None) \
+        X(NewGlobalRef, None) X(DeleteGlobalRef, None) X(NewWeakGlobalRef, None) X(DeleteWeakGlobalRef, None) \
+        X(NewLocalRef, NewRef) X(DeleteLocalRef, DeleteRef) X(EnsureLocalCapacity, None) \
+        X(PushLocalFrame, PushFrame) X(PopLocalFrame, PopFrame) \
+        X(NewString, NewRef) X(GetStringLength, None) X(GetStringChars, None) X(ReleaseStringChars, None) \
+        X(NewStringUTF, NewRef) X(GetStringUTFLength, None) X(GetStringUTFChars, None) X(ReleaseStringUTFChars, None) \
+        X(GetStringRegion, None) X(GetStringUTFRegion, None) \
+        X(GetArrayLength, None) X(NewObjectArray, NewRef) X(GetObjectArrayElement, NewRef) X(SetObjectArrayElement, None) \
+        JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, New, Array, NewRef) \
+        JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Get, ArrayElements, None) JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Release, ArrayElements, None) \
+        JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Get, ArrayRegion, None) JNIBRIDGE_DIAGNOSTICS_PRIMITIVES(X, Set, ArrayRegion, None) \
+        X(GetPrimitiveArrayCritical, None) X(ReleasePrimitiveArrayCritical, None) \
+        X(Throw, None) X(ThrowNew, None) X(ExceptionOccurred, NewRef) X(ExceptionCheck, None) X(ExceptionClear, None) \
+        X(NewDirectByteBuffer, NewRef) X(GetDirectBufferAddress, None) X(GetDirectBufferCapacity, None)
+
+        /**
+         * The counted functions of the JNIEnv (in the order of JNIBRIDGE_DIAGNOSTICS_FUNCTIONS).
+         */
+        enum class JniFunction : std::size_t {
+#define JNIBRIDGE_DIAGNOSTICS_ENUM(NAME, EFFECT) NAME,
+            JNIBRIDGE_DIAGNOSTICS_FUNCTIONS(JNIBRIDGE_DIAGNOSTICS_ENUM)
+#undef JNIBRIDGE_DIAGNOSTICS_ENUM
+            Count
+        };
+
+        constexpr std::size_t functionCount = static_cast<std::size_t>(JniFunction::Count);
+
+        /**
+         * @param function Index of a counted function.
+         * @return The name of the function (e.g. FindClass).
+         */
+        inline const char *nameOf(std::size_t function) {
+            static const char *const names[] = {
+#define JNIBRIDGE_DIAGNOSTICS_NAME(NAME, EFFECT) #NAME,
+                JNIBRIDGE_DIAGNOSTICS_FUNCTIONS(JNIBRIDGE_DIAGNOSTICS_NAME)
+#undef JNIBRIDGE_DIAGNOSTICS_NAME
+            };
+            return names[function];
+        }
+
+        /**
+         * Effect of a JNIEnv function on the local references of the current function.
+         */
+        enum class LocalRefEffect { None, NewRef, DeleteRef, PushFrame, PopFrame };
+
+        /**
+         * Counts of a single invocation of a generated function.
+         */
+        struct CallCounts {
+            std::array<jlong, functionCount> counts{};
+            jlong localRefs = 0;          // live local references, created by the invocation
+            jlong localRefHighWater = 0;  // maximum of localRefs
+            std::vector<jlong> frames;    // localRefs at each open PushLocalFrame
+
+            jlong total() const {
+                jlong result = 0;
+                for (jlong count : counts) { result += count; }
+                return result;
+            }
+
+            /**
+             * @param effect Effect of the invoked function.
+             * @param nonDefault True, if the function returned a non-null reference (non-zero status for PushLocalFrame).
+             */
+            void track(LocalRefEffect effect, bool nonDefault) {
+                switch (effect) {
+                    case LocalRefEffect::NewRef:
+                        if (nonDefault) { ++localRefs; }
+                        break;
+                    case LocalRefEffect::DeleteRef:
+                        if (localRefs > 0) { --localRefs; }
+                        break;
+                    case LocalRefEffect::PushFrame:
+                        if (!nonDefault) { frames.push_back(localRefs); }
+                        break;
+                    case LocalRefEffect::PopFrame:
+                        if (!frames.empty()) { localRefs = frames.back(); frames.pop_back(); }
+                        if (nonDefault) { ++localRefs; }
+                        break;
+                    case LocalRefEffect::None:
+                        break;
+                }
+                localRefHighWater = std::max(localRefHighWater, localRefs);
+            }
+        };
+
+        /**
+         * Aggregated counts of all invocations of a generated function.
+         */
+        struct FunctionStatistics {
+            jlong invocations = 0;
+            jlong maxJniCalls = 0;        // maximum of the counted calls of a single invocation
+            jlong localRefHighWater = 0;  // maximum over all invocations
+            std::array<jlong, functionCount> counts{};
+        };
+
+        /**
+         * Process-wide statistics of all generated functions, that have been invoked.
+         */
+        struct Registry {
+            std::mutex mutex;
+            std::map<std::string, FunctionStatistics> functions;
+
+            static Registry &get() {
+                static Registry instance;
+                return instance;
+            }
+        };
+
+        /**
+         * The last, completed invocation of a generated function on the current thread.
+         */
+        struct LastCall {
+            std::string function;
+            CallCounts counts;
+        };
+
+        inline LastCall &lastCallOf() {
+            thread_local LastCall lastCall;
+            return lastCall;
+        }
+
+        // the counts of the innermost generated function on the current thread, null outside of generated functions
+        inline CallCounts *&currentCounts() {
+            thread_local CallCounts *current = nullptr;
+            return current;
+        }
+
+        // the function table of the JVM, the instrumented table forwards to
+        inline const JNINativeInterface_ *&originalTable() {
+            static const JNINativeInterface_ *original = nullptr;
+            return original;
+        }
+
+        template<typename Signature>
+        struct Forward;
+
+        /**
+         * Counting replacement of a JNIEnv function, forwarding to the original function.
+         */
+        template<typename R, typename... Args>
+        struct Forward<R (JNICALL *)(JNIEnv *, Args...)> {
+
+            template<JniFunction Function, LocalRefEffect Effect, R (JNICALL *JNINativeInterface_::*Original)(JNIEnv *, Args...)>
+            static R JNICALL call(JNIEnv *env, Args... args) {
+                CallCounts *counts = currentCounts();
+                if (counts) { ++counts->counts[static_cast<std::size_t>(Function)]; }
+
+                if constexpr (std::is_void_v<R>) {
+                    (originalTable()->*Original)(env, args...);
+                    if (counts) { counts->track(Effect, false); }
+                } else {
+                    R result = (originalTable()->*Original)(env, args...);
+                    if (counts) { counts->track(Effect, result != R()); }
+                    return result;
+                }
+            }
+        };
+
+        /**
+         * @param original The function table of the JVM.
+         * @return The instrumented copy of the table (created on first use).
+         */
+        inline const JNINativeInterface_ *instrumentedTable(const JNINativeInterface_ *original) {
+            static JNINativeInterface_ table;
+            static std::once_flag initialized;
+            std::call_once(initialized, [original] {
+                originalTable() = original;
+                table = *original;
+#define JNIBRIDGE_DIAGNOSTICS_FORWARD(NAME, EFFECT) \
+                table.NAME = &Forward<decltype(JNINativeInterface_::NAME)>::template call<JniFunction::NAME, LocalRefEffect::EFFECT, &JNINativeInterface_::NAME>;
+                JNIBRIDGE_DIAGNOSTICS_FUNCTIONS(JNIBRIDGE_DIAGNOSTICS_FORWARD)
+#undef JNIBRIDGE_DIAGNOSTICS_FORWARD
+            });
+            return &table;
+        }
+
+        /**
+         * @brief Records a completed invocation of a generated function.
+         *
+         * @param function The Java method of the generated function (e.g. com.example.Type.method).
+         * @param counts The counts of the invocation.
+         */
+        inline void record(const char *function, const CallCounts &counts) {
+            LastCall &lastCall = lastCallOf();
+            lastCall.function = function;
+            lastCall.counts = counts;
+
+            Registry &registry = Registry::get();
+            std::lock_guard<std::mutex> lock(registry.mutex);
+            FunctionStatistics &statistics = registry.functions[function];
+            ++statistics.invocations;
+            statistics.maxJniCalls = std::max(statistics.maxJniCalls, counts.total());
+            statistics.localRefHighWater = std::max(statistics.localRefHighWater, counts.localRefHighWater);
+            for (std::size_t i = 0; i < functionCount; ++i) { statistics.counts[i] += counts.counts[i]; }
+        }
+
+        /**
+         * Counts the JNI calls of a generated function, from its construction (on entry) until its destruction.
+         *
+         * Calls of nested generated functions (e.g. via an upcall into Java, that calls back into native code)
+         * are only counted for the nested function.
+         */
+        class Scope {
+        public:
+            Scope(JNIEnv *env, const char *function)
+                : env(env), function(function), outer(currentCounts()), original(env->functions) {
+                env->functions = instrumentedTable(original); // <- nested scopes pass the instrumented table, which is ignored
+                currentCounts() = &counts;
+            }
+
+            ~Scope() {
+                currentCounts() = outer;
+                env->functions = original;
+                record(function, counts);
+            }
+
+            Scope(const Scope &) = delete;
+            Scope &operator=(const Scope &) = delete;
+
+        private:
+            JNIEnv *env;
+            const char *function;
+            CallCounts *outer;
+            const JNINativeInterface_ *original;
+            CallCounts counts;
+        };
+    }  // namespace diagnostics
+
+#endif // JNIBRIDGE_DIAGNOSTICS
+
+    namespace detail {
+
+        inline bool isInvalid(const void *pointer) {
+            return !pointer || ((jlong) pointer) == -1;
+        }
+
+        template<typename Candidate, typename Base>
+        inline bool tryHandleAs(JNIEnv *env, jnibridge::internal::BaseHandle *handle, Base *&result) {
+            auto *actualType = dynamic_cast<jnibridge::internal::Handle<Candidate>*>(handle);
+            if (!actualType) { return false; }
+            result = actualType->template getAs<Base>(env);
+            return true;
+        }
+
+        template<typename Candidate, typename Base>
+        inline bool tryHandleAsShared(JNIEnv *env, jnibridge::internal::BaseHandle *handle, std::shared_ptr<Base> &result) {
+            auto *actualType = dynamic_cast<jnibridge::internal::Handle<Candidate>*>(handle);
+            if (!actualType) { return false; }
+            result = actualType->template getAsShared<Base>(env);
+            return true;
+        }
+
+        template<typename Base, typename... Candidates, std::size_t... I>
+        inline const char *javaPathOf(Base *instance, const std::array<const char*, sizeof...(Candidates)> &paths, std::index_sequence<I...>) {
+            const char *result = nullptr;
+            ((dynamic_cast<Candidates*>(instance) && (result = paths[I], true)) || ...);
+            return result;
+        }
+    }  // namespace detail
+
+    /**
+     * @brief Converts a handle into the wrapped instance.
+     *
+     * @tparam Base The requested type.
+     * @tparam Candidates The types, the handle may wrap (most derived first, including Base).
+     * @param env JNI environment pointer for the current thread.
+     * @param handle The handle to convert.
+     * @return The wrapped instance as Base, nullptr if the handle is invalid or wraps none of the candidates.
+     */
+    template<typename Base, typename... Candidates>
+    inline Base *handleAs(JNIEnv *env, jnibridge::internal::BaseHandle *handle) {
+        if (detail::isInvalid(handle)) { return nullptr; }
+
+        if constexpr (sizeof...(Candidates) == 1) {
+            return static_cast<jnibridge::internal::Handle<Candidates...>*>(handle)->get();
+        } else {
+            Base *result = nullptr;
+            (detail::tryHandleAs<Candidates>(env, handle, result) || ...);
+            return result;
+        }
+    }
+
+    /**
+     * @brief Converts a handle into the wrapped std::shared_ptr.
+     *
+     * @tparam Base The requested type.
+     * @tparam Candidates The types, the handle may wrap (most derived first, including Base).
+     * @param env JNI environment pointer for the current thread.
+     * @param handle The handle to convert.
+     * @return The wrapped instance as Base, nullptr if the handle is invalid or wraps none of the candidates.
+     */
+    template<typename Base, typename... Candidates>
+    inline std::shared_ptr<Base> handleAsShared(JNIEnv *env, jnibridge::internal::BaseHandle *handle) {
+        if (detail::isInvalid(handle)) { return nullptr; }
+
+        if constexpr (sizeof...(Candidates) == 1) {
+            return static_cast<jnibridge::internal::Handle<Candidates...>*>(handle)->getShared(env);
+        } else {
+            std::shared_ptr<Base> result;
+            (detail::tryHandleAsShared<Candidates>(env, handle, result) || ...);
+            return result;
+        }
+    }
+
+    /**
+     * @brief Determines the Java class of a native instance.
+     *
+     * @tparam Base The static type of the instance.
+     * @tparam Candidates The types, the instance may have (most derived first, including Base).
+     * @param instance The native instance.
+     * @param paths The fully qualified Java class (e.g. com/example/Type) of each candidate.
+     * @return The Java class of the most derived candidate, the instance is an instance of.
+     * @throws std::logic_error if the instance is invalid or none of the candidates.
+     */
+    template<typename Base, typename... Candidates>
+    inline std::string javaPathOf(Base *instance, const std::array<const char*, sizeof...(Candidates)> &paths) {
+        const char *result = nullptr;
+        if (!detail::isInvalid(instance)) {
+            if constexpr (sizeof...(Candidates) == 1) {
+                result = paths[0];
+            } else {
+                result = detail::javaPathOf<Base, Candidates...>(instance, paths, std::index_sequence_for<Candidates...>{});
+            }
+        }
+
+        if (!result) { throw std::logic_error("Unable to determine the Java class of a native instance."); }
+        return result;
+    }
+
+}  // namespace jnibridge::runtime